@@ -21,6 +21,7 @@ import com.lmax.disruptor.TimeoutException;
 import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
+import java.util.Arrays;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -56,6 +57,7 @@ public class AsyncLoggerDisruptor extends AbstractLifeCycle {
     private final AsyncLoggerProperties properties;
 
     private long backgroundThreadId;
+    private volatile long[] backgroundThreadIds = new long[0];
     private final AsyncQueueFullPolicy asyncQueueFullPolicy;
     private final WaitStrategy waitStrategy;
 
@@ -106,13 +108,14 @@ public class AsyncLoggerDisruptor extends AbstractLifeCycle {
             setStarting();
             LOGGER.trace("[{}] AsyncLoggerDisruptor creating new disruptor for this context.", contextName);
             final int ringBufferSize = properties.ringBuffer().size();
+            backgroundThreadIds = new long[0];
 
             final ThreadFactory threadFactory =
                     new Log4jThreadFactory("AsyncLogger[" + contextName + "]", true, Thread.NORM_PRIORITY) {
                         @Override
                         public Thread newThread(final Runnable r) {
                             final Thread result = super.newThread(r);
-                            backgroundThreadId = result.getId();
+                            addBackgroundThread(result.getId());
                             return result;
                         }
                     };
@@ -123,16 +126,21 @@ public class AsyncLoggerDisruptor extends AbstractLifeCycle {
             final AsyncLoggerExceptionHandler errorHandler = getExceptionHandler();
             disruptor.setDefaultExceptionHandler(errorHandler);
 
-            final RingBufferLogEventHandler[] handlers = {new RingBufferLogEventHandler()};
+            final int consumerCount = properties.consumerCount();
+            final RingBufferLogEventHandler[] handlers = new RingBufferLogEventHandler[consumerCount];
+            for (int i = 0; i < consumerCount; i++) {
+                handlers[i] = new RingBufferLogEventHandler(i, consumerCount);
+            }
             disruptor.handleEventsWith(handlers);
 
             LOGGER.debug(
                     "[{}] Starting AsyncLogger disruptor for this context with ringbufferSize={}, waitStrategy={}, "
-                            + "exceptionHandler={}...",
+                            + "exceptionHandler={}, consumerCount={}...",
                     contextName,
                     disruptor.getRingBuffer().getBufferSize(),
                     waitStrategy.getClass().getSimpleName(),
-                    errorHandler);
+                    errorHandler,
+                    consumerCount);
             disruptor.start();
 
             super.start();
@@ -200,7 +208,28 @@ public class AsyncLoggerDisruptor extends AbstractLifeCycle {
         if (remainingCapacity < 0) {
             return EventRoute.DISCARD;
         }
-        return asyncQueueFullPolicy.getRoute(backgroundThreadId, logLevel);
+        final long currentThreadId = Thread.currentThread().getId();
+        return asyncQueueFullPolicy.getRoute(
+                isBackgroundThread(currentThreadId) ? currentThreadId : backgroundThreadId, logLevel);
+    }
+
+    private void addBackgroundThread(final long threadId) {
+        final long[] threadIds = Arrays.copyOf(backgroundThreadIds, backgroundThreadIds.length + 1);
+        threadIds[threadIds.length - 1] = threadId;
+        backgroundThreadIds = threadIds;
+        backgroundThreadId = threadIds[0];
+    }
+
+    /**
+     * Returns {@code true} if the given thread is one of the consumers of this disruptor.
+     */
+    private boolean isBackgroundThread(final long threadId) {
+        for (final long id : backgroundThreadIds) {
+            if (id == threadId) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private AsyncLoggerExceptionHandler getExceptionHandler() {
@@ -269,8 +298,8 @@ public class AsyncLoggerDisruptor extends AbstractLifeCycle {
 
     private boolean synchronizeEnqueueWhenQueueFull() {
         return properties.synchronizeEnqueueWhenQueueFull()
-                // Background thread must never block
-                && backgroundThreadId != Thread.currentThread().getId()
+                // Background threads must never block
+                && !isBackgroundThread(Thread.currentThread().getId())
                 // Threads owned by log4j are most likely to result in
                 // deadlocks because they generally consume events.
                 // This prevents deadlocks between AsyncLoggerContext
@@ -28,10 +28,23 @@ import org.jspecify.annotations.Nullable;
 public record AsyncLoggerProperties(
         @Nullable Class<? extends AsyncLoggerConfigExceptionHandler> configExceptionHandler,
         @Nullable Class<? extends AsyncLoggerExceptionHandler> exceptionHandler,
+        @Log4jProperty(defaultValue = "1") int consumerCount,
         RingBufferProperties ringBuffer,
         @Log4jProperty(defaultValue = "true") boolean synchronizeEnqueueWhenQueueFull,
         WaitStrategyProperties waitStrategy) {
 
+    public AsyncLoggerProperties {
+        consumerCount = validateConsumerCount(consumerCount);
+    }
+
+    private static int validateConsumerCount(final int consumerCount) {
+        if (consumerCount < 1) {
+            StatusLogger.getLogger().warn("Invalid consumer count {}, using a single consumer.", consumerCount);
+            return 1;
+        }
+        return consumerCount;
+    }
+
     public record RingBufferProperties(@Log4jProperty(defaultValue = "4096") int size) {
         private static final int RING_BUFFER_MIN_SIZE = 128;
 
@@ -89,6 +89,9 @@ public class RingBufferLogEvent implements ReusableLogEvent, ReusableMessage, Ch
 
     private AsyncLogger asyncLogger;
 
+    // Deliberately not reset by `clear()`: consumers that do not own this slot may still read it.
+    private int loggerNameHash;
+
     public void setValues(
             final AsyncLogger anAsyncLogger,
             final String aLoggerName,
@@ -110,6 +113,7 @@ public class RingBufferLogEvent implements ReusableLogEvent, ReusableMessage, Ch
         this.level = aLevel;
         this.threadName = threadName;
         this.loggerName = aLoggerName;
+        this.loggerNameHash = aLoggerName != null ? aLoggerName.hashCode() : 0;
         setMessage(msg);
         initTime(clock);
         this.nanoTime = nanoClock.nanoTime();
@@ -176,6 +180,18 @@ public class RingBufferLogEvent implements ReusableLogEvent, ReusableMessage, Ch
         return populated;
     }
 
+    /**
+     * Returns the hash code of the logger name this event was last populated with.
+     * <p>
+     * Unlike the logger name itself, the value survives {@link #clear()}, so consumers can use it to decide which of
+     * them owns this slot.
+     * </p>
+     * @return the hash code of the logger name
+     */
+    int getLoggerNameHash() {
+        return loggerNameHash;
+    }
+
     /**
      * Returns {@code true} if this event is the end of a batch, {@code false} otherwise.
      *
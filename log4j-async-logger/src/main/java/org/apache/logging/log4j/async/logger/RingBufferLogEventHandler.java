@@ -24,14 +24,42 @@ import com.lmax.disruptor.Sequence;
  * available. Processing of these messages is done in a separate thread,
  * controlled by the {@code Executor} passed to the {@code Disruptor}
  * constructor.
+ * <p>
+ * If the RingBuffer is consumed by several handlers, each handler only processes the events of its own shard, which
+ * is selected by the hash of the logger name. This guarantees that the events of a logger are processed in order.
+ * </p>
  */
 public class RingBufferLogEventHandler implements EventHandler<RingBufferLogEvent> {
 
     private static final int NOTIFY_PROGRESS_THRESHOLD = 50;
+    private final int shardIndex;
+    private final int shardCount;
     private Sequence sequenceCallback;
     private int counter;
     private long threadId = -1;
 
+    // Sharded mode only: the last owned event, whose processing is postponed until we know if it ends the batch.
+    private RingBufferLogEvent pendingEvent;
+    private long pendingSequence;
+
+    public RingBufferLogEventHandler() {
+        this(0, 1);
+    }
+
+    /**
+     * Creates a handler that processes only the events of the given shard.
+     *
+     * @param shardIndex the index of the shard owned by this handler, between {@code 0} and {@code shardCount - 1}
+     * @param shardCount the total number of handlers consuming the RingBuffer
+     */
+    public RingBufferLogEventHandler(final int shardIndex, final int shardCount) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardCount);
+        }
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+    }
+
     @Override
     public void setSequenceCallback(final Sequence sequenceCallback) {
         this.sequenceCallback = sequenceCallback;
@@ -40,6 +68,10 @@ public class RingBufferLogEventHandler implements EventHandler<RingBufferLogEven
     @Override
     public void onEvent(final RingBufferLogEvent event, final long sequence, final boolean endOfBatch)
             throws Exception {
+        if (shardCount > 1) {
+            onShardedEvent(event, sequence, endOfBatch);
+            return;
+        }
         try {
             // RingBufferLogEvents are populated by an EventTranslator. If an exception is thrown during event
             // translation, the event may not be fully populated, but Disruptor requires that the associated sequence
@@ -57,6 +89,51 @@ public class RingBufferLogEventHandler implements EventHandler<RingBufferLogEven
         }
     }
 
+    /**
+     * Processes the event only if it belongs to our shard.
+     * <p>
+     * The {@code endOfBatch} flag of the Disruptor refers to the whole RingBuffer, so the last event of our shard is
+     * only processed once the next owned event or the end of the batch is seen.
+     * Slots not owned by this handler are neither processed nor cleared, since their owner might still use them.
+     * </p>
+     */
+    private void onShardedEvent(final RingBufferLogEvent event, final long sequence, final boolean endOfBatch)
+            throws Exception {
+        try {
+            if (isOwned(event)) {
+                final RingBufferLogEvent previous = pendingEvent;
+                pendingEvent = event;
+                pendingSequence = sequence;
+                if (previous != null) {
+                    executeAndClear(previous, false);
+                }
+            }
+            if (endOfBatch && pendingEvent != null) {
+                final RingBufferLogEvent last = pendingEvent;
+                pendingEvent = null;
+                executeAndClear(last, true);
+            }
+        } finally {
+            // The pending event must not be overwritten by producers yet.
+            notifyCallback(pendingEvent != null ? pendingSequence - 1 : sequence);
+        }
+    }
+
+    private boolean isOwned(final RingBufferLogEvent event) {
+        final int hash = event.getLoggerNameHash();
+        return Math.floorMod(hash ^ (hash >>> 16), shardCount) == shardIndex;
+    }
+
+    private static void executeAndClear(final RingBufferLogEvent event, final boolean endOfBatch) {
+        try {
+            if (event.isPopulated()) {
+                event.execute(endOfBatch);
+            }
+        } finally {
+            event.clear();
+        }
+    }
+
     private void notifyCallback(final long sequence) {
         if (++counter > NOTIFY_PROGRESS_THRESHOLD) {
             sequenceCallback.set(sequence);
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.async.logger;
+
+import static org.apache.logging.log4j.core.test.TestConstants.ASYNC_LOGGER_CONSUMER_COUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.ContextSelectorType;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests a RingBuffer consumed by several handlers, each one processing a shard of the loggers.
+ */
+@Tag("async")
+@ContextSelectorType(AsyncLoggerContextSelector.class)
+@SetTestProperty(key = ASYNC_LOGGER_CONSUMER_COUNT, value = "4")
+class AsyncLoggerConsumerCountTest {
+
+    private static final int LOGGER_COUNT = 16;
+
+    private static final int MESSAGE_COUNT = 500;
+
+    @Test
+    @LoggerContextSource("org/apache/logging/log4j/async/logger/AsyncLoggerConsumerCountTest.xml")
+    void events_of_each_logger_are_processed_in_order(
+            final LoggerContext ctx, final @Named("List") ListAppender appender) throws Exception {
+        assertThat(ctx).isInstanceOf(AsyncLoggerContext.class);
+        final Logger[] loggers = new Logger[LOGGER_COUNT];
+        for (int i = 0; i < LOGGER_COUNT; i++) {
+            loggers[i] = ctx.getLogger("logger" + i);
+        }
+        for (int message = 0; message < MESSAGE_COUNT; message++) {
+            for (final Logger logger : loggers) {
+                logger.info("{}", message);
+            }
+        }
+
+        final List<String> messages = appender.getMessages(LOGGER_COUNT * MESSAGE_COUNT, 10, TimeUnit.SECONDS);
+        assertThat(messages).hasSize(LOGGER_COUNT * MESSAGE_COUNT);
+        final Map<String, List<Integer>> messagesByLogger = new HashMap<>();
+        for (final String message : messages) {
+            // Messages are formatted as `<loggerName> <message>`
+            final int separatorIndex = message.indexOf(' ');
+            messagesByLogger
+                    .computeIfAbsent(message.substring(0, separatorIndex), ignored -> new ArrayList<>())
+                    .add(Integer.parseInt(message, separatorIndex + 1, message.length(), 10));
+        }
+        assertThat(messagesByLogger).hasSize(LOGGER_COUNT);
+        messagesByLogger.forEach((loggerName, loggerMessages) -> assertThat(loggerMessages)
+                .as("messages of logger %s", loggerName)
+                .hasSize(MESSAGE_COUNT)
+                .isSorted());
+    }
+}
@@ -33,6 +33,8 @@ public final class TestConstants {
 
     public static final String ASYNC_LOGGER_EXCEPTION_HANDLER = ASYNC_LOGGER + "exceptionHandler";
 
+    public static final String ASYNC_LOGGER_CONSUMER_COUNT = ASYNC_LOGGER + "consumerCount";
+
     public static final String ASYNC_LOGGER_RING_BUFFER_SIZE = ASYNC_LOGGER + "ringBuffer.size";
 
     public static final String ASYNC_LOGGER_SYNCHRONIZE_ENQUEUE_WHEN_QUEUE_FULL =
@@ -59,12 +61,18 @@ public final class TestConstants {
 
     public static final String CONFIGURATION_ALLOWED_PROTOCOLS = CONFIGURATION + "allowedProtocols";
 
+    public static final String CONFIGURATION_APPENDER_CREATION_THREADS = CONFIGURATION + "appenderCreationThreads";
+
     public static final String CONFIGURATION_FACTORY = CONFIGURATION + "factory";
 
     public static final String CONFIGURATION_FILE = CONFIGURATION + "location";
 
+    public static final String CONFIGURATION_LAZY_APPENDERS = CONFIGURATION + "lazyAppenders";
+
     public static final String CONFIGURATION_RELIABILITY_STRATEGY = CONFIGURATION + "reliabilityStrategy";
 
+    public static final String CONFIGURATION_REUSE_APPENDERS = CONFIGURATION + "reuseAppenders";
+
     public static final String CONFIGURATION_USE_PRECISE_CLOCK = CONFIGURATION + "usePreciseClock";
 
     private static final String GC = "log4j.gc.";
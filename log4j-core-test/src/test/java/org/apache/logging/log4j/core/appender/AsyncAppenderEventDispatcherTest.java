@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+class AsyncAppenderEventDispatcherTest {
+
+    @Test
+    void batch_marks_only_last_event_as_end_of_batch() throws InterruptedException {
+        final ListAppender appender = new ListAppender("List");
+        appender.start();
+        final BlockingQueue<LogEvent> queue = new ArrayBlockingQueue<>(16);
+        for (int i = 0; i < 10; i++) {
+            queue.add(createEvent("event-" + i));
+        }
+        final AsyncAppenderEventDispatcher dispatcher = new AsyncAppenderEventDispatcher(
+                "test", null, Collections.singletonList(new AppenderControl(appender, null, null)), queue, 4);
+        dispatcher.start();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> appender.getEvents().size() == 10);
+        dispatcher.stop(0);
+
+        final List<LogEvent> events = appender.getEvents();
+        assertThat(events).hasSize(10);
+        for (int i = 0; i < events.size(); i++) {
+            final LogEvent event = events.get(i);
+            assertThat(event.getMessage().getFormattedMessage()).isEqualTo("event-" + i);
+            // The queue is filled up-front, hence batches are [0..3], [4..7] and [8, 9].
+            assertThat(event.isEndOfBatch()).isEqualTo(i == 3 || i == 7 || i == 9);
+        }
+        appender.stop();
+    }
+
+    private static LogEvent createEvent(final String message) {
+        return Log4jLogEvent.newBuilder().setMessage(new SimpleMessage(message)).build();
+    }
+}
@@ -80,6 +80,15 @@ public class AsyncAppenderTest {
         exceptionTest(context);
     }
 
+    @Test
+    @LoggerContextSource("log4j-asynch-batch.xml")
+    public void testBatchSize(final LoggerContext context) throws InterruptedException {
+        final AsyncAppender appender = context.getConfiguration().getAppender("Async");
+        assertEquals(32, appender.getBatchSize());
+        rewriteTest(context);
+        exceptionTest(context);
+    }
+
     @Test
     @LoggerContextSource("log4j-asynch.xml")
     public void testDefaultAsyncAppenderConfig(final LoggerContext context) throws InterruptedException {
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.apache.logging.log4j.plugins.di.DI;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link HttpAppender} backed by an {@link HttpClientManager}.
+ */
+@UsingStatusListener // Suppresses `StatusLogger` output, unless there is a failure
+class HttpAppenderBatchingTest {
+
+    private static final String APPENDER_NAME = "Http";
+
+    private static final AtomicInteger LOGGER_CONTEXT_COUNTER = new AtomicInteger();
+
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+
+    private record Request(String contentType, String contentEncoding, String body) {}
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/logs", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        final byte[] body;
+        try (final InputStream inputStream = exchange.getRequestBody()) {
+            body = inputStream.readAllBytes();
+        }
+        requests.add(new Request(
+                exchange.getRequestHeaders().getFirst("Content-Type"), contentEncoding, decode(contentEncoding, body)));
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+    }
+
+    private static String decode(final String contentEncoding, final byte[] body) throws IOException {
+        if ("gzip".equals(contentEncoding)) {
+            try (final InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void events_should_be_sent_in_newline_delimited_batches() {
+        final Configuration configuration = createConfiguration("NEWLINE_DELIMITED", false, "%m%n");
+        try (final LoggerContext loggerContext = createStartedLoggerContext(configuration)) {
+            final Logger logger = loggerContext.getRootLogger();
+            for (int i = 0; i < 10; i++) {
+                logger.info("m{}", i);
+            }
+            await().atMost(10, TimeUnit.SECONDS).until(() -> requests.size() == 2);
+        }
+        assertThat(requests)
+                .extracting(Request::body)
+                .containsExactlyInAnyOrder("m0\nm1\nm2\nm3\nm4\n", "m5\nm6\nm7\nm8\nm9\n");
+        assertThat(requests).extracting(Request::contentEncoding).containsOnlyNulls();
+    }
+
+    @Test
+    void pending_events_should_be_sent_compressed_on_stop() {
+        final Configuration configuration = createConfiguration("JSON_ARRAY", true, "{\"message\":\"%m\"}%n");
+        try (final LoggerContext loggerContext = createStartedLoggerContext(configuration)) {
+            final Logger logger = loggerContext.getRootLogger();
+            for (int i = 0; i < 3; i++) {
+                logger.info("m{}", i);
+            }
+        }
+        await().atMost(10, TimeUnit.SECONDS).until(() -> requests.size() == 1);
+        final Request request = requests.get(0);
+        assertThat(request.contentEncoding()).isEqualTo("gzip");
+        assertThat(request.contentType()).startsWith("text/plain");
+        assertThat(request.body()).isEqualTo("[{\"message\":\"m0\"},{\"message\":\"m1\"},{\"message\":\"m2\"}]");
+    }
+
+    private Configuration createConfiguration(final String batchFormat, final boolean compress, final String pattern) {
+        final ConfigurationBuilder<BuiltConfiguration> configBuilder =
+                ConfigurationBuilderFactory.newConfigurationBuilder()
+                        .setStatusLevel(Level.ERROR)
+                        .setConfigurationName(HttpAppenderBatchingTest.class.getSimpleName());
+        return configBuilder
+                .add(configBuilder
+                        .newAppender(APPENDER_NAME, "Http")
+                        .addAttribute(
+                                "url", "http://localhost:" + server.getAddress().getPort() + "/logs")
+                        .addAttribute("ignoreExceptions", false)
+                        .addAttribute("batchSize", 5)
+                        .addAttribute("batchTimeoutMillis", 60_000)
+                        .addAttribute("batchFormat", batchFormat)
+                        .addAttribute("compress", compress)
+                        .add(configBuilder.newLayout("PatternLayout").addAttribute("pattern", pattern)))
+                .add(configBuilder.newRootLogger(Level.ALL).add(configBuilder.newAppenderRef(APPENDER_NAME)))
+                .build(false);
+    }
+
+    private static LoggerContext createStartedLoggerContext(final Configuration configuration) {
+        final String name = String.format(
+                "%s-%02d", HttpAppenderBatchingTest.class.getSimpleName(), LOGGER_CONTEXT_COUNTER.getAndIncrement());
+        final LoggerContext loggerContext = new LoggerContext(name, null, (String) null, DI.createInitializedFactory());
+        loggerContext.start(configuration);
+        return loggerContext;
+    }
+}
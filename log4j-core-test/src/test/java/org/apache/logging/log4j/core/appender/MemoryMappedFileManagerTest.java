@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.core.appender;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -25,6 +26,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -92,4 +94,21 @@ public class MemoryMappedFileManagerTest {
         final int expected = initialLength * 2;
         assertEquals(expected, file.length(), "appended, not overwritten");
     }
+
+    @Test
+    public void testFlushOnlyForcesIfEnabled() throws IOException {
+        final File file = new File(tempDir, "memory-mapped-file.bin");
+        final byte[] msg = "Message\n".getBytes();
+        try (final MemoryMappedFileManager manager = MemoryMappedFileManager.getFileManager(
+                file.getAbsolutePath(), false, true, MemoryMappedFileManager.DEFAULT_REGION_LENGTH, null, null, null)) {
+            assertFalse(manager.isForceOnFlush(), "forcing is opt-in");
+            manager.write(msg, 0, msg.length, true);
+            manager.flush();
+            manager.setForceOnFlush(true);
+            assertTrue(manager.isForceOnFlush());
+            manager.write(msg, 0, msg.length, true);
+            manager.flush();
+        }
+        assertEquals("Message\nMessage\n", new String(Files.readAllBytes(file.toPath())));
+    }
 }
@@ -16,18 +16,26 @@
  */
 package org.apache.logging.log4j.core.appender;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
 import org.apache.logging.log4j.status.StatusData;
 import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.test.ListStatusListener;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
 import org.junit.jupiter.api.Test;
 import org.junitpioneer.jupiter.SetSystemProperty;
 
@@ -83,4 +91,89 @@ public class OutputStreamManagerTest {
                 outputStreamManager.getByteBuffer().limit(),
                 outputStreamManager.getByteBuffer().capacity());
     }
+
+    @Test
+    public void testGroupCommitCoalescesFlushes() throws Exception {
+        final AtomicInteger flushes = new AtomicInteger();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        final CountDownLatch leaderFlushing = new CountDownLatch(1);
+        final CountDownLatch releaseLeader = new CountDownLatch(1);
+        final OutputStreamManager manager = new OutputStreamManager(out, "test", null, false, 64) {
+            @Override
+            public void flush() {
+                if (leaderFlushing.getCount() > 0) {
+                    leaderFlushing.countDown();
+                    try {
+                        releaseLeader.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.flush();
+            }
+        };
+        manager.setGroupCommit(true);
+
+        final Thread leader = new Thread(() -> {
+            manager.write("a".getBytes(StandardCharsets.US_ASCII));
+            manager.commit();
+        });
+        leader.start();
+        leaderFlushing.await();
+
+        // Both followers request a commit while the leader is flushing
+        final Thread follower1 = new Thread(() -> {
+            manager.write("b".getBytes(StandardCharsets.US_ASCII));
+            manager.commit();
+        });
+        final Thread follower2 = new Thread(() -> {
+            manager.write("c".getBytes(StandardCharsets.US_ASCII));
+            manager.commit();
+        });
+        follower1.start();
+        follower2.start();
+        await().until(() ->
+                follower1.getState() == Thread.State.WAITING && follower2.getState() == Thread.State.WAITING);
+
+        releaseLeader.countDown();
+        leader.join();
+        follower1.join();
+        follower2.join();
+
+        // The leader flushes on its own, the followers share a single flush
+        assertEquals(2, flushes.get());
+        final String content = out.toString(StandardCharsets.US_ASCII);
+        assertEquals(3, content.length());
+        assertEquals('a', content.charAt(0));
+    }
+
+    @Test
+    @UsingStatusListener
+    public void testConflictingGroupCommitSettingsAreReported(final ListStatusListener listener) {
+        final String name = "testConflictingGroupCommitSettingsAreReported";
+        final ManagerFactory<OutputStreamManager, Void> factory = (managerName, ignored) ->
+                new OutputStreamManager(new ByteArrayOutputStream(), managerName, null, false, 64);
+        final OutputStreamManager manager = AbstractManager.getManager(name, factory, null);
+        try {
+            manager.setGroupCommit(true);
+            // A second appender sharing the manager with the same setting
+            assertEquals(manager, AbstractManager.getManager(name, factory, null));
+            manager.setGroupCommit(true);
+            assertEquals(0, listener.findStatusData(Level.WARN).count());
+            // A third one with a conflicting setting
+            assertEquals(manager, AbstractManager.getManager(name, factory, null));
+            manager.setGroupCommit(false);
+            assertFalse(manager.isGroupCommit());
+            assertEquals(1, listener.findStatusData(Level.WARN).count());
+        } finally {
+            manager.close();
+            manager.close();
+            manager.close();
+        }
+    }
 }
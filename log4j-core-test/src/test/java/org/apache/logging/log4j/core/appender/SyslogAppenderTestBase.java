@@ -45,8 +45,8 @@ import org.junit.jupiter.api.BeforeAll;
 @UsingStatusListener
 public abstract class SyslogAppenderTestBase {
     protected static final String line1 =
-            "TestApp - Audit [Transfer@18060 Amount=\"200.00\" FromAccount=\"123457\" ToAccount=\"123456\"]"
-                    + "[RequestContext@18060 ipAddress=\"192.168.0.120\" loginId=\"JohnDoe\"] Transfer Complete";
+            "TestApp - Audit [RequestContext@18060 ipAddress=\"192.168.0.120\" loginId=\"JohnDoe\"]"
+                    + "[Transfer@18060 Amount=\"200.00\" FromAccount=\"123457\" ToAccount=\"123456\"] Transfer Complete";
     protected LoggerContext ctx = LoggerContext.getContext();
     protected static final int DEFAULT_TIMEOUT_IN_MS = 100;
     protected MockSyslogServer syslogServer;
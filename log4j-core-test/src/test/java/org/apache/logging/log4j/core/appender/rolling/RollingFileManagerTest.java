@@ -17,21 +17,30 @@
 package org.apache.logging.log4j.core.appender.rolling;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.RollingFileAppender;
 import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
 import org.apache.logging.log4j.core.appender.rolling.action.CompressActionFactoryProvider;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.NullConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.apache.logging.log4j.core.lookup.StrSubstitutor;
 import org.junit.Test;
@@ -185,4 +194,146 @@ public class RollingFileManagerTest {
             manager.close();
         }
     }
+
+    /**
+     * Test that the triggering policy is only consulted under lock if it reports that a rollover may occur.
+     */
+    @Test
+    public void testCheckRolloverSkipsLockedCheck() throws IOException {
+        final AtomicInteger checks = new AtomicInteger();
+        final SizeBasedTriggeringPolicy sizePolicy = new SizeBasedTriggeringPolicy(10);
+        final TriggeringPolicy policy = new AbstractTriggeringPolicy() {
+            @Override
+            public void initialize(final RollingFileManager manager) {
+                sizePolicy.initialize(manager);
+            }
+
+            @Override
+            public boolean isTriggeringEvent(final LogEvent logEvent) {
+                checks.incrementAndGet();
+                return sizePolicy.isTriggeringEvent(logEvent);
+            }
+
+            @Override
+            public boolean mayTrigger(final LogEvent logEvent) {
+                return sizePolicy.mayTrigger(logEvent);
+            }
+        };
+        final Configuration configuration = new NullConfiguration();
+        final File file = File.createTempFile("testCheckRolloverSkipsLockedCheck", "log");
+        file.deleteOnExit();
+        final RollingFileManager manager = RollingFileManager.getFileManager(
+                file.getAbsolutePath(),
+                file.getAbsolutePath() + ".%i",
+                false,
+                false,
+                policy,
+                DefaultRolloverStrategy.newBuilder().setConfig(configuration).build(),
+                null,
+                PatternLayout.createDefaultLayout(configuration),
+                0,
+                true,
+                false,
+                null,
+                null,
+                null,
+                configuration);
+        assertNotNull(manager);
+        try {
+            manager.initialize();
+            final LogEvent event = Log4jLogEvent.newBuilder().build();
+
+            final String shortContent = "Test";
+            manager.writeToDestination(shortContent.getBytes(StandardCharsets.US_ASCII), 0, shortContent.length());
+            assertFalse(sizePolicy.mayTrigger(event));
+            manager.checkRollover(event);
+            assertEquals(0, checks.get());
+
+            final String longContent = "Test content exceeding the limit";
+            manager.writeToDestination(longContent.getBytes(StandardCharsets.US_ASCII), 0, longContent.length());
+            assertTrue(sizePolicy.mayTrigger(event));
+            manager.checkRollover(event);
+            assertEquals(1, checks.get());
+            assertEquals(0, manager.getFileSize());
+        } finally {
+            manager.close();
+            new File(file.getAbsolutePath() + ".1").delete();
+        }
+    }
+
+    /**
+     * Test that a rollover does not wait for the actions of other managers queued in the rollover executor.
+     */
+    @Test(timeout = 10_000)
+    public void testRolloverDoesNotWaitForQueuedActions() throws Exception {
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final RolloverStrategy strategy = manager -> new RolloverDescriptionImpl(
+                manager.getFileName(), false, null, new AbstractAction() {
+                    @Override
+                    public boolean execute() {
+                        threads.add(Thread.currentThread());
+                        return true;
+                    }
+                });
+        final Configuration configuration = new NullConfiguration();
+        final File file = File.createTempFile("testRolloverDoesNotWaitForQueuedActions", "log");
+        file.deleteOnExit();
+        final RollingFileManager manager = RollingFileManager.getFileManager(
+                file.getAbsolutePath(),
+                file.getAbsolutePath() + ".%i",
+                true,
+                false,
+                NoOpTriggeringPolicy.INSTANCE,
+                strategy,
+                null,
+                PatternLayout.createDefaultLayout(configuration),
+                0,
+                true,
+                false,
+                null,
+                null,
+                null,
+                configuration);
+        assertNotNull(manager);
+        final RolloverExecutor executor =
+                RolloverExecutor.newBuilder().setThreads(1).build();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            manager.initialize();
+            manager.setRolloverExecutor(executor);
+            // An action of another manager occupies the only thread of the executor
+            executor.execute(
+                    new AbstractAction() {
+                        @Override
+                        public boolean execute() {
+                            try {
+                                return blocked.await(10, TimeUnit.SECONDS);
+                            } catch (final InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return false;
+                            }
+                        }
+                    },
+                    0);
+            final String content = "Test";
+            manager.writeToDestination(content.getBytes(StandardCharsets.US_ASCII), 0, content.length());
+            manager.rollover();
+            assertEquals(1, executor.getQueuedTasks());
+            assertTrue(threads.isEmpty());
+
+            // The queued action of the first rollover is executed by the second one
+            manager.writeToDestination(content.getBytes(StandardCharsets.US_ASCII), 0, content.length());
+            manager.rollover();
+            assertEquals(1, threads.size());
+            assertEquals(Thread.currentThread(), threads.get(0));
+
+            blocked.countDown();
+            executor.stop(10, TimeUnit.SECONDS);
+            assertEquals(2, threads.size());
+            assertNotEquals(Thread.currentThread(), threads.get(1));
+        } finally {
+            blocked.countDown();
+            manager.close();
+        }
+    }
 }
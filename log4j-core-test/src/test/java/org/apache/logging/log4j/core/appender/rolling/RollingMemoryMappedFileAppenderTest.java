@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.RollingMemoryMappedFileAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.plugins.Named;
+import org.apache.logging.log4j.test.junit.TempLoggingDir;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
+import org.junit.jupiter.api.Test;
+
+@UsingStatusListener
+public class RollingMemoryMappedFileAppenderTest {
+
+    @TempLoggingDir
+    private static Path loggingPath;
+
+    @Test
+    @LoggerContextSource
+    public void testAppender(
+            final Logger logger,
+            final LoggerContext context,
+            @Named("RollingMemoryMappedFile") final RollingMemoryMappedFileAppender appender)
+            throws Exception {
+        assertThat(appender.getRegionLength()).isEqualTo(256);
+        final List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            final String message = "This is test message number " + i;
+            messages.add(message);
+            logger.debug(message);
+        }
+        assertThat(context.stop(30, TimeUnit.SECONDS)).isTrue();
+        final List<Path> files;
+        try (final Stream<Path> stream = Files.list(loggingPath)) {
+            files = stream.collect(Collectors.toList());
+        }
+        for (final Path file : files) {
+            final String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            // The unused tail of the mapped region must have been truncated
+            assertThat(text).as("Content of %s", file).doesNotContain("\0");
+            assertThat(text).as("Content of %s", file).endsWith("\n");
+            for (final String line : text.split("[\\r\\n]+")) {
+                messages.remove(line);
+            }
+        }
+        assertThat(messages).as("Lost messages").isEmpty();
+        assertThat(files).as("Log files").hasSizeGreaterThan(31);
+    }
+}
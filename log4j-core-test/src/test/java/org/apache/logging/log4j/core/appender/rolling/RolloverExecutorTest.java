@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
+import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.internal.GzCompressAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RolloverExecutorTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void executesOldestFilesFirst() throws Exception {
+        final RolloverExecutor executor =
+                RolloverExecutor.newBuilder().setThreads(1).build();
+        try {
+            final CountDownLatch blocked = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(4);
+            final List<Long> order = new CopyOnWriteArrayList<>();
+            executor.execute(
+                    newAction(() -> {
+                        blocked.await();
+                        done.countDown();
+                    }),
+                    0);
+            for (final long fileTime : new long[] {30, 10, 20}) {
+                executor.execute(
+                        newAction(() -> {
+                            order.add(fileTime);
+                            done.countDown();
+                        }),
+                        fileTime);
+            }
+            assertThat(executor.getQueuedTasks()).isEqualTo(3);
+            blocked.countDown();
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(order).containsExactly(10L, 20L, 30L);
+        } finally {
+            executor.stop(10, TimeUnit.SECONDS);
+        }
+        assertThat(executor.getCompletedTasks()).isEqualTo(4);
+        assertThat(executor.getRunningTasks()).isZero();
+    }
+
+    @Test
+    void recordsCompressedBytes() throws Exception {
+        final Path source = tempDir.resolve("source.log");
+        final Path destination = tempDir.resolve("source.log.gz");
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            content.append("This is line ").append(i).append('\n');
+        }
+        Files.write(source, content.toString().getBytes(StandardCharsets.UTF_8));
+        final long sourceSize = Files.size(source);
+        final RolloverExecutor executor = RolloverExecutor.newBuilder()
+                .setThreads(1)
+                .setMaxBytesPerSecond("100 MB")
+                .build();
+        executor.execute(new GzCompressAction(source, destination, Deflater.DEFAULT_COMPRESSION), 0);
+        executor.stop(10, TimeUnit.SECONDS);
+
+        assertThat(source).doesNotExist();
+        assertThat(executor.getBytesRead()).isEqualTo(sourceSize);
+        assertThat(executor.getBytesWritten())
+                .isEqualTo(Files.size(destination))
+                .isLessThan(sourceSize);
+    }
+
+    @Test
+    void executesSynchronouslyOnceStopped() {
+        final RolloverExecutor executor = RolloverExecutor.newBuilder().build();
+        executor.stop(10, TimeUnit.SECONDS);
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        executor.execute(newAction(() -> threads.add(Thread.currentThread())), 0);
+        assertThat(threads).containsExactly(Thread.currentThread());
+    }
+
+    private static Action newAction(final Body body) {
+        return new AbstractAction() {
+            @Override
+            public boolean execute() throws IOException {
+                try {
+                    body.run();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                return true;
+            }
+        };
+    }
+
+    private interface Body {
+        void run() throws InterruptedException;
+    }
+}
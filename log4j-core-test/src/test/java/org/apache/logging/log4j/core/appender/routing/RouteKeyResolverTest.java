@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.jupiter.api.Test;
+
+@LoggerContextSource("log4j-routing-lookup.xml")
+class RouteKeyResolverTest {
+
+    private final StrSubstitutor substitutor;
+
+    RouteKeyResolverTest(final LoggerContext context) {
+        this.substitutor = context.getConfiguration().getStrSubstitutor();
+    }
+
+    private static LogEvent createEvent(final String user) {
+        final StringMap contextData = ContextDataFactory.createContextData();
+        if (user != null) {
+            contextData.putValue("user", user);
+        }
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName("com.example.Service")
+                .setLevel(Level.INFO)
+                .setMarker(MarkerManager.getMarker("AUDIT"))
+                .setMessage(new SimpleMessage("message"))
+                .setContextData(contextData)
+                .build();
+    }
+
+    @Test
+    void compilesContextDataLookup() {
+        final RouteKeyResolver resolver = RouteKeyResolver.compile("${ctx:user}", substitutor);
+        assertThat(resolver.isCompiled()).isTrue();
+        assertThat(resolver.resolve(createEvent("tenant1"))).isEqualTo("tenant1");
+        // Unresolved lookups are left as is by the substitutor
+        assertThat(resolver.resolve(createEvent(null))).isEqualTo("${ctx:user}");
+    }
+
+    @Test
+    void compilesContextDataLookupWithDefaultValue() {
+        final RouteKeyResolver resolver = RouteKeyResolver.compile("${ctx:user:-none}", substitutor);
+        assertThat(resolver.isCompiled()).isTrue();
+        assertThat(resolver.resolve(createEvent("tenant1"))).isEqualTo("tenant1");
+        assertThat(resolver.resolve(createEvent(null))).isEqualTo("none");
+    }
+
+    @Test
+    void doesNotEvaluateLookupsInValues() {
+        final RouteKeyResolver resolver = RouteKeyResolver.compile("${ctx:user}", substitutor);
+        assertThat(resolver.resolve(createEvent("${java:version}"))).isEqualTo("${java:version}");
+    }
+
+    @Test
+    void compilesEventLookups() {
+        assertThat(RouteKeyResolver.compile("${event:Logger}", substitutor).resolve(createEvent(null)))
+                .isEqualTo("com.example.Service");
+        assertThat(RouteKeyResolver.compile("${event:Level}", substitutor).resolve(createEvent(null)))
+                .isEqualTo("INFO");
+        assertThat(RouteKeyResolver.compile("${event:Marker}", substitutor).resolve(createEvent(null)))
+                .isEqualTo("AUDIT");
+        assertThat(RouteKeyResolver.compile("${marker:}", substitutor).isCompiled())
+                .isFalse();
+        assertThat(RouteKeyResolver.compile("${marker:any}", substitutor).resolve(createEvent(null)))
+                .isEqualTo("AUDIT");
+    }
+
+    @Test
+    void fallsBackToSubstitutor() {
+        final RouteKeyResolver resolver = RouteKeyResolver.compile("${ctx:user}-${event:Level}", substitutor);
+        assertThat(resolver.isCompiled()).isFalse();
+        assertThat(resolver.resolve(createEvent("tenant1"))).isEqualTo("tenant1-INFO");
+        assertThat(RouteKeyResolver.compile("${event:Message}", substitutor).isCompiled())
+                .isFalse();
+        assertThat(RouteKeyResolver.compile("${upper:${ctx:user}}", substitutor).isCompiled())
+                .isFalse();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.appender.rolling.RolloverExecutor;
+import org.apache.logging.log4j.core.test.TestConstants;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.test.junit.CleanUpDirectories;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.Test;
+
+@SetTestProperty(key = TestConstants.CONFIGURATION_LAZY_APPENDERS, value = "true")
+@SetTestProperty(key = TestConstants.CONFIGURATION_APPENDER_CREATION_THREADS, value = "2")
+class LazyAppendersTest {
+
+    private static final Path UNUSED_FILE = Paths.get("target/lazy-appenders/unused.log");
+
+    @Test
+    @CleanUpDirectories("target/lazy-appenders")
+    @LoggerContextSource("LazyAppendersTest.xml")
+    void defers_appenders_not_referenced_by_loggers(final Configuration config) {
+        // `asyncTarget` is created while the `async` appender starts
+        assertThat(config.<Appender>getAppender("asyncTarget").isStarted()).isTrue();
+        assertThat(UNUSED_FILE).doesNotExist();
+
+        final Appender unused = config.getAppender("unused");
+        assertThat(unused).isNotNull();
+        assertThat(unused.isStarted()).isTrue();
+        assertThat(UNUSED_FILE).exists();
+        assertThat(config.<Appender>getAppender("unused")).isSameAs(unused);
+        assertThat(config.<Appender>getAppender("missing")).isNull();
+    }
+
+    @Test
+    @CleanUpDirectories("target/lazy-appenders")
+    @LoggerContextSource("LazyAppendersTest.xml")
+    void creates_deferred_appenders_when_all_appenders_are_requested(final Configuration config) {
+        assertThat(UNUSED_FILE).doesNotExist();
+
+        assertThat(config.getAppenders()).containsOnlyKeys("used", "unused", "async", "asyncTarget");
+        assertThat(config.getAppenders().values()).allMatch(Appender::isStarted);
+        assertThat(UNUSED_FILE).exists();
+    }
+
+    @Test
+    void creates_a_single_extension_concurrently() throws Exception {
+        final Configuration config = new NullConfiguration();
+        final int threads = 8;
+        final AtomicInteger created = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<RolloverExecutor> results = new ArrayList<>();
+        try {
+            final List<Future<RolloverExecutor>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return config.addExtensionIfAbsent(RolloverExecutor.class, () -> {
+                        created.incrementAndGet();
+                        // Widen the window between the lookup and the registration
+                        Thread.yield();
+                        return RolloverExecutor.newBuilder().build();
+                    });
+                }));
+            }
+            start.countDown();
+            for (final Future<RolloverExecutor> future : futures) {
+                results.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        final RolloverExecutor extension = config.getExtension(RolloverExecutor.class);
+        try {
+            assertThat(created).hasValue(1);
+            assertThat(extension).isNotNull();
+            assertThat(results).hasSize(threads).allMatch(result -> result == extension);
+        } finally {
+            extension.stop(1, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class RecursionGuardTest {
+
+    static Stream<RecursionGuard> guards() {
+        return Stream.of(new RecursionGuard.ThreadLocalGuard(), new RecursionGuard.ThreadTableGuard());
+    }
+
+    @ParameterizedTest
+    @MethodSource("guards")
+    void detects_recursive_calls(final RecursionGuard guard) {
+        final int token = guard.enter();
+        assertThat(token).isNotEqualTo(RecursionGuard.RECURSIVE);
+        assertThat(guard.enter()).isEqualTo(RecursionGuard.RECURSIVE);
+        guard.exit(token);
+
+        final int next = guard.enter();
+        assertThat(next).isNotEqualTo(RecursionGuard.RECURSIVE);
+        guard.exit(next);
+    }
+
+    @ParameterizedTest
+    @MethodSource("guards")
+    void allows_concurrent_calls(final RecursionGuard guard) throws Exception {
+        // More threads than slots in the table, to exercise the overflow
+        final int threadCount = 2 * RecursionGuard.ThreadTableGuard.SIZE;
+        final CyclicBarrier inside = new CyclicBarrier(threadCount);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> {
+                    final int token = guard.enter();
+                    try {
+                        inside.await(10, TimeUnit.SECONDS);
+                        // Every thread is inside the appender
+                        final boolean recursive = guard.enter() == RecursionGuard.RECURSIVE;
+                        release.await(10, TimeUnit.SECONDS);
+                        return token != RecursionGuard.RECURSIVE && recursive;
+                    } finally {
+                        guard.exit(token);
+                    }
+                }));
+            }
+            release.countDown();
+            for (final Future<Boolean> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        final int token = guard.enter();
+        assertThat(token).isNotEqualTo(RecursionGuard.RECURSIVE);
+        guard.exit(token);
+    }
+}
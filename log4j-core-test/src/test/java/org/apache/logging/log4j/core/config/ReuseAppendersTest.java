@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.RollingFileAppender;
+import org.apache.logging.log4j.core.appender.rolling.RollingFileManager;
+import org.apache.logging.log4j.core.appender.rolling.RolloverExecutor;
+import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
+import org.apache.logging.log4j.core.test.TestConstants;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.test.junit.CleanUpDirectories;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+@SetTestProperty(key = TestConstants.CONFIGURATION_REUSE_APPENDERS, value = "true")
+class ReuseAppendersTest {
+
+    @Test
+    @LoggerContextSource("ReuseAppendersTest.xml")
+    void reuses_unchanged_appenders(final LoggerContext context) throws Exception {
+        final Configuration oldConfig = context.getConfiguration();
+        final ListAppender kept = oldConfig.getAppender("kept");
+        final ListAppender changed = oldConfig.getAppender("changed");
+        final Appender async = oldConfig.getAppender("async");
+        context.getLogger(ReuseAppendersTest.class).info("before");
+
+        context.setConfigLocation(ReuseAppendersTest.class
+                .getResource("/ReuseAppendersTest-changed.xml")
+                .toURI());
+
+        final Configuration newConfig = context.getConfiguration();
+        assertThat(newConfig).isNotSameAs(oldConfig);
+        assertThat(oldConfig.isStopped()).isTrue();
+        // Unchanged appender: the instance and its content survive the reconfiguration
+        assertThat(newConfig.<Appender>getAppender("kept")).isSameAs(kept);
+        assertThat(kept.isStarted()).isTrue();
+        assertThat(kept.getEvents()).hasSize(1);
+        // Changed appender
+        final ListAppender newChanged = newConfig.getAppender("changed");
+        assertThat(newChanged).isNotSameAs(changed);
+        assertThat(newChanged.isStarted()).isTrue();
+        assertThat(changed.isStopped()).isTrue();
+        // Appenders referencing other appenders are always recreated
+        assertThat(newConfig.<Appender>getAppender("async")).isNotSameAs(async);
+        assertThat(async.isStopped()).isTrue();
+
+        context.getLogger(ReuseAppendersTest.class).info("after");
+        newConfig.<Appender>getAppender("async").stop();
+        assertThat(kept.getEvents()).hasSize(2);
+        assertThat(newChanged.getEvents()).hasSize(1);
+    }
+
+    @Test
+    @CleanUpDirectories("target/reuse-appenders")
+    @LoggerContextSource("ReuseAppendersTest-rolling.xml")
+    void rebinds_reused_appenders_to_new_configuration(final LoggerContext context) {
+        final Configuration oldConfig = context.getConfiguration();
+        final RollingFileAppender rolling = oldConfig.getAppender("rolling");
+        final RollingFileManager manager = rolling.getManager();
+        final RolloverExecutor oldExecutor = manager.getRolloverExecutor();
+        assertThat(oldConfig.getExtension(RolloverExecutor.class)).isSameAs(oldExecutor);
+
+        context.reconfigure();
+
+        final Configuration newConfig = context.getConfiguration();
+        assertThat(newConfig).isNotSameAs(oldConfig);
+        assertThat(oldConfig.isStopped()).isTrue();
+        assertThat(oldExecutor.isStopped()).isTrue();
+        assertThat(newConfig.<Appender>getAppender("rolling")).isSameAs(rolling);
+        // The stopped configuration no longer references the transferred appender
+        assertThat(oldConfig.getAppenders()).doesNotContainKey("rolling");
+        final RolloverExecutor newExecutor = newConfig.getExtension(RolloverExecutor.class);
+        assertThat(newExecutor).isNotNull().isNotSameAs(oldExecutor);
+        assertThat(manager.getRolloverExecutor()).isSameAs(newExecutor);
+
+        context.getLogger(ReuseAppendersTest.class).info("before rollover");
+        manager.rollover();
+        final Path archive = Paths.get("target/reuse-appenders/rolling-1.log.gz");
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> newExecutor.getCompletedTasks() == 1);
+        assertThat(archive).exists();
+        assertThat(oldExecutor.getCompletedTasks()).isZero();
+        // The compression was executed by a thread of the executor, not by the logging thread
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        newExecutor.execute(
+                new AbstractAction() {
+                    @Override
+                    public boolean execute() {
+                        threads.add(Thread.currentThread().getName());
+                        return true;
+                    }
+                },
+                0);
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> !threads.isEmpty());
+        assertThat(threads.get(0)).contains("RolloverExecutor");
+    }
+
+    @Test
+    @CleanUpDirectories("target/reuse-appenders-cron")
+    @LoggerContextSource("ReuseAppendersTest-cron.xml")
+    void reschedules_cron_policies_of_reused_appenders(final LoggerContext context) {
+        final Configuration oldConfig = context.getConfiguration();
+        final RollingFileAppender rolling = oldConfig.getAppender("rolling");
+        assertThat(oldConfig.getScheduler().toString()).contains("0 0 0 * * ?");
+
+        context.reconfigure();
+
+        final Configuration newConfig = context.getConfiguration();
+        assertThat(newConfig).isNotSameAs(oldConfig);
+        assertThat(newConfig.<Appender>getAppender("rolling")).isSameAs(rolling);
+        assertThat(oldConfig.getScheduler().isStopped()).isTrue();
+        assertThat(newConfig.getScheduler().toString()).contains("0 0 0 * * ?");
+    }
+
+    @Test
+    @CleanUpDirectories("target/reuse-appenders")
+    @LoggerContextSource("ReuseAppendersTest-rolling.xml")
+    void transfers_appenders_only_to_started_configuration(final LoggerContext context) {
+        final Configuration oldConfig = context.getConfiguration();
+        final RollingFileAppender rolling = oldConfig.getAppender("rolling");
+
+        final Configuration candidate = ((Reconfigurable) oldConfig).reconfigure();
+        // Like `LoggerContext.setConfiguration()` does before starting the configuration
+        final Map<String, String> properties = candidate.getComponent(Configuration.CONTEXT_PROPERTIES);
+        properties.putAll(oldConfig.getComponent(Configuration.CONTEXT_PROPERTIES));
+        candidate.initialize();
+        assertThat(candidate.<Appender>getAppender("rolling")).isSameAs(rolling);
+        // The candidate is discarded without being started
+        candidate.stop();
+        assertThat(rolling.isStarted()).isTrue();
+        assertThat(oldConfig.<Appender>getAppender("rolling")).isSameAs(rolling);
+
+        oldConfig.stop();
+        assertThat(rolling.isStopped()).isTrue();
+    }
+}
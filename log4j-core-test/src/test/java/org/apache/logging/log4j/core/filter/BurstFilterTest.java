@@ -17,34 +17,52 @@
 package org.apache.logging.log4j.core.filter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.test.appender.ListAppender;
 import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
 import org.apache.logging.log4j.core.test.junit.Named;
-import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 /**
  * Unit test for <code>BurstFilter</code>.
  */
 @LoggerContextSource("log4j-burst.xml")
-@Tag("sleepy")
 public class BurstFilterTest {
 
+    private static final long MILLIS_IN_NANOS = 1_000_000L;
+
+    private final AtomicLong nanoTime = new AtomicLong();
     private final ListAppender app;
     private final BurstFilter filter;
     private final Logger logger;
 
     public BurstFilterTest(final LoggerContext context, @Named("ListAppender") final ListAppender app) {
         this.app = app;
-        this.filter = (BurstFilter) app.getFilter();
-        assertNotNull(filter);
+        final BurstFilter configuredFilter = (BurstFilter) app.getFilter();
+        assertNotNull(configuredFilter);
+        assertEquals("level=INFO, rate=33.0, maxBurst=100, scope=GLOBAL", configuredFilter.toString());
+        // Replace the configured filter with an identical one driven by a manual clock.
+        this.filter = BurstFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setRate(33)
+                .setMaxBurst(100)
+                .setNanoClock(nanoTime::get)
+                .build();
+        app.removeFilter(configuredFilter);
+        app.addFilter(filter);
         this.logger = context.getLogger(getClass());
     }
 
@@ -54,40 +72,48 @@ public class BurstFilterTest {
      * sure the filter allows the appropriate number of messages to be logged.
      */
     @Test
-    public void test() throws Exception {
-        System.nanoTime();
+    public void test() {
         for (int i = 0; i < 110; i++) {
-            if (i % 10 == 0) {
-                Thread.sleep(200);
-            }
             logger.info("Logging 110 messages, should only see 100 logs # " + (i + 1));
-            assertTrue(filter.getAvailable() < 100, "Incorrect number of available slots");
+            assertEquals(Math.max(0, 99 - i), filter.getAvailable(), "Incorrect number of available slots");
         }
         List<String> msgs = app.getMessages();
         assertEquals(100, msgs.size(), "Incorrect message count. Should be 100, actual " + msgs.size());
         app.clear();
 
-        assertTrue(filter.getAvailable() < 100, "Incorrect number of available slots");
-        // Allow some of the events to clear
-        Thread.sleep(1500);
+        // The bucket is refilled at 33 events per second: 72 events in 2.2 seconds.
+        for (int i = 0; i < 110; i++) {
+            if (i % 10 == 0) {
+                nanoTime.addAndGet(200 * MILLIS_IN_NANOS);
+            }
+            logger.info("Logging 110 messages over 2.2 seconds, should see 72 logs # " + (i + 1));
+        }
+        msgs = app.getMessages();
+        assertEquals(72, msgs.size(), "Incorrect message count. Should be 72, actual " + msgs.size());
+        assertEquals(0, filter.getAvailable(), "Incorrect number of available slots");
+        app.clear();
+
+        // Allow some of the events to clear, including the fraction of an event left from the previous refill
+        nanoTime.addAndGet(1500 * MILLIS_IN_NANOS);
+        assertEquals(50, filter.getAvailable(), "Incorrect number of available slots");
 
         for (int i = 0; i < 110; i++) {
-            logger.info(
-                    "Waited 1.5 seconds and trying to log again, should see more than 0 and less than 100" + (i + 1));
+            logger.info("Waited 1.5 seconds and trying to log again, should see 50 logs # " + (i + 1));
         }
 
         msgs = app.getMessages();
-        assertFalse(msgs.isEmpty(), "No messages were counted.");
-        assertTrue(msgs.size() < 100, "Incorrect message count. Should be > 0 and < 100, actual " + msgs.size());
+        assertEquals(50, msgs.size(), "Incorrect message count. Should be 50, actual " + msgs.size());
         app.clear();
 
         filter.clear();
+        assertEquals(100, filter.getAvailable(), "Incorrect number of available slots");
 
         for (int i = 0; i < 110; i++) {
-            logger.info(
-                    "Waited 1.5 seconds and trying to log again, should see more than 0 and less than 100" + (i + 1));
+            logger.info("Cleared the filter and trying to log again, should see 100 logs # " + (i + 1));
         }
-        assertEquals(0, filter.getAvailable(), "");
+        msgs = app.getMessages();
+        assertEquals(100, msgs.size(), "Incorrect message count. Should be 100, actual " + msgs.size());
+        assertEquals(0, filter.getAvailable(), "Incorrect number of available slots");
         app.clear();
 
         // now log 100 debugs, they shouldn't get through because there are no available slots.
@@ -128,7 +154,8 @@ public class BurstFilterTest {
         app.clear();
 
         // wait and make sure we can log messages again despite the fact we just logged a bunch of warns, errors, fatals
-        Thread.sleep(3100);
+        nanoTime.addAndGet(3100 * MILLIS_IN_NANOS);
+        assertEquals(100, filter.getAvailable(), "Incorrect number of available slots");
 
         for (int i = 0; i < 110; i++) {
             logger.debug("Waited 3+ seconds, should see 100 logs #" + (i + 1));
@@ -137,4 +164,121 @@ public class BurstFilterTest {
         assertEquals(100, msgs.size(), "Incorrect message count. Should be 100, actual " + msgs.size());
         app.clear();
     }
+
+    @Test
+    public void testBurstAndRefill() {
+        final AtomicLong nanoTime = new AtomicLong(Long.MAX_VALUE - 150_000_000L);
+        final BurstFilter filter = BurstFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setRate(10)
+                .setMaxBurst(5)
+                .setNanoClock(nanoTime::get)
+                .build();
+        final LogEvent event = createEvent("a.B", null);
+        assertEquals(5, filter.getAvailable());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Result.NEUTRAL, filter.filter(event), "event #" + i);
+        }
+        assertEquals(Result.DENY, filter.filter(event));
+        assertEquals(0, filter.getAvailable());
+
+        // One emission interval later, exactly one event is allowed; across `System.nanoTime()` overflow too.
+        nanoTime.addAndGet(100_000_000L);
+        assertEquals(1, filter.getAvailable());
+        assertEquals(Result.NEUTRAL, filter.filter(event));
+        assertEquals(Result.DENY, filter.filter(event));
+
+        // After a long pause, the burst is capped to `maxBurst`.
+        nanoTime.addAndGet(10_000_000_000L);
+        assertEquals(5, filter.getAvailable());
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (filter.filter(event) == Result.NEUTRAL) {
+                accepted++;
+            }
+        }
+        assertEquals(5, accepted);
+
+        // Events more severe than the level are never filtered.
+        final LogEvent warnEvent =
+                Log4jLogEvent.newBuilder().setLevel(Level.WARN).build();
+        assertEquals(Result.NEUTRAL, filter.filter(warnEvent));
+    }
+
+    @Test
+    public void testScopes() {
+        final AtomicLong nanoTime = new AtomicLong();
+        final BurstFilter loggerFilter = BurstFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setRate(1)
+                .setMaxBurst(2)
+                .setScope(BurstFilter.Scope.LOGGER)
+                .setStripes(1024)
+                .setNanoClock(nanoTime::get)
+                .build();
+        final BurstFilter markerFilter = BurstFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setRate(1)
+                .setMaxBurst(2)
+                .setScope(BurstFilter.Scope.MARKER)
+                .setStripes(1024)
+                .setNanoClock(nanoTime::get)
+                .build();
+        final Marker marker1 = MarkerManager.getMarker("BurstFilterTest1");
+        final Marker marker2 = MarkerManager.getMarker("BurstFilterTest2");
+        // The available slots are summed over the 1024 stripes.
+        assertEquals(2048, loggerFilter.getAvailable());
+        assertEquals(2, countAccepted(loggerFilter, createEvent("a.B", marker1), 10));
+        assertEquals(2, countAccepted(loggerFilter, createEvent("c.D", marker1), 10));
+        assertEquals(2044, loggerFilter.getAvailable());
+        assertEquals(2, countAccepted(markerFilter, createEvent("a.B", marker1), 10));
+        assertEquals(2, countAccepted(markerFilter, createEvent("a.B", marker2), 10));
+        assertEquals(2, countAccepted(markerFilter, createEvent("a.B", null), 10));
+        assertEquals(0, countAccepted(markerFilter, createEvent("c.D", marker2), 10));
+        assertEquals(2042, markerFilter.getAvailable());
+
+        // One second later, each stripe got one slot back.
+        nanoTime.addAndGet(1_000_000_000L);
+        assertEquals(2046, loggerFilter.getAvailable());
+        assertEquals(2045, markerFilter.getAvailable());
+    }
+
+    @Test
+    public void testContention() throws Exception {
+        final BurstFilter filter = BurstFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setRate(1)
+                .setMaxBurst(1000)
+                .setNanoClock(() -> 0L)
+                .build();
+        final LogEvent event = createEvent("a.B", null);
+        final AtomicInteger accepted = new AtomicInteger();
+        final Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> accepted.addAndGet(countAccepted(filter, event, 10_000)));
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1000, accepted.get());
+    }
+
+    private static LogEvent createEvent(final String loggerName, final Marker marker) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(loggerName)
+                .setMarker(marker)
+                .setLevel(Level.INFO)
+                .build();
+    }
+
+    private static int countAccepted(final BurstFilter filter, final LogEvent event, final int count) {
+        int accepted = 0;
+        for (int i = 0; i < count; i++) {
+            if (filter.filter(event) == Result.NEUTRAL) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
 }
@@ -17,10 +17,18 @@
 package org.apache.logging.log4j.core.filter;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.junit.jupiter.api.Test;
 
 public class CompositeFilterTest {
@@ -45,4 +53,89 @@ public class CompositeFilterTest {
         final CompositeFilter concat2 = singleA.addFilter(singleB.addFilter(singleC));
         assertArrayEquals(expected, concat2.getFiltersArray());
     }
+
+    @Test
+    public void testLevelDecisions() throws Exception {
+        final Filter threshold = ThresholdFilter.createFilter(Level.WARN, Result.NEUTRAL, Result.DENY);
+        final Filter marker = MarkerFilter.createFilter("FLOW", Result.NEUTRAL, Result.DENY);
+        final Filter acceptingRegex = RegexFilter.createFilter("accept.*", null, false, Result.ACCEPT, Result.NEUTRAL);
+
+        // Level-only chain: fully decided
+        final CompositeFilter levelOnly = CompositeFilter.createFilters(new Filter[] {threshold});
+        assertEquals(Result.DENY, levelOnly.filterLevel(Level.INFO));
+        assertEquals(Result.NEUTRAL, levelOnly.filterLevel(Level.ERROR));
+        assertEquals(Result.DENY, levelOnly.filterLevel(Level.forName("CompositeFilterTest_CUSTOM", 450)));
+        assertEquals(
+                Result.NEUTRAL, CompositeFilter.createFilters(new Filter[0]).filterLevel(Level.TRACE));
+
+        // The threshold denies regardless of the marker filter, which never accepts
+        final CompositeFilter markerFirst = CompositeFilter.createFilters(new Filter[] {marker, threshold});
+        assertEquals(Result.DENY, markerFirst.filterLevel(Level.INFO));
+        assertNull(markerFirst.filterLevel(Level.ERROR));
+
+        // A filter which might accept the event precedes the threshold
+        final CompositeFilter regexFirst = CompositeFilter.createFilters(new Filter[] {acceptingRegex, threshold});
+        assertNull(regexFirst.filterLevel(Level.INFO));
+        final CompositeFilter regexLast = CompositeFilter.createFilters(new Filter[] {threshold, acceptingRegex});
+        assertEquals(Result.DENY, regexLast.filterLevel(Level.INFO));
+        assertNull(regexLast.filterLevel(Level.ERROR));
+    }
+
+    @Test
+    public void testCompiledChainMatchesSequentialEvaluation() throws Exception {
+        final Filter[] candidates = {
+            ThresholdFilter.createFilter(Level.WARN, Result.NEUTRAL, Result.DENY),
+            ThresholdFilter.createFilter(Level.ERROR, Result.ACCEPT, Result.NEUTRAL),
+            LevelRangeFilter.createFilter(Level.ERROR, Level.DEBUG, Result.NEUTRAL, Result.DENY),
+            MarkerFilter.createFilter("FLOW", Result.NEUTRAL, Result.DENY),
+            MarkerFilter.createFilter("FLOW", Result.ACCEPT, Result.NEUTRAL),
+            RegexFilter.createFilter("deny.*", null, false, Result.DENY, Result.NEUTRAL),
+            RegexFilter.createFilter("accept.*", null, false, Result.ACCEPT, Result.NEUTRAL),
+            NoMarkerFilter.newBuilder()
+                    .setOnMatch(Result.DENY)
+                    .setOnMismatch(Result.NEUTRAL)
+                    .build()
+        };
+        final Level[] levels = {Level.FATAL, Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE};
+        final Marker[] markers = {null, MarkerManager.getMarker("FLOW"), MarkerManager.getMarker("OTHER")};
+        final String[] messages = {"accept me", "deny me", "neutral"};
+        // Every chain of three candidates
+        for (final Filter first : candidates) {
+            for (final Filter second : candidates) {
+                for (final Filter third : candidates) {
+                    final Filter[] chain = {first, second, third};
+                    final CompositeFilter composite = CompositeFilter.createFilters(chain);
+                    for (final Level level : levels) {
+                        for (final Marker marker : markers) {
+                            for (final String message : messages) {
+                                final LogEvent event = Log4jLogEvent.newBuilder()
+                                        .setLevel(level)
+                                        .setMarker(marker)
+                                        .setMessage(new SimpleMessage(message))
+                                        .build();
+                                assertEquals(
+                                        filterSequentially(chain, event),
+                                        composite.filter(event),
+                                        () -> composite + " on " + level + "/" + marker + "/" + message);
+                                assertEquals(
+                                        filterSequentially(chain, event),
+                                        composite.filter(null, level, marker, message, (Object[]) null),
+                                        () -> composite + " on " + level + "/" + marker + "/" + message);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static Result filterSequentially(final Filter[] filters, final LogEvent event) {
+        for (final Filter filter : filters) {
+            final Result result = filter.filter(event);
+            if (result != Result.NEUTRAL) {
+                return result;
+            }
+        }
+        return Result.NEUTRAL;
+    }
 }
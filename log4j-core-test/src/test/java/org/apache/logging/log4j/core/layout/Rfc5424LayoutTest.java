@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -77,15 +78,15 @@ class Rfc5424LayoutTest {
     private static final String line3 =
             String.format("ATM %s - [RequestContext@3692 loginId=\"JohnDoe\"] filled mdc", PROCESSID);
     private static final String line4 = String.format(
-            "ATM %s Audit [Transfer@18060 Amount=\"200.00\" FromAccount=\"123457\" ToAccount=\"123456\"]"
-                    + "[RequestContext@3692 ipAddress=\"192.168.0.120\" loginId=\"JohnDoe\"] Transfer Complete",
+            "ATM %s Audit [RequestContext@3692 ipAddress=\"192.168.0.120\" loginId=\"JohnDoe\"]"
+                    + "[Transfer@18060 Amount=\"200.00\" FromAccount=\"123457\" ToAccount=\"123456\"] Transfer Complete",
             PROCESSID);
     private static final String lineEscaped3 = String.format(
             "ATM %s - [RequestContext@3692 escaped=\"Testing escaping #012 \\\" \\] \\\"\" loginId=\"JohnDoe\"] filled mdc",
             PROCESSID);
     private static final String lineEscaped4 = String.format(
-            "ATM %s Audit [Transfer@18060 Amount=\"200.00\" FromAccount=\"123457\" ToAccount=\"123456\"]"
-                    + "[RequestContext@3692 escaped=\"Testing escaping #012 \\\" \\] \\\"\" ipAddress=\"192.168.0.120\" loginId=\"JohnDoe\"] Transfer Complete",
+            "ATM %s Audit [RequestContext@3692 escaped=\"Testing escaping #012 \\\" \\] \\\"\" ipAddress=\"192.168.0.120\" loginId=\"JohnDoe\"]"
+                    + "[Transfer@18060 Amount=\"200.00\" FromAccount=\"123457\" ToAccount=\"123456\"] Transfer Complete",
             PROCESSID);
     private static final String collectionLine1 =
             "[Transfer@18060 Amount=\"200.00\" FromAccount=\"123457\" " + "ToAccount=\"123456\"]";
@@ -707,4 +708,38 @@ class Rfc5424LayoutTest {
                 Rfc5424Layout.newBuilder().setConfiguration(CONFIGURATION).build();
         assertThat(layout.getLocalHostName()).isEqualTo(fqdn);
     }
+
+    @Test
+    void testEncodeMatchesToSerializable() {
+        final Rfc5424Layout layout = Rfc5424Layout.newBuilder()
+                .setFacility(Facility.LOCAL0)
+                .setId("Event")
+                .setEin("3692")
+                .setAppName("ATM")
+                .setEscapeNL("#012")
+                .setUseTLSMessageFormat(true)
+                .setLoggerFields(new LoggerFields[] {
+                    LoggerFields.createLoggerFields(
+                            new KeyValuePair[] {new KeyValuePair("level", "%p")}, null, null, false)
+                })
+                .setConfiguration(CONFIGURATION)
+                .build();
+        final StructuredDataMessage msg = new StructuredDataMessage("Transfer@18060", "Transfer\nComplete", "Audit");
+        msg.put("ToAccount", "\u00e9t\u00e9 \ud83d\ude00 \"quoted\"");
+        final LogEvent event =
+                Log4jLogEvent.newBuilder().setLevel(Level.INFO).setMessage(msg).build();
+
+        final String expected = layout.toSerializable(event);
+        assertThat(expected)
+                .endsWith("Audit [mdc@3692 level=\"INFO\"]"
+                        + "[Transfer@18060 ToAccount=\"\u00e9t\u00e9 \ud83d\ude00 \\\"quoted\\\"\"]"
+                        + " Transfer#012Complete");
+        final int frameLength = expected.substring(expected.indexOf(' ') + 1).getBytes(StandardCharsets.UTF_8).length;
+        assertThat(expected).startsWith(frameLength + " <134>1 ");
+
+        final SpyByteBufferDestination destination = new SpyByteBufferDestination(4096, 4096);
+        layout.encode(event, destination);
+        destination.buffer.flip();
+        assertThat(StandardCharsets.UTF_8.decode(destination.buffer).toString()).isEqualTo(expected);
+    }
 }
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.SocketAppender;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link DatagramChannelManager} against a local UDP receiver.
+ */
+@UsingStatusListener
+class DatagramChannelManagerTest {
+
+    private static final int MAX_DATAGRAM_SIZE = 256;
+
+    private static DatagramSocket openReceiver() throws IOException {
+        final DatagramSocket receiver = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        receiver.setReceiveBufferSize(1024 * 1024);
+        receiver.setSoTimeout(5000);
+        return receiver;
+    }
+
+    private static SocketAppender createAppender(final DatagramSocket receiver, final boolean immediateFlush) {
+        final SocketAppender appender = SocketAppender.newBuilder()
+                .setName("UDP")
+                .setHost(receiver.getLocalAddress().getHostAddress())
+                .setPort(receiver.getLocalPort())
+                .setProtocol(Protocol.UDP)
+                .setPackDatagrams(true)
+                .setImmediateFlush(immediateFlush)
+                .setLayout(PatternLayout.newBuilder().setPattern("%m").build())
+                .build();
+        assertThat(appender).isNotNull();
+        assertThat(appender.getManager()).isInstanceOf(DatagramChannelManager.class);
+        return appender;
+    }
+
+    private static DatagramChannelManager createManager(final DatagramSocket receiver) {
+        return DatagramChannelManager.getSocketManager(
+                receiver.getLocalAddress().getHostAddress(),
+                receiver.getLocalPort(),
+                PatternLayout.createDefaultLayout(),
+                8 * 1024,
+                MAX_DATAGRAM_SIZE);
+    }
+
+    private static byte[] createFrame(final char c, final int length) {
+        final byte[] frame = new byte[length];
+        Arrays.fill(frame, (byte) c);
+        return frame;
+    }
+
+    private static byte[] receive(final DatagramSocket receiver) throws IOException {
+        final DatagramPacket packet = new DatagramPacket(new byte[65536], 65536);
+        receiver.receive(packet);
+        return Arrays.copyOf(packet.getData(), packet.getLength());
+    }
+
+    /**
+     * Splits an octet-counted datagram into its frames.
+     */
+    private static List<String> parseFrames(final byte[] datagram) {
+        final List<String> frames = new ArrayList<>();
+        int position = 0;
+        while (position < datagram.length) {
+            int length = 0;
+            while (datagram[position] != ' ') {
+                length = 10 * length + datagram[position++] - '0';
+            }
+            position++;
+            frames.add(new String(datagram, position, length, StandardCharsets.UTF_8));
+            position += length;
+        }
+        return frames;
+    }
+
+    @Test
+    void packs_frames_up_to_the_maximum_datagram_size() throws Exception {
+        try (final DatagramSocket receiver = openReceiver()) {
+            final DatagramChannelManager manager = createManager(receiver);
+            assertThat(manager).isNotNull();
+            final int count = 100;
+            for (int i = 0; i < count; i++) {
+                manager.writeBytes(createFrame((char) ('a' + i % 26), 50), 0, 50);
+            }
+            manager.flush();
+            final long sentDatagrams = manager.getSentDatagrams();
+            // "50 " followed by 50 bytes: 4 frames per datagram
+            assertThat(sentDatagrams).isEqualTo(count / 4);
+
+            final List<String> frames = new ArrayList<>();
+            for (int i = 0; i < sentDatagrams; i++) {
+                final byte[] datagram = receive(receiver);
+                assertThat(datagram.length).isLessThanOrEqualTo(MAX_DATAGRAM_SIZE);
+                frames.addAll(parseFrames(datagram));
+            }
+            assertThat(frames).hasSize(count);
+            for (int i = 0; i < count; i++) {
+                assertThat(frames.get(i)).hasSize(50).matches((char) ('a' + i % 26) + "+");
+            }
+            manager.stop(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void sends_oversized_frames_alone() throws Exception {
+        try (final DatagramSocket receiver = openReceiver()) {
+            final DatagramChannelManager manager = createManager(receiver);
+            assertThat(manager).isNotNull();
+            manager.writeBytes(createFrame('a', 10), 0, 10);
+            manager.writeBytes(createFrame('b', 1000), 0, 1000);
+            manager.writeBytes(createFrame('c', 10), 0, 10);
+            manager.stop(5, TimeUnit.SECONDS);
+
+            assertThat(parseFrames(receive(receiver))).containsExactly("aaaaaaaaaa");
+            final byte[] oversized = receive(receiver);
+            assertThat(oversized).hasSize(1005);
+            assertThat(parseFrames(oversized))
+                    .containsExactly(new String(createFrame('b', 1000), StandardCharsets.UTF_8));
+            assertThat(parseFrames(receive(receiver))).containsExactly("cccccccccc");
+        }
+    }
+
+    @Test
+    void socket_appender_sends_a_datagram_at_the_end_of_each_batch() throws Exception {
+        try (final DatagramSocket receiver = openReceiver()) {
+            final SocketAppender appender = createAppender(receiver, false);
+            appender.start();
+            try {
+                for (int i = 0; i < 3; i++) {
+                    final LogEvent event = Log4jLogEvent.newBuilder()
+                            .setMessage(new SimpleMessage("event" + i))
+                            .setEndOfBatch(i == 2)
+                            .build();
+                    appender.append(event);
+                }
+                assertThat(parseFrames(receive(receiver))).containsExactly("event0", "event1", "event2");
+            } finally {
+                appender.stop(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    void interrupted_thread_does_not_close_the_channel() throws Exception {
+        try (final DatagramSocket receiver = openReceiver()) {
+            final SocketAppender appender = createAppender(receiver, true);
+            appender.start();
+            try {
+                Thread.currentThread().interrupt();
+                appender.append(Log4jLogEvent.newBuilder()
+                        .setMessage(new SimpleMessage("interrupted"))
+                        .build());
+                // The interrupt status is restored
+                assertThat(Thread.interrupted()).isTrue();
+                appender.append(Log4jLogEvent.newBuilder()
+                        .setMessage(new SimpleMessage("normal"))
+                        .build());
+
+                assertThat(parseFrames(receive(receiver))).containsExactly("interrupted");
+                assertThat(parseFrames(receive(receiver))).containsExactly("normal");
+            } finally {
+                appender.stop(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    void rejects_layouts_with_header_or_footer() throws Exception {
+        try (final DatagramSocket receiver = openReceiver()) {
+            final PatternLayout layout = PatternLayout.newBuilder()
+                    .setPattern("%m")
+                    .setHeader("header")
+                    .build();
+            assertThatThrownBy(() -> DatagramChannelManager.getSocketManager(
+                            receiver.getLocalAddress().getHostAddress(),
+                            receiver.getLocalPort(),
+                            layout,
+                            8 * 1024,
+                            MAX_DATAGRAM_SIZE))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.net.TcpSocketChannelManager.OverflowPolicy;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link TcpSocketChannelManager} against a local {@link ServerSocketChannel}.
+ */
+@UsingStatusListener
+class TcpSocketChannelManagerTest {
+
+    private static final int LINE_LENGTH = 1024;
+
+    private static final int SMALL_SEND_BUFFER_SIZE = 64 * 1024;
+
+    private static ServerSocketChannel openServer() throws IOException {
+        final ServerSocketChannel server = ServerSocketChannel.open();
+        server.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        return server;
+    }
+
+    private static TcpSocketChannelManager createManager(
+            final ServerSocketChannel server, final OverflowPolicy overflowPolicy) {
+        return createManager(server, overflowPolicy, 0);
+    }
+
+    private static TcpSocketChannelManager createManager(
+            final ServerSocketChannel server, final OverflowPolicy overflowPolicy, final int blockTimeoutMillis) {
+        final InetSocketAddress address = (InetSocketAddress) server.socket().getLocalSocketAddress();
+        return TcpSocketChannelManager.getSocketManager(
+                address.getHostString(),
+                address.getPort(),
+                1000,
+                0,
+                true,
+                PatternLayout.createDefaultLayout(),
+                8 * 1024,
+                null,
+                SMALL_SEND_BUFFER_SIZE,
+                overflowPolicy,
+                blockTimeoutMillis);
+    }
+
+    private static byte[] createLine(final char c) {
+        final byte[] line = new byte[LINE_LENGTH];
+        Arrays.fill(line, (byte) c);
+        line[LINE_LENGTH - 1] = '\n';
+        return line;
+    }
+
+    private static CompletableFuture<List<String>> readLines(final SocketChannel peer) {
+        return CompletableFuture.supplyAsync(() -> {
+            final List<String> lines = new ArrayList<>();
+            try (final BufferedReader reader =
+                    new BufferedReader(new InputStreamReader(Channels.newInputStream(peer), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return lines;
+        });
+    }
+
+    @Test
+    void sends_all_events_to_a_reading_peer() throws Exception {
+        try (final ServerSocketChannel server = openServer()) {
+            final TcpSocketChannelManager manager = createManager(server, OverflowPolicy.BLOCK);
+            assertThat(manager).isNotNull();
+            try (final SocketChannel peer = server.accept()) {
+                final CompletableFuture<List<String>> received = readLines(peer);
+                final int count = 1000;
+                for (int i = 0; i < count; i++) {
+                    manager.writeBytes(createLine((char) ('a' + i % 26)), 0, LINE_LENGTH);
+                    if (i % 10 == 0) {
+                        manager.flush();
+                    }
+                }
+                manager.stop(5, TimeUnit.SECONDS);
+                final List<String> lines = received.get(10, TimeUnit.SECONDS);
+                assertThat(lines).hasSize(count);
+                for (int i = 0; i < count; i++) {
+                    assertThat(lines.get(i)).hasSize(LINE_LENGTH - 1).matches((char) ('a' + i % 26) + "+");
+                }
+                assertThat(manager.getDroppedBytes()).isZero();
+            }
+        }
+    }
+
+    @Test
+    void drops_whole_events_when_peer_is_slow() throws Exception {
+        try (final ServerSocketChannel server = openServer()) {
+            final TcpSocketChannelManager manager = createManager(server, OverflowPolicy.DROP);
+            assertThat(manager).isNotNull();
+            try (final SocketChannel peer = server.accept()) {
+                // The peer does not read: the writes must never block
+                final int written = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                    int i = 0;
+                    while (manager.getDroppedBytes() == 0 && i < 1_000_000) {
+                        manager.writeBytes(createLine('x'), 0, LINE_LENGTH);
+                        manager.flush();
+                        i++;
+                    }
+                    return i;
+                });
+                assertThat(manager.getDroppedBytes()).isPositive();
+                assertThat(manager.getPendingBytes()).isLessThanOrEqualTo(SMALL_SEND_BUFFER_SIZE);
+
+                final CompletableFuture<List<String>> received = readLines(peer);
+                manager.stop(5, TimeUnit.SECONDS);
+                final List<String> lines = received.get(10, TimeUnit.SECONDS);
+                assertThat(lines).isNotEmpty().hasSizeLessThan(written).allSatisfy(line -> assertThat(line)
+                        .hasSize(LINE_LENGTH - 1)
+                        .matches("x+"));
+            }
+        }
+    }
+
+    @Test
+    void drops_events_when_blocking_times_out() throws Exception {
+        try (final ServerSocketChannel server = openServer()) {
+            final TcpSocketChannelManager manager = createManager(server, OverflowPolicy.BLOCK, 100);
+            assertThat(manager).isNotNull();
+            assertThat(manager.getBlockTimeoutMillis()).isEqualTo(100);
+            try (final SocketChannel peer = server.accept()) {
+                // The peer does not read: the writes must give up after the block timeout
+                assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                    int i = 0;
+                    while (manager.getDroppedBytes() == 0 && i < 1_000_000) {
+                        manager.writeBytes(createLine('x'), 0, LINE_LENGTH);
+                        manager.flush();
+                        i++;
+                    }
+                });
+                assertThat(manager.getDroppedBytes()).isEqualTo(LINE_LENGTH);
+                assertThat(manager.getChannel()).isNotNull();
+                manager.stop(1, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Test
+    void drops_events_larger_than_the_send_buffer() throws Exception {
+        try (final ServerSocketChannel server = openServer()) {
+            final TcpSocketChannelManager manager = createManager(server, OverflowPolicy.DROP);
+            assertThat(manager).isNotNull();
+            try (final SocketChannel peer = server.accept()) {
+                final int length = 4 * SMALL_SEND_BUFFER_SIZE;
+                final byte[] event = new byte[length];
+                Arrays.fill(event, (byte) 'x');
+                // The peer does not read: the oversized event must not be written synchronously
+                assertTimeoutPreemptively(Duration.ofSeconds(30), () -> manager.writeBytes(event, 0, length));
+                assertThat(manager.getDroppedBytes()).isEqualTo(length);
+                manager.stop(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    void accounts_for_every_byte_sent_or_dropped() throws Exception {
+        try (final ServerSocketChannel server = openServer()) {
+            final TcpSocketChannelManager manager = createManager(server, OverflowPolicy.DROP);
+            assertThat(manager).isNotNull();
+            try (final SocketChannel peer = server.accept()) {
+                // The peer does not read: fills the send buffer
+                long written = 0;
+                while (manager.getDroppedBytes() == 0) {
+                    manager.writeBytes(createLine('x'), 0, LINE_LENGTH);
+                    manager.flush();
+                    written += LINE_LENGTH;
+                }
+                // Bytes still pending when the close timeout expires are also dropped
+                manager.stop(1, TimeUnit.MILLISECONDS);
+                assertThat(manager.getPendingBytes()).isZero();
+
+                final List<String> lines = readLines(peer).get(10, TimeUnit.SECONDS);
+                assertThat((long) lines.size() * LINE_LENGTH + manager.getDroppedBytes())
+                        .isEqualTo(written);
+            }
+        }
+    }
+}
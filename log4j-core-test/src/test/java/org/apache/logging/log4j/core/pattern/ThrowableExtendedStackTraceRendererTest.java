@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ThrowableExtendedStackTraceRenderer} caching tests.
+ */
+class ThrowableExtendedStackTraceRendererTest {
+
+    @Test
+    void identical_stack_traces_should_be_resolved_once() {
+        final ThrowableExtendedStackTraceRenderer renderer =
+                new ThrowableExtendedStackTraceRenderer(List.of(), Integer.MAX_VALUE);
+        final List<Throwable> throwables = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            throwables.add(new IllegalStateException("error", new IllegalArgumentException("cause")));
+        }
+
+        final List<String> outputs = new ArrayList<>();
+        for (final Throwable throwable : throwables) {
+            final StringBuilder buffer = new StringBuilder();
+            renderer.renderThrowable(buffer, throwable, "\n");
+            outputs.add(buffer.toString());
+        }
+
+        assertThat(outputs).containsOnly(outputs.get(0));
+        assertThat(outputs.get(0)).contains("[test-classes/:?]");
+        assertThat(renderer.getShapeMissCount()).isEqualTo(1);
+        assertThat(renderer.getShapeHitCount()).isEqualTo(2);
+
+        // A different stack trace
+        final StringBuilder buffer = new StringBuilder();
+        renderer.renderThrowable(buffer, new IllegalStateException("other"), "\n");
+        assertThat(renderer.getShapeMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void exact_resource_information_should_be_computed_for_each_rendering() throws Exception {
+        final ThrowableExtendedStackTraceRenderer renderer =
+                new ThrowableExtendedStackTraceRenderer(List.of(), Integer.MAX_VALUE);
+        final List<Throwable> throwables = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            throwables.add(new IllegalStateException("error"));
+        }
+
+        // The classes of the stack trace are on the execution stack
+        final StringBuilder buffer = new StringBuilder();
+        renderer.renderThrowable(buffer, throwables.get(0), "\n");
+        assertThat(buffer.toString()).containsPattern("\\) \\[");
+
+        // The classes of the stack trace are not on the execution stack of another thread
+        final AtomicReference<String> output = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            final StringBuilder otherBuffer = new StringBuilder();
+            renderer.renderThrowable(otherBuffer, throwables.get(1), "\n");
+            output.set(otherBuffer.toString());
+        });
+        thread.start();
+        thread.join();
+        assertThat(output.get()).contains("~[").doesNotContainPattern("\\) \\[");
+        assertThat(renderer.getShapeMissCount()).isEqualTo(1);
+        assertThat(renderer.getShapeHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void identical_stack_traces_should_be_cached_per_class_loader() throws Exception {
+        final ThrowableExtendedStackTraceRenderer renderer =
+                new ThrowableExtendedStackTraceRenderer(List.of(), Integer.MAX_VALUE);
+        final List<Throwable> throwables = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            throwables.add(new IllegalStateException("error"));
+        }
+        renderer.renderThrowable(new StringBuilder(), throwables.get(0), "\n");
+
+        final Thread thread = new Thread(() -> renderer.renderThrowable(new StringBuilder(), throwables.get(1), "\n"));
+        try (final URLClassLoader loader =
+                new URLClassLoader(new URL[0], ThrowableExtendedStackTraceRendererTest.class.getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            thread.start();
+            thread.join();
+        }
+        assertThat(renderer.getShapeMissCount()).isEqualTo(2);
+        assertThat(renderer.getShapeHitCount()).isZero();
+    }
+
+    @Test
+    void class_names_should_be_loaded_once_per_class_loader() {
+        final ClassResourceInfoCache cache = new ClassResourceInfoCache(16);
+        final AtomicInteger loadCount = new AtomicInteger();
+        final ClassLoader loader = ThrowableExtendedStackTraceRendererTest.class.getClassLoader();
+        final String className = ThrowableExtendedStackTraceRendererTest.class.getName();
+
+        for (int i = 0; i < 3; i++) {
+            final ClassResourceInfo info = cache.get(loader, className, (classLoader, name) -> {
+                loadCount.incrementAndGet();
+                return ThrowableExtendedStackTraceRendererTest.class;
+            });
+            assertThat(info).isSameAs(ClassResourceInfo.of(ThrowableExtendedStackTraceRendererTest.class, false));
+        }
+        assertThat(loadCount).hasValue(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+
+        // Unknown classes are cached too
+        for (int i = 0; i < 2; i++) {
+            final ClassResourceInfo info = cache.get(loader, "com.example.Missing", (classLoader, name) -> {
+                loadCount.incrementAndGet();
+                return null;
+            });
+            assertThat(info).isSameAs(ClassResourceInfo.UNKNOWN);
+        }
+        assertThat(loadCount).hasValue(2);
+
+        // The cache is keyed by class loader
+        cache.get(null, className, (classLoader, name) -> {
+            loadCount.incrementAndGet();
+            return ThrowableExtendedStackTraceRendererTest.class;
+        });
+        assertThat(loadCount).hasValue(3);
+    }
+}
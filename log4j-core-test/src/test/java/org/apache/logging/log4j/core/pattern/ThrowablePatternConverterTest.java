@@ -31,12 +31,17 @@ import java.util.stream.Stream;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableFormatOptions;
 import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.util.ThrowableDeduplicator;
+import org.apache.logging.log4j.test.ListStatusListener;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * {@link ThrowablePatternConverter} tests.
@@ -435,6 +440,93 @@ public class ThrowablePatternConverterTest {
         }
     }
 
+    @Nested
+    class DeduplicationTest {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"%ex{dedup(10)}", "%xEx{dedup(10)}", "%rEx{dedup(10)}"})
+        void repeated_stack_traces_should_be_summarized(final String pattern) {
+            final List<PatternFormatter> patternFormatters = PATTERN_PARSER.parse(pattern, false, true, true);
+            final long fingerprint = ThrowableDeduplicator.fingerprint(EXCEPTION);
+
+            // First occurrence renders the stack trace and its fingerprint
+            final String first = convert(patternFormatters, 1_000L);
+            assertThat(first)
+                    .as("pattern=`%s`", pattern)
+                    .contains(EXCEPTION.getClass().getCanonicalName())
+                    .contains("\tat ")
+                    .endsWith(String.format("[fingerprint: %016x]%n", fingerprint));
+
+            // Repetitions within the window only render a summary
+            final String second = convert(patternFormatters, 2_000L);
+            assertThat(second)
+                    .as("pattern=`%s`", pattern)
+                    .isEqualTo(String.format(
+                            "%s: %s [fingerprint: %016x, repetition: 2]%n",
+                            EXCEPTION.getClass().getName(), EXCEPTION.getLocalizedMessage(), fingerprint));
+
+            // Occurrences after the window render the stack trace again
+            final String third = convert(patternFormatters, 11_000L);
+            assertThat(third).as("pattern=`%s`", pattern).isEqualTo(first);
+        }
+
+        @Test
+        void default_window_should_be_one_minute() {
+            final List<PatternFormatter> patternFormatters = PATTERN_PARSER.parse("%ex{dedup}", false, true, true);
+            final String first = convert(patternFormatters, 1_000L);
+            assertThat(first).contains("\tat ");
+            assertThat(convert(patternFormatters, 60_999L))
+                    .doesNotContain("\tat ")
+                    .contains("repetition: 2");
+            assertThat(convert(patternFormatters, 61_000L)).isEqualTo(first);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"dedup(0)", "dedup(-10)", "dedup(ten)"})
+        @UsingStatusListener
+        void invalid_windows_should_be_rejected(final String option, final ListStatusListener listener) {
+            final ThrowableFormatOptions options = ThrowableFormatOptions.newInstance(new String[] {option});
+            assertThat(options.getDeduplicationWindowMillis()).isZero();
+            assertThat(listener.findStatusData(Level.ERROR)).isNotEmpty();
+        }
+
+        @Test
+        void oldest_window_should_be_evicted_on_collision() {
+            final ThrowableDeduplicator deduplicator = new ThrowableDeduplicator(10_000L);
+            // These fingerprints share the same slot and fill the neighbouring ones
+            for (long i = 1; i <= 8; i++) {
+                assertThat(deduplicator.register(i << 10, i)).isEqualTo(1);
+            }
+            assertThat(deduplicator.register(8L << 10, 9L)).isEqualTo(2);
+            // The 9th fingerprint evicts the window of the 1st one
+            assertThat(deduplicator.register(9L << 10, 10L)).isEqualTo(1);
+            assertThat(deduplicator.register(9L << 10, 11L)).isEqualTo(2);
+            assertThat(deduplicator.register(2L << 10, 12L)).isEqualTo(2);
+            assertThat(deduplicator.register(1L << 10, 13L)).isEqualTo(1);
+        }
+
+        @Test
+        void fingerprint_should_ignore_messages() {
+            final Throwable first = new IllegalStateException("first");
+            final Throwable second = new IllegalStateException("second");
+            second.setStackTrace(first.getStackTrace());
+            assertThat(ThrowableDeduplicator.fingerprint(second)).isEqualTo(ThrowableDeduplicator.fingerprint(first));
+        }
+
+        private String convert(final List<PatternFormatter> patternFormatters, final long timeMillis) {
+            final LogEvent logEvent = Log4jLogEvent.newBuilder()
+                    .setThrown(EXCEPTION)
+                    .setLevel(LEVEL)
+                    .setTimeMillis(timeMillis)
+                    .build();
+            final StringBuilder buffer = new StringBuilder();
+            for (final PatternFormatter patternFormatter : patternFormatters) {
+                patternFormatter.format(logEvent, buffer);
+            }
+            return buffer.toString();
+        }
+    }
+
     static String convert(final String pattern) {
         final List<PatternFormatter> patternFormatters = PATTERN_PARSER.parse(pattern, false, true, true);
         final LogEvent logEvent =
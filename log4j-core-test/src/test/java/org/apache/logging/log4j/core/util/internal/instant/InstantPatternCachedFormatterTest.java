@@ -27,9 +27,14 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Random;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import org.apache.logging.log4j.core.time.Instant;
 import org.apache.logging.log4j.core.time.MutableInstant;
@@ -38,7 +43,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
-class InstantPatternThreadLocalCachedFormatterTest {
+class InstantPatternCachedFormatterTest {
 
     private static final Locale LOCALE = Locale.getDefault();
 
@@ -47,13 +52,13 @@ class InstantPatternThreadLocalCachedFormatterTest {
     @ParameterizedTest
     @MethodSource("getterTestCases")
     void getters_should_work(
-            final Function<InstantPatternFormatter, InstantPatternThreadLocalCachedFormatter> cachedFormatterSupplier,
+            final Function<InstantPatternFormatter, InstantPatternCachedFormatter> cachedFormatterSupplier,
             final String pattern,
             final Locale locale,
             final TimeZone timeZone) {
         final InstantPatternDynamicFormatter dynamicFormatter =
                 new InstantPatternDynamicFormatter(pattern, locale, timeZone);
-        final InstantPatternThreadLocalCachedFormatter cachedFormatter =
+        final InstantPatternCachedFormatter cachedFormatter =
                 cachedFormatterSupplier.apply(dynamicFormatter);
         assertThat(cachedFormatter.getPattern()).isEqualTo(pattern);
         assertThat(cachedFormatter.getLocale()).isEqualTo(locale);
@@ -75,30 +80,30 @@ class InstantPatternThreadLocalCachedFormatterTest {
         return new Object[][] {
             // For `ofMilliPrecision()`
             {
-                (Function<InstantPatternFormatter, InstantPatternThreadLocalCachedFormatter>)
-                        InstantPatternThreadLocalCachedFormatter::ofMilliPrecision,
+                (Function<InstantPatternFormatter, InstantPatternCachedFormatter>)
+                        InstantPatternCachedFormatter::ofMilliPrecision,
                 "HH:mm.SSS",
                 locale1,
                 timeZone1
             },
             {
-                (Function<InstantPatternFormatter, InstantPatternThreadLocalCachedFormatter>)
-                        InstantPatternThreadLocalCachedFormatter::ofMilliPrecision,
+                (Function<InstantPatternFormatter, InstantPatternCachedFormatter>)
+                        InstantPatternCachedFormatter::ofMilliPrecision,
                 "HH:mm.SSS",
                 locale2,
                 timeZone2
             },
             // For `ofSecondPrecision()`
             {
-                (Function<InstantPatternFormatter, InstantPatternThreadLocalCachedFormatter>)
-                        InstantPatternThreadLocalCachedFormatter::ofSecondPrecision,
+                (Function<InstantPatternFormatter, InstantPatternCachedFormatter>)
+                        InstantPatternCachedFormatter::ofSecondPrecision,
                 "yyyy",
                 locale1,
                 timeZone1
             },
             {
-                (Function<InstantPatternFormatter, InstantPatternThreadLocalCachedFormatter>)
-                        InstantPatternThreadLocalCachedFormatter::ofSecondPrecision,
+                (Function<InstantPatternFormatter, InstantPatternCachedFormatter>)
+                        InstantPatternCachedFormatter::ofSecondPrecision,
                 "yyyy",
                 locale2,
                 timeZone2
@@ -111,7 +116,7 @@ class InstantPatternThreadLocalCachedFormatterTest {
     void ofMilliPrecision_should_fail_on_inconsistent_precision(final String subMilliPattern) {
         final InstantPatternDynamicFormatter dynamicFormatter =
                 new InstantPatternDynamicFormatter(subMilliPattern, LOCALE, TIME_ZONE);
-        assertThatThrownBy(() -> InstantPatternThreadLocalCachedFormatter.ofMilliPrecision(dynamicFormatter))
+        assertThatThrownBy(() -> InstantPatternCachedFormatter.ofMilliPrecision(dynamicFormatter))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage(
                         "instant formatter `%s` is of `%s` precision, whereas the requested cache precision is `%s`",
@@ -123,8 +128,8 @@ class InstantPatternThreadLocalCachedFormatterTest {
     void ofMilliPrecision_should_truncate_precision_to_milli(final String superMilliPattern) {
         final InstantPatternDynamicFormatter dynamicFormatter =
                 new InstantPatternDynamicFormatter(superMilliPattern, LOCALE, TIME_ZONE);
-        final InstantPatternThreadLocalCachedFormatter cachedFormatter =
-                InstantPatternThreadLocalCachedFormatter.ofMilliPrecision(dynamicFormatter);
+        final InstantPatternCachedFormatter cachedFormatter =
+                InstantPatternCachedFormatter.ofMilliPrecision(dynamicFormatter);
         assertThat(cachedFormatter.getPrecision()).isEqualTo(ChronoUnit.MILLIS);
         assertThat(cachedFormatter.getPrecision().compareTo(dynamicFormatter.getPrecision()))
                 .isLessThanOrEqualTo(0);
@@ -136,7 +141,7 @@ class InstantPatternThreadLocalCachedFormatterTest {
     void ofSecondPrecision_should_fail_on_inconsistent_precision(final String subSecondPattern) {
         final InstantPatternDynamicFormatter dynamicFormatter =
                 new InstantPatternDynamicFormatter(subSecondPattern, LOCALE, TIME_ZONE);
-        assertThatThrownBy(() -> InstantPatternThreadLocalCachedFormatter.ofSecondPrecision(dynamicFormatter))
+        assertThatThrownBy(() -> InstantPatternCachedFormatter.ofSecondPrecision(dynamicFormatter))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage(
                         "instant formatter `%s` is of `%s` precision, whereas the requested cache precision is `%s`",
@@ -148,8 +153,8 @@ class InstantPatternThreadLocalCachedFormatterTest {
     void ofSecondPrecision_should_truncate_precision_to_second(final String superSecondPattern) {
         final InstantPatternDynamicFormatter dynamicFormatter =
                 new InstantPatternDynamicFormatter(superSecondPattern, LOCALE, TIME_ZONE);
-        final InstantPatternThreadLocalCachedFormatter cachedFormatter =
-                InstantPatternThreadLocalCachedFormatter.ofSecondPrecision(dynamicFormatter);
+        final InstantPatternCachedFormatter cachedFormatter =
+                InstantPatternCachedFormatter.ofSecondPrecision(dynamicFormatter);
         assertThat(cachedFormatter.getPrecision()).isEqualTo(ChronoUnit.SECONDS);
         assertThat(cachedFormatter.getPrecision().compareTo(dynamicFormatter.getPrecision()))
                 .isLessThanOrEqualTo(0);
@@ -201,8 +206,7 @@ class InstantPatternThreadLocalCachedFormatterTest {
         assertThat(instant3).isNotEqualTo(instant4);
 
         // Create the cached formatter and verify its output
-        final InstantFormatter cachedFormatter =
-                InstantPatternThreadLocalCachedFormatter.ofMilliPrecision(patternFormatter);
+        final InstantFormatter cachedFormatter = InstantPatternCachedFormatter.ofMilliPrecision(patternFormatter);
         assertThat(cachedFormatter.format(instant1)).isEqualTo(output1); // Cache miss
         assertThat(cachedFormatter.format(instant2)).isEqualTo(output1); // Cache hit
         assertThat(cachedFormatter.format(instant2)).isEqualTo(output1); // Repeated cache hit
@@ -261,8 +265,7 @@ class InstantPatternThreadLocalCachedFormatterTest {
         assertThat(instant3).isNotEqualTo(instant4);
 
         // Create the cached formatter and verify its output
-        final InstantFormatter cachedFormatter =
-                InstantPatternThreadLocalCachedFormatter.ofSecondPrecision(patternFormatter);
+        final InstantFormatter cachedFormatter = InstantPatternCachedFormatter.ofSecondPrecision(patternFormatter);
         assertThat(cachedFormatter.format(instant1)).isEqualTo(output1); // Cache miss
         assertThat(cachedFormatter.format(instant2)).isEqualTo(output1); // Cache hit
         assertThat(cachedFormatter.format(instant2)).isEqualTo(output1); // Repeated cache hit
@@ -277,6 +280,38 @@ class InstantPatternThreadLocalCachedFormatterTest {
         verifyNoMoreInteractions(patternFormatter);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"yyyy-MM-dd'T'HH:mm:ss.SSS", "yyyy-MM-dd'T'HH:mm:ss"})
+    void concurrent_formatting_should_match_uncached_formatting(final String pattern) throws Exception {
+        final InstantPatternDynamicFormatter dynamicFormatter =
+                new InstantPatternDynamicFormatter(pattern, LOCALE, TIME_ZONE);
+        final InstantFormatter cachedFormatter = dynamicFormatter.getPrecision() == ChronoUnit.MILLIS
+                ? InstantPatternCachedFormatter.ofMilliPrecision(dynamicFormatter)
+                : InstantPatternCachedFormatter.ofSecondPrecision(dynamicFormatter);
+        final int threadCount = 8;
+        final int instantCount = 10_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int threadIndex = 0; threadIndex < threadCount; threadIndex++) {
+                final int threadOffset = threadIndex;
+                futures.add(executor.submit(() -> {
+                    // Threads format overlapping instants to both share and contend on the cache
+                    for (int instantIndex = 0; instantIndex < instantCount; instantIndex++) {
+                        final long epochMillis = 1_700_000_000_000L + 7L * (instantIndex + threadOffset);
+                        final MutableInstant instant = createInstant(epochMillis, 0);
+                        assertThat(cachedFormatter.format(instant)).isEqualTo(dynamicFormatter.format(instant));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private static MutableInstant offsetInstant(
             final Instant instant, final long epochMillisOffset, final int epochMillisNanosOffset) {
         final long epochMillis = Math.addExact(instant.getEpochMillisecond(), epochMillisOffset);
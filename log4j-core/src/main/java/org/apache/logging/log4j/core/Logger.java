@@ -28,6 +28,7 @@ import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.config.ReliabilityStrategy;
 import org.apache.logging.log4j.core.filter.CompositeFilter;
+import org.apache.logging.log4j.core.filter.LevelDecidableFilter;
 import org.apache.logging.log4j.kit.logger.AbstractLogger;
 import org.apache.logging.log4j.kit.recycler.RecyclerFactory;
 import org.apache.logging.log4j.message.FlowMessageFactory;
@@ -502,10 +503,22 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             return config.getFilter() != null;
         }
 
+        /**
+         * Returns the result of the given filter if it can be decided using the level only, {@code null} otherwise.
+         */
+        private Filter.@Nullable Result filterLevel(final Filter filter, final @Nullable Level level) {
+            return level != null && filter instanceof LevelDecidableFilter
+                    ? ((LevelDecidableFilter) filter).filterLevel(level)
+                    : null;
+        }
+
         boolean filter(final Level level, final Marker marker, final String msg) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -516,7 +529,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Throwable t) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, (Object) msg, t);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, (Object) msg, t);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -527,7 +543,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Object... p1) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p1);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p1);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -538,7 +557,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Object p0) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -549,7 +571,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Object p0, final Object p1) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -566,7 +591,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p2) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -584,7 +612,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p3) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -603,7 +634,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p4) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -623,7 +657,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p5) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -644,7 +681,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p6) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -666,7 +706,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p7) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -689,7 +732,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p8) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -713,8 +759,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p9) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r =
-                        filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -725,7 +773,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final CharSequence msg, final Throwable t) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, t);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, t);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -736,7 +787,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final Object msg, final Throwable t) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, t);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, t);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -747,7 +801,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final Message msg, final Throwable t) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, t);
+                Filter.Result r = filterLevel(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, t);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -55,6 +55,7 @@ import org.apache.logging.log4j.kit.env.PropertyEnvironment;
 import org.apache.logging.log4j.kit.env.internal.ContextualEnvironmentPropertySource;
 import org.apache.logging.log4j.kit.env.internal.ContextualJavaPropsPropertySource;
 import org.apache.logging.log4j.kit.env.support.CompositePropertyEnvironment;
+import org.apache.logging.log4j.kit.env.support.SnapshotPropertyEnvironment;
 import org.apache.logging.log4j.message.MessageFactory;
 import org.apache.logging.log4j.plugins.Inject;
 import org.apache.logging.log4j.plugins.di.ConfigurableInstanceFactory;
@@ -821,6 +822,10 @@ public class LoggerContext extends AbstractLifeCycle
                 configURI,
                 this,
                 cl);
+        // properties records are bound again once per reconfiguration
+        if (environment instanceof final SnapshotPropertyEnvironment snapshot) {
+            snapshot.reload();
+        }
         final Configuration instance = getConfiguration(contextName, configURI, cl);
         if (instance == null) {
             LOGGER.error(
@@ -951,13 +956,13 @@ public class LoggerContext extends AbstractLifeCycle
             final PropertyEnvironment parentEnvironment = parentInstanceFactory.getInstance(PropertyEnvironment.class);
             final org.apache.logging.log4j.Logger statusLogger =
                     parentInstanceFactory.getInstance(Constants.STATUS_LOGGER_KEY);
-            return new CompositePropertyEnvironment(
+            return new SnapshotPropertyEnvironment(new CompositePropertyEnvironment(
                     parentEnvironment,
                     List.of(
                             new ContextualJavaPropsPropertySource(contextName),
                             new ContextualEnvironmentPropertySource(contextName)),
                     loader,
-                    statusLogger);
+                    statusLogger));
         }
 
         private ConfigurableInstanceFactory createInstanceFactory(
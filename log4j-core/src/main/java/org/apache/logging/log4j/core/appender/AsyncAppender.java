@@ -18,7 +18,6 @@ package org.apache.logging.log4j.core.appender;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TransferQueue;
@@ -63,6 +62,7 @@ public final class AsyncAppender extends AbstractAppender {
 
     private final BlockingQueue<LogEvent> queue;
     private final int queueSize;
+    private final int batchSize;
     private final boolean blocking;
     private final long shutdownTimeout;
     private final Configuration config;
@@ -79,6 +79,7 @@ public final class AsyncAppender extends AbstractAppender {
             final AppenderRef[] appenderRefs,
             final String errorRef,
             final int queueSize,
+            final int batchSize,
             final boolean blocking,
             final boolean ignoreExceptions,
             final long shutdownTimeout,
@@ -89,6 +90,7 @@ public final class AsyncAppender extends AbstractAppender {
         super(name, filter, null, ignoreExceptions, properties);
         this.queue = blockingQueueFactory.create(queueSize);
         this.queueSize = queueSize;
+        this.batchSize = batchSize;
         this.blocking = blocking;
         this.shutdownTimeout = shutdownTimeout;
         this.config = config;
@@ -99,10 +101,9 @@ public final class AsyncAppender extends AbstractAppender {
 
     @Override
     public void start() {
-        final Map<String, Appender> map = config.getAppenders();
         final List<AppenderControl> appenders = new ArrayList<>();
         for (final AppenderRef appenderRef : appenderRefs) {
-            final Appender appender = map.get(appenderRef.getRef());
+            final Appender appender = config.getAppender(appenderRef.getRef());
             if (appender != null) {
                 appenders.add(new AppenderControl(appender, appenderRef.getLevel(), appenderRef.getFilter()));
             } else {
@@ -110,7 +111,7 @@ public final class AsyncAppender extends AbstractAppender {
             }
         }
         if (errorRef != null) {
-            final Appender appender = map.get(errorRef);
+            final Appender appender = config.getAppender(errorRef);
             if (appender != null) {
                 errorAppender = new AppenderControl(appender, null, null);
             } else {
@@ -118,7 +119,7 @@ public final class AsyncAppender extends AbstractAppender {
             }
         }
         if (appenders.size() > 0) {
-            dispatcher = new AsyncAppenderEventDispatcher(getName(), errorAppender, appenders, queue);
+            dispatcher = new AsyncAppenderEventDispatcher(getName(), errorAppender, appenders, queue, batchSize);
         } else if (errorRef == null) {
             throw new ConfigurationException("No appenders are available for AsyncAppender " + getName());
         }
@@ -281,6 +282,9 @@ public final class AsyncAppender extends AbstractAppender {
         @PluginBuilderAttribute
         private int bufferSize = DEFAULT_QUEUE_SIZE;
 
+        @PluginBuilderAttribute
+        private int batchSize = 1;
+
         /**
          * Name of the appender to use in references
          */
@@ -325,6 +329,22 @@ public final class AsyncAppender extends AbstractAppender {
             return this;
         }
 
+        /**
+         * Sets the maximum number of events the background thread drains from the queue at once.
+         * <p>
+         * A value greater than {@code 1} lets the background thread acquire the queue once per batch instead of once
+         * per event, and only the last event of each batch is marked as the end of batch.
+         * </p>
+         *
+         * @param batchSize the maximum number of events to dispatch in one pass
+         * @return this builder
+         * @since 3.0.0
+         */
+        public Builder setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
         public Builder setName(final String name) {
             this.name = name;
             return this;
@@ -352,12 +372,17 @@ public final class AsyncAppender extends AbstractAppender {
 
         @Override
         public AsyncAppender build() {
+            if (batchSize < 1) {
+                LOGGER.warn("Invalid batchSize {} for AsyncAppender {}, using 1", batchSize, name);
+                batchSize = 1;
+            }
             return new AsyncAppender(
                     name,
                     getFilter(),
                     appenderRefs,
                     errorRef,
                     bufferSize,
+                    batchSize,
                     blocking,
                     ignoreExceptions,
                     shutdownTimeout,
@@ -414,6 +439,16 @@ public final class AsyncAppender extends AbstractAppender {
         return queueSize;
     }
 
+    /**
+     * Returns the maximum number of events the background thread dispatches in one pass.
+     *
+     * @return the maximum batch size
+     * @since 3.0.0
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
     public int getQueueRemainingCapacity() {
         return queue.remainingCapacity();
     }
@@ -16,6 +16,7 @@
  */
 package org.apache.logging.log4j.core.appender;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -43,17 +44,35 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
 
     private final AtomicBoolean stoppedRef;
 
+    private final int batchSize;
+
+    /**
+     * Reusable buffer the queue is drained into, or {@code null}, if events are taken one at a time.
+     */
+    private final List<LogEvent> batch;
+
     AsyncAppenderEventDispatcher(
             final String name,
             final AppenderControl errorAppender,
             final List<AppenderControl> appenders,
             final BlockingQueue<LogEvent> queue) {
+        this(name, errorAppender, appenders, queue, 1);
+    }
+
+    AsyncAppenderEventDispatcher(
+            final String name,
+            final AppenderControl errorAppender,
+            final List<AppenderControl> appenders,
+            final BlockingQueue<LogEvent> queue,
+            final int batchSize) {
         super("AsyncAppenderEventDispatcher-" + THREAD_COUNTER.incrementAndGet() + "-" + name);
         this.setDaemon(true);
         this.errorAppender = errorAppender;
         this.appenders = appenders;
         this.queue = queue;
         this.stoppedRef = new AtomicBoolean();
+        this.batchSize = Math.max(1, batchSize);
+        this.batch = this.batchSize > 1 ? new ArrayList<>(this.batchSize) : null;
     }
 
     @Override
@@ -76,12 +95,51 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
             if (event == STOP_EVENT) {
                 break;
             }
-            event.setEndOfBatch(queue.isEmpty());
-            dispatch(event);
+            if (batch == null) {
+                event.setEndOfBatch(queue.isEmpty());
+                dispatch(event);
+            } else if (!dispatchBatch(event)) {
+                break;
+            }
         }
         LOGGER.trace("{} has stopped.", getName());
     }
 
+    /**
+     * Drains up to {@code batchSize - 1} further events without blocking and dispatches them, together with the
+     * given {@code first} event, in a single pass.
+     * Only the last dispatched event of the batch is marked as the end of batch.
+     *
+     * @param first an event already taken from the queue
+     * @return {@code false}, if the stop sentinel was found in the batch; {@code true}, otherwise
+     */
+    private boolean dispatchBatch(final LogEvent first) {
+        boolean stopRequested = false;
+        try {
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            int lastIndex = batch.size() - 1;
+            while (lastIndex >= 0 && batch.get(lastIndex) == STOP_EVENT) {
+                stopRequested = true;
+                lastIndex--;
+            }
+            for (int eventIndex = 0; eventIndex <= lastIndex; eventIndex++) {
+                final LogEvent event = batch.get(eventIndex);
+                // Events drained after the sentinel are still dispatched, as `dispatchRemaining()` would do.
+                if (event == STOP_EVENT) {
+                    stopRequested = true;
+                    continue;
+                }
+                event.setEndOfBatch(eventIndex == lastIndex);
+                dispatch(event);
+            }
+        } finally {
+            // Do not retain references to dispatched events.
+            batch.clear();
+        }
+        return !stopRequested;
+    }
+
     private void dispatchRemaining() {
         int eventCount = 0;
         while (true) {
@@ -18,7 +18,6 @@ package org.apache.logging.log4j.core.appender;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LoggingException;
 import org.apache.logging.log4j.core.Appender;
@@ -79,9 +78,8 @@ public final class FailoverAppender extends AbstractAppender {
 
     @Override
     public void start() {
-        final Map<String, Appender> map = config.getAppenders();
         int errors = 0;
-        final Appender appender = map.get(primaryRef);
+        final Appender appender = config.getAppender(primaryRef);
         if (appender != null) {
             primary = new AppenderControl(appender, null, null);
         } else {
@@ -89,7 +87,7 @@ public final class FailoverAppender extends AbstractAppender {
             ++errors;
         }
         for (final String name : failovers) {
-            final Appender foAppender = map.get(name);
+            final Appender foAppender = config.getAppender(name);
             if (foAppender != null) {
                 failoverAppenders.add(new AppenderControl(foAppender, null, null));
             } else {
@@ -105,6 +105,7 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             if (manager == null) {
                 return null;
             }
+            manager.setGroupCommit(isGroupCommit());
 
             return new FileAppender(
                     getName(),
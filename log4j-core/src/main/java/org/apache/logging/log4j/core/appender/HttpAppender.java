@@ -39,6 +39,12 @@ import org.apache.logging.log4j.plugins.validation.constraints.Required;
 @Plugin("Http")
 public final class HttpAppender extends AbstractAppender {
 
+    private static final int DEFAULT_BATCH_MAX_BYTES = 1024 * 1024;
+
+    private static final long DEFAULT_BATCH_TIMEOUT_MILLIS = 1000L;
+
+    private static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 4;
+
     /**
      * Builds HttpAppender instances.
      * @param <B> The type to build
@@ -68,19 +74,55 @@ public final class HttpAppender extends AbstractAppender {
         @PluginBuilderAttribute
         private boolean verifyHostname = true;
 
+        @PluginBuilderAttribute
+        private int batchSize = 0;
+
+        @PluginBuilderAttribute
+        private int batchMaxBytes = DEFAULT_BATCH_MAX_BYTES;
+
+        @PluginBuilderAttribute
+        private long batchTimeoutMillis = DEFAULT_BATCH_TIMEOUT_MILLIS;
+
+        @PluginBuilderAttribute
+        private HttpClientManager.BatchFormat batchFormat = HttpClientManager.BatchFormat.NEWLINE_DELIMITED;
+
+        @PluginBuilderAttribute
+        private boolean compress = false;
+
+        @PluginBuilderAttribute
+        private int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+
         @Override
         public HttpAppender build() {
-            final HttpManager httpManager = new HttpURLConnectionManager(
-                    getConfiguration(),
-                    getConfiguration().getLoggerContext(),
-                    getName(),
-                    url,
-                    method,
-                    connectTimeoutMillis,
-                    readTimeoutMillis,
-                    headers,
-                    sslConfiguration,
-                    verifyHostname);
+            final HttpManager httpManager = batchSize > 0
+                    ? new HttpClientManager(
+                            getConfiguration(),
+                            getConfiguration().getLoggerContext(),
+                            getName(),
+                            url,
+                            method,
+                            connectTimeoutMillis,
+                            readTimeoutMillis,
+                            headers,
+                            sslConfiguration,
+                            verifyHostname,
+                            batchSize,
+                            batchMaxBytes,
+                            batchTimeoutMillis,
+                            batchFormat,
+                            compress,
+                            maxInFlightRequests)
+                    : new HttpURLConnectionManager(
+                            getConfiguration(),
+                            getConfiguration().getLoggerContext(),
+                            getName(),
+                            url,
+                            method,
+                            connectTimeoutMillis,
+                            readTimeoutMillis,
+                            headers,
+                            sslConfiguration,
+                            verifyHostname);
             return new HttpAppender(
                     getName(), getLayout(), getFilter(), isIgnoreExceptions(), httpManager, getPropertyArray());
         }
@@ -113,6 +155,30 @@ public final class HttpAppender extends AbstractAppender {
             return verifyHostname;
         }
 
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public int getBatchMaxBytes() {
+            return batchMaxBytes;
+        }
+
+        public long getBatchTimeoutMillis() {
+            return batchTimeoutMillis;
+        }
+
+        public HttpClientManager.BatchFormat getBatchFormat() {
+            return batchFormat;
+        }
+
+        public boolean isCompress() {
+            return compress;
+        }
+
+        public int getMaxInFlightRequests() {
+            return maxInFlightRequests;
+        }
+
         public B setUrl(final URL url) {
             this.url = url;
             return asBuilder();
@@ -147,6 +213,46 @@ public final class HttpAppender extends AbstractAppender {
             this.verifyHostname = verifyHostname;
             return asBuilder();
         }
+
+        /**
+         * Sets the maximum number of events sent in a single request.
+         * <p>
+         * If positive, events are sent asynchronously in batches by an {@link HttpClientManager}; otherwise, each
+         * event is sent synchronously in its own request.
+         * </p>
+         *
+         * @param batchSize the maximum number of events per request
+         * @return this builder
+         */
+        public B setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return asBuilder();
+        }
+
+        public B setBatchMaxBytes(final int batchMaxBytes) {
+            this.batchMaxBytes = batchMaxBytes;
+            return asBuilder();
+        }
+
+        public B setBatchTimeoutMillis(final long batchTimeoutMillis) {
+            this.batchTimeoutMillis = batchTimeoutMillis;
+            return asBuilder();
+        }
+
+        public B setBatchFormat(final HttpClientManager.BatchFormat batchFormat) {
+            this.batchFormat = batchFormat;
+            return asBuilder();
+        }
+
+        public B setCompress(final boolean compress) {
+            this.compress = compress;
+            return asBuilder();
+        }
+
+        public B setMaxInFlightRequests(final int maxInFlightRequests) {
+            this.maxInFlightRequests = maxInFlightRequests;
+            return asBuilder();
+        }
     }
 
     /**
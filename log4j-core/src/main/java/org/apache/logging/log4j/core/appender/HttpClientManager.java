@@ -0,0 +1,446 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.DefaultAsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.EventRoute;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationException;
+import org.apache.logging.log4j.core.config.ConfigurationScheduler;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.net.ssl.SslConfiguration;
+import org.apache.logging.log4j.plugins.di.Key;
+
+/**
+ * Sends batches of log events with a single, shared {@link HttpClient}.
+ * <p>
+ * Encoded events are accumulated and sent in a single request once the batch contains {@code batchSize} events or
+ * {@code batchMaxBytes} bytes, at the end of a batch of the asynchronous pipeline, or at the latest
+ * {@code batchTimeoutMillis} milliseconds after the last request.
+ * Requests are sent asynchronously, reusing the connections of the client, and at most {@code maxInFlightRequests}
+ * requests are pending at any time.
+ * If all requests are pending, the {@link AsyncQueueFullPolicy} of the configuration decides if the batch waits for a
+ * free slot, is sent synchronously or is discarded.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public class HttpClientManager extends HttpManager {
+
+    /**
+     * Determines how the events of a batch are framed in the request body.
+     */
+    public enum BatchFormat {
+        /**
+         * The encoded events are separated by line feeds, e.g. to send <a href="https://github.com/ndjson/ndjson-spec">
+         * NDJSON</a>.
+         */
+        NEWLINE_DELIMITED,
+
+        /**
+         * The encoded events are the elements of a JSON array.
+         */
+        JSON_ARRAY
+    }
+
+    private static final String[] RESTRICTED_HEADERS = {"Connection", "Content-Length", "Expect", "Host", "Upgrade"};
+
+    private final URI uri;
+    private final String method;
+    private final Duration requestTimeout;
+    private final Property[] headers;
+    private final int batchSize;
+    private final int batchMaxBytes;
+    private final long batchTimeoutMillis;
+    private final BatchFormat batchFormat;
+    private final boolean compress;
+    private final int maxInFlightRequests;
+    private final HttpClient httpClient;
+    private final Semaphore inFlightRequests;
+    private final AsyncQueueFullPolicy asyncQueueFullPolicy;
+    private final AtomicLong discardCount = new AtomicLong();
+
+    // Guarded by `writeLock`
+    private final ByteArrayOutputStream batch;
+    private int batchEventCount;
+    private Level batchLevel;
+    private String contentType;
+    private String[] headerValues;
+
+    private ScheduledFuture<?> flushFuture;
+
+    public HttpClientManager(
+            final Configuration configuration,
+            final LoggerContext loggerContext,
+            final String name,
+            final URL url,
+            final String method,
+            final int connectTimeoutMillis,
+            final int readTimeoutMillis,
+            final Property[] headers,
+            final SslConfiguration sslConfiguration,
+            final boolean verifyHostname,
+            final int batchSize,
+            final int batchMaxBytes,
+            final long batchTimeoutMillis,
+            final BatchFormat batchFormat,
+            final boolean compress,
+            final int maxInFlightRequests) {
+        super(configuration, loggerContext, name);
+        if (!(url.getProtocol().equalsIgnoreCase("http") || url.getProtocol().equalsIgnoreCase("https"))) {
+            throw new ConfigurationException("URL must have scheme http or https");
+        }
+        try {
+            this.uri = url.toURI();
+        } catch (final URISyntaxException e) {
+            throw new ConfigurationException("Invalid URL " + url, e);
+        }
+        final boolean isHttps = url.getProtocol().equalsIgnoreCase("https");
+        if (sslConfiguration != null && !isHttps) {
+            throw new ConfigurationException("SSL configuration can only be specified with URL scheme https");
+        }
+        if (isHttps && !verifyHostname) {
+            LOGGER.warn(
+                    "HTTP manager {} can not disable host name verification, it is always performed by HttpClient.",
+                    name);
+        }
+        this.method = Objects.requireNonNull(method, "method");
+        this.requestTimeout = readTimeoutMillis > 0 ? Duration.ofMillis(readTimeoutMillis) : null;
+        this.headers = headers != null ? headers : new Property[0];
+        for (final Property header : this.headers) {
+            for (final String restrictedHeader : RESTRICTED_HEADERS) {
+                if (restrictedHeader.equalsIgnoreCase(header.getName())) {
+                    throw new ConfigurationException("HTTP header " + header.getName() + " can not be set");
+                }
+            }
+        }
+        this.batchSize = Math.max(1, batchSize);
+        this.batchMaxBytes = Math.max(1, batchMaxBytes);
+        this.batchTimeoutMillis = batchTimeoutMillis;
+        this.batchFormat = Objects.requireNonNull(batchFormat, "batchFormat");
+        this.compress = compress;
+        this.maxInFlightRequests = Math.max(1, maxInFlightRequests);
+        this.inFlightRequests = new Semaphore(this.maxInFlightRequests);
+        this.batch = new ByteArrayOutputStream(Math.min(this.batchMaxBytes, 8192));
+        final HttpClient.Builder clientBuilder = HttpClient.newBuilder();
+        if (connectTimeoutMillis > 0) {
+            clientBuilder.connectTimeout(Duration.ofMillis(connectTimeoutMillis));
+        }
+        if (sslConfiguration != null) {
+            clientBuilder.sslContext(sslConfiguration.getSslContext());
+        }
+        this.httpClient = clientBuilder.build();
+        final AsyncQueueFullPolicy policy = configuration.getComponent(Key.forClass(AsyncQueueFullPolicy.class));
+        this.asyncQueueFullPolicy = policy != null ? policy : new DefaultAsyncQueueFullPolicy();
+    }
+
+    @Override
+    public void startup() {
+        if (batchTimeoutMillis <= 0) {
+            return;
+        }
+        final ConfigurationScheduler scheduler = getConfiguration().getScheduler();
+        if (!scheduler.isExecutorServiceSet()) {
+            // make sure we have a thread pool
+            scheduler.incrementScheduledItems();
+        }
+        if (!scheduler.isStarted()) {
+            scheduler.start();
+        }
+        flushFuture = scheduler.scheduleWithFixedDelay(
+                this::flushQuietly, batchTimeoutMillis, batchTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void send(final Layout layout, final LogEvent event) throws Exception {
+        final byte[] bytes = layout.toByteArray(event);
+        HttpRequest request = null;
+        Level level = null;
+        writeLock.lock();
+        try {
+            if (batchEventCount > 0 && batch.size() + bytes.length > batchMaxBytes) {
+                level = batchLevel;
+                request = drainBatch();
+            }
+            append(layout, event, bytes);
+            if (request == null
+                    && (batchEventCount >= batchSize || batch.size() >= batchMaxBytes || event.isEndOfBatch())) {
+                level = batchLevel;
+                request = drainBatch();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (request != null) {
+            dispatch(request, level);
+        }
+    }
+
+    /**
+     * Sends the pending events, if any.
+     *
+     * @throws IOException if the request was sent synchronously and failed
+     */
+    public void flush() throws IOException {
+        final HttpRequest request;
+        final Level level;
+        writeLock.lock();
+        try {
+            level = batchLevel;
+            request = drainBatch();
+        } finally {
+            writeLock.unlock();
+        }
+        if (request != null) {
+            dispatch(request, level);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.error("Unable to send batch of HTTP manager {}", getName(), e);
+        }
+    }
+
+    private void append(final Layout layout, final LogEvent event, final byte[] bytes) {
+        if (batchEventCount == 0) {
+            // Header lookups are resolved against the first event of the batch.
+            contentType = layout.getContentType();
+            headerValues = resolveHeaderValues(event);
+            batchLevel = event.getLevel();
+            if (batchFormat == BatchFormat.JSON_ARRAY) {
+                batch.write('[');
+            }
+        } else {
+            if (event.getLevel().isMoreSpecificThan(batchLevel)) {
+                batchLevel = event.getLevel();
+            }
+            if (batchFormat == BatchFormat.JSON_ARRAY) {
+                batch.write(',');
+            }
+        }
+        switch (batchFormat) {
+            case JSON_ARRAY:
+                batch.write(bytes, 0, trimmedLength(bytes));
+                break;
+            case NEWLINE_DELIMITED:
+            default:
+                batch.write(bytes, 0, bytes.length);
+                if (bytes.length == 0 || bytes[bytes.length - 1] != '\n') {
+                    batch.write('\n');
+                }
+        }
+        batchEventCount++;
+    }
+
+    private static int trimmedLength(final byte[] bytes) {
+        int length = bytes.length;
+        while (length > 0 && Character.isWhitespace(bytes[length - 1])) {
+            length--;
+        }
+        return length;
+    }
+
+    private String[] resolveHeaderValues(final LogEvent event) {
+        final String[] values = new String[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            final Property header = headers[i];
+            values[i] = header.isValueNeedsLookup()
+                    ? getConfiguration().getStrSubstitutor().replace(event, header.getValue())
+                    : header.getValue();
+        }
+        return values;
+    }
+
+    /**
+     * Creates a request from the pending events and resets the batch.
+     *
+     * @return a request or {@code null}, if there are no pending events
+     */
+    private HttpRequest drainBatch() throws IOException {
+        if (batchEventCount == 0) {
+            return null;
+        }
+        try {
+            if (batchFormat == BatchFormat.JSON_ARRAY) {
+                batch.write(']');
+            }
+            final HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(uri);
+            if (requestTimeout != null) {
+                requestBuilder.timeout(requestTimeout);
+            }
+            if (contentType != null) {
+                requestBuilder.header("Content-Type", contentType);
+            }
+            for (int i = 0; i < headers.length; i++) {
+                requestBuilder.header(headers[i].getName(), headerValues[i]);
+            }
+            final byte[] body;
+            if (compress) {
+                requestBuilder.header("Content-Encoding", "gzip");
+                body = gzip(batch);
+            } else {
+                body = batch.toByteArray();
+            }
+            return requestBuilder
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+        } finally {
+            batch.reset();
+            batchEventCount = 0;
+            batchLevel = null;
+            headerValues = null;
+        }
+    }
+
+    private static byte[] gzip(final ByteArrayOutputStream content) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.size() / 4 + 32);
+        try (final GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+            content.writeTo(gzipStream);
+        }
+        return compressed.toByteArray();
+    }
+
+    private void dispatch(final HttpRequest request, final Level level) throws IOException {
+        if (!inFlightRequests.tryAcquire()) {
+            // There is no background thread, that could deadlock
+            final EventRoute route = asyncQueueFullPolicy.getRoute(-1L, level);
+            switch (route) {
+                case DISCARD:
+                    discardCount.incrementAndGet();
+                    LOGGER.warn("HTTP manager {} discarded a batch: too many requests in flight.", getName());
+                    return;
+                case SYNCHRONOUS:
+                    sendSynchronously(request);
+                    return;
+                case ENQUEUE:
+                default:
+                    try {
+                        inFlightRequests.acquire();
+                    } catch (final InterruptedException e) {
+                        // Restore the interrupted flag and do not lose the batch.
+                        Thread.currentThread().interrupt();
+                        sendSynchronously(request);
+                        return;
+                    }
+            }
+        }
+        try {
+            httpClient
+                    .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> {
+                        inFlightRequests.release();
+                        if (error != null) {
+                            LOGGER.error("Unable to send HTTP request of manager {}", getName(), error);
+                        } else if (isError(response)) {
+                            LOGGER.error("HTTP manager {} received error response {}", getName(), toString(response));
+                        }
+                    });
+        } catch (final RuntimeException e) {
+            inFlightRequests.release();
+            throw e;
+        }
+    }
+
+    private void sendSynchronously(final HttpRequest request) throws IOException {
+        final HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending HTTP request", e);
+        }
+        if (isError(response)) {
+            throw new IOException(toString(response));
+        }
+    }
+
+    private static boolean isError(final HttpResponse<?> response) {
+        return response.statusCode() < 200 || response.statusCode() >= 300;
+    }
+
+    private static String toString(final HttpResponse<byte[]> response) {
+        final byte[] body = response.body();
+        return body != null && body.length > 0
+                ? response.statusCode() + " - " + new String(body, StandardCharsets.US_ASCII)
+                : String.valueOf(response.statusCode());
+    }
+
+    /**
+     * Returns the number of batches discarded, because too many requests were in flight.
+     *
+     * @return the number of discarded batches
+     */
+    public long getDiscardCount() {
+        return discardCount.get();
+    }
+
+    /**
+     * Instances are not registered in the manager registry, hence they are released directly.
+     */
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        return releaseSub(timeout, timeUnit);
+    }
+
+    @Override
+    protected boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+            flushFuture = null;
+        }
+        flushQuietly();
+        // Wait for the requests in flight.
+        try {
+            final boolean completed = timeout > 0
+                    ? inFlightRequests.tryAcquire(maxInFlightRequests, timeout, timeUnit)
+                    : inFlightRequests.tryAcquire(maxInFlightRequests, 1, TimeUnit.MINUTES);
+            if (completed) {
+                inFlightRequests.release(maxInFlightRequests);
+            } else {
+                LOGGER.warn("HTTP manager {} stopped with requests in flight.", getName());
+            }
+            return completed;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
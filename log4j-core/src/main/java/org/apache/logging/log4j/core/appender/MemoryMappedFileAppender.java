@@ -59,6 +59,9 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
         @PluginBuilderAttribute("regionLength")
         private int regionLength = MemoryMappedFileManager.DEFAULT_REGION_LENGTH;
 
+        @PluginBuilderAttribute("forceOnFlush")
+        private boolean forceOnFlush;
+
         @PluginBuilderAttribute("advertise")
         private boolean advertise;
 
@@ -87,6 +90,8 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
             if (manager == null) {
                 return null;
             }
+            manager.setGroupCommit(isGroupCommit());
+            manager.setForceOnFlush(forceOnFlush);
 
             return new MemoryMappedFileAppender(
                     name,
@@ -115,6 +120,11 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
             return asBuilder();
         }
 
+        public B setForceOnFlush(final boolean forceOnFlush) {
+            this.forceOnFlush = forceOnFlush;
+            return asBuilder();
+        }
+
         public B setAdvertise(final boolean advertise) {
             this.advertise = advertise;
             return asBuilder();
@@ -193,7 +203,7 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
     /**
      * Converts the specified region length to a valid value.
      */
-    private static int determineValidRegionLength(final String name, final int regionLength) {
+    static int determineValidRegionLength(final String name, final int regionLength) {
         if (regionLength > MAX_REGION_LENGTH) {
             LOGGER.info(
                     "MemoryMappedAppender[{}] Reduced region length from {} to max length: {}",
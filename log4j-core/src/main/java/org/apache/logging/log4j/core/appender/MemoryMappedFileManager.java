@@ -68,8 +68,11 @@ public class MemoryMappedFileManager extends OutputStreamManager {
     private final int regionLength;
     private final String advertiseURI;
     private final RandomAccessFile randomAccessFile;
+    // Used as mapped buffer after a failed remap, so that the next write attempts to remap the file.
+    private final MappedByteBuffer emptyBuffer;
     private MappedByteBuffer mappedBuffer;
     private long mappingOffset;
+    private volatile boolean forceOnFlush;
 
     protected MemoryMappedFileManager(
             final RandomAccessFile file,
@@ -89,6 +92,7 @@ public class MemoryMappedFileManager extends OutputStreamManager {
         this.randomAccessFile = Objects.requireNonNull(file, "RandomAccessFile");
         this.regionLength = regionLength;
         this.advertiseURI = advertiseURI;
+        this.emptyBuffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, position, 0);
         this.mappedBuffer = mmap(randomAccessFile.getChannel(), getFileName(), position, regionLength);
         this.byteBuffer = mappedBuffer;
         this.mappingOffset = position;
@@ -147,7 +151,9 @@ public class MemoryMappedFileManager extends OutputStreamManager {
         final long offset = this.mappingOffset + mappedBuffer.position();
         final int length = mappedBuffer.remaining() + regionLength;
         try {
-            unsafeUnmap(mappedBuffer);
+            if (mappedBuffer != emptyBuffer) {
+                unsafeUnmap(mappedBuffer);
+            }
             final long fileLength = randomAccessFile.length() + regionLength;
             LOGGER.debug(
                     "{} {} extending {} by {} bytes to {}",
@@ -167,12 +173,25 @@ public class MemoryMappedFileManager extends OutputStreamManager {
             this.byteBuffer = mappedBuffer;
             mappingOffset = offset;
         } catch (final Exception ex) {
-            logError("Unable to remap", ex);
+            // The previous region might be unmapped: it must not be accessed anymore.
+            mappedBuffer = emptyBuffer;
+            this.byteBuffer = mappedBuffer;
+            mappingOffset = offset;
+            throw new AppenderLoggingException("Unable to remap " + getFileName(), ex);
         }
     }
 
+    /**
+     * Forces the content of the mapped region to the storage device if {@linkplain #setForceOnFlush(boolean) enabled}.
+     * <p>
+     * Otherwise this is a no-op: the content of the mapped region is already visible to other processes.
+     * </p>
+     */
     @Override
     public void flush() {
+        if (!forceOnFlush) {
+            return;
+        }
         writeLock.lock();
         try {
             mappedBuffer.force();
@@ -188,7 +207,9 @@ public class MemoryMappedFileManager extends OutputStreamManager {
             final long position = mappedBuffer.position();
             final long length = mappingOffset + position;
             try {
-                unsafeUnmap(mappedBuffer);
+                if (mappedBuffer != emptyBuffer) {
+                    unsafeUnmap(mappedBuffer);
+                }
             } catch (final Exception ex) {
                 logError("Unable to unmap MappedBuffer", ex);
             }
@@ -244,7 +265,14 @@ public class MemoryMappedFileManager extends OutputStreamManager {
         }
     }
 
-    private static void unsafeUnmap(final MappedByteBuffer mbb) throws PrivilegedActionException {
+    /**
+     * Releases the memory mapping of the given buffer without waiting for it to be garbage collected.
+     *
+     * @param mbb the buffer to unmap, which must not be accessed afterwards
+     * @throws PrivilegedActionException if the buffer could not be unmapped
+     * @since 3.0.0
+     */
+    public static void unsafeUnmap(final MappedByteBuffer mbb) throws PrivilegedActionException {
         LOGGER.debug("MMapAppender unmapping old buffer...");
         final long startNanos = System.nanoTime();
         AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> {
@@ -286,6 +314,26 @@ public class MemoryMappedFileManager extends OutputStreamManager {
         return immediateFlush;
     }
 
+    /**
+     * Sets whether {@link #flush()} forces the content of the mapped region to the storage device.
+     *
+     * @param forceOnFlush {@code true} to call {@link MappedByteBuffer#force()} on each flush
+     * @since 3.0.0
+     */
+    public void setForceOnFlush(final boolean forceOnFlush) {
+        this.forceOnFlush = forceOnFlush;
+    }
+
+    /**
+     * Returns whether {@link #flush()} forces the content of the mapped region to the storage device.
+     *
+     * @return {@code true} if each flush calls {@link MappedByteBuffer#force()}
+     * @since 3.0.0
+     */
+    public boolean isForceOnFlush() {
+        return forceOnFlush;
+    }
+
     /**
      * Gets this FileManager's content format specified by:
      * <p>
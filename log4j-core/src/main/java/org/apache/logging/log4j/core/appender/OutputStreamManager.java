@@ -22,6 +22,9 @@ import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.layout.ByteBufferDestination;
@@ -37,6 +40,11 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
     protected ByteBuffer byteBuffer;
     private volatile OutputStream outputStream;
     private boolean skipFooter;
+    private volatile boolean groupCommit;
+    private final Lock commitLock = new ReentrantLock();
+    private final AtomicLong commitRequests = new AtomicLong();
+    // guarded by commitLock
+    private long committedRequests;
 
     protected OutputStreamManager(
             final OutputStream os, final String streamName, final Layout layout, final boolean writeHeader) {
@@ -104,6 +112,34 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
         this.skipFooter = skipFooter;
     }
 
+    /**
+     * Indicates whether concurrent calls to {@link #commit()} should be coalesced or not.
+     * <p>
+     * The setting applies to all the appenders sharing this manager, hence the last configured value wins and a
+     * warning is logged if it differs from the current one.
+     * </p>
+     * @param groupCommit true if a single thread should flush on behalf of all threads waiting in {@link #commit()}.
+     * @since 3.0.0
+     */
+    public void setGroupCommit(final boolean groupCommit) {
+        if (this.groupCommit != groupCommit && getCount() > 1) {
+            LOGGER.warn(
+                    "Manager {} is shared by appenders with conflicting `groupCommit` settings, using `{}`",
+                    getName(),
+                    groupCommit);
+        }
+        this.groupCommit = groupCommit;
+    }
+
+    /**
+     * Returns whether concurrent calls to {@link #commit()} are coalesced or not.
+     * @return true if group commit is enabled.
+     * @since 3.0.0
+     */
+    public boolean isGroupCommit() {
+        return groupCommit;
+    }
+
     /**
      * Default hook to write footer during close.
      */
@@ -305,6 +341,39 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
         }
     }
 
+    /**
+     * Flushes the bytes previously written by the calling thread.
+     * <p>
+     * Unless {@linkplain #setGroupCommit(boolean) group commit} is enabled, this is equivalent to {@link #flush()}.
+     * Otherwise, the first waiting thread flushes on behalf of all threads, which requested a commit before it
+     * started. The other threads return as soon as their bytes have been flushed, without flushing on their own.
+     * </p>
+     * <p>
+     * Callers must not hold the {@link #writeLock}.
+     * </p>
+     * @since 3.0.0
+     */
+    public void commit() {
+        if (!groupCommit) {
+            flush();
+            return;
+        }
+        final long request = commitRequests.incrementAndGet();
+        commitLock.lock();
+        try {
+            if (committedRequests >= request) {
+                // Flushed by another thread, while this one was waiting
+                return;
+            }
+            // The bytes of all the requests issued up to now are in the buffer
+            final long lastRequest = commitRequests.get();
+            flush();
+            committedRequests = lastRequest;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
     protected boolean closeOutputStream() {
         writeLock.lock();
         try {
@@ -79,6 +79,7 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
             if (manager == null) {
                 return null;
             }
+            manager.setGroupCommit(isGroupCommit());
 
             return new RandomAccessFileAppender(
                     name,
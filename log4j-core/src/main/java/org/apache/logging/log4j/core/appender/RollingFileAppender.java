@@ -160,6 +160,7 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
             if (manager == null) {
                 return null;
             }
+            manager.setGroupCommit(isGroupCommit());
 
             manager.initialize();
 
@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.rolling.DefaultRolloverStrategy;
+import org.apache.logging.log4j.core.appender.rolling.DirectFileRolloverStrategy;
+import org.apache.logging.log4j.core.appender.rolling.DirectWriteRolloverStrategy;
+import org.apache.logging.log4j.core.appender.rolling.RollingMemoryMappedFileManager;
+import org.apache.logging.log4j.core.appender.rolling.RolloverStrategy;
+import org.apache.logging.log4j.core.appender.rolling.TriggeringPolicy;
+import org.apache.logging.log4j.core.net.Advertiser;
+import org.apache.logging.log4j.plugins.Configurable;
+import org.apache.logging.log4j.plugins.Plugin;
+import org.apache.logging.log4j.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.plugins.PluginElement;
+import org.apache.logging.log4j.plugins.PluginFactory;
+
+/**
+ * An appender that writes to memory mapped files and can roll over at
+ * intervals.
+ *
+ * @since 3.0.0
+ */
+@Configurable(elementType = Appender.ELEMENT_TYPE, printObject = true)
+@Plugin("RollingMemoryMappedFile")
+public final class RollingMemoryMappedFileAppender
+        extends AbstractOutputStreamAppender<RollingMemoryMappedFileManager> {
+
+    public static class Builder<B extends Builder<B>> extends AbstractOutputStreamAppender.Builder<B>
+            implements org.apache.logging.log4j.plugins.util.Builder<RollingMemoryMappedFileAppender> {
+
+        public Builder() {
+            super();
+            setIgnoreExceptions(true);
+            setImmediateFlush(false);
+        }
+
+        @PluginBuilderAttribute("fileName")
+        private String fileName;
+
+        @PluginBuilderAttribute("filePattern")
+        private String filePattern;
+
+        @PluginBuilderAttribute("append")
+        private boolean append = true;
+
+        @PluginBuilderAttribute("regionLength")
+        private int regionLength = RollingMemoryMappedFileManager.DEFAULT_REGION_LENGTH;
+
+        @PluginBuilderAttribute("forceOnFlush")
+        private boolean forceOnFlush;
+
+        @PluginElement("Policy")
+        private TriggeringPolicy policy;
+
+        @PluginElement("Strategy")
+        private RolloverStrategy strategy;
+
+        @PluginBuilderAttribute("advertise")
+        private boolean advertise;
+
+        @PluginBuilderAttribute("advertiseURI")
+        private String advertiseURI;
+
+        @PluginBuilderAttribute
+        private String filePermissions;
+
+        @PluginBuilderAttribute
+        private String fileOwner;
+
+        @PluginBuilderAttribute
+        private String fileGroup;
+
+        @Override
+        public RollingMemoryMappedFileAppender build() {
+            final String name = getName();
+            if (name == null) {
+                LOGGER.error("No name provided for RollingMemoryMappedFileAppender");
+                return null;
+            }
+
+            if (strategy == null) {
+                if (fileName != null) {
+                    strategy = DefaultRolloverStrategy.newBuilder()
+                            .setConfig(getConfiguration())
+                            .build();
+                } else {
+                    strategy = DirectWriteRolloverStrategy.newBuilder()
+                            .setConfig(getConfiguration())
+                            .build();
+                }
+            } else if (fileName == null && !(strategy instanceof DirectFileRolloverStrategy)) {
+                LOGGER.error(
+                        "RollingMemoryMappedFileAppender '{}': When no file name is provided a DirectFileRolloverStrategy must be configured",
+                        name);
+                return null;
+            }
+
+            if (filePattern == null) {
+                LOGGER.error("No filename pattern provided for RollingMemoryMappedFileAppender with name " + name);
+                return null;
+            }
+
+            if (policy == null) {
+                LOGGER.error("A TriggeringPolicy must be provided");
+                return null;
+            }
+
+            final Layout layout = getOrCreateLayout();
+
+            final boolean immediateFlush = isImmediateFlush();
+            final int actualRegionLength = MemoryMappedFileAppender.determineValidRegionLength(name, regionLength);
+            final RollingMemoryMappedFileManager manager =
+                    RollingMemoryMappedFileManager.getRollingMemoryMappedFileManager(
+                            fileName,
+                            filePattern,
+                            append,
+                            actualRegionLength,
+                            policy,
+                            strategy,
+                            advertiseURI,
+                            layout,
+                            filePermissions,
+                            fileOwner,
+                            fileGroup,
+                            getConfiguration());
+            if (manager == null) {
+                return null;
+            }
+            manager.setGroupCommit(isGroupCommit());
+            manager.setForceOnFlush(forceOnFlush);
+
+            manager.initialize();
+
+            return new RollingMemoryMappedFileAppender(
+                    name,
+                    layout,
+                    getFilter(),
+                    manager,
+                    fileName,
+                    filePattern,
+                    isIgnoreExceptions(),
+                    immediateFlush,
+                    advertise ? getConfiguration().getAdvertiser() : null);
+        }
+
+        public B setFileName(final String fileName) {
+            this.fileName = fileName;
+            return asBuilder();
+        }
+
+        public B setFilePattern(final String filePattern) {
+            this.filePattern = filePattern;
+            return asBuilder();
+        }
+
+        public B setAppend(final boolean append) {
+            this.append = append;
+            return asBuilder();
+        }
+
+        public B setRegionLength(final int regionLength) {
+            this.regionLength = regionLength;
+            return asBuilder();
+        }
+
+        public B setForceOnFlush(final boolean forceOnFlush) {
+            this.forceOnFlush = forceOnFlush;
+            return asBuilder();
+        }
+
+        public B setPolicy(final TriggeringPolicy policy) {
+            this.policy = policy;
+            return asBuilder();
+        }
+
+        public B setStrategy(final RolloverStrategy strategy) {
+            this.strategy = strategy;
+            return asBuilder();
+        }
+
+        public B setAdvertise(final boolean advertise) {
+            this.advertise = advertise;
+            return asBuilder();
+        }
+
+        public B setAdvertiseURI(final String advertiseURI) {
+            this.advertiseURI = advertiseURI;
+            return asBuilder();
+        }
+
+        public B setFilePermissions(final String filePermissions) {
+            this.filePermissions = filePermissions;
+            return asBuilder();
+        }
+
+        public B setFileOwner(final String fileOwner) {
+            this.fileOwner = fileOwner;
+            return asBuilder();
+        }
+
+        public B setFileGroup(final String fileGroup) {
+            this.fileGroup = fileGroup;
+            return asBuilder();
+        }
+    }
+
+    private final String fileName;
+    private final String filePattern;
+    private final Object advertisement;
+    private final Advertiser advertiser;
+
+    private RollingMemoryMappedFileAppender(
+            final String name,
+            final Layout layout,
+            final Filter filter,
+            final RollingMemoryMappedFileManager manager,
+            final String fileName,
+            final String filePattern,
+            final boolean ignoreExceptions,
+            final boolean immediateFlush,
+            final Advertiser advertiser) {
+        super(name, layout, filter, ignoreExceptions, immediateFlush, null, manager);
+        if (advertiser != null) {
+            final Map<String, String> configuration = new HashMap<>(layout.getContentFormat());
+            configuration.put("contentType", layout.getContentType());
+            configuration.put("name", name);
+            advertisement = advertiser.advertise(configuration);
+        } else {
+            advertisement = null;
+        }
+        this.fileName = fileName;
+        this.filePattern = filePattern;
+        this.advertiser = advertiser;
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        super.stop(timeout, timeUnit, false);
+        if (advertiser != null) {
+            advertiser.unadvertise(advertisement);
+        }
+        setStopped();
+        return true;
+    }
+
+    /**
+     * Write the log entry rolling over the file when required.
+     *
+     * @param event The LogEvent.
+     */
+    @Override
+    public void append(final LogEvent event) {
+        final RollingMemoryMappedFileManager manager = getManager();
+        manager.checkRollover(event);
+
+        // LOG4J2-1292 utilize gc-free Layout.encode() method: taken care of in superclass
+        super.append(event);
+    }
+
+    /**
+     * Returns the File name for the Appender.
+     *
+     * @return The file name.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Returns the file pattern used when rolling over.
+     *
+     * @return The file pattern.
+     */
+    public String getFilePattern() {
+        return filePattern;
+    }
+
+    /**
+     * Returns the length of the memory mapped region.
+     *
+     * @return the length of the memory mapped region
+     */
+    public int getRegionLength() {
+        return getManager().getRegionLength();
+    }
+
+    @PluginFactory
+    public static <B extends Builder<B>> B newBuilder() {
+        return new Builder<B>().asBuilder();
+    }
+}
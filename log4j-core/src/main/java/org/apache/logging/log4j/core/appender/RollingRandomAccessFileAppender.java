@@ -142,6 +142,7 @@ public final class RollingRandomAccessFileAppender
             if (manager == null) {
                 return null;
             }
+            manager.setGroupCommit(isGroupCommit());
 
             manager.initialize();
 
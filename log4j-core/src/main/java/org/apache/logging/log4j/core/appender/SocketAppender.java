@@ -26,10 +26,12 @@ import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.net.AbstractSocketManager;
 import org.apache.logging.log4j.core.net.Advertiser;
+import org.apache.logging.log4j.core.net.DatagramChannelManager;
 import org.apache.logging.log4j.core.net.DatagramSocketManager;
 import org.apache.logging.log4j.core.net.Protocol;
 import org.apache.logging.log4j.core.net.SocketOptions;
 import org.apache.logging.log4j.core.net.SslSocketManager;
+import org.apache.logging.log4j.core.net.TcpSocketChannelManager;
 import org.apache.logging.log4j.core.net.TcpSocketManager;
 import org.apache.logging.log4j.core.net.ssl.SslConfiguration;
 import org.apache.logging.log4j.plugins.Configurable;
@@ -91,6 +93,24 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         @PluginAliases({"reconnectDelay", "reconnectionDelay", "delayMillis", "reconnectionDelayMillis"})
         private int reconnectDelayMillis;
 
+        @PluginBuilderAttribute
+        private boolean nonBlocking;
+
+        @PluginBuilderAttribute
+        private int sendBufferSize = TcpSocketChannelManager.DEFAULT_SEND_BUFFER_SIZE;
+
+        @PluginBuilderAttribute
+        private TcpSocketChannelManager.OverflowPolicy overflowPolicy = TcpSocketChannelManager.OverflowPolicy.BLOCK;
+
+        @PluginBuilderAttribute
+        private int blockTimeoutMillis = TcpSocketChannelManager.DEFAULT_BLOCK_TIMEOUT_MILLIS;
+
+        @PluginBuilderAttribute
+        private boolean packDatagrams;
+
+        @PluginBuilderAttribute
+        private int maxDatagramSize = DatagramChannelManager.DEFAULT_MAX_DATAGRAM_SIZE;
+
         @PluginElement("SocketOptions")
         private SocketOptions socketOptions;
 
@@ -178,6 +198,85 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         public SocketOptions getSocketOptions() {
             return socketOptions;
         }
+
+        public boolean isNonBlocking() {
+            return nonBlocking;
+        }
+
+        public int getSendBufferSize() {
+            return sendBufferSize;
+        }
+
+        public TcpSocketChannelManager.OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public int getBlockTimeoutMillis() {
+            return blockTimeoutMillis;
+        }
+
+        /**
+         * Sends the events through a non-blocking {@link java.nio.channels.SocketChannel}.
+         * <p>
+         * Only supported by the TCP protocol.
+         * </p>
+         */
+        public B setNonBlocking(final boolean nonBlocking) {
+            this.nonBlocking = nonBlocking;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the size of the buffer that stores the bytes not yet accepted by a non-blocking connection.
+         */
+        public B setSendBufferSize(final int sendBufferSize) {
+            this.sendBufferSize = sendBufferSize;
+            return asBuilder();
+        }
+
+        /**
+         * Sets what a non-blocking connection does when its send buffer is full.
+         */
+        public B setOverflowPolicy(final TcpSocketChannelManager.OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the maximum time a non-blocking connection waits for the peer, before dropping the bytes that do not
+         * fit into its send buffer.
+         */
+        public B setBlockTimeoutMillis(final int blockTimeoutMillis) {
+            this.blockTimeoutMillis = blockTimeoutMillis;
+            return asBuilder();
+        }
+
+        public boolean isPackDatagrams() {
+            return packDatagrams;
+        }
+
+        public int getMaxDatagramSize() {
+            return maxDatagramSize;
+        }
+
+        /**
+         * Packs several octet-counted events into each UDP datagram.
+         * <p>
+         * Only supported by the UDP protocol.
+         * </p>
+         */
+        public B setPackDatagrams(final boolean packDatagrams) {
+            this.packDatagrams = packDatagrams;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the maximum size in bytes of the datagrams sent, if events are packed.
+         */
+        public B setMaxDatagramSize(final int maxDatagramSize) {
+            this.maxDatagramSize = maxDatagramSize;
+            return asBuilder();
+        }
     }
 
     /**
@@ -209,22 +308,54 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
 
             final Protocol protocol = getProtocol();
             final Protocol actualProtocol = protocol != null ? protocol : Protocol.TCP;
-            if (actualProtocol == Protocol.UDP) {
+            final boolean packDatagrams = isPackDatagrams() && actualProtocol == Protocol.UDP;
+            if (actualProtocol == Protocol.UDP && !packDatagrams) {
                 immediateFlush = true;
             }
+            if (isPackDatagrams() && !packDatagrams) {
+                AbstractLifeCycle.LOGGER.warn(
+                        "Appender {} ignoring packDatagrams for {} protocol, only UDP is supported",
+                        name,
+                        actualProtocol);
+            }
 
-            final AbstractSocketManager manager = SocketAppender.createSocketManager(
-                    name,
-                    actualProtocol,
-                    getHost(),
-                    getPort(),
-                    getConnectTimeoutMillis(),
-                    getSslConfiguration(),
-                    getReconnectDelayMillis(),
-                    getImmediateFail(),
-                    layout,
-                    getBufferSize(),
-                    getSocketOptions());
+            final AbstractSocketManager manager;
+            if (packDatagrams) {
+                manager = DatagramChannelManager.getSocketManager(
+                        getHost(), getPort(), layout, getBufferSize(), getMaxDatagramSize());
+            } else if (isNonBlocking() && actualProtocol == Protocol.TCP && getSslConfiguration() == null) {
+                manager = TcpSocketChannelManager.getSocketManager(
+                        getHost(),
+                        getPort(),
+                        getConnectTimeoutMillis(),
+                        getReconnectDelayMillis(),
+                        getImmediateFail(),
+                        layout,
+                        getBufferSize(),
+                        getSocketOptions(),
+                        getSendBufferSize(),
+                        getOverflowPolicy(),
+                        getBlockTimeoutMillis());
+            } else {
+                if (isNonBlocking()) {
+                    AbstractLifeCycle.LOGGER.warn(
+                            "Appender {} ignoring nonBlocking for {} protocol, only plain TCP is supported",
+                            name,
+                            getSslConfiguration() != null ? Protocol.SSL : actualProtocol);
+                }
+                manager = SocketAppender.createSocketManager(
+                        name,
+                        actualProtocol,
+                        getHost(),
+                        getPort(),
+                        getConnectTimeoutMillis(),
+                        getSslConfiguration(),
+                        getReconnectDelayMillis(),
+                        getImmediateFail(),
+                        layout,
+                        getBufferSize(),
+                        getSocketOptions());
+            }
 
             return new SocketAppender(
                     name,
@@ -27,6 +27,7 @@ import org.apache.logging.log4j.core.layout.Rfc5424Layout;
 import org.apache.logging.log4j.core.layout.SyslogLayout;
 import org.apache.logging.log4j.core.net.AbstractSocketManager;
 import org.apache.logging.log4j.core.net.Advertiser;
+import org.apache.logging.log4j.core.net.DatagramChannelManager;
 import org.apache.logging.log4j.core.net.Facility;
 import org.apache.logging.log4j.core.net.Protocol;
 import org.apache.logging.log4j.core.net.ssl.SslConfiguration;
@@ -148,18 +149,30 @@ public class SyslogAppender extends SocketAppender {
                 LOGGER.error("No name provided for SyslogAppender");
                 return null;
             }
-            final AbstractSocketManager manager = createSocketManager(
-                    name,
-                    protocol,
-                    getHost(),
-                    getPort(),
-                    getConnectTimeoutMillis(),
-                    sslConfiguration,
-                    getReconnectDelayMillis(),
-                    getImmediateFail(),
-                    layout,
-                    Constants.ENCODER_BYTE_BUFFER_SIZE,
-                    null);
+            final AbstractSocketManager manager;
+            if (isPackDatagrams() && protocol == Protocol.UDP) {
+                manager = DatagramChannelManager.getSocketManager(
+                        getHost(), getPort(), layout, Constants.ENCODER_BYTE_BUFFER_SIZE, getMaxDatagramSize());
+            } else {
+                if (isPackDatagrams()) {
+                    LOGGER.warn(
+                            "Appender {} ignoring packDatagrams for {} protocol, only UDP is supported",
+                            name,
+                            protocol);
+                }
+                manager = createSocketManager(
+                        name,
+                        protocol,
+                        getHost(),
+                        getPort(),
+                        getConnectTimeoutMillis(),
+                        sslConfiguration,
+                        getReconnectDelayMillis(),
+                        getImmediateFail(),
+                        layout,
+                        Constants.ENCODER_BYTE_BUFFER_SIZE,
+                        null);
+            }
 
             return new SyslogAppender(
                     name,
@@ -17,13 +17,17 @@
 package org.apache.logging.log4j.core.appender.db;
 
 import java.io.Flushable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.AbstractManager;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.util.Log4jThread;
 
 /**
  * Manager that allows database appenders to have their configuration reloaded without losing events.
@@ -37,6 +41,8 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
     protected abstract static class AbstractFactoryData extends AbstractManager.AbstractFactoryData {
         private final int bufferSize;
         private final Layout layout;
+        private final long flushIntervalMillis;
+        private final int maxInFlightBatches;
 
         /**
          * Constructs the base factory data.
@@ -45,9 +51,30 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
          * @param layout The appender-level layout
          */
         protected AbstractFactoryData(final Configuration configuration, final int bufferSize, final Layout layout) {
+            this(configuration, bufferSize, layout, 0, 0);
+        }
+
+        /**
+         * Constructs the base factory data.
+         * @param configuration Configuration creating this instance.
+         * @param bufferSize The size of the buffer.
+         * @param layout The appender-level layout
+         * @param flushIntervalMillis The maximum time a buffered event waits before being handed to the writer thread.
+         * @param maxInFlightBatches The maximum number of full buffers waiting for or being written by the writer
+         *                           thread, or {@code 0} to flush on the logging threads.
+         * @since 3.0.0
+         */
+        protected AbstractFactoryData(
+                final Configuration configuration,
+                final int bufferSize,
+                final Layout layout,
+                final long flushIntervalMillis,
+                final int maxInFlightBatches) {
             super(configuration);
             this.bufferSize = bufferSize;
             this.layout = layout;
+            this.flushIntervalMillis = flushIntervalMillis;
+            this.maxInFlightBatches = maxInFlightBatches;
         }
 
         /**
@@ -67,6 +94,26 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
         public Layout getLayout() {
             return layout;
         }
+
+        /**
+         * Gets the flush interval of the writer thread.
+         *
+         * @return the flush interval in milliseconds.
+         * @since 3.0.0
+         */
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        /**
+         * Gets the maximum number of batches handed to the writer thread.
+         *
+         * @return the maximum number of batches, or {@code 0} if there is no writer thread.
+         * @since 3.0.0
+         */
+        public int getMaxInFlightBatches() {
+            return maxInFlightBatches;
+        }
     }
 
     /**
@@ -86,12 +133,27 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
         return AbstractManager.getManager(name, factory, data);
     }
 
-    private final ArrayList<LogEvent> buffer;
+    /**
+     * The time the writer thread is given to write the remaining batches on shutdown, if no timeout is provided.
+     */
+    private static final long DEFAULT_WRITER_SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private ArrayList<LogEvent> buffer;
 
     private final int bufferSize;
     private final Layout layout;
     private boolean running;
 
+    // The following fields are only used with a writer thread and are guarded by this
+    private final long flushIntervalMillis;
+    private final int maxInFlightBatches;
+    private final Deque<ArrayList<LogEvent>> pendingBatches;
+    private final Deque<ArrayList<LogEvent>> freeBuffers;
+    private int inFlightBatches;
+    private Writer writer;
+    // The first failure of the writer thread, not yet reported to a logging thread
+    private AppenderLoggingException writerFailure;
+
     /**
      * Constructs the base manager.
      *
@@ -103,18 +165,123 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      */
     protected AbstractDatabaseManager(
             final String name, final int bufferSize, final Layout layout, final Configuration configuration) {
+        this(name, bufferSize, 0, 0, layout, configuration);
+    }
+
+    /**
+     * Constructs the base manager.
+     * <p>
+     * If both {@code bufferSize} and {@code maxInFlightBatches} are positive, full buffers are handed to a dedicated
+     * writer thread, while the logging threads keep filling another buffer. Logging threads only wait for the database
+     * if {@code maxInFlightBatches} buffers are already waiting for or being written by the writer thread.
+     * </p>
+     *
+     * @param name The manager name, which should include any configuration details that one might want to be able to
+     *             reconfigure at runtime, such as database name, username, (hashed) password, etc.
+     * @param bufferSize The size of the log event buffer.
+     * @param flushIntervalMillis If positive, the maximum time a non-empty buffer waits before being handed to the
+     *                            writer thread.
+     * @param maxInFlightBatches The maximum number of buffers handed to the writer thread, or {@code 0} to flush
+     *                           the buffer on the logging thread that fills it.
+     * @param layout the Appender-level layout.
+     * @param configuration My configuration.
+     * @since 3.0.0
+     */
+    protected AbstractDatabaseManager(
+            final String name,
+            final int bufferSize,
+            final long flushIntervalMillis,
+            final int maxInFlightBatches,
+            final Layout layout,
+            final Configuration configuration) {
         // null configuration allowed for backward compatibility.
         // TODO should super track Configuration instead of LoggerContext?
         super(configuration != null ? configuration.getLoggerContext() : null, name);
         this.bufferSize = bufferSize;
         this.buffer = new ArrayList<>(bufferSize + 1);
         this.layout = layout; // A null layout is allowed.
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxInFlightBatches = bufferSize > 0 ? Math.max(0, maxInFlightBatches) : 0;
+        this.pendingBatches = new ArrayDeque<>(this.maxInFlightBatches);
+        this.freeBuffers = new ArrayDeque<>(this.maxInFlightBatches);
     }
 
     protected void buffer(final LogEvent event) {
         this.buffer.add(event.toImmutable());
         if (this.buffer.size() >= this.bufferSize || event.isEndOfBatch()) {
-            this.flush();
+            if (maxInFlightBatches > 0) {
+                handOff(true);
+            } else {
+                this.flush();
+            }
+        }
+    }
+
+    /**
+     * Hands the current buffer to the writer thread and replaces it with an empty one. Must be called while holding
+     * the monitor of this manager.
+     *
+     * @param wait If {@code true} waits for a batch to complete if the maximum number of batches is in flight,
+     *             otherwise gives up.
+     */
+    private void handOff(final boolean wait) {
+        if (this.buffer.isEmpty() || writer == null) {
+            return;
+        }
+        while (inFlightBatches >= maxInFlightBatches) {
+            if (!wait) {
+                return;
+            }
+            try {
+                wait();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logWarn("Interrupted while waiting for the database writer thread", e);
+                return;
+            }
+        }
+        pendingBatches.add(this.buffer);
+        inFlightBatches++;
+        final ArrayList<LogEvent> free = freeBuffers.poll();
+        this.buffer = free != null ? free : new ArrayList<>(bufferSize + 1);
+        notifyAll();
+    }
+
+    /**
+     * Writes a batch of events to the database. Called by the writer thread without holding the monitor of this
+     * manager.
+     */
+    private void writeBatch(final ArrayList<LogEvent> batch) {
+        try {
+            this.connectAndStart();
+            try {
+                for (final LogEvent event : batch) {
+                    this.writeInternal(event);
+                }
+            } finally {
+                this.commitAndClose();
+            }
+        } catch (final RuntimeException e) {
+            synchronized (this) {
+                if (writerFailure == null) {
+                    writerFailure = new AppenderLoggingException(
+                            "Unable to write " + batch.size() + " events to the database in " + getName(), e);
+                } else {
+                    writerFailure.addSuppressed(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Throws the pending failure of the writer thread, if any, on the calling logging thread. Must be called while
+     * holding the monitor of this manager.
+     */
+    private void throwWriterFailure() {
+        final AppenderLoggingException failure = writerFailure;
+        if (failure != null) {
+            writerFailure = null;
+            throw failure;
         }
     }
 
@@ -137,9 +304,28 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
     /**
      * This method is called automatically when the buffer size reaches its maximum or at the beginning of a call to
      * {@link #shutdown()}. It can also be called manually to flush events to the database.
+     * <p>
+     * If a writer thread is used, this method waits for the writer thread to write all the buffered events and throws
+     * any failure it encountered since the last call to {@link #write(LogEvent)} or {@code flush()}.
+     * </p>
      */
     @Override
     public final synchronized void flush() {
+        if (writer != null) {
+            // Hands off the remaining events and waits for the writer thread to write them
+            handOff(true);
+            while (inFlightBatches > 0 && writer.isAlive()) {
+                try {
+                    wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logWarn("Interrupted while waiting for the database writer thread", e);
+                    return;
+                }
+            }
+            throwWriterFailure();
+            return;
+        }
         if (this.isRunning() && isBuffered()) {
             this.connectAndStart();
             try {
@@ -170,18 +356,26 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
 
     @Override
     public final boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
-        return this.shutdown();
+        return this.shutdown(timeout > 0 ? timeUnit.toMillis(timeout) : DEFAULT_WRITER_SHUTDOWN_TIMEOUT_MILLIS);
     }
 
     /**
      * This method is called from the {@link #close()} method when the appender is stopped or the appender's manager
      * is replaced. If it has not already been called, it calls {@link #shutdownInternal()} and catches any exceptions
-     * it might throw.
+     * it might throw. If a writer thread is used, it is given 10 seconds to write the remaining events.
      * @return true if all resources were closed normally, false otherwise.
      */
-    public final synchronized boolean shutdown() {
+    public final boolean shutdown() {
+        return shutdown(DEFAULT_WRITER_SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    private synchronized boolean shutdown(final long timeoutMillis) {
         boolean closed = true;
-        this.flush();
+        if (writer != null) {
+            closed = stopWriter(timeoutMillis);
+        } else {
+            this.flush();
+        }
         if (this.isRunning()) {
             try {
                 closed &= this.shutdownInternal();
@@ -195,6 +389,50 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
         return closed;
     }
 
+    /**
+     * Hands the remaining events to the writer thread and waits at most {@code timeoutMillis} milliseconds for it to
+     * write them and terminate. Must be called while holding the monitor of this manager.
+     *
+     * @return true if the writer thread wrote all the events and terminated in time, false otherwise.
+     */
+    private boolean stopWriter(final long timeoutMillis) {
+        final Writer writer = this.writer;
+        this.writer = null;
+        if (!this.buffer.isEmpty()) {
+            // Ignores the maximum number of batches in flight, so that shutdown does not wait for a free slot
+            pendingBatches.add(this.buffer);
+            inFlightBatches++;
+            this.buffer = new ArrayList<>(bufferSize + 1);
+        }
+        writer.shutdown = true;
+        notifyAll();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long remainingNanos;
+        while (!writer.terminated && (remainingNanos = deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        boolean stopped = true;
+        if (!writer.terminated) {
+            logWarn(
+                    "Database writer thread " + writer.getName() + " did not terminate within " + timeoutMillis
+                            + " ms, " + inFlightBatches + " batches of events might be lost",
+                    null);
+            writer.interrupt();
+            stopped = false;
+        }
+        if (writerFailure != null) {
+            logError("Unable to write all the buffered events to the database", writerFailure);
+            writerFailure = null;
+            stopped = false;
+        }
+        return stopped;
+    }
+
     /**
      * Implementations should implement this method to perform any proprietary disconnection / shutdown operations. This
      * method will never be called twice on the same instance, and it will only be called <em>after</em>
@@ -213,6 +451,10 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
             try {
                 this.startupInternal();
                 this.running = true;
+                if (maxInFlightBatches > 0) {
+                    writer = new Writer();
+                    writer.start();
+                }
             } catch (final Exception e) {
                 logError("Could not perform database startup operations", e);
             }
@@ -238,6 +480,10 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      * @param event The event to write to the database.
      */
     public final synchronized void write(final LogEvent event) {
+        if (writer != null) {
+            // Reports the failures of the writer thread, so that the appender can handle them
+            throwWriterFailure();
+        }
         if (isBuffered()) {
             buffer(event);
         } else {
@@ -257,6 +503,68 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      */
     protected abstract void writeInternal(LogEvent event);
 
+    /**
+     * Writes the batches handed off by the logging threads to the database.
+     */
+    private final class Writer extends Log4jThread {
+
+        // guarded by the monitor of the manager
+        private boolean shutdown;
+        private boolean terminated;
+
+        private Writer() {
+            super("AbstractDatabaseManager-Writer-" + AbstractDatabaseManager.this.getName());
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                ArrayList<LogEvent> batch;
+                while ((batch = nextBatch()) != null) {
+                    writeBatch(batch);
+                    synchronized (AbstractDatabaseManager.this) {
+                        batch.clear();
+                        freeBuffers.add(batch);
+                        inFlightBatches--;
+                        AbstractDatabaseManager.this.notifyAll();
+                    }
+                }
+            } finally {
+                // Wakes up threads waiting for in-flight batches or for the termination of this thread
+                synchronized (AbstractDatabaseManager.this) {
+                    terminated = true;
+                    AbstractDatabaseManager.this.notifyAll();
+                }
+            }
+        }
+
+        private ArrayList<LogEvent> nextBatch() {
+            synchronized (AbstractDatabaseManager.this) {
+                while (pendingBatches.isEmpty()) {
+                    if (shutdown) {
+                        return null;
+                    }
+                    try {
+                        if (flushIntervalMillis > 0) {
+                            AbstractDatabaseManager.this.wait(flushIntervalMillis);
+                            // Flushes the events buffered since the last wake-up, unless they are too many batches
+                            if (pendingBatches.isEmpty()) {
+                                handOff(false);
+                            }
+                        } else {
+                            AbstractDatabaseManager.this.wait();
+                        }
+                    } catch (final InterruptedException e) {
+                        logWarn("Database writer thread interrupted", e);
+                        return null;
+                    }
+                }
+                return pendingBatches.poll();
+            }
+        }
+    }
+
     protected void writeThrough(final LogEvent event) {
         this.connectAndStart();
         try {
@@ -69,6 +69,16 @@ public final class CompositeTriggeringPolicy extends AbstractTriggeringPolicy {
         return false;
     }
 
+    @Override
+    public boolean mayTrigger(final LogEvent event) {
+        for (final TriggeringPolicy triggeringPolicy : triggeringPolicies) {
+            if (triggeringPolicy.mayTrigger(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Creates a CompositeTriggeringPolicy.
      * @param triggeringPolicy The triggering policies.
@@ -22,6 +22,7 @@ import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.config.ConfigurationScheduler;
 import org.apache.logging.log4j.core.config.CronScheduledFuture;
 import org.apache.logging.log4j.core.config.Scheduled;
@@ -38,12 +39,12 @@ import org.apache.logging.log4j.plugins.PluginFactory;
 @Configurable(printObject = true)
 @Plugin
 @Scheduled
-public final class CronTriggeringPolicy extends AbstractTriggeringPolicy {
+public final class CronTriggeringPolicy extends AbstractTriggeringPolicy implements ConfigurationAware {
 
     private static final String defaultSchedule = "0 0 0 * * ?";
     private RollingFileManager manager;
     private final CronExpression cronExpression;
-    private final Configuration configuration;
+    private volatile Configuration configuration;
     private final boolean checkOnStartup;
     private volatile Date lastRollDate;
     private CronScheduledFuture<?> future;
@@ -79,6 +80,11 @@ public final class CronTriggeringPolicy extends AbstractTriggeringPolicy {
             rollover();
         }
 
+        lastRollDate = lastRegularRoll;
+        schedule(now);
+    }
+
+    private void schedule(final Date now) {
         final ConfigurationScheduler scheduler = configuration.getScheduler();
         if (!scheduler.isExecutorServiceSet()) {
             // make sure we have a thread pool
@@ -87,11 +93,34 @@ public final class CronTriggeringPolicy extends AbstractTriggeringPolicy {
         if (!scheduler.isStarted()) {
             scheduler.start();
         }
-        lastRollDate = lastRegularRoll;
         future = scheduler.scheduleWithCron(cronExpression, now, new CronTrigger());
         LOGGER.debug(scheduler.toString());
     }
 
+    /**
+     * Moves the schedule of an initialized policy to the scheduler of the given configuration.
+     * <p>
+     *     Used when the appender of this policy is reused by a new configuration, since the scheduler of the previous
+     *     one is stopped with it.
+     * </p>
+     *
+     * @param configuration the configuration that uses this policy
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        Objects.requireNonNull(configuration, "configuration");
+        if (configuration == this.configuration) {
+            return;
+        }
+        this.configuration = configuration;
+        if (future != null) {
+            // Do not interrupt a running rollover
+            future.cancel(false);
+            schedule(new Date());
+        }
+    }
+
     /**
      * Determines whether a rollover should occur.
      *
@@ -104,6 +133,11 @@ public final class CronTriggeringPolicy extends AbstractTriggeringPolicy {
         return false;
     }
 
+    @Override
+    public boolean mayTrigger(final LogEvent event) {
+        return false;
+    }
+
     public CronExpression getCronExpression() {
         return cronExpression;
     }
@@ -47,4 +47,9 @@ public class NoOpTriggeringPolicy extends AbstractTriggeringPolicy {
         // Never triggers.
         return false;
     }
+
+    @Override
+    public boolean mayTrigger(final LogEvent event) {
+        return false;
+    }
 }
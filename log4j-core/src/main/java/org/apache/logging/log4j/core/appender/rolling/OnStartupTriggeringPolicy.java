@@ -98,6 +98,11 @@ public class OnStartupTriggeringPolicy extends AbstractTriggeringPolicy {
         return false;
     }
 
+    @Override
+    public boolean mayTrigger(final LogEvent event) {
+        return false;
+    }
+
     @Override
     public String toString() {
         return "OnStartupTriggeringPolicy";
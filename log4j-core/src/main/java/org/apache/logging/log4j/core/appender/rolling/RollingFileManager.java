@@ -26,13 +26,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
-import java.util.Collection;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LifeCycle;
@@ -45,25 +44,24 @@ import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
 import org.apache.logging.log4j.core.appender.rolling.action.CompressActionFactory;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.FileUtils;
-import org.apache.logging.log4j.core.util.Log4jThreadFactory;
 
 /**
  * The Rolling File Manager.
  */
-public class RollingFileManager extends FileManager {
+public class RollingFileManager extends FileManager implements ConfigurationAware {
 
     private static final RollingFileManagerFactory factory = new RollingFileManagerFactory();
     private static final int MAX_TRIES = 3;
     private static final int MIN_DURATION = 100;
     private static final FileTime EPOCH = FileTime.fromMillis(0);
 
-    protected long size;
+    protected volatile long size;
     private long initialTime;
     private volatile PatternProcessor patternProcessor;
     private final Semaphore semaphore = new Semaphore(1);
-    private final Log4jThreadFactory threadFactory = Log4jThreadFactory.createThreadFactory("RollingFileManager");
     private volatile TriggeringPolicy triggeringPolicy;
     private volatile RolloverStrategy rolloverStrategy;
     private volatile boolean renameEmptyFiles;
@@ -71,11 +69,9 @@ public class RollingFileManager extends FileManager {
     private volatile String fileName;
     private final boolean directWrite;
     private final CopyOnWriteArrayList<RolloverListener> rolloverListeners = new CopyOnWriteArrayList<>();
-
-    /* This executor pool will create a new Thread for every work async action to be performed. Using it allows
-    us to make sure all the Threads are completed when the Manager is stopped. */
-    private final ExecutorService asyncExecutor =
-            new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.MILLISECONDS, new EmptyQueue(), threadFactory);
+    private volatile RolloverExecutor rolloverExecutor;
+    // The asynchronous action of the last rollover
+    private volatile AsyncAction pendingAction;
 
     private static final AtomicReferenceFieldUpdater<RollingFileManager, TriggeringPolicy> triggeringPolicyUpdater =
             AtomicReferenceFieldUpdater.newUpdater(
@@ -133,6 +129,7 @@ public class RollingFileManager extends FileManager {
         this.patternProcessor.setPrevFileTime(initialTime);
         this.fileName = fileName;
         this.directWrite = rolloverStrategy instanceof DirectFileRolloverStrategy;
+        this.rolloverExecutor = RolloverExecutor.getRolloverExecutor(configuration);
     }
 
     @SuppressFBWarnings(
@@ -320,9 +317,16 @@ public class RollingFileManager extends FileManager {
 
     /**
      * Determines if a rollover should occur.
+     * <p>
+     * The lock is only acquired if the triggering policy reports that a rollover {@link TriggeringPolicy#mayTrigger
+     * may occur}.
+     * </p>
      * @param event The LogEvent.
      */
     public void checkRollover(final LogEvent event) {
+        if (!triggeringPolicy.mayTrigger(event)) {
+            return;
+        }
         writeLock.lock();
         try {
             if (triggeringPolicy.isTriggeringEvent(event)) {
@@ -339,41 +343,19 @@ public class RollingFileManager extends FileManager {
         boolean stopped = true;
         stopped &= ((LifeCycle) triggeringPolicy).stop(timeout, timeUnit);
         final boolean status = super.releaseSub(timeout, timeUnit) && stopped;
-        asyncExecutor.shutdown();
+        // Wait for the asynchronous action of the last rollover to complete.
         try {
             // Allow at least the minimum interval to pass so async actions can complete.
             final long millis = timeUnit.toMillis(timeout);
             final long waitInterval = MIN_DURATION < millis ? millis : MIN_DURATION;
-
-            for (int count = 1; count <= MAX_TRIES && !asyncExecutor.isTerminated(); ++count) {
-                asyncExecutor.awaitTermination(waitInterval * count, TimeUnit.MILLISECONDS);
-            }
-            if (asyncExecutor.isTerminated()) {
-                LOGGER.debug("All asynchronous threads have terminated");
+            final AsyncAction pending = pendingAction;
+            if (pending == null || pending.awaitCompletion(waitInterval * MAX_TRIES, TimeUnit.MILLISECONDS)) {
+                LOGGER.debug("All asynchronous actions have completed");
             } else {
-                asyncExecutor.shutdownNow();
-                try {
-                    asyncExecutor.awaitTermination(timeout, timeUnit);
-                    if (asyncExecutor.isTerminated()) {
-                        LOGGER.debug("All asynchronous threads have terminated");
-                    } else {
-                        LOGGER.debug(
-                                "RollingFileManager shutting down but some asynchronous services may not have completed");
-                    }
-                } catch (final InterruptedException inner) {
-                    LOGGER.warn("RollingFileManager stopped but some asynchronous services may not have completed.");
-                }
+                LOGGER.debug("RollingFileManager shutting down but some asynchronous actions may not have completed");
             }
         } catch (final InterruptedException ie) {
-            asyncExecutor.shutdownNow();
-            try {
-                asyncExecutor.awaitTermination(timeout, timeUnit);
-                if (asyncExecutor.isTerminated()) {
-                    LOGGER.debug("All asynchronous threads have terminated");
-                }
-            } catch (final InterruptedException inner) {
-                LOGGER.warn("RollingFileManager stopped but some asynchronous services may not have completed.");
-            }
+            LOGGER.warn("RollingFileManager stopped but some asynchronous actions may not have completed.");
             // Preserve interrupt status
             Thread.currentThread().interrupt();
         }
@@ -514,21 +496,65 @@ public class RollingFileManager extends FileManager {
         return this.rolloverStrategy;
     }
 
+    /**
+     * Returns the executor of the asynchronous rollover actions.
+     * @return The RolloverExecutor
+     * @since 3.0.0
+     */
+    public RolloverExecutor getRolloverExecutor() {
+        return rolloverExecutor;
+    }
+
+    /**
+     * Sets the executor of the asynchronous rollover actions.
+     * @param rolloverExecutor The RolloverExecutor
+     * @since 3.0.0
+     */
+    public void setRolloverExecutor(final RolloverExecutor rolloverExecutor) {
+        this.rolloverExecutor = Objects.requireNonNull(rolloverExecutor, "rolloverExecutor");
+    }
+
+    /**
+     * Binds the manager to a configuration that reuses its appender without creating it again.
+     * <p>
+     *     The asynchronous rollover actions are executed by the {@link RolloverExecutor} of the new configuration,
+     *     since the one of the previous configuration is stopped together with it.
+     * </p>
+     * @param configuration The configuration that reuses the appender.
+     * @since 3.0.0
+     */
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        final PatternProcessor processor = getPatternProcessor();
+        setPatternProcessor(new PatternProcessor(configuration, processor.getPattern(), processor));
+        setRolloverExecutor(RolloverExecutor.getRolloverExecutor(configuration));
+    }
+
     private boolean rollover(final RolloverStrategy strategy) {
 
-        boolean releaseRequired = false;
         try {
-            // Block until the asynchronous operation is completed.
+            // Block until the running asynchronous operation is completed.
             semaphore.acquire();
-            releaseRequired = true;
         } catch (final InterruptedException e) {
             logError("Thread interrupted while attempting to check rollover", e);
             return false;
         }
 
         boolean success = true;
+        AsyncAction asyncAction = null;
 
         try {
+            // If the asynchronous action of the previous rollover is still queued behind the actions of other
+            // managers, execute it now: the files it uses might be modified by this rollover.
+            final AsyncAction previous = pendingAction;
+            if (previous != null && previous.claim()) {
+                LOGGER.debug("RollingFileManager executing queued async {}", previous);
+                try {
+                    previous.executeClaimed();
+                } catch (final Exception ex) {
+                    logError("Caught error in asynchronous task", ex);
+                }
+            }
             final RolloverDescription descriptor = strategy.rollover(this);
             if (descriptor != null) {
                 writeFooter();
@@ -544,27 +570,35 @@ public class RollingFileManager extends FileManager {
                 }
 
                 if (success && descriptor.getAsynchronous() != null) {
-                    LOGGER.debug("RollingFileManager executing async {}", descriptor.getAsynchronous());
-                    asyncExecutor.execute(new AsyncAction(descriptor.getAsynchronous(), this));
-                    releaseRequired = false;
+                    asyncAction = new AsyncAction(descriptor.getAsynchronous(), this);
+                    pendingAction = asyncAction;
                 }
                 return success;
             }
             return false;
         } finally {
-            if (releaseRequired) {
-                semaphore.release();
+            // The semaphore is only held while an action runs, not while it waits in the queue of the executor
+            semaphore.release();
+            if (asyncAction != null) {
+                LOGGER.debug("RollingFileManager executing async {}", asyncAction.action);
+                rolloverExecutor.execute(asyncAction, initialTime);
             }
         }
     }
 
     /**
      * Performs actions asynchronously.
+     * <p>
+     *     The action is executed once, either by the {@link RolloverExecutor} or by the next rollover of the
+     *     manager, whichever claims it first.
+     * </p>
      */
     private static class AsyncAction extends AbstractAction {
 
         private final Action action;
         private final RollingFileManager manager;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CountDownLatch completed = new CountDownLatch(1);
 
         /**
          * Constructor.
@@ -586,13 +620,39 @@ public class RollingFileManager extends FileManager {
          */
         @Override
         public boolean execute() throws IOException {
+            manager.semaphore.acquireUninterruptibly();
             try {
-                return action.execute();
+                // The action might have been executed by the next rollover
+                return !claim() || executeClaimed();
             } finally {
                 manager.semaphore.release();
             }
         }
 
+        /**
+         * Reserves the execution of the action to the caller.
+         *
+         * @return true if the caller must execute the action.
+         */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        /**
+         * Executes a claimed action. The caller must hold the semaphore of the manager.
+         */
+        boolean executeClaimed() throws IOException {
+            try {
+                return action.execute();
+            } finally {
+                completed.countDown();
+            }
+        }
+
+        boolean awaitCompletion(final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+            return completed.await(timeout, timeUnit);
+        }
+
         /**
          * Cancels the action if not already initialized or waits till completion.
          */
@@ -749,6 +809,7 @@ public class RollingFileManager extends FileManager {
         setPatternProcessor(
                 new PatternProcessor(factoryData.getConfiguration(), factoryData.getPattern(), getPatternProcessor()));
         setTriggeringPolicy(factoryData.getTriggeringPolicy());
+        setRolloverExecutor(RolloverExecutor.getRolloverExecutor(factoryData.getConfiguration()));
     }
 
     /**
@@ -841,47 +902,4 @@ public class RollingFileManager extends FileManager {
         }
         return file.lastModified();
     }
-
-    private static class EmptyQueue extends ArrayBlockingQueue<Runnable> {
-
-        /**
-         *
-         */
-        private static final long serialVersionUID = 1L;
-
-        EmptyQueue() {
-            super(1);
-        }
-
-        @Override
-        public int remainingCapacity() {
-            return 0;
-        }
-
-        @Override
-        public boolean add(final Runnable runnable) {
-            throw new IllegalStateException("Queue is full");
-        }
-
-        @Override
-        public void put(final Runnable runnable) throws InterruptedException {
-            /* No point in going into a permanent wait */
-            throw new InterruptedException("Unable to insert into queue");
-        }
-
-        @Override
-        public boolean offer(final Runnable runnable, final long timeout, final TimeUnit timeUnit)
-                throws InterruptedException {
-            Thread.sleep(timeUnit.toMillis(timeout));
-            return false;
-        }
-
-        @Override
-        public boolean addAll(final Collection<? extends Runnable> collection) {
-            if (collection.size() > 0) {
-                throw new IllegalArgumentException("Too many items in collection");
-            }
-            return false;
-        }
-    }
 }
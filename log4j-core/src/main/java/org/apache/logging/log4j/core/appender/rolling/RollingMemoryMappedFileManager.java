@@ -0,0 +1,539 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Paths;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ConfigurationFactoryData;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.appender.MemoryMappedFileManager;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.util.FileUtils;
+
+/**
+ * Extends RollingFileManager but instead of using a buffered output stream, this class maps a region of the current
+ * file into memory and writes to this memory region.
+ * <p>
+ * The file is extended by the length of the region each time the mapped region is full. Before the file is rolled
+ * over or closed, the memory region is unmapped and the unused tail of the file is truncated, so the archived files
+ * only contain the bytes that were actually written.
+ * </p>
+ *
+ * @see MemoryMappedFileManager
+ * @since 3.0.0
+ */
+public class RollingMemoryMappedFileManager extends RollingFileManager {
+    /**
+     * Default length of region to map.
+     */
+    public static final int DEFAULT_REGION_LENGTH = 32 * 1024 * 1024;
+
+    private static final RollingMemoryMappedFileManagerFactory FACTORY = new RollingMemoryMappedFileManagerFactory();
+    private static final double NANOS_PER_MILLISEC = 1000.0 * 1000.0;
+
+    private final int regionLength;
+    // Used as byte buffer while no file is mapped, so that the encoders call drain() and map the file.
+    private final ByteBuffer unmappedBuffer = ByteBuffer.wrap(new byte[0]);
+    private RandomAccessFile randomAccessFile;
+    private MappedByteBuffer mappedBuffer;
+    private long mappingOffset;
+    private volatile boolean forceOnFlush;
+
+    protected RollingMemoryMappedFileManager(
+            final Configuration configuration,
+            final LoggerContext loggerContext,
+            final RandomAccessFile raf,
+            final String fileName,
+            final String pattern,
+            final boolean append,
+            final int regionLength,
+            final long size,
+            final long initialTime,
+            final TriggeringPolicy policy,
+            final RolloverStrategy strategy,
+            final String advertiseURI,
+            final Layout layout,
+            final String filePermissions,
+            final String fileOwner,
+            final String fileGroup)
+            throws IOException {
+        super(
+                configuration,
+                loggerContext,
+                fileName,
+                pattern,
+                OutputStream.nullOutputStream(),
+                append,
+                false,
+                size,
+                initialTime,
+                policy,
+                strategy,
+                advertiseURI,
+                layout,
+                filePermissions,
+                fileOwner,
+                fileGroup,
+                false,
+                ByteBuffer.wrap(new byte[0]));
+        this.regionLength = regionLength;
+        this.byteBuffer = unmappedBuffer;
+        if (raf != null) {
+            map(raf);
+        }
+    }
+
+    public static RollingMemoryMappedFileManager getRollingMemoryMappedFileManager(
+            final String fileName,
+            final String filePattern,
+            final boolean isAppend,
+            final int regionLength,
+            final TriggeringPolicy policy,
+            final RolloverStrategy strategy,
+            final String advertiseURI,
+            final Layout layout,
+            final String filePermissions,
+            final String fileOwner,
+            final String fileGroup,
+            final Configuration configuration) {
+        if (strategy instanceof DirectWriteRolloverStrategy && fileName != null) {
+            LOGGER.error("The fileName attribute must not be specified with the DirectWriteRolloverStrategy");
+            return null;
+        }
+        final String name = fileName == null ? filePattern : fileName;
+        return narrow(
+                RollingMemoryMappedFileManager.class,
+                getManager(
+                        name,
+                        new FactoryData(
+                                fileName,
+                                filePattern,
+                                isAppend,
+                                regionLength,
+                                policy,
+                                strategy,
+                                advertiseURI,
+                                layout,
+                                filePermissions,
+                                fileOwner,
+                                fileGroup,
+                                configuration),
+                        FACTORY));
+    }
+
+    /**
+     * Maps a region starting at the current end of the file and writes the layout's header if the file is empty.
+     */
+    private void map(final RandomAccessFile raf) throws IOException {
+        final long position = raf.length();
+        raf.setLength(position + regionLength);
+        this.randomAccessFile = raf;
+        this.mappedBuffer = MemoryMappedFileManager.mmap(raf.getChannel(), getFileName(), position, regionLength);
+        this.byteBuffer = mappedBuffer;
+        this.mappingOffset = position;
+        this.size = position;
+        if (position == 0 && layout != null) {
+            final byte[] header = layout.getHeader();
+            if (header != null) {
+                put(header, 0, header.length);
+            }
+        }
+    }
+
+    @SuppressFBWarnings(
+            value = "PATH_TRAVERSAL_IN",
+            justification = "The name of the accessed files is based on a configuration value.")
+    private void createMappedFile() throws IOException {
+        final String fileName = getFileName();
+        final File file = new File(fileName);
+        FileUtils.makeParentDirs(file);
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            if (isAttributeViewEnabled()) {
+                defineAttributeView(Paths.get(fileName));
+            }
+            map(raf);
+        } catch (final IOException | RuntimeException ex) {
+            randomAccessFile = null;
+            raf.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        writeLock.lock();
+        try {
+            if (mappedBuffer == null) {
+                createMappedFile();
+            }
+            put(bytes, offset, length);
+        } catch (final IOException ex) {
+            final String msg = "Error writing to memory mapped file " + getName();
+            throw new AppenderLoggingException(msg, ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void put(final byte[] bytes, final int offset, final int length) {
+        int currentOffset = offset;
+        int currentLength = length;
+        while (currentLength > mappedBuffer.remaining()) {
+            final int chunk = mappedBuffer.remaining();
+            mappedBuffer.put(bytes, currentOffset, chunk);
+            currentOffset += chunk;
+            currentLength -= chunk;
+            remap();
+        }
+        mappedBuffer.put(bytes, currentOffset, currentLength);
+    }
+
+    private void remap() {
+        final long offset = this.mappingOffset + mappedBuffer.position();
+        final int length = mappedBuffer.remaining() + regionLength;
+        try {
+            MemoryMappedFileManager.unsafeUnmap(mappedBuffer);
+            final long fileLength = randomAccessFile.length() + regionLength;
+            LOGGER.debug(
+                    "{} {} extending {} by {} bytes to {}",
+                    getClass().getSimpleName(),
+                    getName(),
+                    getFileName(),
+                    regionLength,
+                    fileLength);
+            randomAccessFile.setLength(fileLength);
+            mappedBuffer = MemoryMappedFileManager.mmap(randomAccessFile.getChannel(), getFileName(), offset, length);
+            this.byteBuffer = mappedBuffer;
+            mappingOffset = offset;
+            size = offset;
+        } catch (final Exception ex) {
+            // The previous region might be unmapped: release the file, so that the next write maps it again.
+            mappedBuffer = null;
+            byteBuffer = unmappedBuffer;
+            size = offset;
+            final RandomAccessFile raf = randomAccessFile;
+            randomAccessFile = null;
+            try {
+                raf.setLength(offset);
+                raf.close();
+            } catch (final IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw new AppenderLoggingException("Unable to remap " + getFileName(), ex);
+        }
+    }
+
+    @Override
+    @SuppressFBWarnings(
+            value = "PATH_TRAVERSAL_IN",
+            justification = "The name of the accessed files is based on a configuration value.")
+    protected void createFileAfterRollover() throws IOException {
+        createMappedFile();
+    }
+
+    /**
+     * Forces the content of the mapped region to the storage device if {@linkplain #setForceOnFlush(boolean) enabled}.
+     * <p>
+     * Otherwise this is a no-op: the content of the mapped region is already visible to other processes.
+     * </p>
+     */
+    @Override
+    public void flush() {
+        if (!forceOnFlush) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (mappedBuffer != null) {
+                mappedBuffer.force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Unmaps the memory region and truncates the unused tail of the file.
+     */
+    @Override
+    public boolean closeOutputStream() {
+        writeLock.lock();
+        try {
+            if (mappedBuffer == null) {
+                return true;
+            }
+            final long position = mappedBuffer.position();
+            final long length = mappingOffset + position;
+            try {
+                MemoryMappedFileManager.unsafeUnmap(mappedBuffer);
+            } catch (final Exception ex) {
+                logError("Unable to unmap MappedBuffer", ex);
+            }
+            mappedBuffer = null;
+            byteBuffer = unmappedBuffer;
+            final RandomAccessFile raf = randomAccessFile;
+            randomAccessFile = null;
+            try {
+                final long startNanos = System.nanoTime();
+                raf.setLength(length);
+                raf.close();
+                final float millis = (float) ((System.nanoTime() - startNanos) / NANOS_PER_MILLISEC);
+                LOGGER.debug(
+                        "{} {} truncated {} to {} bytes (offset {} + position {}) in {} millis",
+                        getClass().getSimpleName(),
+                        getName(),
+                        getFileName(),
+                        length,
+                        mappingOffset,
+                        position,
+                        millis);
+                return true;
+            } catch (final IOException ex) {
+                logError("Unable to close memory mapped file", ex);
+                return false;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    protected void flushBuffer(final ByteBuffer buffer) {
+        // do nothing (do not call drain() to avoid spurious remapping)
+    }
+
+    @Override
+    public ByteBuffer drain(final ByteBuffer buf) {
+        writeLock.lock();
+        try {
+            if (mappedBuffer == null) {
+                createMappedFile();
+            } else {
+                remap();
+            }
+            return byteBuffer;
+        } catch (final IOException ex) {
+            final String msg = "Error mapping memory mapped file " + getName();
+            throw new AppenderLoggingException(msg, ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sets whether {@link #flush()} forces the content of the mapped region to the storage device.
+     *
+     * @param forceOnFlush {@code true} to call {@link MappedByteBuffer#force()} on each flush
+     */
+    public void setForceOnFlush(final boolean forceOnFlush) {
+        this.forceOnFlush = forceOnFlush;
+    }
+
+    /**
+     * Returns whether {@link #flush()} forces the content of the mapped region to the storage device.
+     *
+     * @return {@code true} if each flush calls {@link MappedByteBuffer#force()}
+     */
+    public boolean isForceOnFlush() {
+        return forceOnFlush;
+    }
+
+    /**
+     * Returns the length of the memory mapped region.
+     *
+     * @return the length of the mapped region
+     */
+    public int getRegionLength() {
+        return regionLength;
+    }
+
+    /**
+     * Returns the length of the memory mapped region.
+     *
+     * @return the length of the mapped region
+     */
+    @Override
+    public int getBufferSize() {
+        return regionLength;
+    }
+
+    /**
+     * Factory to create a RollingMemoryMappedFileManager.
+     */
+    private static class RollingMemoryMappedFileManagerFactory
+            implements ManagerFactory<RollingMemoryMappedFileManager, FactoryData> {
+
+        /**
+         * Create the RollingMemoryMappedFileManager.
+         *
+         * @param name The name of the entity to manage.
+         * @param data The data required to create the entity.
+         * @return a RollingMemoryMappedFileManager.
+         */
+        @Override
+        @SuppressFBWarnings(
+                value = "PATH_TRAVERSAL_IN",
+                justification = "The name of the accessed files is based on a configuration value.")
+        public RollingMemoryMappedFileManager createManager(final String name, final FactoryData data) {
+            File file = null;
+            long initialTime = System.currentTimeMillis();
+            RandomAccessFile raf = null;
+            try {
+                if (data.fileName != null) {
+                    file = new File(name);
+                    if (!data.append) {
+                        file.delete();
+                    }
+                    if (file.exists()) {
+                        initialTime = file.lastModified();
+                    }
+                    FileUtils.makeParentDirs(file);
+                    raf = new RandomAccessFile(name, "rw");
+                }
+                final RollingMemoryMappedFileManager manager = new RollingMemoryMappedFileManager(
+                        data.getConfiguration(),
+                        data.getLoggerContext(),
+                        raf,
+                        name,
+                        data.pattern,
+                        data.append,
+                        data.regionLength,
+                        raf != null ? raf.length() : 0,
+                        initialTime,
+                        data.policy,
+                        data.strategy,
+                        data.advertiseURI,
+                        data.layout,
+                        data.filePermissions,
+                        data.fileOwner,
+                        data.fileGroup);
+                if (file != null && manager.isAttributeViewEnabled()) {
+                    manager.defineAttributeView(file.toPath());
+                }
+                return manager;
+            } catch (final IOException ex) {
+                LOGGER.error("Cannot access memory mapped file " + ex, ex);
+                if (raf != null) {
+                    try {
+                        raf.close();
+                    } catch (final IOException e) {
+                        LOGGER.error("Cannot close RandomAccessFile {}", name, e);
+                    }
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Factory data.
+     */
+    private static class FactoryData extends ConfigurationFactoryData {
+        private final String fileName;
+        private final String pattern;
+        private final boolean append;
+        private final int regionLength;
+        private final TriggeringPolicy policy;
+        private final RolloverStrategy strategy;
+        private final String advertiseURI;
+        private final Layout layout;
+        private final String filePermissions;
+        private final String fileOwner;
+        private final String fileGroup;
+
+        /**
+         * Create the data for the factory.
+         *
+         * @param fileName The file name.
+         * @param pattern The pattern.
+         * @param append The append flag.
+         * @param regionLength The length of the mapped region.
+         * @param policy The triggering policy.
+         * @param strategy The rollover strategy.
+         * @param advertiseURI The URI to use when advertising the file.
+         * @param layout The layout.
+         * @param filePermissions File permissions
+         * @param fileOwner File owner
+         * @param fileGroup File group
+         * @param configuration The configuration.
+         */
+        public FactoryData(
+                final String fileName,
+                final String pattern,
+                final boolean append,
+                final int regionLength,
+                final TriggeringPolicy policy,
+                final RolloverStrategy strategy,
+                final String advertiseURI,
+                final Layout layout,
+                final String filePermissions,
+                final String fileOwner,
+                final String fileGroup,
+                final Configuration configuration) {
+            super(configuration);
+            this.fileName = fileName;
+            this.pattern = pattern;
+            this.append = append;
+            this.regionLength = regionLength;
+            this.policy = policy;
+            this.strategy = strategy;
+            this.advertiseURI = advertiseURI;
+            this.layout = layout;
+            this.filePermissions = filePermissions;
+            this.fileOwner = fileOwner;
+            this.fileGroup = fileGroup;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public TriggeringPolicy getTriggeringPolicy() {
+            return this.policy;
+        }
+
+        public RolloverStrategy getRolloverStrategy() {
+            return this.strategy;
+        }
+    }
+
+    /**
+     * Updates the RollingFileManager's data during a reconfiguration. This method should be considered private.
+     * It is not thread safe and calling it outside of a reconfiguration may lead to errors. This method may be
+     * made protected in a future release.
+     * @param data The data to update.
+     */
+    @Override
+    public void updateData(final Object data) {
+        final FactoryData factoryData = (FactoryData) data;
+        setRolloverStrategy(factoryData.getRolloverStrategy());
+        setPatternProcessor(
+                new PatternProcessor(factoryData.getConfiguration(), factoryData.getPattern(), getPatternProcessor()));
+        setTriggeringPolicy(factoryData.getTriggeringPolicy());
+        setRolloverExecutor(RolloverExecutor.getRolloverExecutor(factoryData.getConfiguration()));
+    }
+}
@@ -413,5 +413,6 @@ public class RollingRandomAccessFileManager extends RollingFileManager {
         setPatternProcessor(
                 new PatternProcessor(factoryData.getConfiguration(), factoryData.getPattern(), getPatternProcessor()));
         setTriggeringPolicy(factoryData.getTriggeringPolicy());
+        setRolloverExecutor(RolloverExecutor.getRolloverExecutor(factoryData.getConfiguration()));
     }
 }
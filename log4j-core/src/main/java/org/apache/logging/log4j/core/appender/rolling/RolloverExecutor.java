@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.AbstractLifeCycle;
+import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationExtension;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.plugins.Configurable;
+import org.apache.logging.log4j.plugins.Plugin;
+import org.apache.logging.log4j.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.plugins.PluginFactory;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.Lazy;
+
+/**
+ * Executes the asynchronous actions of the rollovers, like the compression of the archived files, for all the
+ * {@link RollingFileManager}s of a configuration.
+ * <p>
+ * The executor uses a bounded number of threads. Queued actions are executed starting with the ones that archive
+ * the oldest files. The compression actions share an optional limit of the number of bytes read per second.
+ * </p>
+ * <p>
+ * If the configuration does not contain a {@code RolloverExecutor} element, a default one is added to it by the
+ * first rolling file manager that needs it.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+@Configurable(printObject = true)
+@Plugin("RolloverExecutor")
+public final class RolloverExecutor extends AbstractLifeCycle implements ConfigurationExtension {
+
+    /**
+     * The default number of threads.
+     */
+    public static final int DEFAULT_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final int MAX_TRIES = 3;
+    private static final int MIN_DURATION = 100;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final ThreadLocal<RolloverExecutor> CURRENT = new ThreadLocal<>();
+
+    // Used by the managers that are not bound to a configuration
+    private static final Lazy<RolloverExecutor> FALLBACK = Lazy.lazy(() -> new RolloverExecutor(DEFAULT_THREADS, 0));
+
+    private final int threads;
+    private final long maxBytesPerSecond;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger runningTasks = new AtomicInteger();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    // Earliest time at which the next bytes can be read, guarded by this
+    private long nextReadNanos;
+
+    private RolloverExecutor(final int threads, final long maxBytesPerSecond) {
+        this.threads = threads;
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(),
+                Log4jThreadFactory.createThreadFactory("RolloverExecutor"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the rollover executor of a configuration, adding a default one to the configuration if necessary.
+     *
+     * @param configuration A configuration or {@code null}.
+     * @return The rollover executor of the configuration or a shared one if {@code configuration} is {@code null}.
+     */
+    public static RolloverExecutor getRolloverExecutor(final Configuration configuration) {
+        if (configuration == null) {
+            return FALLBACK.get();
+        }
+        return configuration.addExtensionIfAbsent(
+                RolloverExecutor.class, () -> newBuilder().build());
+    }
+
+    /**
+     * Returns the rollover executor that is running the current action.
+     *
+     * @return A rollover executor or {@code null} if the current thread is not executing a rollover action.
+     */
+    public static RolloverExecutor current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Queues an action.
+     * <p>
+     * If the executor has been stopped, the action is executed by the calling thread. Compression actions executed
+     * this way are still subject to the rate limit, hence they might block the calling thread.
+     * </p>
+     *
+     * @param action The action to execute.
+     * @param fileTime The time of the file archived by the action, used to execute the oldest files first.
+     */
+    public void execute(final Action action, final long fileTime) {
+        final Task task = new Task(action, fileTime, sequence.getAndIncrement());
+        if (!executor.isShutdown()) {
+            try {
+                executor.execute(task);
+                return;
+            } catch (final RejectedExecutionException e) {
+                LOGGER.debug("RolloverExecutor rejected {}, executing it synchronously.", action, e);
+            }
+        }
+        task.run();
+    }
+
+    /**
+     * Blocks until the given number of bytes can be read without exceeding the configured rate.
+     *
+     * @param bytes The number of bytes that will be read.
+     */
+    public void acquireRead(final int bytes) {
+        bytesRead.add(bytes);
+        if (maxBytesPerSecond <= 0) {
+            return;
+        }
+        final long waitNanos;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            final long start = nextReadNanos - now > 0 ? nextReadNanos : now;
+            nextReadNanos = start + bytes * NANOS_PER_SECOND / maxBytesPerSecond;
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(this, waitNanos);
+        }
+    }
+
+    /**
+     * Records the number of bytes written by an action.
+     *
+     * @param bytes The number of bytes written.
+     */
+    public void recordWrite(final long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getMaxBytesPerSecond() {
+        return maxBytesPerSecond;
+    }
+
+    /**
+     * Returns the number of actions waiting for a thread.
+     */
+    public int getQueuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of actions being executed.
+     */
+    public int getRunningTasks() {
+        return runningTasks.get();
+    }
+
+    /**
+     * Returns the number of actions that have been executed.
+     */
+    public long getCompletedTasks() {
+        return completedTasks.get();
+    }
+
+    /**
+     * Returns the number of bytes read by the compression actions.
+     */
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * Returns the number of bytes written by the compression actions.
+     */
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        executor.shutdown();
+        try {
+            // Allow at least the minimum interval to pass so async actions can complete.
+            final long millis = timeUnit.toMillis(timeout);
+            final long waitInterval = MIN_DURATION < millis ? millis : MIN_DURATION;
+            for (int count = 1; count <= MAX_TRIES && !executor.isTerminated(); ++count) {
+                executor.awaitTermination(waitInterval * count, TimeUnit.MILLISECONDS);
+            }
+            if (!executor.isTerminated()) {
+                executor.shutdownNow();
+                LOGGER.warn("RolloverExecutor stopped but some asynchronous actions may not have completed.");
+            }
+        } catch (final InterruptedException e) {
+            executor.shutdownNow();
+            LOGGER.warn("RolloverExecutor stopped but some asynchronous actions may not have completed.");
+            // Preserve interrupt status
+            Thread.currentThread().interrupt();
+        }
+        setStopped();
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "RolloverExecutor[threads=" + threads + ", maxBytesPerSecond=" + maxBytesPerSecond + ", queued="
+                + getQueuedTasks() + ", running=" + getRunningTasks() + ", completed=" + getCompletedTasks()
+                + ", bytesRead=" + getBytesRead() + ", bytesWritten=" + getBytesWritten() + "]";
+    }
+
+    @PluginFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder implements org.apache.logging.log4j.plugins.util.Builder<RolloverExecutor> {
+
+        @PluginBuilderAttribute
+        private int threads = DEFAULT_THREADS;
+
+        @PluginBuilderAttribute
+        private String maxBytesPerSecond;
+
+        public Builder setThreads(final int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder setMaxBytesPerSecond(final String maxBytesPerSecond) {
+            this.maxBytesPerSecond = maxBytesPerSecond;
+            return this;
+        }
+
+        @Override
+        public RolloverExecutor build() {
+            if (threads < 1) {
+                LOGGER.warn("RolloverExecutor requires at least one thread, using {} instead of {}.", 1, threads);
+                threads = 1;
+            }
+            final long bytesPerSecond = maxBytesPerSecond != null ? FileSize.parse(maxBytesPerSecond, 0) : 0;
+            return new RolloverExecutor(threads, bytesPerSecond);
+        }
+    }
+
+    private final class Task implements Runnable, Comparable<Task> {
+
+        private final Action action;
+        private final long fileTime;
+        private final long sequence;
+
+        private Task(final Action action, final long fileTime, final long sequence) {
+            this.action = action;
+            this.fileTime = fileTime;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            final RolloverExecutor previous = CURRENT.get();
+            CURRENT.set(RolloverExecutor.this);
+            runningTasks.incrementAndGet();
+            try {
+                action.run();
+            } finally {
+                runningTasks.decrementAndGet();
+                completedTasks.incrementAndGet();
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(final Task other) {
+            final int result = Long.compare(fileTime, other.fileTime);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
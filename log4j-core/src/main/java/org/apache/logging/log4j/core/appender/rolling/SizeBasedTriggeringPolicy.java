@@ -81,6 +81,16 @@ public class SizeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
         return triggered;
     }
 
+    /**
+     * Compares the current file size with the maximum without side effects.
+     * @param event A reference to the currently event.
+     * @return true if the file might need to be rolled over.
+     */
+    @Override
+    public boolean mayTrigger(final LogEvent event) {
+        return manager.getFileSize() > maxFileSize;
+    }
+
     @Override
     public String toString() {
         return "SizeBasedTriggeringPolicy(size=" + maxFileSize + ')';
@@ -91,7 +91,7 @@ public final class TimeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
         }
     }
 
-    private long nextRolloverMillis;
+    private volatile long nextRolloverMillis;
     private final int interval;
     private final boolean modulate;
     private final long maxRandomDelayMillis;
@@ -154,6 +154,16 @@ public final class TimeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
         return false;
     }
 
+    /**
+     * Compares the event time with the next rollover time without side effects.
+     * @param event A reference to the currently event.
+     * @return true if the file might need to be rolled over.
+     */
+    @Override
+    public boolean mayTrigger(final LogEvent event) {
+        return event.getTimeMillis() >= nextRolloverMillis;
+    }
+
     @PluginFactory
     public static TimeBasedTriggeringPolicy.Builder newBuilder() {
         return new Builder();
@@ -42,4 +42,21 @@ public interface TriggeringPolicy /* TODO 3.0: extends LifeCycle */ {
      * @return true if a rollover should occur.
      */
     boolean isTriggeringEvent(final LogEvent logEvent);
+
+    /**
+     * Determines, without holding the lock of the manager, if {@link #isTriggeringEvent(LogEvent)} needs to be called.
+     * <p>
+     * This check is performed for every event, hence implementations should be cheap, must not have side effects
+     * and must only read state that is safe to read concurrently with writes and rollovers.
+     * Returning {@code true} only costs a lock acquisition, while a stale {@code false} delays the rollover to one
+     * of the next events.
+     * </p>
+     *
+     * @param logEvent A reference to the current log event.
+     * @return {@code true} if a rollover might occur, {@code false} if a rollover certainly does not occur.
+     * @since 3.0.0
+     */
+    default boolean mayTrigger(final LogEvent logEvent) {
+        return true;
+    }
 }
@@ -16,11 +16,14 @@
  */
 package org.apache.logging.log4j.core.appender.rolling.action;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
+import org.apache.logging.log4j.core.appender.rolling.RolloverExecutor;
 
 public abstract class AbstractCompressAction extends AbstractAction {
 
@@ -61,8 +64,14 @@ public abstract class AbstractCompressAction extends AbstractAction {
     public boolean execute() throws IOException {
         if (Files.exists(source)) {
             LOGGER.debug("Starting {} compression from {} to {}.", getAlgorithmName(), source, destination);
-            try (final OutputStream output = wrapOutputStream(Files.newOutputStream(destination))) {
-                Files.copy(source, output);
+            final RolloverExecutor executor = RolloverExecutor.current();
+            if (executor == null) {
+                try (final OutputStream fileOutput = Files.newOutputStream(destination);
+                        final OutputStream output = wrapOutputStream(fileOutput)) {
+                    Files.copy(source, output);
+                }
+            } else {
+                compress(executor);
             }
             LOGGER.debug("Finished {} compression from {} to {}.", getAlgorithmName(), source, destination);
             try {
@@ -76,6 +85,27 @@ public abstract class AbstractCompressAction extends AbstractAction {
         return false;
     }
 
+    /**
+     * Compresses the source file, while respecting the rate limit of the executor and updating its metrics.
+     * <p>
+     * Actions executed outside of a {@link RolloverExecutor}, e.g., a pending action executed by the next rollover on
+     * the logging thread, are neither rate limited nor counted.
+     * </p>
+     */
+    private void compress(final RolloverExecutor executor) throws IOException {
+        try (final InputStream input = Files.newInputStream(source);
+                final CountingOutputStream counter =
+                        new CountingOutputStream(Files.newOutputStream(destination), executor);
+                final OutputStream output = wrapOutputStream(counter)) {
+            final byte[] buffer = new byte[BUF_SIZE];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                executor.acquireRead(read);
+                output.write(buffer, 0, read);
+            }
+        }
+    }
+
     /**
      * Capture exception.
      *
@@ -90,4 +120,39 @@ public abstract class AbstractCompressAction extends AbstractAction {
     public String toString() {
         return getClass().getSimpleName() + '[' + source + " to " + destination + ']';
     }
+
+    /**
+     * Records the number of bytes written in the metrics of the executor when closed.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private final RolloverExecutor executor;
+
+        private long count;
+
+        private CountingOutputStream(final OutputStream out, final RolloverExecutor executor) {
+            super(out);
+            this.executor = executor;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Closed by the compressor stream and by the try-with-resources statement
+            executor.recordWrite(count);
+            count = 0;
+            super.close();
+        }
+    }
 }
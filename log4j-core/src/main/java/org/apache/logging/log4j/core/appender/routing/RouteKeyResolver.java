@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.routing;
+
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.lookup.ContextMapLookup;
+import org.apache.logging.log4j.core.lookup.EventLookup;
+import org.apache.logging.log4j.core.lookup.Interpolator;
+import org.apache.logging.log4j.core.lookup.MarkerLookup;
+import org.apache.logging.log4j.core.lookup.StrLookup;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+
+/**
+ * Resolves the key of the route of a log event from the pattern of {@link Routes}.
+ * <p>
+ * Patterns consisting of a single {@code ctx}, {@code marker} or {@code event} lookup, with an optional default value,
+ * are compiled into a function reading the corresponding field of the log event, without parsing the pattern. All the other patterns, as well as
+ * the fields that the compiled function cannot resolve, are resolved using the {@link StrSubstitutor} of the
+ * configuration.
+ * </p>
+ */
+final class RouteKeyResolver {
+
+    // Matches `${prefix:name}` and `${prefix:name:-default}`, but not nested lookups
+    private static final Pattern SINGLE_LOOKUP = Pattern.compile("\\$\\{(\\w+):([^:${}]+)(?::-[^${}]*)?}");
+
+    private final String pattern;
+    private final StrSubstitutor substitutor;
+    private final Function<LogEvent, String> field;
+
+    private RouteKeyResolver(
+            final String pattern, final StrSubstitutor substitutor, final Function<LogEvent, String> field) {
+        this.pattern = pattern;
+        this.substitutor = substitutor;
+        this.field = field;
+    }
+
+    /**
+     * Creates a resolver for the given pattern.
+     *
+     * @param pattern The pattern of the routes.
+     * @param substitutor The substitutor of the configuration.
+     * @return A resolver for the pattern.
+     */
+    static RouteKeyResolver compile(final String pattern, final StrSubstitutor substitutor) {
+        return new RouteKeyResolver(pattern, substitutor, compileField(pattern, substitutor));
+    }
+
+    private static Function<LogEvent, String> compileField(final String pattern, final StrSubstitutor substitutor) {
+        if (pattern == null || !(substitutor.getVariableResolver() instanceof Interpolator)) {
+            return null;
+        }
+        final Matcher matcher = SINGLE_LOOKUP.matcher(pattern);
+        if (!matcher.matches()) {
+            return null;
+        }
+        final StrLookup lookup = ((Interpolator) substitutor.getVariableResolver()).getStrLookup(matcher.group(1));
+        // Only built-in lookups, whose behavior is known, are compiled
+        if (lookup == null) {
+            return null;
+        }
+        final String name = matcher.group(2);
+        if (lookup.getClass() == ContextMapLookup.class) {
+            return event -> {
+                final Object value = event.getContextData().getValue(name);
+                return value != null ? value.toString() : null;
+            };
+        }
+        if (lookup.getClass() == MarkerLookup.class) {
+            return RouteKeyResolver::getMarkerName;
+        }
+        if (lookup.getClass() == EventLookup.class) {
+            switch (name) {
+                case "Marker":
+                    return RouteKeyResolver::getMarkerName;
+                case "Logger":
+                    return LogEvent::getLoggerName;
+                case "ThreadName":
+                    return LogEvent::getThreadName;
+                case "Level":
+                    return event -> event.getLevel().toString();
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private static String getMarkerName(final LogEvent event) {
+        final Marker marker = event.getMarker();
+        return marker != null ? marker.getName() : null;
+    }
+
+    /**
+     * Indicates whether the pattern was compiled.
+     *
+     * @return {@code true} if the pattern does not need to be parsed for each event.
+     */
+    boolean isCompiled() {
+        return field != null;
+    }
+
+    /**
+     * Resolves the key of the route for the given event.
+     *
+     * @param event The log event.
+     * @return The key of the route.
+     */
+    String resolve(final LogEvent event) {
+        if (field != null) {
+            final String value = field.apply(event);
+            // Missing values require the default lookup or value, values containing `$` might need to be unescaped
+            if (value != null && value.indexOf('$') < 0) {
+                return value;
+            }
+        }
+        return substitutor.replace(event, pattern);
+    }
+}
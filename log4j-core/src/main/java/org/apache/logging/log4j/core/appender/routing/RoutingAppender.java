@@ -165,6 +165,7 @@ public final class RoutingAppender extends AbstractAppender {
     private static final String DEFAULT_KEY = "ROUTING_APPENDER_DEFAULT";
 
     private final Routes routes;
+    private final RouteKeyResolver routeKeyResolver;
     private Route defaultRoute;
     private final Configuration configuration;
     private final ConcurrentMap<String, CreatedRouteAppenderControl> createdAppenders = new ConcurrentHashMap<>();
@@ -192,6 +193,10 @@ public final class RoutingAppender extends AbstractAppender {
         super(name, filter, null, ignoreExceptions, properties);
         this.routes = routes;
         this.configuration = configuration;
+        // Patterns computed by a script can not be compiled ahead of time
+        final String pattern = routes.getPatternScript() == null ? routes.getPattern(null, null) : null;
+        this.routeKeyResolver =
+                pattern != null ? RouteKeyResolver.compile(pattern, configuration.getStrSubstitutor()) : null;
         this.rewritePolicy = rewritePolicy;
         this.purgePolicy = purgePolicy;
         this.requiresLocation = requiresLocation;
@@ -267,10 +272,15 @@ public final class RoutingAppender extends AbstractAppender {
         if (rewritePolicy != null) {
             event = rewritePolicy.rewrite(event);
         }
-        final String pattern = routes.getPattern(event, scriptStaticVariables);
-        final String key = pattern != null
-                ? configuration.getStrSubstitutor().replace(event, pattern)
-                : defaultRoute.getKey() != null ? defaultRoute.getKey() : DEFAULT_KEY;
+        final String key;
+        if (routeKeyResolver != null) {
+            key = routeKeyResolver.resolve(event);
+        } else {
+            final String pattern = routes.getPattern(event, scriptStaticVariables);
+            key = pattern != null
+                    ? configuration.getStrSubstitutor().replace(event, pattern)
+                    : defaultRoute.getKey() != null ? defaultRoute.getKey() : DEFAULT_KEY;
+        }
         final RouteAppenderControl control;
         lock.lock();
         try {
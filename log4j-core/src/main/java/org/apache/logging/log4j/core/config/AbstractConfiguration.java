@@ -25,7 +25,9 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,6 +36,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -48,8 +52,11 @@ import org.apache.logging.log4j.core.LifeCycle;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.Version;
+import org.apache.logging.log4j.core.appender.AbstractOutputStreamAppender;
 import org.apache.logging.log4j.core.appender.AsyncAppender;
 import org.apache.logging.log4j.core.appender.ConsoleAppender;
+import org.apache.logging.log4j.core.appender.rolling.RolloverExecutor;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
 import org.apache.logging.log4j.core.config.arbiters.Arbiter;
 import org.apache.logging.log4j.core.config.arbiters.SelectArbiter;
 import org.apache.logging.log4j.core.filter.AbstractFilterable;
@@ -67,6 +74,7 @@ import org.apache.logging.log4j.core.script.ScriptManager;
 import org.apache.logging.log4j.core.script.ScriptManagerFactory;
 import org.apache.logging.log4j.core.time.NanoClock;
 import org.apache.logging.log4j.core.util.Constants;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
 import org.apache.logging.log4j.core.util.Source;
 import org.apache.logging.log4j.core.util.WatchManager;
 import org.apache.logging.log4j.core.util.Watcher;
@@ -150,6 +158,16 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     private Object advertisement;
     private String name;
     private ConcurrentMap<String, Appender> appenders = new ConcurrentHashMap<>();
+    private final Map<String, Node> deferredAppenders = new ConcurrentHashMap<>();
+    private final Map<String, Node> appenderNodes = new ConcurrentHashMap<>();
+    // Components of each appender that must be bound to the configuration using the appender
+    private final Map<String, List<ConfigurationAware>> appenderComponents = new ConcurrentHashMap<>();
+    private final Map<String, Appender> reusedAppenders = new ConcurrentHashMap<>();
+    private final Set<Appender> transferredAppenders = ConcurrentHashMap.newKeySet();
+    // The owner of the reused appenders until this configuration has started
+    private @Nullable AbstractConfiguration previousConfiguration;
+    // Resolved copies of the elements that appenders can reference by name, e.g. scripts and custom levels
+    private List<Node> dependencyNodes = List.of();
     private ConcurrentMap<String, LoggerConfig> loggerConfigs = new ConcurrentHashMap<>();
     private List<CustomLevelConfig> customLevels = List.of();
     private final ConcurrentMap<String, String> properties = new ConcurrentHashMap<>();
@@ -378,26 +396,59 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
                     watchManager.getIntervalSeconds());
             watchManager.start();
         }
-        for (final ConfigurationExtension extension : extensions) {
-            if (extension instanceof LifeCycle lifecycle) {
-                lifecycle.start();
+        final AbstractConfiguration previous = previousConfiguration;
+        try {
+            // appenders reused from the previous configuration must use the resources of this one,
+            // which might add extensions, e.g. a RolloverExecutor
+            reusedAppenders.forEach(this::bindAppender);
+            for (final ConfigurationExtension extension : extensions) {
+                if (extension instanceof LifeCycle lifecycle) {
+                    lifecycle.start();
+                }
             }
+            final Set<LoggerConfig> alreadyStarted = new HashSet<>();
+            for (final LoggerConfig logger : loggerConfigs.values()) {
+                logger.start();
+                alreadyStarted.add(logger);
+            }
+            // appenders created lazily while starting the others are started on creation
+            for (final Appender appender : List.copyOf(appenders.values())) {
+                // appenders reused from the previous configuration are already running
+                if (!appender.isStarted()) {
+                    appender.start();
+                }
+            }
+            if (!alreadyStarted.contains(root)) { // LOG4J2-392
+                root.start(); // LOG4J2-336
+            }
+        } catch (final RuntimeException | Error e) {
+            if (previous != null) {
+                returnReusedAppenders(previous);
+            }
+            throw e;
         }
-        final Set<LoggerConfig> alreadyStarted = new HashSet<>();
-        for (final LoggerConfig logger : loggerConfigs.values()) {
-            logger.start();
-            alreadyStarted.add(logger);
-        }
-        for (final Appender appender : appenders.values()) {
-            appender.start();
-        }
-        if (!alreadyStarted.contains(root)) { // LOG4J2-392
-            root.start(); // LOG4J2-336
+        if (previous != null) {
+            // The previous configuration must no longer stop the appenders, now that this one is running
+            previous.transferredAppenders.addAll(reusedAppenders.values());
+            previousConfiguration = null;
         }
         super.start();
         LOGGER.info("Configuration {} started.", this);
     }
 
+    /**
+     * Gives the reused appenders back to the previous configuration, if this one fails to start.
+     */
+    private void returnReusedAppenders(final AbstractConfiguration previous) {
+        LOGGER.debug("Returning {} reused appenders to configuration {}", reusedAppenders.size(), previous);
+        reusedAppenders.forEach((appenderName, appender) -> {
+            previous.bindAppender(appenderName, appender);
+            appenders.values().remove(appender);
+        });
+        reusedAppenders.clear();
+        previousConfiguration = null;
+    }
+
     /**
      * Tear down the configuration.
      */
@@ -406,6 +457,11 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         LOGGER.info("Stopping configuration {}...", this);
         this.setStopping();
         super.stop(timeout, timeUnit, false);
+        final AbstractConfiguration previous = previousConfiguration;
+        if (previous != null) {
+            // This configuration never started: the reused appenders still belong to the previous one
+            returnReusedAppenders(previous);
+        }
 
         // Stop the components that are closest to the application first:
         // 1. Notify all LoggerConfigs' ReliabilityStrategy that the configuration will be stopped.
@@ -419,6 +475,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         //    are passed on to the Appenders before the Appenders are stopped.
         // 6. Stop the remaining running Appenders. (It should now be safe to do so.)
         // 7. Notify all LoggerConfigs that their Appenders can be cleaned up.
+        // 8. Stop the RolloverExecutor, which executes the rollovers of the stopping Appenders.
 
         for (final LoggerConfig loggerConfig : loggerConfigs.values()) {
             loggerConfig.getReliabilityStrategy().beforeStopConfiguration(this);
@@ -441,7 +498,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         }
 
         for (final ConfigurationExtension extension : extensions) {
-            if (extension instanceof LifeCycle lifecycle) {
+            if (extension instanceof LifeCycle lifecycle && !(extension instanceof RolloverExecutor)) {
                 lifecycle.stop(timeout, timeUnit);
             }
         }
@@ -453,7 +510,14 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         root.getReliabilityStrategy().beforeStopAppenders();
 
         // Stop the appenders in reverse order in case they still have activity.
-        final Appender[] array = appenders.values().toArray(Appender.EMPTY_ARRAY);
+        // The appenders transferred to the next configuration must keep running.
+        if (!transferredAppenders.isEmpty()) {
+            LOGGER.trace(
+                    "{} leaving {} Appenders running for the next configuration.", cls, transferredAppenders.size());
+        }
+        final Appender[] array = appenders.values().stream()
+                .filter(appender -> !transferredAppenders.contains(appender))
+                .toArray(Appender[]::new);
         final List<Appender> async = getAsyncAppenders(array);
         if (!async.isEmpty()) {
             // LOG4J2-511, LOG4J2-392 stop AsyncAppenders first
@@ -485,6 +549,21 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         }
         root.clearAppenders();
 
+        // The rollovers during the drain of the appenders are executed by the RolloverExecutor.
+        for (final ConfigurationExtension extension : extensions) {
+            if (extension instanceof RolloverExecutor executor) {
+                LOGGER.trace("{} stopping {}.", cls, executor);
+                executor.stop(timeout, timeUnit);
+            }
+        }
+
+        // The appenders shared with other configurations are owned by the latest one: drop our references,
+        // so that a chain of stopped configurations does not remain reachable.
+        transferredAppenders.forEach(appender -> appenders.values().remove(appender));
+        reusedAppenders.values().forEach(appender -> appenders.values().remove(appender));
+        transferredAppenders.clear();
+        reusedAppenders.clear();
+
         if (watchManager.isStarted()) {
             watchManager.stop(timeout, timeUnit);
         }
@@ -709,6 +788,12 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             configurationStrSubstitutor.setVariableResolver(interpolator);
         }
 
+        final ConfigurationProperties configurationProperties = environment.getProperty(ConfigurationProperties.class);
+        final @Nullable Set<String> loggerAppenderRefs =
+                configurationProperties.lazyAppenders() ? getLoggerAppenderRefs(rootNode, new HashSet<>()) : null;
+        if (configurationProperties.reuseAppenders()) {
+            dependencyNodes = getDependencyNodes(rootNode);
+        }
         boolean setLoggers = false;
         boolean setRoot = false;
         for (final Node child : rootNode.getChildren()) {
@@ -718,7 +803,15 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
                 }
                 continue;
             }
-            createConfiguration(child, null);
+            if ("Appenders".equalsIgnoreCase(child.getName())) {
+                createAppenders(
+                        child,
+                        loggerAppenderRefs,
+                        configurationProperties.appenderCreationThreads(),
+                        configurationProperties.reuseAppenders() ? getPreviousConfiguration() : null);
+            } else {
+                createConfiguration(child, null);
+            }
             if (child.getObject() == null) {
                 LOGGER.warn(
                         "Configuration element \"{}\" is ignored: try nesting it inside one of: {}.",
@@ -732,6 +825,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
                 }
             } else if ("Appenders".equalsIgnoreCase(child.getName())) {
                 appenders = child.getObject();
+                appenders.putAll(reusedAppenders);
             } else if (child.isInstanceOf(Filter.class)) {
                 addFilter(child.getObject(Filter.class));
             } else if (child.isInstanceOf(Loggers.class)) {
@@ -787,6 +881,304 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         setParents();
     }
 
+    /**
+     * Collects the names of the appenders referenced by the loggers of the configuration.
+     */
+    private Set<String> getLoggerAppenderRefs(final Node node, final Set<String> refs) {
+        for (final Node child : node.getChildren()) {
+            if ("Appenders".equalsIgnoreCase(child.getName()) && node == rootNode) {
+                continue;
+            }
+            final PluginType<?> type = child.getType();
+            if (type != null && AppenderRef.class.isAssignableFrom(type.getPluginClass())) {
+                final String ref = getAttributeIgnoreCase(child, "ref");
+                if (ref != null) {
+                    refs.add(configurationStrSubstitutor.replace(ref));
+                }
+            }
+            getLoggerAppenderRefs(child, refs);
+        }
+        return refs;
+    }
+
+    private static @Nullable String getAttributeIgnoreCase(final Node node, final String name) {
+        for (final Map.Entry<String, String> entry : node.getAttributes().entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the appenders of the configuration.
+     *
+     * @param node the {@code Appenders} node
+     * @param loggerAppenderRefs if not {@code null}, the creation of the appenders not contained in this set is
+     *                           deferred until they are looked up by {@link #getAppender(String)}
+     * @param threads the number of threads used to create the appenders
+     * @param previous if not {@code null}, the configuration from which the unchanged appenders are reused
+     */
+    private void createAppenders(
+            final Node node,
+            final @Nullable Set<String> loggerAppenderRefs,
+            final int threads,
+            final @Nullable AbstractConfiguration previous) {
+        // The creation of a plugin removes the nodes of its elements, so we keep them to find the created components
+        final Map<String, List<Node>> createdAppenders = new HashMap<>();
+        final Iterator<Node> iterator = node.getChildren().iterator();
+        while (iterator.hasNext()) {
+            final Node child = iterator.next();
+            // Attributes are consumed by the creation of the appender, so we keep a resolved copy of the node
+            final Node resolved = resolveNode(null, child);
+            final String appenderName = getAttributeIgnoreCase(resolved, "name");
+            if (appenderName == null) {
+                continue;
+            }
+            appenderNodes.put(appenderName, resolved);
+            final Appender reused = previous != null ? previous.transferAppender(appenderName, resolved, this) : null;
+            if (reused != null) {
+                reusedAppenders.put(appenderName, reused);
+                appenderComponents.put(appenderName, previous.appenderComponents.get(appenderName));
+                iterator.remove();
+            } else if (loggerAppenderRefs != null && !loggerAppenderRefs.contains(appenderName)) {
+                deferredAppenders.put(appenderName, child);
+                iterator.remove();
+            } else {
+                createdAppenders.put(appenderName, flattenNode(child, new ArrayList<>()));
+            }
+        }
+        if (!reusedAppenders.isEmpty()) {
+            LOGGER.debug("Reusing {} unchanged appenders of the previous configuration", reusedAppenders.size());
+            previousConfiguration = previous;
+        }
+        if (loggerAppenderRefs != null) {
+            LOGGER.debug("Deferring creation of {} appenders not referenced by any logger", deferredAppenders.size());
+        }
+        if (threads <= 1 || node.getChildren().size() <= 1) {
+            createConfiguration(node, null);
+        } else {
+            createAppendersConcurrently(node, threads);
+        }
+        createdAppenders.forEach(
+                (appenderName, nodes) -> appenderComponents.put(appenderName, getConfigurationAwareComponents(nodes)));
+    }
+
+    private void createAppendersConcurrently(final Node node, final int threads) {
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(threads, node.getChildren().size()),
+                Log4jThreadFactory.createDaemonThreadFactory("AppenderCreation"));
+        instanceFactory.registerBinding(StringValueResolver.KEY, () -> configurationStrSubstitutor);
+        try {
+            LOGGER.debug(
+                    "Creating {} appenders using {} threads", node.getChildren().size(), threads);
+            configurationProcessor.processNodeTree(node, executor);
+        } finally {
+            instanceFactory.removeBinding(StringValueResolver.KEY);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the configuration currently used by the logger context, if it can hand over its appenders.
+     */
+    private @Nullable AbstractConfiguration getPreviousConfiguration() {
+        final LoggerContext context = loggerContext.get();
+        final Configuration current = context != null ? context.getConfiguration() : null;
+        return current instanceof AbstractConfiguration previous && previous != this && previous.isStarted()
+                ? previous
+                : null;
+    }
+
+    /**
+     * Offers a running appender to the next configuration, if its definition did not change.
+     * <p>
+     *     The appender remains owned by this configuration until the next one has started: afterwards it is no
+     *     longer stopped, when this configuration stops.
+     * </p>
+     *
+     * @param appenderName the name of the appender
+     * @param node the resolved definition of the appender in the next configuration
+     * @param next the next configuration
+     * @return the appender to reuse or {@code null} if it must be created again
+     */
+    private @Nullable Appender transferAppender(
+            final String appenderName, final Node node, final AbstractConfiguration next) {
+        final Appender appender = appenders.get(appenderName);
+        final Node previousNode = appenderNodes.get(appenderName);
+        // Runtime lookups use the properties of the configuration that created the appender
+        if (appender == null
+                || previousNode == null
+                || !appender.isStarted()
+                || appender instanceof RoutingAppender
+                || referencesAppenders(node)
+                || !isSameNode(previousNode, node)
+                || !properties.equals(next.properties)
+                || !isSameNodes(dependencyNodes, next.dependencyNodes)
+                || !appenderComponents.containsKey(appenderName)) {
+            return null;
+        }
+        return appender;
+    }
+
+    /**
+     * Binds a running appender to the configuration-scoped resources of this configuration.
+     * <p>
+     *     The appender, its manager and all the components created from its definition (layouts, filters, policies,
+     *     etc.) that implement {@link ConfigurationAware} receive this configuration.
+     * </p>
+     */
+    private void bindAppender(final String appenderName, final Appender appender) {
+        for (final ConfigurationAware component : appenderComponents.getOrDefault(appenderName, List.of())) {
+            component.setConfiguration(this);
+        }
+        if (appender instanceof AbstractOutputStreamAppender<?> outputStreamAppender
+                && outputStreamAppender.getManager() instanceof ConfigurationAware aware) {
+            aware.setConfiguration(this);
+        }
+    }
+
+    private static List<Node> flattenNode(final Node node, final List<Node> result) {
+        result.add(node);
+        for (final Node child : node.getChildren()) {
+            flattenNode(child, result);
+        }
+        return result;
+    }
+
+    /**
+     * Collects the objects created from the nodes of an appender definition, which implement
+     * {@link ConfigurationAware}.
+     * <p>
+     *     The nodes themselves are not kept, since they reference the whole configuration tree.
+     * </p>
+     */
+    private static List<ConfigurationAware> getConfigurationAwareComponents(final List<Node> nodes) {
+        final List<ConfigurationAware> result = new ArrayList<>();
+        for (final Node node : nodes) {
+            if (node.getObject() instanceof ConfigurationAware aware) {
+                result.add(aware);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Returns resolved copies of the configuration elements, which appenders can reference by name.
+     */
+    private List<Node> getDependencyNodes(final Node node) {
+        final List<Node> result = new ArrayList<>();
+        for (final Node child : node.getChildren()) {
+            final PluginType<?> type = child.getType();
+            if ("Scripts".equalsIgnoreCase(child.getName())
+                    || (type != null
+                            && (CustomLevels.class.isAssignableFrom(type.getPluginClass())
+                                    || CustomLevelConfig.class.isAssignableFrom(type.getPluginClass())))) {
+                result.add(resolveNode(null, child));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if an appender definition references other appenders, which might have changed.
+     */
+    private static boolean referencesAppenders(final Node node) {
+        final PluginType<?> type = node.getType();
+        if ((type != null && AppenderRef.class.isAssignableFrom(type.getPluginClass()))
+                || getAttributeIgnoreCase(node, "ref") != null) {
+            return true;
+        }
+        for (final Node child : node.getChildren()) {
+            if (referencesAppenders(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies a node tree, replacing the variables in its attributes and values.
+     */
+    private Node resolveNode(final @Nullable Node parent, final Node node) {
+        final Node resolved = new Node(parent, node.getName(), node.getType());
+        node.getAttributes()
+                .forEach((key, value) -> resolved.getAttributes().put(key, configurationStrSubstitutor.replace(value)));
+        if (node.getValue() != null) {
+            resolved.setValue(configurationStrSubstitutor.replace(node.getValue()));
+        }
+        for (final Node child : node.getChildren()) {
+            resolved.addChild(resolveNode(resolved, child));
+        }
+        return resolved;
+    }
+
+    private static boolean isSameNodes(final List<Node> first, final List<Node> second) {
+        if (first.size() != second.size()) {
+            return false;
+        }
+        for (int i = 0; i < first.size(); i++) {
+            if (!isSameNode(first.get(i), second.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameNode(final Node first, final Node second) {
+        final PluginType<?> firstType = first.getType();
+        final PluginType<?> secondType = second.getType();
+        if (!first.getName().equals(second.getName())
+                || (firstType == null
+                        ? secondType != null
+                        : secondType == null || firstType.getPluginClass() != secondType.getPluginClass())
+                || !Objects.equals(first.getValue(), second.getValue())
+                || !first.getAttributes().equals(second.getAttributes())
+                || first.getChildren().size() != second.getChildren().size()) {
+            return false;
+        }
+        for (int i = 0; i < first.getChildren().size(); i++) {
+            if (!isSameNode(first.getChildren().get(i), second.getChildren().get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates an appender whose creation has been deferred.
+     *
+     * @see ConfigurationProperties#lazyAppenders()
+     */
+    private @Nullable Appender createDeferredAppender(final String appenderName) {
+        configLock.lock();
+        try {
+            final Appender existing = appenders.get(appenderName);
+            if (existing != null) {
+                return existing;
+            }
+            final Node node = deferredAppenders.remove(appenderName);
+            if (node == null) {
+                return null;
+            }
+            LOGGER.debug("Creating deferred appender {}", appenderName);
+            final List<Node> nodes = flattenNode(node, new ArrayList<>());
+            createConfiguration(node, null);
+            final Appender appender = node.getObject();
+            if (appender == null) {
+                return null;
+            }
+            appenderComponents.put(appenderName, getConfigurationAwareComponents(nodes));
+            if (isStarting() || isStarted()) {
+                appender.start();
+            }
+            final Appender previous = appenders.putIfAbsent(appenderName, appender);
+            return previous != null ? previous : appender;
+        } finally {
+            configLock.unlock();
+        }
+    }
+
     protected void setToDefault() {
         // LOG4J2-1176 facilitate memory leak investigation
         setName(DefaultConfiguration.DEFAULT_NAME + "@" + Integer.toHexString(hashCode()));
@@ -851,16 +1243,32 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
      */
     @Override
     public <T extends Appender> T getAppender(final String appenderName) {
-        return appenderName != null ? Cast.cast(appenders.get(appenderName)) : null;
+        if (appenderName == null) {
+            return null;
+        }
+        final Appender appender = appenders.get(appenderName);
+        if (appender == null && !deferredAppenders.isEmpty()) {
+            return Cast.cast(createDeferredAppender(appenderName));
+        }
+        return Cast.cast(appender);
     }
 
     /**
      * Returns a Map containing all the Appenders and their name.
+     * <p>
+     *     The appenders whose creation has been {@linkplain ConfigurationProperties#lazyAppenders() deferred} are
+     *     created first, unless the configuration is stopping.
+     * </p>
      *
      * @return A Map containing each Appender's name and the Appender object.
      */
     @Override
     public Map<String, Appender> getAppenders() {
+        if (!deferredAppenders.isEmpty() && !isStopping() && !isStopped()) {
+            for (final String appenderName : List.copyOf(deferredAppenders.keySet())) {
+                createDeferredAppender(appenderName);
+            }
+        }
         return appenders;
     }
 
@@ -1207,16 +1615,21 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     @Override
     public <T extends ConfigurationExtension> T addExtensionIfAbsent(
             final Class<T> extensionType, final Supplier<? extends T> supplier) {
-        for (final ConfigurationExtension extension : extensions) {
-            if (extensionType.isInstance(extension)) {
-                return extensionType.cast(extension);
+        // Appenders created in parallel might request the same extension
+        synchronized (extensions) {
+            for (final ConfigurationExtension extension : extensions) {
+                if (extensionType.isInstance(extension)) {
+                    return extensionType.cast(extension);
+                }
             }
+            return addExtension(supplier.get());
         }
-        return addExtension(supplier.get());
     }
 
     private <T extends ConfigurationExtension> T addExtension(final T extension) {
-        extensions.add(Objects.requireNonNull(extension));
+        synchronized (extensions) {
+            extensions.add(Objects.requireNonNull(extension));
+        }
         return extension;
     }
 
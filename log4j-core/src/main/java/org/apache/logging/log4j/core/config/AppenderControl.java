@@ -31,7 +31,7 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
  */
 public class AppenderControl extends AbstractFilterable {
 
-    private final ThreadLocal<AppenderControl> recursive = new ThreadLocal<>();
+    private final RecursionGuard recursionGuard = RecursionGuard.newInstance();
     private final Appender appender;
     private final Level level;
     private final int intLevel;
@@ -84,7 +84,7 @@ public class AppenderControl extends AbstractFilterable {
     }
 
     private boolean shouldSkip(final LogEvent event) {
-        return isFilteredByAppenderControl(event) || isFilteredByLevel(event) || isRecursiveCall();
+        return isFilteredByAppenderControl(event) || isFilteredByLevel(event);
     }
 
     @PerformanceSensitive
@@ -98,15 +98,6 @@ public class AppenderControl extends AbstractFilterable {
         return level != null && intLevel < event.getLevel().intLevel();
     }
 
-    @PerformanceSensitive
-    private boolean isRecursiveCall() {
-        if (recursive.get() != null) {
-            appenderErrorHandlerMessage("Recursive call to appender ");
-            return true;
-        }
-        return false;
-    }
-
     private String appenderErrorHandlerMessage(final String prefix) {
         final String result = createErrorMsg(prefix);
         appender.getHandler().error(result);
@@ -114,11 +105,15 @@ public class AppenderControl extends AbstractFilterable {
     }
 
     private void callAppenderPreventRecursion(final LogEvent event) {
+        final int token = recursionGuard.enter();
+        if (token == RecursionGuard.RECURSIVE) {
+            appenderErrorHandlerMessage("Recursive call to appender ");
+            return;
+        }
         try {
-            recursive.set(this);
             callAppender0(event);
         } finally {
-            recursive.remove();
+            recursionGuard.exit(token);
         }
     }
 
@@ -192,6 +187,6 @@ public class AppenderControl extends AbstractFilterable {
     @Override
     public String toString() {
         return super.toString() + "[appender=" + appender + ", appenderName=" + appenderName + ", level=" + level
-                + ", intLevel=" + intLevel + ", recursive=" + recursive + ", filter=" + getFilter() + "]";
+                + ", intLevel=" + intLevel + ", recursionGuard=" + recursionGuard + ", filter=" + getFilter() + "]";
     }
 }
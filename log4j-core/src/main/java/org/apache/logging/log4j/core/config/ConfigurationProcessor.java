@@ -16,9 +16,13 @@
  */
 package org.apache.logging.log4j.core.config;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.Logger;
@@ -58,13 +62,31 @@ public class ConfigurationProcessor {
      * @param <T> the type of object this plugin creates
      */
     public <T> T processNodeTree(final Node node) {
+        return processNodeTree(node, null);
+    }
+
+    /**
+     * Processes a node in a configuration tree into a plugin instance like {@link #processNodeTree(Node)} does,
+     * except that the subtrees of its direct child nodes are processed concurrently. This should only be used for
+     * nodes whose children do not depend on each other while being created, such as appenders.
+     *
+     * @param node root node of a configuration tree to create
+     * @param childExecutor executor to process the child nodes with or {@code null} to process them sequentially
+     * @return the configured plugin described by the node
+     * @param <T> the type of object this plugin creates
+     */
+    public <T> T processNodeTree(final Node node, final Executor childExecutor) {
         final PluginType<?> type = node.getType();
         if (type != null && type.isDeferChildren()) {
             LOGGER.debug("Deferring configuration of child nodes of {}", node.getName());
             node.setObject(withNode(node, this::instantiate));
         } else {
             LOGGER.debug("Configuring child nodes of {}", node.getName());
-            node.getChildren().forEach(child -> child.setObject(withNode(child, this::processNodeTree)));
+            if (childExecutor != null && node.getChildren().size() > 1) {
+                processChildrenConcurrently(node, childExecutor);
+            } else {
+                node.getChildren().forEach(child -> child.setObject(withNode(child, this::processNodeTree)));
+            }
             if (type == null) {
                 if (node.getParent() == null) {
                     LOGGER.error("Unable to locate plugin for node {}", node.getName());
@@ -79,6 +101,28 @@ public class ConfigurationProcessor {
         return node.getObject();
     }
 
+    private void processChildrenConcurrently(final Node node, final Executor executor) {
+        final List<Node> children = node.getChildren();
+        final List<CompletableFuture<Object>> futures = new ArrayList<>(children.size());
+        for (final Node child : children) {
+            futures.add(CompletableFuture.supplyAsync(() -> withNode(child, this::processNodeTree), executor));
+        }
+        for (int i = 0; i < children.size(); i++) {
+            try {
+                children.get(i).setObject(futures.get(i).join());
+            } catch (final CompletionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+
     private <T> T withNode(final Node node, final Function<Node, T> function) {
         currentNode.set(node);
         try {
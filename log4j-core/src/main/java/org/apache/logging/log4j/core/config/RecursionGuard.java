@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.logging.log4j.core.impl.CoreProperties.AppenderProperties;
+import org.apache.logging.log4j.kit.env.PropertyEnvironment;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PerformanceSensitive;
+
+/**
+ * Detects the recursive calls to an appender, i.e. an appender logging events that are routed back to itself.
+ *
+ * @see AppenderProperties#recursionGuard()
+ */
+abstract class RecursionGuard {
+
+    /**
+     * Token returned by {@link #enter()} if the current thread is already calling the appender.
+     */
+    static final int RECURSIVE = -1;
+
+    /**
+     * Marks the current thread as calling the appender.
+     *
+     * @return {@link #RECURSIVE} if the current thread is already calling the appender or a token that must be passed
+     * to {@link #exit(int)}.
+     */
+    abstract int enter();
+
+    /**
+     * Marks the current thread as no longer calling the appender.
+     *
+     * @param token the token returned by {@link #enter()}
+     */
+    abstract void exit(int token);
+
+    static RecursionGuard newInstance() {
+        final String type = PropertyEnvironment.getGlobal()
+                .getProperty(AppenderProperties.class)
+                .recursionGuard();
+        if ("ThreadTable".equalsIgnoreCase(type)) {
+            return new ThreadTableGuard();
+        }
+        if (!"ThreadLocal".equalsIgnoreCase(type)) {
+            StatusLogger.getLogger().warn("Unknown appender recursion guard {}, using ThreadLocal.", type);
+        }
+        return new ThreadLocalGuard();
+    }
+
+    /**
+     * Marks the calling threads using a {@link ThreadLocal}.
+     */
+    static final class ThreadLocalGuard extends RecursionGuard {
+
+        private final ThreadLocal<Boolean> recursive = new ThreadLocal<>();
+
+        @Override
+        int enter() {
+            if (recursive.get() != null) {
+                return RECURSIVE;
+            }
+            recursive.set(Boolean.TRUE);
+            return 0;
+        }
+
+        @Override
+        void exit(final int token) {
+            recursive.remove();
+        }
+    }
+
+    /**
+     * Registers the calling threads in a fixed-size table indexed by thread identity.
+     * <p>
+     *     Each thread can only be stored in a single slot, that no other thread modifies while it is occupied, so
+     *     recursion is detected with a single read. A thread whose slot is occupied by another thread is stored in an
+     *     overflow set instead, which only allocates when more threads than slots are calling the appender.
+     * </p>
+     * <p>
+     *     Contrary to {@link ThreadLocalGuard}, no per-thread state is created, which matters when logging from a large
+     *     number of short-lived (e.g. virtual) threads.
+     * </p>
+     */
+    static final class ThreadTableGuard extends RecursionGuard {
+
+        private static final int OVERFLOW = -2;
+
+        static final int SIZE =
+                Integer.highestOneBit(Math.max(16, 4 * Runtime.getRuntime().availableProcessors()) - 1) << 1;
+
+        private final AtomicReferenceArray<Thread> slots = new AtomicReferenceArray<>(SIZE);
+
+        private final Set<Thread> overflow = ConcurrentHashMap.newKeySet();
+
+        @Override
+        @PerformanceSensitive
+        int enter() {
+            final Thread thread = Thread.currentThread();
+            final int index = indexOf(thread);
+            final Thread owner = slots.get(index);
+            if (owner == thread || (!overflow.isEmpty() && overflow.contains(thread))) {
+                return RECURSIVE;
+            }
+            if (owner == null && slots.compareAndSet(index, null, thread)) {
+                return index;
+            }
+            overflow.add(thread);
+            return OVERFLOW;
+        }
+
+        @Override
+        @PerformanceSensitive
+        void exit(final int token) {
+            if (token >= 0) {
+                slots.set(token, null);
+            } else if (token == OVERFLOW) {
+                overflow.remove(Thread.currentThread());
+            }
+        }
+
+        private static int indexOf(final Thread thread) {
+            final int hash = System.identityHashCode(thread);
+            return (hash ^ (hash >>> 16)) & (SIZE - 1);
+        }
+    }
+}
@@ -16,16 +16,14 @@
  */
 package org.apache.logging.log4j.core.filter;
 
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.Delayed;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.time.NanoClock;
+import org.apache.logging.log4j.core.time.SystemNanoClock;
 import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.plugins.Configurable;
 import org.apache.logging.log4j.plugins.Plugin;
@@ -49,18 +47,45 @@ import org.apache.logging.log4j.plugins.PluginFactory;
  * &nbsp;&lt;/Filters&gt;<br>
  * &lt;/Console&gt;<br>
  * </code><br>
+ * <p>
+ * The rate limit is enforced using the Generic Cell Rate Algorithm (GCRA), i.e., a token bucket of {@code maxBurst}
+ * tokens refilled at {@code rate} tokens per second. The state of a bucket is a single <em>theoretical arrival
+ * time</em> updated with a compare-and-set, hence the filter uses constant memory, takes no locks and does not
+ * allocate. Using the {@code scope} attribute, a separate bucket can be used for each logger or marker: keys are
+ * hashed to a bounded table of {@code stripes} buckets, hence keys colliding on the same stripe share their budget.
+ * </p>
  */
 @Configurable(elementType = Filter.ELEMENT_TYPE, printObject = true)
 @Plugin
 public final class BurstFilter extends AbstractFilter {
 
+    /**
+     * Determines which log events share the same rate limit.
+     */
+    public enum Scope {
+
+        /** All log events share the same rate limit. */
+        GLOBAL,
+
+        /** Log events are rate limited per logger name. */
+        LOGGER,
+
+        /** Log events are rate limited per marker name; events without a marker share the same rate limit. */
+        MARKER
+    }
+
     private static final long NANOS_IN_SECONDS = 1000000000;
 
     private static final int DEFAULT_RATE = 10;
 
     private static final int DEFAULT_RATE_MULTIPLE = 100;
 
-    private static final int HASH_SHIFT = 32;
+    private static final int DEFAULT_STRIPES = 64;
+
+    private static final int MAX_STRIPES = 1 << 16;
+
+    // Each theoretical arrival time occupies its own cache line (8 longs) to avoid false sharing between stripes.
+    private static final int STRIPE_SHIFT = 3;
 
     /**
      * Level of messages to be filtered. Anything at or below this level will be
@@ -70,53 +95,88 @@ public final class BurstFilter extends AbstractFilter {
      */
     private final Level level;
 
-    private final long burstInterval;
+    private final float rate;
+
+    private final long maxBurst;
 
-    private final DelayQueue<LogDelay> history = new DelayQueue<>();
+    private final Scope scope;
 
-    private final Queue<LogDelay> available = new ConcurrentLinkedQueue<>();
+    private final NanoClock nanoClock;
 
-    static LogDelay createLogDelay(final long expireTime) {
-        return new LogDelay(expireTime);
+    /**
+     * The interval between two events at the sustained rate.
+     */
+    private final long emissionInterval;
+
+    /**
+     * How far the theoretical arrival time may run ahead of the current time, i.e., {@code maxBurst - 1} emission
+     * intervals.
+     */
+    private final long burstTolerance;
+
+    private final int stripeMask;
+
+    private final AtomicLongArray theoreticalArrivalTimes;
+
+    private BurstFilter(final Builder builder) {
+        super(builder.getOnMatch(), builder.getOnMismatch());
+        this.level = builder.level;
+        this.rate = builder.rate;
+        this.maxBurst = builder.maxBurst;
+        this.scope = builder.scope;
+        this.nanoClock = builder.nanoClock;
+        this.emissionInterval = Math.max(1L, (long) (NANOS_IN_SECONDS / (double) rate));
+        this.burstTolerance = saturatedMultiply(emissionInterval, maxBurst - 1);
+        final int stripes = scope == Scope.GLOBAL ? 1 : stripeCount(builder.stripes);
+        this.stripeMask = stripes - 1;
+        this.theoreticalArrivalTimes = new AtomicLongArray(stripes << STRIPE_SHIFT);
+        clear();
     }
 
-    private BurstFilter(
-            final Level level, final float rate, final long maxBurst, final Result onMatch, final Result onMismatch) {
-        super(onMatch, onMismatch);
-        this.level = level;
-        this.burstInterval = (long) (NANOS_IN_SECONDS * (maxBurst / rate));
-        for (int i = 0; i < maxBurst; ++i) {
-            available.add(createLogDelay(0));
-        }
+    private static int stripeCount(final int requestedStripes) {
+        final int stripes = Math.min(Math.max(requestedStripes, 1), MAX_STRIPES);
+        // Round up to the next power of two
+        return stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+    }
+
+    private static long saturatedMultiply(final long a, final long b) {
+        final long high = Math.multiplyHigh(a, b);
+        final long low = a * b;
+        return high == 0 && low >= 0 ? low : Long.MAX_VALUE;
     }
 
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object... params) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final Object msg, final Throwable t) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final Message msg, final Throwable t) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
     public Result filter(final LogEvent event) {
-        return filter(event.getLevel());
+        final Level level = event.getLevel();
+        if (this.level.isMoreSpecificThan(level)) {
+            final String key = scope == Scope.LOGGER ? event.getLoggerName() : markerName(event.getMarker());
+            return filter(key);
+        }
+        return onMatch;
     }
 
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object p0) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
@@ -127,7 +187,7 @@ public final class BurstFilter extends AbstractFilter {
             final String msg,
             final Object p0,
             final Object p1) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
@@ -139,7 +199,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p0,
             final Object p1,
             final Object p2) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
@@ -152,7 +212,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p1,
             final Object p2,
             final Object p3) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
@@ -166,7 +226,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p2,
             final Object p3,
             final Object p4) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
@@ -181,7 +241,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p3,
             final Object p4,
             final Object p5) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
@@ -197,7 +257,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p4,
             final Object p5,
             final Object p6) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
@@ -214,7 +274,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p5,
             final Object p6,
             final Object p7) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
@@ -232,7 +292,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p6,
             final Object p7,
             final Object p8) {
-        return filter(level);
+        return filter(level, logger, marker);
     }
 
     @Override
@@ -251,103 +311,94 @@ public final class BurstFilter extends AbstractFilter {
             final Object p7,
             final Object p8,
             final Object p9) {
-        return filter(level);
+        return filter(level, logger, marker);
+    }
+
+    private Result filter(final Level level, final Logger logger, final Marker marker) {
+        if (this.level.isMoreSpecificThan(level)) {
+            final String key = scope == Scope.LOGGER ? (logger != null ? logger.getName() : null) : markerName(marker);
+            return filter(key);
+        }
+        return onMatch;
+    }
+
+    private static String markerName(final Marker marker) {
+        return marker != null ? marker.getName() : null;
     }
 
     /**
-     * Decide if we're going to log <code>event</code> based on whether the
+     * Decide if we're going to log an event based on whether the
      * maximum burst of log statements has been exceeded.
      *
-     * @param level The log level.
+     * @param key The logger or marker name the rate limit applies to, ignored for the {@link Scope#GLOBAL} scope.
      * @return The onMatch value if the filter passes, onMismatch otherwise.
      */
-    private Result filter(final Level level) {
-        if (this.level.isMoreSpecificThan(level)) {
-            LogDelay delay = history.poll();
-            while (delay != null) {
-                available.add(delay);
-                delay = history.poll();
+    private Result filter(final String key) {
+        final AtomicLongArray theoreticalArrivalTimes = this.theoreticalArrivalTimes;
+        final int index = stripeIndex(key);
+        final long now = nanoClock.nanoTime();
+        long theoreticalArrivalTime = theoreticalArrivalTimes.get(index);
+        while (true) {
+            // Time differences are used to be immune to `System.nanoTime()` overflow.
+            final long arrivalTime = theoreticalArrivalTime - now < 0 ? now : theoreticalArrivalTime;
+            if (arrivalTime - now > burstTolerance) {
+                return onMismatch;
             }
-            delay = available.poll();
-            if (delay != null) {
-                delay.setDelay(burstInterval);
-                history.add(delay);
+            final long witness = theoreticalArrivalTimes.compareAndExchange(
+                    index, theoreticalArrivalTime, arrivalTime + emissionInterval);
+            if (witness == theoreticalArrivalTime) {
                 return onMatch;
             }
-            return onMismatch;
+            theoreticalArrivalTime = witness;
         }
-        return onMatch;
+    }
+
+    private int stripeIndex(final String key) {
+        if (stripeMask == 0 || key == null) {
+            return 0;
+        }
+        final int hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & stripeMask) << STRIPE_SHIFT;
     }
 
     /**
      * Returns the number of available slots. Used for unit testing.
+     * <p>
+     * For the {@link Scope#LOGGER} and {@link Scope#MARKER} scopes, the sum of the available slots of all the stripes
+     * is returned.
+     * </p>
      * @return The number of available slots.
      */
     public int getAvailable() {
-        return available.size();
+        final long now = nanoClock.nanoTime();
+        long available = 0;
+        for (int i = 0; i < theoreticalArrivalTimes.length(); i += 1 << STRIPE_SHIFT) {
+            available = Math.min(available + getAvailable(theoreticalArrivalTimes.get(i), now), Integer.MAX_VALUE);
+        }
+        return (int) available;
+    }
+
+    private long getAvailable(final long theoreticalArrivalTime, final long now) {
+        final long backlog = Math.max(0, theoreticalArrivalTime - now);
+        if (backlog > burstTolerance) {
+            return 0;
+        }
+        return Math.min((burstTolerance - backlog) / emissionInterval + 1, Math.min(maxBurst, Integer.MAX_VALUE));
     }
 
     /**
      * Clear the history. Used for unit testing.
      */
     public void clear() {
-        for (final LogDelay delay : history) {
-            history.remove(delay);
-            available.add(delay);
+        final long now = nanoClock.nanoTime();
+        for (int i = 0; i < theoreticalArrivalTimes.length(); i += 1 << STRIPE_SHIFT) {
+            theoreticalArrivalTimes.set(i, now);
         }
     }
 
     @Override
     public String toString() {
-        return "level=" + level.toString() + ", interval=" + burstInterval + ", max=" + history.size();
-    }
-
-    /**
-     * Delay object to represent each log event that has occurred within the timespan.
-     *
-     * Consider this class private, package visibility for testing.
-     */
-    private static class LogDelay implements Delayed {
-
-        LogDelay(final long expireTime) {
-            this.expireTime = expireTime;
-        }
-
-        private long expireTime;
-
-        public void setDelay(final long delay) {
-            this.expireTime = delay + System.nanoTime();
-        }
-
-        @Override
-        public long getDelay(final TimeUnit timeUnit) {
-            return timeUnit.convert(expireTime - System.nanoTime(), TimeUnit.NANOSECONDS);
-        }
-
-        @Override
-        public int compareTo(final Delayed delayed) {
-            final long diff = this.expireTime - ((LogDelay) delayed).expireTime;
-            return Long.signum(diff);
-        }
-
-        @Override
-        public boolean equals(final Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-
-            final LogDelay logDelay = (LogDelay) o;
-
-            return expireTime == logDelay.expireTime;
-        }
-
-        @Override
-        public int hashCode() {
-            return (int) (expireTime ^ (expireTime >>> HASH_SHIFT));
-        }
+        return "level=" + level.toString() + ", rate=" + rate + ", maxBurst=" + maxBurst + ", scope=" + scope;
     }
 
     @PluginFactory
@@ -367,6 +418,14 @@ public final class BurstFilter extends AbstractFilter {
         @PluginBuilderAttribute
         private long maxBurst;
 
+        @PluginBuilderAttribute
+        private Scope scope = Scope.GLOBAL;
+
+        @PluginBuilderAttribute
+        private int stripes = DEFAULT_STRIPES;
+
+        private NanoClock nanoClock = new SystemNanoClock();
+
         /**
          * Sets the logging level to use.
          * @param level the logging level to use.
@@ -398,6 +457,36 @@ public final class BurstFilter extends AbstractFilter {
             return this;
         }
 
+        /**
+         * Sets which log events share the same rate limit.
+         * @param scope the scope of the rate limit.
+         * @return this
+         */
+        public Builder setScope(final Scope scope) {
+            this.scope = scope;
+            return this;
+        }
+
+        /**
+         * Sets the number of rate limits kept for the {@link Scope#LOGGER} and {@link Scope#MARKER} scopes.
+         * @param stripes the number of rate limits, rounded up to the next power of two. The default is 64.
+         * @return this
+         */
+        public Builder setStripes(final int stripes) {
+            this.stripes = stripes;
+            return this;
+        }
+
+        /**
+         * Sets the clock used to measure the rate. Used for unit testing.
+         * @param nanoClock the clock to use.
+         * @return this
+         */
+        public Builder setNanoClock(final NanoClock nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
         @Override
         public BurstFilter build() {
             if (this.rate <= 0) {
@@ -406,7 +495,13 @@ public final class BurstFilter extends AbstractFilter {
             if (this.maxBurst <= 0) {
                 this.maxBurst = (long) (this.rate * DEFAULT_RATE_MULTIPLE);
             }
-            return new BurstFilter(this.level, this.rate, this.maxBurst, this.getOnMatch(), this.getOnMismatch());
+            if (this.scope == null) {
+                this.scope = Scope.GLOBAL;
+            }
+            if (this.nanoClock == null) {
+                this.nanoClock = new SystemNanoClock();
+            }
+            return new BurstFilter(this);
         }
     }
 }
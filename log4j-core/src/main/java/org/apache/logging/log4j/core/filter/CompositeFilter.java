@@ -18,8 +18,10 @@ package org.apache.logging.log4j.core.filter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
@@ -37,17 +39,147 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
 
 /**
  * Composes and invokes one or more filters.
+ * <p>
+ * The filter chain is compiled when the composite is created:
+ * </p>
+ * <ul>
+ *     <li>Consecutive built-in filters that can never return {@link Result#ACCEPT} are reordered, so that those
+ *     depending on the level only are evaluated first, followed by those depending on the marker, on the context and
+ *     finally on the message. Since the first {@link Result#DENY} of such a run determines the result, reordering
+ *     them does not change the result.</li>
+ *     <li>The result of the chain is computed for each standard level if it can be decided using the level only,
+ *     e.g., because a {@link ThresholdFilter} denies all events of that level before any filter which might accept
+ *     them. These results are returned without evaluating the chain and are exposed by
+ *     {@link #filterLevel(Level)}.</li>
+ * </ul>
  */
 @Configurable(printObject = true)
 @Plugin("Filters")
 @PerformanceSensitive("allocation")
-public final class CompositeFilter extends AbstractLifeCycle implements Iterable<Filter>, Filter {
+public final class CompositeFilter extends AbstractLifeCycle implements Iterable<Filter>, LevelDecidableFilter {
 
     private static final Filter[] EMPTY_FILTERS = Filter.EMPTY_ARRAY;
+
+    private static final Level[] STANDARD_LEVELS = {
+        Level.OFF, Level.FATAL, Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE, Level.ALL
+    };
+
+    /**
+     * The evaluation cost of the built-in filters whose result is always either their {@code onMatch} or their
+     * {@code onMismatch} result and that have no side effects.
+     */
+    private enum Cost {
+        LEVEL,
+        MARKER,
+        CONTEXT,
+        MESSAGE
+    }
+
+    private static final Map<Class<?>, Cost> COST_BY_CLASS = Map.ofEntries(
+            Map.entry(DenyAllFilter.class, Cost.LEVEL),
+            Map.entry(LevelMatchFilter.class, Cost.LEVEL),
+            Map.entry(LevelRangeFilter.class, Cost.LEVEL),
+            Map.entry(ThresholdFilter.class, Cost.LEVEL),
+            Map.entry(MarkerFilter.class, Cost.MARKER),
+            Map.entry(NoMarkerFilter.class, Cost.MARKER),
+            Map.entry(DynamicThresholdFilter.class, Cost.CONTEXT),
+            Map.entry(MutableThreadContextMapFilter.class, Cost.CONTEXT),
+            Map.entry(ThreadContextMapFilter.class, Cost.CONTEXT),
+            Map.entry(TimeFilter.class, Cost.CONTEXT),
+            Map.entry(MapFilter.class, Cost.MESSAGE),
+            Map.entry(RegexFilter.class, Cost.MESSAGE),
+            Map.entry(StringMatchFilter.class, Cost.MESSAGE),
+            Map.entry(StructuredDataFilter.class, Cost.MESSAGE));
+
     private final Filter[] filters;
 
+    /**
+     * The filters in evaluation order.
+     */
+    private final Filter[] orderedFilters;
+
+    /**
+     * The results decided by the level only, indexed like {@link #STANDARD_LEVELS}, {@code null} if undecided.
+     */
+    private final Result[] standardLevelResults;
+
     private CompositeFilter(final Filter[] filters) {
         this.filters = filters == null ? EMPTY_FILTERS : filters;
+        this.orderedFilters = orderFilters(this.filters);
+        this.standardLevelResults = new Result[STANDARD_LEVELS.length];
+        for (int i = 0; i < STANDARD_LEVELS.length; i++) {
+            standardLevelResults[i] = computeLevelResult(STANDARD_LEVELS[i]);
+        }
+    }
+
+    /**
+     * Reorders the runs of consecutive filters that never accept an event, cheapest filters first.
+     */
+    private static Filter[] orderFilters(final Filter[] filters) {
+        final Filter[] orderedFilters = filters.clone();
+        int runStart = 0;
+        for (int i = 0; i <= orderedFilters.length; i++) {
+            if (i == orderedFilters.length || !isReorderable(orderedFilters[i])) {
+                Arrays.sort(
+                        orderedFilters,
+                        runStart,
+                        i,
+                        Comparator.comparing(filter -> COST_BY_CLASS.get(filter.getClass())));
+                runStart = i + 1;
+            }
+        }
+        return orderedFilters;
+    }
+
+    private static boolean isReorderable(final Filter filter) {
+        return COST_BY_CLASS.containsKey(filter.getClass()) && !canAccept(filter);
+    }
+
+    private static boolean canAccept(final Filter filter) {
+        if (!COST_BY_CLASS.containsKey(filter.getClass())) {
+            // The results of other filters are unknown.
+            return true;
+        }
+        return filter.getOnMatch() == Result.ACCEPT || filter.getOnMismatch() == Result.ACCEPT;
+    }
+
+    private Result computeLevelResult(final Level level) {
+        // Whether a preceding filter, which can only deny or be neutral, was not decided by the level
+        boolean undecided = false;
+        for (final Filter filter : orderedFilters) {
+            final Result result =
+                    filter instanceof LevelDecidableFilter ? ((LevelDecidableFilter) filter).filterLevel(level) : null;
+            if (result == null) {
+                if (canAccept(filter)) {
+                    return null;
+                }
+                undecided = true;
+            } else if (result == Result.DENY) {
+                return Result.DENY;
+            } else if (result == Result.ACCEPT) {
+                return undecided ? null : Result.ACCEPT;
+            }
+        }
+        return undecided ? null : Result.NEUTRAL;
+    }
+
+    /**
+     * Returns the result of this composite for all log events of the given level.
+     *
+     * @param level The event logging Level.
+     * @return the Result, or {@code null} if the result depends on more than the level.
+     */
+    @Override
+    public Result filterLevel(final Level level) {
+        if (level == null) {
+            return null;
+        }
+        final int intLevel = level.intLevel();
+        final int index = intLevel == Integer.MAX_VALUE ? STANDARD_LEVELS.length - 1 : intLevel / 100;
+        if (intLevel % 100 == 0 && index < STANDARD_LEVELS.length && STANDARD_LEVELS[index] == level) {
+            return standardLevelResults[index];
+        }
+        return computeLevelResult(level);
     }
 
     public CompositeFilter addFilter(final Filter filter) {
@@ -167,9 +299,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object... params) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, params);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, params);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -194,9 +330,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object p0) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, p0);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -227,9 +367,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final String msg,
             final Object p0,
             final Object p1) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, p0, p1);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -262,9 +406,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p0,
             final Object p1,
             final Object p2) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, p0, p1, p2);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -299,9 +447,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p1,
             final Object p2,
             final Object p3) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -338,9 +490,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p2,
             final Object p3,
             final Object p4) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -379,9 +535,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p3,
             final Object p4,
             final Object p5) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -422,9 +582,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p4,
             final Object p5,
             final Object p6) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -467,9 +631,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p5,
             final Object p6,
             final Object p7) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -514,9 +682,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p6,
             final Object p7,
             final Object p8) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -563,9 +735,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p7,
             final Object p8,
             final Object p9) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -591,9 +767,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final Object msg, final Throwable t) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, t);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, t);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -619,9 +799,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final Message msg, final Throwable t) {
+        final Result levelResult = filterLevel(level);
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, t);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(logger, level, marker, msg, t);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
@@ -638,9 +822,13 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
      */
     @Override
     public Result filter(final LogEvent event) {
+        final Result levelResult = filterLevel(event.getLevel());
+        if (levelResult != null) {
+            return levelResult;
+        }
         Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(event);
+        for (int i = 0; i < orderedFilters.length; i++) {
+            result = orderedFilters[i].filter(event);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
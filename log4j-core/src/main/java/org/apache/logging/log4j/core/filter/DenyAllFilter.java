@@ -33,7 +33,7 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
 @Configurable(elementType = Filter.ELEMENT_TYPE, printObject = true)
 @Plugin
 @PerformanceSensitive("allocation")
-public final class DenyAllFilter extends AbstractFilter {
+public final class DenyAllFilter extends AbstractFilter implements LevelDecidableFilter {
 
     private DenyAllFilter(final Result onMatch, final Result onMismatch) {
         super(onMatch, onMismatch);
@@ -66,6 +66,11 @@ public final class DenyAllFilter extends AbstractFilter {
         return Result.DENY;
     }
 
+    @Override
+    public Result filterLevel(final Level level) {
+        return Result.DENY;
+    }
+
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object p0) {
@@ -16,29 +16,25 @@
  */
 package org.apache.logging.log4j.core.filter;
 
-import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.greaterThan;
-import static org.hamcrest.Matchers.is;
-
-import java.util.concurrent.Delayed;
-import java.util.concurrent.TimeUnit;
-import org.junit.jupiter.api.Test;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter;
 
 /**
- * Unit test for <code>BurstFilter</code>.
+ * A {@link Filter} able to decide on log events using their level only, for some or all levels.
+ * <p>
+ * Callers can use {@link #filterLevel(Level)} as a fast path to discard disabled log events before any of their
+ * other attributes, e.g., the message, are considered.
+ * </p>
+ *
+ * @since 3.0.0
  */
-public class BurstFilterLogDelayTest {
-
-    @Test
-    public void testCompareToOverflow() {
-        // no overflow, but close
-        final Delayed d1 =
-                BurstFilter.createLogDelay(Long.MAX_VALUE - TimeUnit.SECONDS.toNanos(10) - System.nanoTime());
-
-        // Overflow
-        final Delayed d2 =
-                BurstFilter.createLogDelay(Long.MAX_VALUE + TimeUnit.SECONDS.toNanos(10) - System.nanoTime());
+public interface LevelDecidableFilter extends Filter {
 
-        assertThat(d2, is(greaterThan(d1)));
-    }
+    /**
+     * Returns the result of this filter for all log events of the given level.
+     *
+     * @param level The event logging Level.
+     * @return the Result, or {@code null} if the result depends on more than the level.
+     */
+    Result filterLevel(Level level);
 }
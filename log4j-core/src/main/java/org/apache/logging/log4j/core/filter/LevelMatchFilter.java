@@ -35,7 +35,7 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
 @Configurable(elementType = Filter.ELEMENT_TYPE, printObject = true)
 @Plugin
 @PerformanceSensitive("allocation")
-public final class LevelMatchFilter extends AbstractFilter {
+public final class LevelMatchFilter extends AbstractFilter implements LevelDecidableFilter {
 
     public static final String ATTR_MATCH = "match";
     private final Level level;
@@ -72,6 +72,11 @@ public final class LevelMatchFilter extends AbstractFilter {
         return level == this.level ? onMatch : onMismatch;
     }
 
+    @Override
+    public Result filterLevel(final Level level) {
+        return filter(level);
+    }
+
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object p0) {
@@ -40,7 +40,7 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
 @Configurable(elementType = Filter.ELEMENT_TYPE, printObject = true)
 @Plugin
 @PerformanceSensitive("allocation")
-public final class LevelRangeFilter extends AbstractFilter {
+public final class LevelRangeFilter extends AbstractFilter implements LevelDecidableFilter {
 
     /**
      * The default minimum level threshold.
@@ -101,6 +101,11 @@ public final class LevelRangeFilter extends AbstractFilter {
         return level.isInRange(minLevel, maxLevel) ? onMatch : onMismatch;
     }
 
+    @Override
+    public Result filterLevel(final Level level) {
+        return filter(level);
+    }
+
     @Override
     public Result filter(final LogEvent event) {
         return filter(event.getLevel());
@@ -42,7 +42,7 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
 @Configurable(elementType = Filter.ELEMENT_TYPE, printObject = true)
 @Plugin
 @PerformanceSensitive("allocation")
-public final class ThresholdFilter extends AbstractFilter {
+public final class ThresholdFilter extends AbstractFilter implements LevelDecidableFilter {
 
     private final Level level;
 
@@ -78,6 +78,11 @@ public final class ThresholdFilter extends AbstractFilter {
         return testLevel.isMoreSpecificThan(this.level) ? onMatch : onMismatch;
     }
 
+    @Override
+    public Result filterLevel(final Level level) {
+        return filter(level);
+    }
+
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object p0) {
@@ -38,6 +38,17 @@ public final class CoreProperties {
 
     private CoreProperties() {}
 
+    /**
+     * @param recursionGuard The mechanism used to detect an appender that logs to itself. The supported values are:
+     *              <ul>
+     *                  <li>{@code ThreadLocal}: marks the calling thread using a {@link ThreadLocal},</li>
+     *                  <li>{@code ThreadTable}: registers the calling threads in a table owned by the appender,
+     *                  which does not require any per-thread state.</li>
+     *              </ul>
+     */
+    @Log4jProperty(name = "appender")
+    public record AppenderProperties(@Log4jProperty(defaultValue = "ThreadLocal") String recursionGuard) {}
+
     @Log4jProperty(name = "async")
     public record AsyncProperties(boolean formatMessagesInBackground) {}
 
@@ -79,6 +90,8 @@ public final class CoreProperties {
      * Properties related to the retrieval of a configuration.
      *
      * @param allowedProtocols The protocols allowed for the configuration location.
+     * @param appenderCreationThreads The number of threads used to create the appenders of a configuration. If
+     *             {@code 1} or less, appenders are created sequentially.
      * @param clock A custom {@link Clock} implementation to use to timestamp log events. The supported values are:
      *              <ul>
      *                  <li>{@code SystemMillisClock}</li>
@@ -87,23 +100,30 @@ public final class CoreProperties {
      *              </ul>
      *              <p>If {@code null}, the system clock will be used.</p>
      * @param factory The {@link ConfigurationFactory} to use or {@code  null} for the default one.
+     * @param lazyAppenders If {@code true} the creation of appenders that are not referenced by any logger is deferred
+     *             until they are first looked up.
      * @param level The default level of the root logger.
      * @param location The location (file path or {@link URI}) of the configuration file. If {@code null} a standard set
      *             of locations is used.
      * @param mergeStrategy The {@link MergeStrategy} to use if multiple configuration files are present.
      * @param reliabilityStrategy The {@link ReliabilityStrategy} to use during the reconfiguration process.
+     * @param reuseAppenders If {@code true} the appenders whose configuration did not change are transferred, still
+     *             running, from the old configuration to the new one during a reconfiguration.
      * @param usePreciseClock If {@code true} a clock with nanosecond precision will be used whenever available.
      * @param waitMillisBeforeStopOldConfig The number of milliseconds to wait for the old configuration to stop.
      */
     @Log4jProperty(name = "configuration")
     public record ConfigurationProperties(
             @Log4jProperty(defaultValue = "file,https,jar") String allowedProtocols,
+            int appenderCreationThreads,
             @Nullable String clock,
             @Nullable Class<? extends ConfigurationFactory> factory,
+            boolean lazyAppenders,
             @Log4jProperty(defaultValue = "ERROR") Level level,
             @Nullable String location,
             @Nullable Class<? extends MergeStrategy> mergeStrategy,
             @Log4jProperty(defaultValue = "AwaitCompletion") String reliabilityStrategy,
+            boolean reuseAppenders,
             boolean usePreciseClock,
             @Log4jProperty(defaultValue = "5000") long waitMillisBeforeStopOldConfig) {}
 
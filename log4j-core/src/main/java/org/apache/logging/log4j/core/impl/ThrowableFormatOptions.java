@@ -19,10 +19,12 @@ package org.apache.logging.log4j.core.impl;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.pattern.AnsiTextRenderer;
 import org.apache.logging.log4j.core.pattern.PlainTextRenderer;
 import org.apache.logging.log4j.core.pattern.TextRenderer;
 import org.apache.logging.log4j.core.util.Patterns;
+import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.Strings;
 
 /**
@@ -30,6 +32,8 @@ import org.apache.logging.log4j.util.Strings;
  */
 public final class ThrowableFormatOptions {
 
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
     private static final int DEFAULT_LINES = Integer.MAX_VALUE;
 
     /**
@@ -52,6 +56,16 @@ public final class ThrowableFormatOptions {
      */
     private static final String SHORT = "short";
 
+    /**
+     * Render repeated stack traces only once within a time window.
+     */
+    private static final String DEDUPLICATE = "dedup";
+
+    /**
+     * The default deduplication window in seconds.
+     */
+    private static final long DEFAULT_DEDUPLICATION_WINDOW_SECONDS = 60;
+
     /**
      * ANSI renderer
      */
@@ -74,6 +88,11 @@ public final class ThrowableFormatOptions {
      */
     private final List<String> ignorePackages;
 
+    /**
+     * The deduplication window in milliseconds or {@code 0}, if stack traces are not deduplicated.
+     */
+    private final long deduplicationWindowMillis;
+
     public static final String CLASS_NAME = "short.className";
     public static final String METHOD_NAME = "short.methodName";
     public static final String LINE_NUMBER = "short.lineNumber";
@@ -100,11 +119,38 @@ public final class ThrowableFormatOptions {
             final List<String> ignorePackages,
             final TextRenderer textRenderer,
             final String suffix) {
+        this(lines, separator, ignorePackages, textRenderer, suffix, 0);
+    }
+
+    /**
+     * Constructs the options for printing stack trace.
+     *
+     * @param lines
+     *            The number of lines.
+     * @param separator
+     *            The stack trace separator.
+     * @param ignorePackages
+     *            The packages to filter.
+     * @param textRenderer
+     *            The ANSI renderer
+     * @param suffix
+     *            The suffix pattern.
+     * @param deduplicationWindowMillis
+     *            The deduplication window in milliseconds or {@code 0} to render every stack trace in full.
+     */
+    protected ThrowableFormatOptions(
+            final int lines,
+            final String separator,
+            final List<String> ignorePackages,
+            final TextRenderer textRenderer,
+            final String suffix,
+            final long deduplicationWindowMillis) {
         this.lines = lines;
         this.separator = separator == null ? Strings.LINE_SEPARATOR : separator;
         this.ignorePackages = ignorePackages;
         this.textRenderer = textRenderer == null ? PlainTextRenderer.getInstance() : textRenderer;
         this.suffix = suffix;
+        this.deduplicationWindowMillis = deduplicationWindowMillis;
     }
 
     /**
@@ -160,6 +206,15 @@ public final class ThrowableFormatOptions {
         return this.ignorePackages;
     }
 
+    /**
+     * Returns the window during which repeated stack traces are only rendered once.
+     *
+     * @return The deduplication window in milliseconds or {@code 0}, if stack traces are not deduplicated.
+     */
+    public long getDeduplicationWindowMillis() {
+        return deduplicationWindowMillis;
+    }
+
     /**
      * Determines if all lines should be printed.
      *
@@ -216,6 +271,9 @@ public final class ThrowableFormatOptions {
             s.deleteCharAt(s.length() - 1);
             s.append(")}");
         }
+        if (deduplicationWindowMillis > 0) {
+            s.append("{dedup(").append(deduplicationWindowMillis / 1000).append(")}");
+        }
         return s.toString();
     }
 
@@ -255,6 +313,7 @@ public final class ThrowableFormatOptions {
         List<String> packages = DEFAULT.ignorePackages;
         TextRenderer ansiRenderer = DEFAULT.textRenderer;
         String suffix = DEFAULT.getSuffix();
+        long deduplicationWindowMillis = DEFAULT.deduplicationWindowMillis;
         for (final String rawOption : options) {
             if (rawOption != null) {
                 final String option = rawOption.trim();
@@ -296,12 +355,30 @@ public final class ThrowableFormatOptions {
                     suffix = option.substring("S(".length(), option.length() - 1);
                 } else if (option.startsWith("suffix(") && option.endsWith(")")) {
                     suffix = option.substring("suffix(".length(), option.length() - 1);
+                } else if (option.equalsIgnoreCase(DEDUPLICATE)) {
+                    deduplicationWindowMillis = DEFAULT_DEDUPLICATION_WINDOW_SECONDS * 1000;
+                } else if (option.startsWith(DEDUPLICATE + "(") && option.endsWith(")")) {
+                    final String seconds = option.substring(DEDUPLICATE.length() + 1, option.length() - 1);
+                    final long windowMillis = parseDeduplicationWindowMillis(seconds.trim());
+                    if (windowMillis > 0) {
+                        deduplicationWindowMillis = windowMillis;
+                    } else {
+                        LOGGER.error("Ignoring `{}`, was expecting a positive number of seconds", option);
+                    }
                 } else if (!option.equalsIgnoreCase(FULL)) {
                     lines = Integer.parseInt(option);
                 }
             }
         }
-        return new ThrowableFormatOptions(lines, separator, packages, ansiRenderer, suffix);
+        return new ThrowableFormatOptions(lines, separator, packages, ansiRenderer, suffix, deduplicationWindowMillis);
+    }
+
+    private static long parseDeduplicationWindowMillis(final String seconds) {
+        try {
+            return Math.multiplyExact(Long.parseLong(seconds), 1000L);
+        } catch (final NumberFormatException | ArithmeticException ignored) {
+            return 0;
+        }
     }
 
     public String getSuffix() {
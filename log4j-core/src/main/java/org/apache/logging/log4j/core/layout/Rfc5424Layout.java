@@ -19,22 +19,18 @@ package org.apache.logging.log4j.core.layout;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.GregorianCalendar;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.regex.Matcher;
+import java.util.TimeZone;
 import java.util.regex.Pattern;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LoggingException;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
-import org.apache.logging.log4j.core.appender.TlsSyslogFrame;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.layout.internal.ExcludeChecker;
 import org.apache.logging.log4j.core.layout.internal.IncludeChecker;
@@ -46,9 +42,13 @@ import org.apache.logging.log4j.core.pattern.PatternConverter;
 import org.apache.logging.log4j.core.pattern.PatternFormatter;
 import org.apache.logging.log4j.core.pattern.PatternParser;
 import org.apache.logging.log4j.core.pattern.ThrowablePatternConverter;
+import org.apache.logging.log4j.core.time.Instant;
 import org.apache.logging.log4j.core.util.NetUtils;
 import org.apache.logging.log4j.core.util.Patterns;
 import org.apache.logging.log4j.core.util.ProcessIdUtil;
+import org.apache.logging.log4j.core.util.internal.instant.InstantFormatter;
+import org.apache.logging.log4j.core.util.internal.instant.InstantPatternFormatter;
+import org.apache.logging.log4j.kit.recycler.Recycler;
 import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.MessageCollectionMessage;
 import org.apache.logging.log4j.message.StructuredDataCollectionMessage;
@@ -59,11 +59,19 @@ import org.apache.logging.log4j.plugins.Plugin;
 import org.apache.logging.log4j.plugins.PluginBuilderAttribute;
 import org.apache.logging.log4j.plugins.PluginElement;
 import org.apache.logging.log4j.plugins.PluginFactory;
+import org.apache.logging.log4j.util.IndexedReadOnlyStringMap;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
 import org.apache.logging.log4j.util.StringBuilders;
 import org.apache.logging.log4j.util.Strings;
 
 /**
  * Formats a log event in accordance with RFC 5424.
+ * <p>
+ * Structured data elements are written in insertion order: the elements of the logger fields, in configuration order,
+ * the element of the context data and the elements of the message.
+ * </p>
  *
  * @see <a href="https://tools.ietf.org/html/rfc5424">RFC 5424</a>
  */
@@ -99,11 +107,8 @@ public final class Rfc5424Layout extends AbstractStringLayout {
     public static final String DEFAULT_MDCID = "mdc";
 
     private static final String LF = "\n";
-    private static final int TWO_DIGITS = 10;
-    private static final int THREE_DIGITS = 100;
-    private static final int MILLIS_PER_MINUTE = 60000;
-    private static final int MINUTES_PER_HOUR = 60;
     private static final String COMPONENT_KEY = "RFC5424-Converter";
+    private static final String TIMESTAMP_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX";
 
     private final Facility facility;
     private final String defaultId;
@@ -111,6 +116,7 @@ public final class Rfc5424Layout extends AbstractStringLayout {
     private final boolean includeMdc;
     private final String mdcId;
     private final StructuredDataId mdcSdId;
+    private final String mdcSdIdString;
     private final String localHostName;
     private final String appName;
     private final String messageId;
@@ -125,13 +131,12 @@ public final class Rfc5424Layout extends AbstractStringLayout {
     private final String escapeNewLine;
     private final boolean useTlsMessageFormat;
 
-    private long lastTimestamp = -1;
-    private String timestampStr;
-    private final Lock timestampComputationLock = new ReentrantLock();
+    private final InstantFormatter timestampFormatter;
 
     private final List<PatternFormatter> exceptionFormatters;
-    private final Map<String, FieldFormatter> fieldFormatters;
+    private final FieldFormatter[] fieldFormatters;
     private final String procId;
+    private final Recycler<Context> contextRecycler;
 
     private Rfc5424Layout(
             final Configuration config,
@@ -161,9 +166,10 @@ public final class Rfc5424Layout extends AbstractStringLayout {
         this.enterpriseNumber = ein;
         this.includeMdc = includeMDC;
         this.includeNewLine = includeNL;
-        this.escapeNewLine = escapeNL == null ? null : Matcher.quoteReplacement(escapeNL);
+        this.escapeNewLine = escapeNL;
         this.mdcId = mdcId != null ? mdcId : id == null ? DEFAULT_MDCID : id;
         this.mdcSdId = new StructuredDataId(this.mdcId, enterpriseNumber, null, null);
+        this.mdcSdIdString = mdcSdId.toString();
         this.mdcPrefix = mdcPrefix;
         this.eventPrefix = eventPrefix;
         this.appName = appName;
@@ -218,30 +224,36 @@ public final class Rfc5424Layout extends AbstractStringLayout {
         configName = Strings.isNotEmpty(name) ? name : null;
         this.fieldFormatters = createFieldFormatters(loggerFields, config);
         this.procId = ProcessIdUtil.getProcessId();
+        this.timestampFormatter = InstantPatternFormatter.newBuilder()
+                .setPattern(TIMESTAMP_PATTERN)
+                .setLocale(Locale.ROOT)
+                .setTimeZone(TimeZone.getDefault())
+                .build();
+        this.contextRecycler = config.getRecyclerFactory().create(Context::new, Context::clear);
     }
 
-    private Map<String, FieldFormatter> createFieldFormatters(
-            final LoggerFields[] loggerFields, final Configuration config) {
-        final Map<String, FieldFormatter> sdIdMap = new HashMap<>(loggerFields == null ? 0 : loggerFields.length);
+    private FieldFormatter[] createFieldFormatters(final LoggerFields[] loggerFields, final Configuration config) {
+        final Map<String, FieldFormatter> sdIdMap = new LinkedHashMap<>(loggerFields == null ? 0 : loggerFields.length);
         if (loggerFields != null) {
             for (final LoggerFields loggerField : loggerFields) {
                 final StructuredDataId key = loggerField.getSdId() == null ? mdcSdId : loggerField.getSdId();
-                final Map<String, List<PatternFormatter>> sdParams = new HashMap<>();
+                final Map<String, PatternFormatter[]> sdParams = new LinkedHashMap<>();
                 final Map<String, String> fields = loggerField.getMap();
                 if (!fields.isEmpty()) {
                     final PatternParser fieldParser = createPatternParser(config, null);
 
                     for (final Map.Entry<String, String> entry : fields.entrySet()) {
                         final List<PatternFormatter> formatters = fieldParser.parse(entry.getValue());
-                        sdParams.put(entry.getKey(), formatters);
+                        sdParams.put(entry.getKey(), formatters.toArray(new PatternFormatter[0]));
                     }
+                    final String sdId = key.toString();
                     final FieldFormatter fieldFormatter =
-                            new FieldFormatter(sdParams, loggerField.getDiscardIfAllFieldsAreEmpty());
-                    sdIdMap.put(key.toString(), fieldFormatter);
+                            new FieldFormatter(sdId, sdParams, loggerField.getDiscardIfAllFieldsAreEmpty());
+                    sdIdMap.put(sdId, fieldFormatter);
                 }
             }
         }
-        return sdIdMap.size() > 0 ? sdIdMap : null;
+        return sdIdMap.size() > 0 ? sdIdMap.values().toArray(new FieldFormatter[0]) : null;
     }
 
     /**
@@ -292,36 +304,103 @@ public final class Rfc5424Layout extends AbstractStringLayout {
     public String toSerializable(final LogEvent event) {
         final StringBuilder buf = stringBuilderRecycler.acquire();
         try {
-            appendPriority(buf, event.getLevel());
-            appendTimestamp(buf, event.getTimeMillis());
-            appendSpace(buf);
-            appendHostName(buf);
-            appendSpace(buf);
-            appendAppName(buf);
-            appendSpace(buf);
-            appendProcessId(buf);
-            appendSpace(buf);
-            appendMessageId(buf, event.getMessage());
-            appendSpace(buf);
-            appendStructuredElements(buf, event);
-            appendMessage(buf, event);
-            if (useTlsMessageFormat) {
-                return new TlsSyslogFrame(buf.toString()).toString();
-            }
+            serialize(event, buf);
             return buf.toString();
         } finally {
             stringBuilderRecycler.release(buf);
         }
     }
 
+    /**
+     * Encodes a {@link LogEvent} in conformance with the RFC 5424 Syslog specification.
+     * <p>
+     * Unlike {@link #toSerializable(LogEvent)}, this method does not allocate in steady state.
+     * </p>
+     *
+     * @param event The LogEvent.
+     * @param destination The destination of the encoded event.
+     */
+    @Override
+    public void encode(final LogEvent event, final ByteBufferDestination destination) {
+        final StringBuilder buf = stringBuilderRecycler.acquire();
+        try {
+            serialize(event, buf);
+            final Encoder<StringBuilder> encoder = stringBuilderEncoderRecycler.acquire();
+            try {
+                encoder.encode(buf, destination);
+            } finally {
+                stringBuilderEncoderRecycler.release(encoder);
+            }
+        } finally {
+            stringBuilderRecycler.release(buf);
+        }
+    }
+
+    private void serialize(final LogEvent event, final StringBuilder buf) {
+        final Context context = contextRecycler.acquire();
+        try {
+            if (useTlsMessageFormat) {
+                // Octet counting framing of RFC 5425, as in `TlsSyslogFrame`
+                final StringBuilder frame = context.frame;
+                serialize(event, frame, context);
+                buf.append(utf8Length(frame)).append(' ').append(frame);
+            } else {
+                serialize(event, buf, context);
+            }
+        } finally {
+            contextRecycler.release(context);
+        }
+    }
+
+    private void serialize(final LogEvent event, final StringBuilder buf, final Context context) {
+        appendPriority(buf, event.getLevel());
+        appendTimestamp(buf, event.getInstant());
+        appendSpace(buf);
+        appendHostName(buf);
+        appendSpace(buf);
+        appendAppName(buf);
+        appendSpace(buf);
+        appendProcessId(buf);
+        appendSpace(buf);
+        appendMessageId(buf, event.getMessage());
+        appendSpace(buf);
+        appendStructuredElements(buf, event, context);
+        appendMessage(buf, event, context);
+    }
+
+    /**
+     * @return the length of the UTF-8 encoding of the text, as produced by {@link String#getBytes(Charset)}
+     */
+    private static int utf8Length(final CharSequence text) {
+        final int length = text.length();
+        int byteLength = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                byteLength++;
+            } else if (c < 0x800) {
+                byteLength += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                byteLength += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // Malformed surrogates are replaced with `?`
+                byteLength++;
+            } else {
+                byteLength += 3;
+            }
+        }
+        return byteLength;
+    }
+
     private void appendPriority(final StringBuilder buffer, final Level logLevel) {
         buffer.append('<');
         buffer.append(Priority.getPriority(facility, logLevel));
         buffer.append(">1 ");
     }
 
-    private void appendTimestamp(final StringBuilder buffer, final long milliseconds) {
-        buffer.append(computeTimeStampString(milliseconds));
+    private void appendTimestamp(final StringBuilder buffer, final Instant instant) {
+        timestampFormatter.formatTo(buffer, instant);
     }
 
     private void appendSpace(final StringBuilder buffer) {
@@ -358,108 +437,120 @@ public final class Rfc5424Layout extends AbstractStringLayout {
         }
     }
 
-    private void appendMessage(final StringBuilder buffer, final LogEvent event) {
+    private void appendMessage(final StringBuilder buffer, final LogEvent event, final Context context) {
         final Message message = event.getMessage();
         // This layout formats StructuredDataMessages instead of delegating to the Message itself.
-        final String text = (message instanceof StructuredDataMessage || message instanceof MessageCollectionMessage)
-                ? message.getFormat()
-                : message.getFormattedMessage();
+        final CharSequence text;
+        if (message instanceof StructuredDataMessage || message instanceof MessageCollectionMessage) {
+            text = message.getFormat();
+        } else if (message instanceof StringBuilderFormattable) {
+            final StringBuilder formattedMessage = context.text;
+            formattedMessage.setLength(0);
+            ((StringBuilderFormattable) message).formatTo(formattedMessage);
+            text = formattedMessage;
+        } else {
+            text = message.getFormattedMessage();
+        }
 
         if (text != null && text.length() > 0) {
-            buffer.append(' ').append(escapeNewlines(text, escapeNewLine));
+            buffer.append(' ');
+            appendEscaped(buffer, text, false);
         }
 
         if (exceptionFormatters != null && event.getThrown() != null) {
-            final StringBuilder exception = new StringBuilder(LF);
-            for (final PatternFormatter formatter : exceptionFormatters) {
-                formatter.format(event, exception);
+            final StringBuilder exception = context.text;
+            exception.setLength(0);
+            exception.append(LF);
+            for (int i = 0; i < exceptionFormatters.size(); i++) {
+                exceptionFormatters.get(i).format(event, exception);
             }
-            buffer.append(escapeNewlines(exception.toString(), escapeNewLine));
+            appendEscaped(buffer, exception, false);
         }
         if (includeNewLine) {
             buffer.append(LF);
         }
     }
 
-    private void appendStructuredElements(final StringBuilder buffer, final LogEvent event) {
+    private void appendStructuredElements(final StringBuilder buffer, final LogEvent event, final Context context) {
         final Message message = event.getMessage();
         final boolean isStructured =
                 message instanceof StructuredDataMessage || message instanceof StructuredDataCollectionMessage;
-
-        if (!isStructured && (fieldFormatters != null && fieldFormatters.isEmpty()) && !includeMdc) {
-            buffer.append('-');
-            return;
-        }
-
-        final Map<String, StructuredDataElement> sdElements = new HashMap<>();
-        final Map<String, String> contextMap = event.getContextData().toMap();
+        final ReadOnlyStringMap contextData = event.getContextData();
 
         if (mdcRequired != null) {
-            checkRequired(contextMap);
+            checkRequired(contextData);
         }
 
         if (fieldFormatters != null) {
-            for (final Map.Entry<String, FieldFormatter> sdElement : fieldFormatters.entrySet()) {
-                final String sdId = sdElement.getKey();
-                final StructuredDataElement elem = sdElement.getValue().format(event);
-                sdElements.put(sdId, elem);
+            for (int i = 0; i < fieldFormatters.length; i++) {
+                fieldFormatters[i].format(event, context, context.fieldValues[i]);
             }
         }
 
-        if (includeMdc && contextMap.size() > 0) {
-            final String mdcSdIdStr = mdcSdId.toString();
-            final StructuredDataElement union = sdElements.get(mdcSdIdStr);
-            if (union != null) {
-                union.union(contextMap);
-                sdElements.put(mdcSdIdStr, union);
-            } else {
-                final StructuredDataElement formattedContextMap =
-                        new StructuredDataElement(contextMap, mdcPrefix, false);
-                sdElements.put(mdcSdIdStr, formattedContextMap);
+        if (includeMdc && !contextData.isEmpty()) {
+            StructuredDataElement union = context.findElement(mdcSdIdString);
+            if (union == null) {
+                union = context.addElement(mdcSdIdString, mdcPrefix, false);
             }
+            union.fields.putAll(contextData);
         }
 
         if (isStructured) {
-            if (message instanceof MessageCollectionMessage) {
+            if (message instanceof StructuredDataCollectionMessage) {
                 for (final StructuredDataMessage data : ((StructuredDataCollectionMessage) message)) {
-                    addStructuredData(sdElements, data);
+                    addStructuredData(context, data);
                 }
             } else {
-                addStructuredData(sdElements, (StructuredDataMessage) message);
+                addStructuredData(context, (StructuredDataMessage) message);
             }
         }
 
-        if (sdElements.isEmpty()) {
+        if (context.elementCount == 0) {
             buffer.append('-');
             return;
         }
 
-        for (final Map.Entry<String, StructuredDataElement> entry : sdElements.entrySet()) {
-            formatStructuredElement(entry.getKey(), entry.getValue(), buffer, listChecker);
+        for (int i = 0; i < context.elementCount; i++) {
+            formatStructuredElement(context.elements[i], buffer);
         }
     }
 
-    private void addStructuredData(
-            final Map<String, StructuredDataElement> sdElements, final StructuredDataMessage data) {
-        final Map<String, String> map = data.getData();
-        final StructuredDataId id = data.getId();
-        final String sdId = getId(id);
-
-        if (sdElements.containsKey(sdId)) {
-            final StructuredDataElement union = sdElements.get(id.toString());
-            union.union(map);
-            sdElements.put(sdId, union);
-        } else {
-            final StructuredDataElement formattedData = new StructuredDataElement(map, eventPrefix, false);
-            sdElements.put(sdId, formattedData);
+    private void addStructuredData(final Context context, final StructuredDataMessage data) {
+        final StringBuilder sdId = context.id;
+        sdId.setLength(0);
+        appendId(sdId, data.getId());
+        StructuredDataElement union = context.findElement(sdId);
+        if (union == null) {
+            union = context.addElement(sdId, eventPrefix, false);
         }
+        union.fields.putAll(data.getIndexedReadOnlyStringMap());
     }
 
-    private String escapeNewlines(final String text, final String replacement) {
-        if (null == replacement) {
-            return text;
+    /**
+     * Appends the text replacing newlines with {@code escapeNL}, if provided.
+     *
+     * @param sdParam if {@code true}, also escapes the characters that are special in SD-PARAMs
+     */
+    private void appendEscaped(final StringBuilder buffer, final CharSequence text, final boolean sdParam) {
+        if (escapeNewLine == null && !sdParam) {
+            buffer.append(text);
+            return;
+        }
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (escapeNewLine != null && c == '\n') {
+                buffer.append(escapeNewLine);
+            } else if (escapeNewLine != null && c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                buffer.append(escapeNewLine);
+                i++;
+            } else {
+                if (sdParam && (c == '"' || c == ']' || c == '\\')) {
+                    buffer.append('\\');
+                }
+                buffer.append(c);
+            }
         }
-        return NEWLINE_PATTERN.matcher(text).replaceAll(replacement);
     }
 
     protected String getProcId() {
@@ -474,91 +565,22 @@ public final class Rfc5424Layout extends AbstractStringLayout {
         return mdcIncludes;
     }
 
-    private String computeTimeStampString(final long now) {
-        final long last;
-        timestampComputationLock.lock();
-        try {
-            last = lastTimestamp;
-            if (now == lastTimestamp) {
-                return timestampStr;
-            }
-        } finally {
-            timestampComputationLock.unlock();
-        }
-
-        final StringBuilder buffer = new StringBuilder();
-        final Calendar cal = new GregorianCalendar();
-        cal.setTimeInMillis(now);
-        buffer.append(Integer.toString(cal.get(Calendar.YEAR)));
-        buffer.append('-');
-        pad(cal.get(Calendar.MONTH) + 1, TWO_DIGITS, buffer);
-        buffer.append('-');
-        pad(cal.get(Calendar.DAY_OF_MONTH), TWO_DIGITS, buffer);
-        buffer.append('T');
-        pad(cal.get(Calendar.HOUR_OF_DAY), TWO_DIGITS, buffer);
-        buffer.append(':');
-        pad(cal.get(Calendar.MINUTE), TWO_DIGITS, buffer);
-        buffer.append(':');
-        pad(cal.get(Calendar.SECOND), TWO_DIGITS, buffer);
-        buffer.append('.');
-        pad(cal.get(Calendar.MILLISECOND), THREE_DIGITS, buffer);
-
-        int tzmin = (cal.get(Calendar.ZONE_OFFSET) + cal.get(Calendar.DST_OFFSET)) / MILLIS_PER_MINUTE;
-        if (tzmin == 0) {
-            buffer.append('Z');
-        } else {
-            if (tzmin < 0) {
-                tzmin = -tzmin;
-                buffer.append('-');
-            } else {
-                buffer.append('+');
-            }
-            final int tzhour = tzmin / MINUTES_PER_HOUR;
-            tzmin -= tzhour * MINUTES_PER_HOUR;
-            pad(tzhour, TWO_DIGITS, buffer);
-            buffer.append(':');
-            pad(tzmin, TWO_DIGITS, buffer);
-        }
-        timestampComputationLock.lock();
-        try {
-            if (last == lastTimestamp) {
-                lastTimestamp = now;
-                timestampStr = buffer.toString();
-            }
-        } finally {
-            timestampComputationLock.unlock();
-        }
-        return buffer.toString();
-    }
-
-    private void pad(final int val, int max, final StringBuilder buf) {
-        while (max > 1) {
-            if (val < max) {
-                buf.append('0');
-            }
-            max = max / TWO_DIGITS;
-        }
-        buf.append(Integer.toString(val));
-    }
-
-    private void formatStructuredElement(
-            final String id, final StructuredDataElement data, final StringBuilder sb, final ListChecker checker) {
-        if ((id == null && defaultId == null) || data.discard()) {
+    private void formatStructuredElement(final StructuredDataElement data, final StringBuilder sb) {
+        if (data.discard()) {
             return;
         }
 
         sb.append('[');
-        sb.append(id);
-        if (!mdcSdId.toString().equals(id)) {
-            appendMap(data.getPrefix(), data.getFields(), sb, ListChecker.NOOP_CHECKER);
+        sb.append(data.id);
+        if (!mdcSdIdString.contentEquals(data.id)) {
+            appendMap(data.prefix, data.fields, sb, ListChecker.NOOP_CHECKER);
         } else {
-            appendMap(data.getPrefix(), data.getFields(), sb, checker);
+            appendMap(data.prefix, data.fields, sb, listChecker);
         }
         sb.append(']');
     }
 
-    private String getId(final StructuredDataId id) {
-        final StringBuilder sb = new StringBuilder();
+    private void appendId(final StringBuilder sb, final StructuredDataId id) {
         if (id == null || id.getName() == null) {
             sb.append(defaultId);
         } else {
@@ -571,12 +593,12 @@ public final class Rfc5424Layout extends AbstractStringLayout {
         if (!StructuredDataId.RESERVED.equals(ein)) {
             sb.append('@').append(ein);
         }
-        return sb.toString();
     }
 
-    private void checkRequired(final Map<String, String> map) {
-        for (final String key : mdcRequired) {
-            final String value = map.get(key);
+    private void checkRequired(final ReadOnlyStringMap map) {
+        for (int i = 0; i < mdcRequired.size(); i++) {
+            final String key = mdcRequired.get(i);
+            final Object value = map.getValue(key);
             if (value == null) {
                 throw new LoggingException("Required key " + key + " is missing from the " + mdcId);
             }
@@ -584,25 +606,27 @@ public final class Rfc5424Layout extends AbstractStringLayout {
     }
 
     private void appendMap(
-            final String prefix, final Map<String, String> map, final StringBuilder sb, final ListChecker checker) {
-        final SortedMap<String, String> sorted = new TreeMap<>(map);
-        for (final Map.Entry<String, String> entry : sorted.entrySet()) {
-            if (checker.check(entry.getKey()) && entry.getValue() != null) {
+            final String prefix,
+            final IndexedReadOnlyStringMap map,
+            final StringBuilder sb,
+            final ListChecker checker) {
+        // The map is sorted by key
+        for (int i = 0; i < map.size(); i++) {
+            final String key = map.getKeyAt(i);
+            final Object value = map.getValueAt(i);
+            if (checker.check(key) && value != null) {
                 sb.append(' ');
                 if (prefix != null) {
                     sb.append(prefix);
                 }
-                final String safeKey = escapeNewlines(escapeSDParams(entry.getKey()), escapeNewLine);
-                final String safeValue = escapeNewlines(escapeSDParams(entry.getValue()), escapeNewLine);
-                StringBuilders.appendKeyDqValue(sb, safeKey, safeValue);
+                appendEscaped(sb, key, true);
+                sb.append("=\"");
+                appendEscaped(sb, value instanceof CharSequence ? (CharSequence) value : String.valueOf(value), true);
+                sb.append('"');
             }
         }
     }
 
-    private String escapeSDParams(final String value) {
-        return PARAM_VALUE_ESCAPE_PATTERN.matcher(value).replaceAll("\\\\$0");
-    }
-
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
@@ -818,65 +842,126 @@ public final class Rfc5424Layout extends AbstractStringLayout {
 
     private class FieldFormatter {
 
-        private final Map<String, List<PatternFormatter>> delegateMap;
+        private final String sdId;
+        private final String[] keys;
+        private final PatternFormatter[][] formatters;
         private final boolean discardIfEmpty;
 
-        public FieldFormatter(final Map<String, List<PatternFormatter>> fieldMap, final boolean discardIfEmpty) {
+        FieldFormatter(
+                final String sdId, final Map<String, PatternFormatter[]> fieldMap, final boolean discardIfEmpty) {
+            this.sdId = sdId;
+            this.keys = fieldMap.keySet().toArray(new String[0]);
+            this.formatters = fieldMap.values().toArray(new PatternFormatter[0][]);
             this.discardIfEmpty = discardIfEmpty;
-            this.delegateMap = fieldMap;
         }
 
-        public StructuredDataElement format(final LogEvent event) {
-            final Map<String, String> map = new HashMap<>(delegateMap.size());
-
-            for (final Map.Entry<String, List<PatternFormatter>> entry : delegateMap.entrySet()) {
-                final StringBuilder buffer = new StringBuilder();
-                for (final PatternFormatter formatter : entry.getValue()) {
+        void format(final LogEvent event, final Context context, final StringBuilder[] values) {
+            final StructuredDataElement element = context.addElement(sdId, eventPrefix, discardIfEmpty);
+            for (int i = 0; i < keys.length; i++) {
+                final StringBuilder buffer = values[i];
+                buffer.setLength(0);
+                for (final PatternFormatter formatter : formatters[i]) {
                     formatter.format(event, buffer);
                 }
-                map.put(entry.getKey(), buffer.toString());
+                element.fields.putValue(keys[i], buffer);
             }
-            return new StructuredDataElement(map, eventPrefix, discardIfEmpty);
         }
     }
 
-    private class StructuredDataElement {
+    private static final class StructuredDataElement {
 
-        private final Map<String, String> fields;
-        private final boolean discardIfEmpty;
-        private final String prefix;
-
-        public StructuredDataElement(
-                final Map<String, String> fields, final String prefix, final boolean discardIfEmpty) {
-            this.discardIfEmpty = discardIfEmpty;
-            this.fields = fields;
-            this.prefix = prefix;
-        }
+        private final StringBuilder id = new StringBuilder();
+        private final SortedArrayStringMap fields = new SortedArrayStringMap();
+        private String prefix;
+        private boolean discardIfEmpty;
 
         boolean discard() {
-            if (discardIfEmpty == false) {
+            if (!discardIfEmpty) {
                 return false;
             }
-            boolean foundNotEmptyValue = false;
-            for (final Map.Entry<String, String> entry : fields.entrySet()) {
-                if (Strings.isNotEmpty(entry.getValue())) {
-                    foundNotEmptyValue = true;
-                    break;
+            for (int i = 0; i < fields.size(); i++) {
+                final Object value = fields.getValueAt(i);
+                if (value instanceof CharSequence ? ((CharSequence) value).length() > 0 : value != null) {
+                    return false;
                 }
             }
-            return !foundNotEmptyValue;
+            return true;
         }
 
-        void union(final Map<String, String> addFields) {
-            this.fields.putAll(addFields);
+        void clear() {
+            StringBuilders.trimToMaxSize(id, MAX_STRING_BUILDER_SIZE);
+            id.setLength(0);
+            fields.clear();
+            prefix = null;
+            discardIfEmpty = false;
+        }
+    }
+
+    /**
+     * Reusable state of a single serialization.
+     */
+    private final class Context {
+
+        private final StringBuilder frame = new StringBuilder(DEFAULT_STRING_BUILDER_SIZE);
+        private final StringBuilder text = new StringBuilder(DEFAULT_STRING_BUILDER_SIZE);
+        private final StringBuilder id = new StringBuilder();
+        private final StringBuilder[][] fieldValues;
+        // Structured data elements in the order they are emitted, i.e., in insertion order
+        private StructuredDataElement[] elements = new StructuredDataElement[4];
+        private int elementCount;
+
+        Context() {
+            final int length = fieldFormatters == null ? 0 : fieldFormatters.length;
+            fieldValues = new StringBuilder[length][];
+            for (int i = 0; i < length; i++) {
+                final StringBuilder[] values = new StringBuilder[fieldFormatters[i].keys.length];
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = new StringBuilder();
+                }
+                fieldValues[i] = values;
+            }
         }
 
-        Map<String, String> getFields() {
-            return this.fields;
+        StructuredDataElement findElement(final CharSequence sdId) {
+            for (int i = 0; i < elementCount; i++) {
+                if (CharSequence.compare(elements[i].id, sdId) == 0) {
+                    return elements[i];
+                }
+            }
+            return null;
         }
 
-        String getPrefix() {
-            return prefix;
+        StructuredDataElement addElement(final CharSequence sdId, final String prefix, final boolean discardIfEmpty) {
+            if (elementCount == elements.length) {
+                elements = Arrays.copyOf(elements, 2 * elementCount);
+            }
+            StructuredDataElement element = elements[elementCount];
+            if (element == null) {
+                element = elements[elementCount] = new StructuredDataElement();
+            }
+            element.id.append(sdId);
+            element.prefix = prefix;
+            element.discardIfEmpty = discardIfEmpty;
+            elementCount++;
+            return element;
+        }
+
+        void clear() {
+            StringBuilders.trimToMaxSize(frame, MAX_STRING_BUILDER_SIZE);
+            frame.setLength(0);
+            StringBuilders.trimToMaxSize(text, MAX_STRING_BUILDER_SIZE);
+            text.setLength(0);
+            id.setLength(0);
+            for (final StringBuilder[] values : fieldValues) {
+                for (final StringBuilder value : values) {
+                    StringBuilders.trimToMaxSize(value, MAX_STRING_BUILDER_SIZE);
+                    value.setLength(0);
+                }
+            }
+            for (int i = 0; i < elementCount; i++) {
+                elements[i].clear();
+            }
+            elementCount = 0;
         }
     }
 
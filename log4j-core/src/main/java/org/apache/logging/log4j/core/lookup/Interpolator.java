@@ -70,6 +70,18 @@ public class Interpolator extends AbstractConfigurationAwareLookup implements Lo
         return defaultLookup;
     }
 
+    /**
+     * Returns the lookup registered for the given prefix.
+     *
+     * @param prefix The prefix of the lookup.
+     * @return The lookup or {@code null} if no lookup is registered for the prefix.
+     * @since 3.0.0
+     */
+    public StrLookup getStrLookup(final String prefix) {
+        final Supplier<? extends StrLookup> lookupSupplier = strLookups.get(toRootLowerCase(prefix));
+        return lookupSupplier != null ? lookupSupplier.get() : null;
+    }
+
     private void handleError(final String lookupKey, final Throwable t) {
         switch (lookupKey) {
             case LOOKUP_KEY_JNDI:
@@ -0,0 +1,436 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.net.UnknownHostException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Manager of UDP connections, which packs several events into each datagram.
+ * <p>
+ * Each write is considered a complete frame (usually a single log event) and is prefixed with its length in bytes,
+ * as in the octet-counting framing of <a href="https://datatracker.ietf.org/doc/html/rfc6587#section-3.4.1">RFC
+ * 6587</a>. Frames are accumulated in an off-heap buffer and sent in a single datagram when the next frame does not
+ * fit into {@code maxDatagramSize} bytes, or when the manager is flushed. Frames that do not fit into an empty
+ * datagram are sent on their own.
+ * </p>
+ * <p>
+ * Layouts with a header or footer are not supported, since they would not be framed.
+ * </p>
+ * <p>
+ * Since any channel operation of an interrupted thread closes the channel, the interrupt status of the logging
+ * thread is cleared while a datagram is sent and restored afterward. If the channel is closed nonetheless, e.g. by
+ * an interrupt during the send, it is reopened.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public class DatagramChannelManager extends AbstractSocketManager {
+
+    /**
+     * The default maximum size of a datagram (1472 bytes), which fits into a 1500 bytes Ethernet frame, together with
+     * the IPv4 and UDP headers.
+     */
+    public static final int DEFAULT_MAX_DATAGRAM_SIZE = 1472;
+
+    // Up to 10 digits and a space
+    private static final int MAX_LENGTH_PREFIX_SIZE = 11;
+
+    private static final DatagramChannelManagerFactory FACTORY = new DatagramChannelManagerFactory();
+
+    // Guarded by writeLock
+    private DatagramChannel channel;
+
+    // Guarded by writeLock
+    private boolean closed;
+
+    private final int maxDatagramSize;
+
+    // The datagram being packed, in write mode, guarded by writeLock
+    private final ByteBuffer datagram;
+
+    // Used to send frames larger than the datagram buffer
+    private final ByteBuffer lengthPrefix = ByteBuffer.allocateDirect(MAX_LENGTH_PREFIX_SIZE);
+
+    private final ByteBuffer[] gatheringBuffers = new ByteBuffer[2];
+
+    private final AtomicLong sentDatagrams = new AtomicLong();
+
+    private final AtomicLong lostDatagrams = new AtomicLong();
+
+    /**
+     * Constructs.
+     *
+     * @param name The unique name of this connection.
+     * @param channel A datagram channel connected to the host.
+     * @param inetAddress The Internet address of the host.
+     * @param host The name of the host.
+     * @param port The port number on the host.
+     * @param layout The layout, without header or footer.
+     * @param bufferSize The size of the buffer used by the layout.
+     * @param maxDatagramSize The maximum number of bytes to pack into a single datagram.
+     */
+    public DatagramChannelManager(
+            final String name,
+            final DatagramChannel channel,
+            final InetAddress inetAddress,
+            final String host,
+            final int port,
+            final Layout layout,
+            final int bufferSize,
+            final int maxDatagramSize) {
+        super(name, OutputStream.nullOutputStream(), inetAddress, host, port, layout, false, bufferSize);
+        this.channel = channel;
+        this.maxDatagramSize = maxDatagramSize;
+        this.datagram = ByteBuffer.allocateDirect(maxDatagramSize);
+    }
+
+    /**
+     * Obtains a DatagramChannelManager.
+     *
+     * @param host The host to connect to.
+     * @param port The port on the host.
+     * @param layout The layout, without header or footer.
+     * @param bufferSize The size of the buffer used by the layout.
+     * @param maxDatagramSize The maximum number of bytes to pack into a single datagram.
+     * @return A DatagramChannelManager.
+     * @throws IllegalArgumentException if the layout has a header or footer.
+     */
+    public static DatagramChannelManager getSocketManager(
+            final String host, final int port, final Layout layout, final int bufferSize, final int maxDatagramSize) {
+        if (Strings.isEmpty(host)) {
+            throw new IllegalArgumentException("A host name is required");
+        }
+        if (port <= 0) {
+            throw new IllegalArgumentException("A port value is required");
+        }
+        if (layout != null && (layout.getHeader() != null || layout.getFooter() != null)) {
+            throw new IllegalArgumentException("Packing datagrams does not support layouts with a header or footer");
+        }
+        return narrow(
+                DatagramChannelManager.class,
+                getManager(
+                        "UDP-CHANNEL:" + host + ':' + port,
+                        new FactoryData(
+                                host,
+                                port,
+                                layout,
+                                bufferSize,
+                                maxDatagramSize > 0 ? maxDatagramSize : DEFAULT_MAX_DATAGRAM_SIZE),
+                        FACTORY));
+    }
+
+    /**
+     * Returns the number of datagrams sent.
+     *
+     * @return the number of datagrams sent
+     */
+    public long getSentDatagrams() {
+        return sentDatagrams.get();
+    }
+
+    /**
+     * Returns the number of datagrams, which could not be delivered, because no process listens on the host and
+     * port.
+     *
+     * @return the number of datagrams reported as lost
+     */
+    public long getLostDatagrams() {
+        return lostDatagrams.get();
+    }
+
+    public int getMaxDatagramSize() {
+        return maxDatagramSize;
+    }
+
+    /**
+     * Writes the bytes as a single frame, bypassing the buffer of the layout.
+     */
+    @Override
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        writeLock.lock();
+        try {
+            if (byteBuffer.position() > 0) {
+                flushBuffer(byteBuffer);
+            }
+            writeToDestination(bytes, offset, length);
+            if (immediateFlush) {
+                flushDestination();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    protected void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        if (length == 0) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            final int frameSize = lengthPrefixSize(length) + length;
+            if (datagram.position() + frameSize > maxDatagramSize) {
+                sendDatagram();
+                if (frameSize > maxDatagramSize) {
+                    sendOversizedFrame(bytes, offset, length);
+                    return;
+                }
+            }
+            putLengthPrefix(datagram, length);
+            datagram.put(bytes, offset, length);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sends the datagram being packed.
+     */
+    @Override
+    protected void flushDestination() {
+        writeLock.lock();
+        try {
+            sendDatagram();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void sendDatagram() {
+        if (datagram.position() == 0) {
+            return;
+        }
+        try {
+            ((Buffer) datagram).flip();
+            send(datagram, null);
+        } finally {
+            datagram.clear();
+        }
+    }
+
+    private void sendOversizedFrame(final byte[] bytes, final int offset, final int length) {
+        lengthPrefix.clear();
+        putLengthPrefix(lengthPrefix, length);
+        ((Buffer) lengthPrefix).flip();
+        gatheringBuffers[0] = lengthPrefix;
+        gatheringBuffers[1] = ByteBuffer.wrap(bytes, offset, length);
+        try {
+            send(null, gatheringBuffers);
+        } finally {
+            gatheringBuffers[1] = null;
+        }
+    }
+
+    /**
+     * Sends either {@code src} or the gathered {@code srcs} as a single datagram.
+     */
+    private void send(final ByteBuffer src, final ByteBuffer[] srcs) {
+        // A channel operation in an interrupted thread closes the channel
+        boolean interrupted = Thread.interrupted();
+        try {
+            try {
+                write(src, srcs);
+            } catch (final ClosedChannelException e) {
+                // Closed by an interrupt during a previous send: the datagram was not sent
+                interrupted |= Thread.interrupted();
+                reopenChannel(e);
+                write(src, srcs);
+            }
+            sentDatagrams.incrementAndGet();
+        } catch (final PortUnreachableException e) {
+            // Reported for a previous datagram: UDP gives no delivery guarantee, so this is not an error
+            lostDatagrams.incrementAndGet();
+        } catch (final IOException e) {
+            throw new AppenderLoggingException(String.format("Error sending datagram to %s:%d", host, port), e);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void write(final ByteBuffer src, final ByteBuffer[] srcs) throws IOException {
+        if (src != null) {
+            channel.write(src);
+        } else {
+            channel.write(srcs);
+        }
+    }
+
+    private void reopenChannel(final ClosedChannelException cause) throws IOException {
+        if (closed) {
+            throw cause;
+        }
+        LOGGER.debug("Reopening closed datagram channel to {}:{}", host, port);
+        channel = openChannel(inetAddress, port);
+    }
+
+    private static DatagramChannel openChannel(final InetAddress inetAddress, final int port) throws IOException {
+        final DatagramChannel channel = DatagramChannel.open();
+        try {
+            // A connected channel skips the security checks and address resolution of each send
+            channel.connect(new InetSocketAddress(inetAddress, port));
+            return channel;
+        } catch (final IOException e) {
+            Closer.closeSilently(channel);
+            throw e;
+        }
+    }
+
+    private static int lengthPrefixSize(final int length) {
+        int size = 2;
+        for (int remaining = length / 10; remaining > 0; remaining /= 10) {
+            size++;
+        }
+        return size;
+    }
+
+    private static void putLengthPrefix(final ByteBuffer buffer, final int length) {
+        int divisor = 1;
+        while (divisor <= length / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + length / divisor % 10));
+        }
+        buffer.put((byte) ' ');
+    }
+
+    @Override
+    protected boolean closeOutputStream() {
+        writeLock.lock();
+        try {
+            try {
+                flush();
+            } catch (final AppenderLoggingException e) {
+                LOGGER.debug("Unable to send the remaining events to {}:{}", host, port, e);
+            }
+            closed = true;
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                logError("Unable to close channel", e);
+                return false;
+            }
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Gets this DatagramChannelManager's content format. Specified by:
+     * <ul>
+     * <li>Key: "protocol" Value: "udp"</li>
+     * <li>Key: "direction" Value: "out"</li>
+     * </ul>
+     *
+     * @return Map of content format keys supporting DatagramChannelManager
+     */
+    @Override
+    public Map<String, String> getContentFormat() {
+        final Map<String, String> result = new HashMap<>(super.getContentFormat());
+        result.put("protocol", "udp");
+        result.put("direction", "out");
+        return result;
+    }
+
+    /**
+     * Data for the factory.
+     */
+    private static class FactoryData {
+        private final String host;
+        private final int port;
+        private final Layout layout;
+        private final int bufferSize;
+        private final int maxDatagramSize;
+
+        public FactoryData(
+                final String host,
+                final int port,
+                final Layout layout,
+                final int bufferSize,
+                final int maxDatagramSize) {
+            this.host = host;
+            this.port = port;
+            this.layout = layout;
+            this.bufferSize = bufferSize;
+            this.maxDatagramSize = maxDatagramSize;
+        }
+
+        @Override
+        public String toString() {
+            return "FactoryData [host=" + host + ", port=" + port + ", layout=" + layout + ", bufferSize=" + bufferSize
+                    + ", maxDatagramSize=" + maxDatagramSize + "]";
+        }
+    }
+
+    /**
+     * Factory to create a DatagramChannelManager.
+     */
+    private static class DatagramChannelManagerFactory implements ManagerFactory<DatagramChannelManager, FactoryData> {
+
+        @Override
+        public DatagramChannelManager createManager(final String name, final FactoryData data) {
+            final InetAddress inetAddress;
+            try {
+                inetAddress = InetAddress.getByName(data.host);
+            } catch (final UnknownHostException ex) {
+                LOGGER.error("Could not find address of {}: {}", data.host, ex, ex);
+                return null;
+            }
+            try {
+                return new DatagramChannelManager(
+                        name,
+                        openChannel(inetAddress, data.port),
+                        inetAddress,
+                        data.host,
+                        data.port,
+                        data.layout,
+                        data.bufferSize,
+                        data.maxDatagramSize);
+            } catch (final IOException ex) {
+                LOGGER.error("Could not create DatagramChannelManager ({})", name, ex);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DatagramChannelManager [channel=" + channel + ", maxDatagramSize=" + maxDatagramSize
+                + ", inetAddress=" + inetAddress + ", host=" + host + ", port=" + port + ", layout=" + layout
+                + ", byteBuffer=" + byteBuffer + ", count=" + count + "]";
+    }
+}
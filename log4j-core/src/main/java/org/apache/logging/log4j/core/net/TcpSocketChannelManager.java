@@ -0,0 +1,885 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Manager of TCP connections, which uses a non-blocking {@link SocketChannel}.
+ * <p>
+ * The content of the layout's buffer is written directly to the channel. The bytes that the channel does not accept
+ * immediately, because the peer is slow, are stored in a bounded off-heap send buffer and are sent by a background
+ * thread as soon as the channel becomes writable. Subsequent writes gather the send buffer and the new bytes in a
+ * single call.
+ * </p>
+ * <p>
+ * If the send buffer is full, the {@link OverflowPolicy} decides whether the caller waits or the bytes are dropped.
+ * The caller waits at most the block timeout for the peer to accept more bytes: past it, the bytes are dropped.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public class TcpSocketChannelManager extends AbstractSocketManager {
+
+    /**
+     * What to do with the bytes that do not fit into the send buffer.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Block the caller until the peer has consumed enough bytes, or the block timeout expires.
+         */
+        BLOCK,
+        /**
+         * Drop the bytes.
+         */
+        DROP
+    }
+
+    /**
+     * The default size of the send buffer (1 MiB).
+     */
+    public static final int DEFAULT_SEND_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * The default maximum time the caller waits for the peer to accept more bytes (60 seconds).
+     */
+    public static final int DEFAULT_BLOCK_TIMEOUT_MILLIS = 60_000;
+
+    /**
+     * The default port number of remote logging server (4560).
+     */
+    private static final int DEFAULT_PORT = 4560;
+
+    private static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 1000;
+
+    private static final TcpSocketChannelManagerFactory FACTORY = new TcpSocketChannelManagerFactory();
+
+    private final int connectTimeoutMillis;
+
+    private final int reconnectionDelayMillis;
+
+    private final boolean immediateFail;
+
+    private final boolean retry;
+
+    private final SocketOptions socketOptions;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final int blockTimeoutMillis;
+
+    // Bytes accepted from the callers and not sent yet, in write mode, guarded by writeLock
+    private final ByteBuffer sendBuffer;
+
+    private final ByteBuffer[] gatheringBuffers = new ByteBuffer[2];
+
+    private final AtomicLong droppedBytes = new AtomicLong();
+
+    // Used by the background thread
+    private final Selector senderSelector;
+
+    // Used by the holder of writeLock to wait until the channel is writable
+    private final Selector blockingSelector;
+
+    private final Sender sender;
+
+    private volatile SocketChannel channel;
+
+    private SelectionKey senderKey;
+
+    private SelectionKey blockingKey;
+
+    private Reconnector reconnector;
+
+    private long closeTimeoutMillis = DEFAULT_CLOSE_TIMEOUT_MILLIS;
+
+    /**
+     * Constructs.
+     *
+     * @param name The unique name of this connection.
+     * @param channel The connected channel or {@code null}.
+     * @param inetAddress The Internet address of the host.
+     * @param host The name of the host.
+     * @param port The port number on the host.
+     * @param connectTimeoutMillis the connect timeout in milliseconds.
+     * @param reconnectionDelayMillis Reconnection interval.
+     * @param immediateFail True if the write should fail if no socket is immediately available.
+     * @param layout The Layout.
+     * @param bufferSize The size of the buffer used by the layout.
+     * @param socketOptions The socket options.
+     * @param sendBufferSize The size of the off-heap send buffer.
+     * @param overflowPolicy What to do when the send buffer is full.
+     * @param blockTimeoutMillis The maximum time in milliseconds the caller waits for the peer to accept more bytes.
+     */
+    public TcpSocketChannelManager(
+            final String name,
+            final SocketChannel channel,
+            final InetAddress inetAddress,
+            final String host,
+            final int port,
+            final int connectTimeoutMillis,
+            final int reconnectionDelayMillis,
+            final boolean immediateFail,
+            final Layout layout,
+            final int bufferSize,
+            final SocketOptions socketOptions,
+            final int sendBufferSize,
+            final OverflowPolicy overflowPolicy,
+            final int blockTimeoutMillis)
+            throws IOException {
+        super(name, OutputStream.nullOutputStream(), inetAddress, host, port, layout, false, bufferSize);
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.reconnectionDelayMillis = reconnectionDelayMillis;
+        this.immediateFail = immediateFail;
+        this.retry = reconnectionDelayMillis > 0;
+        this.socketOptions = socketOptions;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.sendBuffer = ByteBuffer.allocateDirect(sendBufferSize);
+        this.senderSelector = Selector.open();
+        this.blockingSelector = Selector.open();
+        this.sender = new Sender();
+        this.sender.start();
+        if (channel != null) {
+            setChannel(channel);
+            writeHeader();
+        } else {
+            this.reconnector = createReconnector();
+            this.reconnector.start();
+        }
+    }
+
+    /**
+     * Obtains a TcpSocketChannelManager.
+     *
+     * @param host The host to connect to.
+     * @param port The port on the host.
+     * @param connectTimeoutMillis the connect timeout in milliseconds
+     * @param reconnectDelayMillis The interval to pause between retries.
+     * @param immediateFail True if the write should fail if no socket is immediately available.
+     * @param layout The layout.
+     * @param bufferSize The size of the buffer used by the layout.
+     * @param socketOptions The socket options.
+     * @param sendBufferSize The size of the off-heap send buffer.
+     * @param overflowPolicy What to do when the send buffer is full.
+     * @param blockTimeoutMillis The maximum time in milliseconds the caller waits for the peer to accept more bytes.
+     * @return A TcpSocketChannelManager.
+     */
+    public static TcpSocketChannelManager getSocketManager(
+            final String host,
+            int port,
+            final int connectTimeoutMillis,
+            int reconnectDelayMillis,
+            final boolean immediateFail,
+            final Layout layout,
+            final int bufferSize,
+            final SocketOptions socketOptions,
+            final int sendBufferSize,
+            final OverflowPolicy overflowPolicy,
+            final int blockTimeoutMillis) {
+        if (Strings.isEmpty(host)) {
+            throw new IllegalArgumentException("A host name is required");
+        }
+        if (port <= 0) {
+            port = DEFAULT_PORT;
+        }
+        if (reconnectDelayMillis == 0) {
+            reconnectDelayMillis = TcpSocketManager.DEFAULT_RECONNECTION_DELAY_MILLIS;
+        }
+        return narrow(
+                TcpSocketChannelManager.class,
+                getManager(
+                        "TCP-CHANNEL:" + host + ':' + port,
+                        new FactoryData(
+                                host,
+                                port,
+                                connectTimeoutMillis,
+                                reconnectDelayMillis,
+                                immediateFail,
+                                layout,
+                                bufferSize,
+                                socketOptions,
+                                sendBufferSize > 0 ? sendBufferSize : DEFAULT_SEND_BUFFER_SIZE,
+                                overflowPolicy != null ? overflowPolicy : OverflowPolicy.BLOCK,
+                                blockTimeoutMillis > 0 ? blockTimeoutMillis : DEFAULT_BLOCK_TIMEOUT_MILLIS),
+                        FACTORY));
+    }
+
+    private void writeHeader() {
+        if (layout != null) {
+            final byte[] header = layout.getHeader();
+            if (header != null) {
+                writeToDestination(header, 0, header.length);
+            }
+        }
+    }
+
+    @Override
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        if (channel == null) {
+            // Do not hold the lock: the reconnector needs it
+            final Reconnector recon = reconnector;
+            if (recon != null && !immediateFail) {
+                recon.latch();
+            }
+        }
+        super.write(bytes, offset, length, immediateFlush);
+    }
+
+    @Override
+    protected void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        writeLock.lock();
+        try {
+            send(ByteBuffer.wrap(bytes, offset, length));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sends the content of the layout's buffer directly to the channel.
+     */
+    @Override
+    protected void flushBuffer(final ByteBuffer buf) {
+        ((Buffer) buf).flip();
+        writeLock.lock();
+        try {
+            send(buf);
+        } finally {
+            buf.clear();
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    protected void flushDestination() {
+        // nothing to flush: the bytes are either sent or in the send buffer
+    }
+
+    private void send(final ByteBuffer src) {
+        if (!src.hasRemaining()) {
+            return;
+        }
+        final SocketChannel ch = channel;
+        if (ch == null) {
+            throw new AppenderLoggingException("Error writing to " + getName() + ": socket not available");
+        }
+        final int start = src.position();
+        try {
+            sendOrStore(ch, src);
+        } catch (final IOException causeEx) {
+            final String config = inetAddress + ":" + port;
+            disconnect(ch);
+            if (src.position() != start) {
+                // The rest of a partially sent event would corrupt the next connection
+                drop(src);
+            }
+            if (retry && reconnector == null) {
+                reconnector = createReconnector();
+                try {
+                    reconnector.reconnect();
+                } catch (final IOException reconnEx) {
+                    LOGGER.debug(
+                            "Cannot reestablish socket connection to {}: {}; starting reconnector thread {}",
+                            config,
+                            reconnEx.getLocalizedMessage(),
+                            reconnector.getName(),
+                            reconnEx);
+                    reconnector.start();
+                    throw new AppenderLoggingException(
+                            String.format("Error sending to %s for %s", getName(), config), causeEx);
+                }
+                try {
+                    if (src.hasRemaining()) {
+                        sendOrStore(channel, src);
+                    }
+                } catch (final IOException e) {
+                    throw new AppenderLoggingException(
+                            String.format(
+                                    "Error writing to %s after reestablishing connection for %s", getName(), config),
+                            causeEx);
+                }
+                return;
+            }
+            final String message = String.format("Error writing to %s for connection %s", getName(), config);
+            throw new AppenderLoggingException(message, causeEx);
+        }
+    }
+
+    private void sendOrStore(final SocketChannel ch, final ByteBuffer src) throws IOException {
+        if (sendBuffer.position() + src.remaining() > sendBuffer.capacity()) {
+            sendPending(ch);
+            while (sendBuffer.position() + src.remaining() > sendBuffer.capacity()) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    // Also drops the bytes larger than the send buffer, which could only be written synchronously
+                    drop(src);
+                    return;
+                }
+                if (sendBuffer.position() == 0) {
+                    // Larger than the send buffer: the bytes can only be written synchronously
+                    writeFully(ch, src);
+                    return;
+                }
+                if (!awaitWritable()) {
+                    // The peer is stalled: fall back to dropping the bytes
+                    LOGGER.debug(
+                            "{}:{} did not accept bytes for {} ms, dropping an event", host, port, blockTimeoutMillis);
+                    drop(src);
+                    return;
+                }
+                sendPending(ch);
+            }
+        }
+        if (sendBuffer.position() == 0) {
+            ch.write(src);
+        } else {
+            ((Buffer) sendBuffer).flip();
+            gatheringBuffers[0] = sendBuffer;
+            gatheringBuffers[1] = src;
+            try {
+                ch.write(gatheringBuffers);
+            } finally {
+                gatheringBuffers[1] = null;
+                sendBuffer.compact();
+            }
+        }
+        if (src.hasRemaining()) {
+            sendBuffer.put(src);
+        }
+        updateInterest();
+    }
+
+    private void drop(final ByteBuffer src) {
+        droppedBytes.addAndGet(src.remaining());
+        ((Buffer) src).position(src.limit());
+    }
+
+    private void writeFully(final SocketChannel ch, final ByteBuffer src) throws IOException {
+        ch.write(src);
+        while (src.hasRemaining()) {
+            if (!awaitWritable()) {
+                // The event has been partially sent, hence the connection must be reset
+                throw new SocketTimeoutException(
+                        String.format("%s:%d did not accept bytes for %d ms", host, port, blockTimeoutMillis));
+            }
+            ch.write(src);
+        }
+    }
+
+    private void sendPending(final SocketChannel ch) throws IOException {
+        if (sendBuffer.position() > 0) {
+            ((Buffer) sendBuffer).flip();
+            try {
+                ch.write(sendBuffer);
+            } finally {
+                sendBuffer.compact();
+            }
+        }
+    }
+
+    /**
+     * Waits until the channel is writable, at most the block timeout.
+     *
+     * @return {@code true} if the channel is writable, {@code false} if the timeout expired
+     */
+    private boolean awaitWritable() throws IOException {
+        blockingKey.interestOps(SelectionKey.OP_WRITE);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        long remainingMillis = blockTimeoutMillis;
+        while (remainingMillis > 0) {
+            if (blockingSelector.select(remainingMillis) > 0) {
+                blockingSelector.selectedKeys().clear();
+                return true;
+            }
+            remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        }
+        return false;
+    }
+
+    private void updateInterest() {
+        final int ops = sendBuffer.position() > 0 ? SelectionKey.OP_WRITE : 0;
+        if (senderKey.interestOps() != ops) {
+            senderKey.interestOps(ops);
+            senderSelector.wakeup();
+        }
+    }
+
+    private void setChannel(final SocketChannel newChannel) throws IOException {
+        newChannel.configureBlocking(false);
+        senderKey = newChannel.register(senderSelector, 0);
+        blockingKey = newChannel.register(blockingSelector, 0);
+        channel = newChannel;
+    }
+
+    private void disconnect(final SocketChannel ch) {
+        if (channel == ch) {
+            channel = null;
+        }
+        Closer.closeSilently(ch);
+        final int discarded = sendBuffer.position();
+        if (discarded > 0) {
+            // The peer would receive a partial event on the next connection
+            droppedBytes.addAndGet(discarded);
+            sendBuffer.clear();
+            LOGGER.debug("Discarded {} bytes not sent to {}:{}", discarded, host, port);
+        }
+    }
+
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        if (timeout > 0) {
+            closeTimeoutMillis = timeUnit.toMillis(timeout);
+        }
+        return super.releaseSub(timeout, timeUnit);
+    }
+
+    @Override
+    protected boolean closeOutputStream() {
+        writeLock.lock();
+        try {
+            try {
+                flushBuffer(byteBuffer);
+                drainSendBuffer();
+            } catch (final AppenderLoggingException | IOException e) {
+                LOGGER.debug("Unable to send the remaining bytes to {}:{}", host, port, e);
+            }
+            droppedBytes.addAndGet(sendBuffer.position());
+            sendBuffer.clear();
+            sender.shutdown();
+            if (reconnector != null) {
+                reconnector.shutdown();
+                reconnector.interrupt();
+                reconnector = null;
+            }
+            final SocketChannel oldChannel = channel;
+            channel = null;
+            Closer.closeSilently(senderSelector);
+            Closer.closeSilently(blockingSelector);
+            if (oldChannel != null) {
+                try {
+                    oldChannel.close();
+                } catch (final IOException e) {
+                    LOGGER.error("Could not close socket channel {}", oldChannel);
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void drainSendBuffer() throws IOException {
+        final SocketChannel ch = channel;
+        if (ch == null) {
+            return;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(closeTimeoutMillis);
+        sendPending(ch);
+        while (sendBuffer.position() > 0) {
+            final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                LOGGER.warn("Unable to send {} bytes to {}:{} before closing", sendBuffer.position(), host, port);
+                return;
+            }
+            blockingKey.interestOps(SelectionKey.OP_WRITE);
+            blockingSelector.select(remainingMillis);
+            blockingSelector.selectedKeys().clear();
+            sendPending(ch);
+        }
+    }
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public int getReconnectionDelayMillis() {
+        return reconnectionDelayMillis;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getBlockTimeoutMillis() {
+        return blockTimeoutMillis;
+    }
+
+    /**
+     * Returns the capacity of the off-heap send buffer.
+     *
+     * @return the send buffer size
+     */
+    public int getSendBufferSize() {
+        return sendBuffer.capacity();
+    }
+
+    /**
+     * Returns the number of bytes waiting in the send buffer.
+     *
+     * @return the number of bytes not sent yet
+     */
+    public int getPendingBytes() {
+        writeLock.lock();
+        try {
+            return sendBuffer.position();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes dropped, because the send buffer was full, the connection was lost or the
+     * manager was closed before they could be sent.
+     *
+     * @return the number of dropped bytes
+     */
+    public long getDroppedBytes() {
+        return droppedBytes.get();
+    }
+
+    /**
+     * USE AT YOUR OWN RISK, method is public for testing purpose only for now.
+     */
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Gets this TcpSocketChannelManager's content format. Specified by:
+     * <ul>
+     * <li>Key: "protocol" Value: "tcp"</li>
+     * <li>Key: "direction" Value: "out"</li>
+     * </ul>
+     *
+     * @return Map of content format keys supporting TcpSocketChannelManager
+     */
+    @Override
+    public Map<String, String> getContentFormat() {
+        final Map<String, String> result = new HashMap<>(super.getContentFormat());
+        result.put("protocol", "tcp");
+        result.put("direction", "out");
+        return result;
+    }
+
+    /**
+     * Sends the content of the send buffer, when the channel becomes writable.
+     */
+    private class Sender extends Log4jThread {
+
+        private volatile boolean shutdown = false;
+
+        Sender() {
+            super("TcpSocketChannelManager-Sender-" + TcpSocketChannelManager.this.getName());
+            setDaemon(true);
+        }
+
+        void shutdown() {
+            shutdown = true;
+            senderSelector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (!shutdown) {
+                try {
+                    senderSelector.select();
+                    senderSelector.selectedKeys().clear();
+                } catch (final IOException | RuntimeException e) {
+                    if (!shutdown) {
+                        LOGGER.debug("TcpSocketChannelManager-Sender failed to select", e);
+                    }
+                    return;
+                }
+                writeLock.lock();
+                try {
+                    final SocketChannel ch = channel;
+                    if (!shutdown && ch != null) {
+                        try {
+                            sendPending(ch);
+                            updateInterest();
+                        } catch (final IOException e) {
+                            LOGGER.debug("Unable to send to {}:{}", host, port, e);
+                            disconnect(ch);
+                            if (retry && reconnector == null) {
+                                reconnector = createReconnector();
+                                reconnector.start();
+                            }
+                        }
+                    }
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles reconnecting to a Socket on a Thread.
+     */
+    private class Reconnector extends Log4jThread {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private boolean shutdown = false;
+
+        public Reconnector() {
+            super("TcpSocketChannelManager-Reconnector-" + TcpSocketChannelManager.this.getName());
+        }
+
+        public void latch() {
+            try {
+                latch.await();
+            } catch (final InterruptedException ex) {
+                // Ignore the exception.
+            }
+        }
+
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public void run() {
+            while (!shutdown) {
+                try {
+                    sleep(reconnectionDelayMillis);
+                    reconnect();
+                } catch (final InterruptedException ie) {
+                    LOGGER.debug("Reconnection interrupted.");
+                } catch (final ConnectException ex) {
+                    LOGGER.debug("{}:{} refused connection", host, port);
+                } catch (final IOException ioe) {
+                    LOGGER.debug("Unable to reconnect to {}:{}", host, port);
+                } finally {
+                    latch.countDown();
+                }
+            }
+        }
+
+        void reconnect() throws IOException {
+            final List<InetSocketAddress> socketAddresses =
+                    TcpSocketManager.TcpSocketManagerFactory.RESOLVER.resolveHost(host, port);
+            IOException ioe = null;
+            for (final InetSocketAddress socketAddress : socketAddresses) {
+                try {
+                    LOGGER.debug("Reconnecting " + socketAddress);
+                    connect(socketAddress);
+                    return;
+                } catch (final IOException ex) {
+                    ioe = ex;
+                }
+            }
+            throw ioe != null ? ioe : new IOException("Unable to resolve " + host);
+        }
+
+        private void connect(final InetSocketAddress socketAddress) throws IOException {
+            final SocketChannel newChannel = createChannel(socketAddress, socketOptions, connectTimeoutMillis);
+            writeLock.lock();
+            try {
+                final SocketChannel oldChannel = channel;
+                if (oldChannel != null) {
+                    disconnect(oldChannel);
+                }
+                setChannel(newChannel);
+                reconnector = null;
+                shutdown = true;
+            } catch (final IOException e) {
+                Closer.closeSilently(newChannel);
+                throw e;
+            } finally {
+                writeLock.unlock();
+            }
+            LOGGER.debug("Connection to {}:{} established: {}", host, port, newChannel);
+        }
+
+        @Override
+        public String toString() {
+            return "Reconnector [latch=" + latch + ", shutdown=" + shutdown + "]";
+        }
+    }
+
+    private Reconnector createReconnector() {
+        final Reconnector recon = new Reconnector();
+        recon.setDaemon(true);
+        recon.setPriority(Thread.MIN_PRIORITY);
+        return recon;
+    }
+
+    @SuppressFBWarnings(value = "UNENCRYPTED_SOCKET")
+    static SocketChannel createChannel(
+            final InetSocketAddress socketAddress, final SocketOptions socketOptions, final int connectTimeoutMillis)
+            throws IOException {
+        LOGGER.debug("Creating socket channel {}", socketAddress.toString());
+        final SocketChannel newChannel = SocketChannel.open();
+        try {
+            if (socketOptions != null) {
+                // Not sure which options must be applied before or after the connect() call.
+                socketOptions.apply(newChannel.socket());
+            }
+            // The socket adapter supports connection timeouts, while the channel is blocking
+            newChannel.socket().connect(socketAddress, connectTimeoutMillis);
+            if (socketOptions != null) {
+                // Not sure which options must be applied before or after the connect() call.
+                socketOptions.apply(newChannel.socket());
+            }
+            return newChannel;
+        } catch (final IOException e) {
+            Closer.closeSilently(newChannel);
+            throw e;
+        }
+    }
+
+    /**
+     * Data for the factory.
+     */
+    static class FactoryData extends TcpSocketManager.FactoryData {
+        protected final int sendBufferSize;
+        protected final OverflowPolicy overflowPolicy;
+        protected final int blockTimeoutMillis;
+
+        public FactoryData(
+                final String host,
+                final int port,
+                final int connectTimeoutMillis,
+                final int reconnectDelayMillis,
+                final boolean immediateFail,
+                final Layout layout,
+                final int bufferSize,
+                final SocketOptions socketOptions,
+                final int sendBufferSize,
+                final OverflowPolicy overflowPolicy,
+                final int blockTimeoutMillis) {
+            super(
+                    host,
+                    port,
+                    connectTimeoutMillis,
+                    reconnectDelayMillis,
+                    immediateFail,
+                    layout,
+                    bufferSize,
+                    socketOptions);
+            this.sendBufferSize = sendBufferSize;
+            this.overflowPolicy = overflowPolicy;
+            this.blockTimeoutMillis = blockTimeoutMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "FactoryData [host=" + host + ", port=" + port + ", connectTimeoutMillis=" + connectTimeoutMillis
+                    + ", reconnectDelayMillis=" + reconnectDelayMillis + ", immediateFail=" + immediateFail
+                    + ", layout=" + layout + ", bufferSize=" + bufferSize + ", socketOptions=" + socketOptions
+                    + ", sendBufferSize=" + sendBufferSize + ", overflowPolicy=" + overflowPolicy
+                    + ", blockTimeoutMillis=" + blockTimeoutMillis + "]";
+        }
+    }
+
+    /**
+     * Factory to create a TcpSocketChannelManager.
+     */
+    private static class TcpSocketChannelManagerFactory
+            implements ManagerFactory<TcpSocketChannelManager, FactoryData> {
+
+        @Override
+        public TcpSocketChannelManager createManager(final String name, final FactoryData data) {
+            final InetAddress inetAddress;
+            try {
+                inetAddress = InetAddress.getByName(data.host);
+            } catch (final UnknownHostException ex) {
+                LOGGER.error("Could not find address of {}: {}", data.host, ex, ex);
+                return null;
+            }
+            SocketChannel channel = null;
+            try {
+                channel = createChannel(data);
+            } catch (final IOException ex) {
+                LOGGER.error("TcpSocketChannelManager ({}) caught exception and will continue:", name, ex);
+            }
+            try {
+                return new TcpSocketChannelManager(
+                        name,
+                        channel,
+                        inetAddress,
+                        data.host,
+                        data.port,
+                        data.connectTimeoutMillis,
+                        data.reconnectDelayMillis,
+                        data.immediateFail,
+                        data.layout,
+                        data.bufferSize,
+                        data.socketOptions,
+                        data.sendBufferSize,
+                        data.overflowPolicy,
+                        data.blockTimeoutMillis);
+            } catch (final IOException ex) {
+                LOGGER.error("Could not create TcpSocketChannelManager ({})", name, ex);
+                Closer.closeSilently(channel);
+                return null;
+            }
+        }
+
+        private SocketChannel createChannel(final FactoryData data) throws IOException {
+            final List<InetSocketAddress> socketAddresses =
+                    TcpSocketManager.TcpSocketManagerFactory.RESOLVER.resolveHost(data.host, data.port);
+            IOException ioe = null;
+            for (final InetSocketAddress socketAddress : socketAddresses) {
+                try {
+                    return TcpSocketChannelManager.createChannel(
+                            socketAddress, data.socketOptions, data.connectTimeoutMillis);
+                } catch (final IOException ex) {
+                    ioe = ex;
+                }
+            }
+            throw new IOException("Unable to create socket channel for " + data.host + " at port " + data.port, ioe);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TcpSocketChannelManager [reconnectionDelayMillis=" + reconnectionDelayMillis + ", reconnector="
+                + reconnector + ", channel=" + channel + ", socketOptions=" + socketOptions + ", retry=" + retry
+                + ", immediateFail=" + immediateFail + ", connectTimeoutMillis=" + connectTimeoutMillis
+                + ", sendBufferSize=" + sendBuffer.capacity() + ", overflowPolicy=" + overflowPolicy
+                + ", blockTimeoutMillis=" + blockTimeoutMillis
+                + ", inetAddress=" + inetAddress + ", host=" + host + ", port=" + port + ", layout=" + layout
+                + ", byteBuffer=" + byteBuffer + ", count=" + count + "]";
+    }
+}
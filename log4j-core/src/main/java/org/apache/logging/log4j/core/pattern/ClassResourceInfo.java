@@ -18,44 +18,52 @@ package org.apache.logging.log4j.core.pattern;
 
 import java.net.URL;
 import java.security.CodeSource;
-import java.util.function.Consumer;
 
 /**
  * Resource information (i.e., the enclosing JAR file and its version) of a class.
  */
 final class ClassResourceInfo {
 
-    static final ClassResourceInfo UNKNOWN = new ClassResourceInfo();
+    static final ClassResourceInfo UNKNOWN = new ClassResourceInfo(null, "~[?:?]");
 
-    private final Consumer<StringBuilder> renderer;
+    /**
+     * Caches the exact and inexact resource information of each class.
+     * <p>
+     * Extracting the location and version of a class is expensive and its result never changes.
+     * </p>
+     */
+    private static final ClassValue<ClassResourceInfo[]> INFO_BY_CLASS = new ClassValue<>() {
+        @Override
+        protected ClassResourceInfo[] computeValue(final Class<?> clazz) {
+            final String resource = "[" + getLocation(clazz) + ":" + getVersion(clazz) + "]";
+            return new ClassResourceInfo[] {
+                new ClassResourceInfo(clazz, resource), new ClassResourceInfo(clazz, "~" + resource)
+            };
+        }
+    };
+
+    private final String text;
 
     final Class<?> clazz;
 
-    /**
-     * Constructs an instance modelling an unknown class resource.
-     */
-    private ClassResourceInfo() {
-        this.renderer = (buffer) -> buffer.append("~[?:?]");
-        clazz = null;
+    private ClassResourceInfo(final Class<?> clazz, final String text) {
+        this.clazz = clazz;
+        this.text = text;
     }
 
     /**
      * @param clazz the class
      * @param exact {@code true}, if the class was obtained via reflection; {@code false}, otherwise
      */
-    ClassResourceInfo(final Class<?> clazz, final boolean exact) {
-        final String exactnessPrefix = exact ? "" : "~";
-        final String location = getLocation(clazz);
-        final String version = getVersion(clazz);
-        this.renderer = (buffer) -> {
-            buffer.append(exactnessPrefix);
-            buffer.append("[");
-            buffer.append(location);
-            buffer.append(":");
-            buffer.append(version);
-            buffer.append("]");
-        };
-        this.clazz = clazz;
+    static ClassResourceInfo of(final Class<?> clazz, final boolean exact) {
+        return INFO_BY_CLASS.get(clazz)[exact ? 0 : 1];
+    }
+
+    /**
+     * Returns a copy of this instance that does not reference the class, suitable for long-lived caches.
+     */
+    ClassResourceInfo withoutClass() {
+        return clazz == null ? this : new ClassResourceInfo(null, text);
     }
 
     private static String getLocation(final Class<?> clazz) {
@@ -90,6 +98,6 @@ final class ClassResourceInfo {
     }
 
     void render(final StringBuilder buffer) {
-        renderer.accept(buffer);
+        buffer.append(text);
     }
 }
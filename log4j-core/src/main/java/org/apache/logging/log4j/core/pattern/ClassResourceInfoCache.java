@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.pattern;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Caches the classes referenced by stack traces across rendered {@link Throwable}s.
+ * <p>
+ * Loading a class by name is expensive and, during an error storm, the same class names are resolved over and over.
+ * Entries are keyed by the class loader used for the lookup and the class name.
+ * Neither the class loaders nor the classes are strongly referenced, so the cache does not prevent their collection.
+ * The number of class names cached per class loader is bounded.
+ * </p>
+ */
+@NullMarked
+final class ClassResourceInfoCache {
+
+    static final ClassResourceInfoCache INSTANCE = new ClassResourceInfoCache(4096);
+
+    private static final WeakReference<Class<?>> NOT_FOUND = new WeakReference<>(null);
+
+    private final int maxClassNameCount;
+
+    private final Map<@Nullable ClassLoader, Map<String, WeakReference<Class<?>>>> classesByLoader =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    ClassResourceInfoCache(final int maxClassNameCount) {
+        this.maxClassNameCount = maxClassNameCount;
+    }
+
+    /**
+     * Returns the inexact resource information of a class.
+     *
+     * @param loader the class loader to use or {@code null} if unknown
+     * @param className the name of the class
+     * @param classLoadingFunction loads the class, if not cached, or returns {@code null}
+     * @return the resource information of the class or {@link ClassResourceInfo#UNKNOWN}
+     */
+    ClassResourceInfo get(
+            final @Nullable ClassLoader loader,
+            final String className,
+            final BiFunction<@Nullable ClassLoader, String, @Nullable Class<?>> classLoadingFunction) {
+        final Map<String, WeakReference<Class<?>>> classes =
+                classesByLoader.computeIfAbsent(loader, ignored -> new ConcurrentHashMap<>());
+        final WeakReference<Class<?>> reference = classes.get(className);
+        if (reference == NOT_FOUND) {
+            hitCount.increment();
+            return ClassResourceInfo.UNKNOWN;
+        }
+        final Class<?> cachedClass = reference != null ? reference.get() : null;
+        if (cachedClass != null) {
+            hitCount.increment();
+            return ClassResourceInfo.of(cachedClass, false);
+        }
+        missCount.increment();
+        final Class<?> clazz = classLoadingFunction.apply(loader, className);
+        if (classes.size() >= maxClassNameCount) {
+            classes.clear();
+        }
+        classes.put(className, clazz != null ? new WeakReference<>(clazz) : NOT_FOUND);
+        return clazz != null ? ClassResourceInfo.of(clazz, false) : ClassResourceInfo.UNKNOWN;
+    }
+
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    long getMissCount() {
+        return missCount.sum();
+    }
+}
@@ -17,6 +17,8 @@
 package org.apache.logging.log4j.core.pattern;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
@@ -25,8 +27,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.logging.log4j.util.LoaderUtil;
 import org.apache.logging.log4j.util.StackLocatorUtil;
+import org.jspecify.annotations.Nullable;
 
 /**
  * {@link ThrowableStackTraceRenderer} variant where the rendered {@link StackTraceElement}s are enriched with the enclosing JAR file and its version information, if available.
@@ -34,13 +40,63 @@ import org.apache.logging.log4j.util.StackLocatorUtil;
 final class ThrowableExtendedStackTraceRenderer
         extends ThrowableStackTraceRenderer<ThrowableExtendedStackTraceRenderer.ExtendedContext> {
 
+    /**
+     * Maximum number of distinct {@link ThrowableShape}s cached by a renderer for each class loader.
+     */
+    private static final int MAX_SHAPE_COUNT = 256;
+
+    /**
+     * The inexact resource information of the stack traces already rendered, keyed by the thread context class loader.
+     * <p>
+     * Throwables with identical stack traces (e.g., the same error logged repeatedly) share the resource information
+     * of the classes that are not on the execution stack, so it is only looked up once.
+     * The same class names can refer to different classes in different class loaders, hence the cache is keyed by the
+     * class loader, which is not strongly referenced.
+     * The cached entries do not reference classes either.
+     * Whether the resource information of a class is exact depends on the execution stack, hence it is computed for
+     * each rendered throwable.
+     * </p>
+     */
+    private final Map<@Nullable ClassLoader, Map<ThrowableShape, Map<String, ClassResourceInfo>>>
+            inexactClassResourceInfoByLoader = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final LongAdder shapeHitCount = new LongAdder();
+
+    private final LongAdder shapeMissCount = new LongAdder();
+
     ThrowableExtendedStackTraceRenderer(final List<String> ignoredPackageNames, final int maxLineCount) {
         super(ignoredPackageNames, maxLineCount);
     }
 
     @Override
     ExtendedContext createContext(final Throwable throwable) {
-        return ExtendedContext.ofThrowable(throwable);
+        final Map<Throwable, Context.Metadata> metadataByThrowable = Context.Metadata.ofThrowable(throwable);
+        final Map<ThrowableShape, Map<String, ClassResourceInfo>> classResourceInfoByShape =
+                inexactClassResourceInfoByLoader.computeIfAbsent(
+                        LoaderUtil.getThreadContextClassLoader(), ignored -> new ConcurrentHashMap<>());
+        final ThrowableShape shape = ThrowableShape.of(throwable);
+        Map<String, ClassResourceInfo> inexactClassResourceInfoByName = classResourceInfoByShape.get(shape);
+        if (inexactClassResourceInfoByName != null) {
+            shapeHitCount.increment();
+        } else {
+            shapeMissCount.increment();
+            if (classResourceInfoByShape.size() >= MAX_SHAPE_COUNT) {
+                classResourceInfoByShape.clear();
+            }
+            inexactClassResourceInfoByName = new ConcurrentHashMap<>();
+            classResourceInfoByShape.put(shape, inexactClassResourceInfoByName);
+        }
+        final Map<String, ClassResourceInfo> classResourceInfoByName = ExtendedContext.createClassResourceInfoByName(
+                throwable, metadataByThrowable, inexactClassResourceInfoByName);
+        return new ExtendedContext(0, metadataByThrowable, classResourceInfoByName);
+    }
+
+    long getShapeHitCount() {
+        return shapeHitCount.sum();
+    }
+
+    long getShapeMissCount() {
+        return shapeMissCount.sum();
     }
 
     @Override
@@ -90,15 +146,14 @@ final class ThrowableExtendedStackTraceRenderer
             this.classResourceInfoByName = classResourceInfoByName;
         }
 
-        private static ExtendedContext ofThrowable(final Throwable throwable) {
-            final Map<Throwable, Metadata> metadataByThrowable = Metadata.ofThrowable(throwable);
-            final Map<String, ClassResourceInfo> classResourceInfoByName =
-                    createClassResourceInfoByName(throwable, metadataByThrowable);
-            return new ExtendedContext(0, metadataByThrowable, classResourceInfoByName);
-        }
-
+        /**
+         * @param inexactClassResourceInfoByName the resource information of the classes that are not on the execution
+         *                                       stack, shared by the throwables with the same {@link ThrowableShape}
+         */
         private static Map<String, ClassResourceInfo> createClassResourceInfoByName(
-                final Throwable rootThrowable, final Map<Throwable, Metadata> metadataByThrowable) {
+                final Throwable rootThrowable,
+                final Map<Throwable, Metadata> metadataByThrowable,
+                final Map<String, ClassResourceInfo> inexactClassResourceInfoByName) {
 
             // Stack trace elements of a `Throwable` only contain the class name.
             // But we need the associated `Class` to extract its resource information, i.e., JAR file and version.
@@ -153,7 +208,7 @@ final class ThrowableExtendedStackTraceRenderer
                     // See if we get a match from the execution stack trace
                     else if (executionStackTraceElementClass != null
                             && throwableStackTraceElementClassName.equals(executionStackTraceElementClass.getName())) {
-                        classResourceInfo = new ClassResourceInfo(executionStackTraceElementClass, true);
+                        classResourceInfo = ClassResourceInfo.of(executionStackTraceElementClass, true);
                         classResourceInfoByName.put(throwableStackTraceElementClassName, classResourceInfo);
                         lastLoader = classResourceInfo.clazz.getClassLoader();
                         executionStackTrace.pollLast();
@@ -162,11 +217,14 @@ final class ThrowableExtendedStackTraceRenderer
 
                     // We don't know this class name, try to load it using the last found loader
                     else {
-                        final Class<?> stackTraceElementClass =
-                                loadClass(lastLoader, throwableStackTraceElementClassName);
-                        classResourceInfo = stackTraceElementClass != null
-                                ? new ClassResourceInfo(stackTraceElementClass, false)
-                                : ClassResourceInfo.UNKNOWN;
+                        classResourceInfo = inexactClassResourceInfoByName.get(throwableStackTraceElementClassName);
+                        if (classResourceInfo == null) {
+                            classResourceInfo = ClassResourceInfoCache.INSTANCE.get(
+                                    lastLoader, throwableStackTraceElementClassName, ExtendedContext::loadClass);
+                            // Do not retain classes in the cache
+                            inexactClassResourceInfoByName.put(
+                                    throwableStackTraceElementClassName, classResourceInfo.withoutClass());
+                        }
                         classResourceInfoByName.put(throwableStackTraceElementClassName, classResourceInfo);
                     }
                 }
@@ -203,4 +261,43 @@ final class ThrowableExtendedStackTraceRenderer
 
         Class<?> run(final ClassLoader loader, final String className) throws Exception;
     }
+
+    /**
+     * The stack traces of a causal chain, used to identify identical {@link Throwable}s.
+     */
+    static final class ThrowableShape {
+
+        private final StackTraceElement[][] stackTraces;
+
+        private final int hashCode;
+
+        private ThrowableShape(final StackTraceElement[][] stackTraces) {
+            this.stackTraces = stackTraces;
+            this.hashCode = Arrays.deepHashCode(stackTraces);
+        }
+
+        static ThrowableShape of(final Throwable rootThrowable) {
+            // Follows the causal chain, like `ExtendedContext.createClassResourceInfoByName()`
+            final List<StackTraceElement[]> stackTraces = new ArrayList<>();
+            final Set<Throwable> visitedThrowables = new HashSet<>();
+            Throwable throwable = rootThrowable;
+            while (throwable != null && visitedThrowables.add(throwable)) {
+                stackTraces.add(throwable.getStackTrace());
+                throwable = throwable.getCause();
+            }
+            return new ThrowableShape(stackTraces.toArray(new StackTraceElement[0][]));
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof ThrowableShape other
+                    && hashCode == other.hashCode
+                    && Arrays.deepEquals(stackTraces, other.stackTraces);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -26,6 +26,7 @@ import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.impl.ThrowableFormatOptions;
 import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.util.ThrowableDeduplicator;
 import org.apache.logging.log4j.plugins.Namespace;
 import org.apache.logging.log4j.plugins.Plugin;
 import org.jspecify.annotations.NullMarked;
@@ -54,6 +55,9 @@ public class ThrowablePatternConverter extends LogEventPatternConverter {
 
     private final ThrowableRenderer renderer;
 
+    @Nullable
+    private final ThrowableDeduplicator deduplicator;
+
     /**
      * @deprecated Use {@link #ThrowablePatternConverter(String, String, String[], Configuration, ThrowablePropertyRendererFactory, ThrowableStackTraceRendererFactory)} instead.
      */
@@ -105,6 +109,13 @@ public class ThrowablePatternConverter extends LogEventPatternConverter {
         // Create the effective renderer
         this.renderer =
                 createEffectiveRenderer(options, this.options, propertyRendererFactory, stackTraceRendererFactory);
+
+        // Only stack traces are deduplicated
+        this.deduplicator = this.options.getDeduplicationWindowMillis() > 0
+                        && this.options.anyLines()
+                        && renderer instanceof ThrowableStackTraceRenderer
+                ? new ThrowableDeduplicator(this.options.getDeduplicationWindowMillis())
+                : null;
     }
 
     /**
@@ -129,8 +140,35 @@ public class ThrowablePatternConverter extends LogEventPatternConverter {
         final Throwable throwable = event.getThrown();
         if (throwable != null) {
             final String lineSeparator = effectiveLineSeparatorProvider.apply(event);
+            if (deduplicator != null) {
+                renderDeduplicatedThrowable(event, buffer, throwable, lineSeparator, deduplicator);
+            } else {
+                renderer.renderThrowable(buffer, throwable, lineSeparator);
+            }
+        }
+    }
+
+    /**
+     * Renders the stack trace followed by its fingerprint, if it is the first occurrence in the deduplication window.
+     * Otherwise, only renders the fingerprint and the repetition count.
+     */
+    private void renderDeduplicatedThrowable(
+            final LogEvent event,
+            final StringBuilder buffer,
+            final Throwable throwable,
+            final String lineSeparator,
+            final ThrowableDeduplicator deduplicator) {
+        final long fingerprint = ThrowableDeduplicator.fingerprint(throwable);
+        final long repetition = deduplicator.register(fingerprint, event.getTimeMillis());
+        if (repetition == 1) {
+            // Every rendered line is already terminated with the line separator
             renderer.renderThrowable(buffer, throwable, lineSeparator);
+            ThrowableDeduplicator.appendFingerprint(buffer, fingerprint);
+        } else {
+            ThrowableStackTraceRenderer.ensureNewlineSuffix(buffer);
+            ThrowableDeduplicator.appendSummary(buffer, throwable, fingerprint, repetition);
         }
+        buffer.append(lineSeparator);
     }
 
     /**
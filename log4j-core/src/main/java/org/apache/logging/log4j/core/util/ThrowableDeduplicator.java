@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Counts the repetitions of identical stack traces within a time window.
+ * <p>
+ * Stack traces are identified by a {@linkplain #fingerprint(Throwable) fingerprint}, which is stable across JVM
+ * restarts. Layouts use this class to render a stack trace only the first time it occurs within the window and to
+ * render a short {@linkplain #appendSummary summary} afterwards.
+ * </p>
+ * <p>
+ * Windows are kept in a fixed-size open-addressed table, hence {@link #register(long, long)} does not allocate. When
+ * all the slots a fingerprint can occupy are in use, the oldest window is evicted.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public final class ThrowableDeduplicator {
+
+    /**
+     * Maximum number of fingerprints tracked at the same time, a power of two.
+     */
+    private static final int MAX_FINGERPRINT_COUNT = 1024;
+
+    /**
+     * Number of consecutive slots a fingerprint can occupy.
+     */
+    private static final int MAX_PROBE_COUNT = 8;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long windowMillis;
+
+    private final long[] fingerprints = new long[MAX_FINGERPRINT_COUNT];
+
+    private final long[] startMillis = new long[MAX_FINGERPRINT_COUNT];
+
+    /**
+     * The number of occurrences in each window, {@code 0} for empty slots.
+     */
+    private final long[] counts = new long[MAX_FINGERPRINT_COUNT];
+
+    /**
+     * @param windowMillis the duration in milliseconds during which repeated stack traces are deduplicated
+     */
+    public ThrowableDeduplicator(final long windowMillis) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("was expecting a positive window, found: " + windowMillis);
+        }
+        this.windowMillis = windowMillis;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Registers an occurrence of a stack trace.
+     *
+     * @param fingerprint the fingerprint of the stack trace
+     * @param timeMillis the timestamp of the occurrence, usually the timestamp of the log event
+     * @return the number of occurrences of the stack trace in the current window, including this one; {@code 1}
+     * indicates that the stack trace must be rendered in full
+     */
+    public synchronized long register(final long fingerprint, final long timeMillis) {
+        final int mask = MAX_FINGERPRINT_COUNT - 1;
+        final int start = (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+        int candidate = -1;
+        for (int probe = 0; probe < MAX_PROBE_COUNT; probe++) {
+            final int index = (start + probe) & mask;
+            if (counts[index] == 0) {
+                // Slots are never emptied, hence the fingerprint cannot be further away
+                candidate = index;
+                break;
+            }
+            if (fingerprints[index] == fingerprint) {
+                if (timeMillis - startMillis[index] >= windowMillis) {
+                    startMillis[index] = timeMillis;
+                    counts[index] = 0;
+                }
+                return ++counts[index];
+            }
+            if (candidate < 0 || startMillis[index] - startMillis[candidate] < 0) {
+                candidate = index;
+            }
+        }
+        // Use the empty slot or evict the oldest window
+        fingerprints[candidate] = fingerprint;
+        startMillis[candidate] = timeMillis;
+        counts[candidate] = 1;
+        return 1;
+    }
+
+    /**
+     * Computes the fingerprint of a stack trace.
+     * <p>
+     * The fingerprint covers the class names and the stack trace elements of the throwable, its causes and its
+     * suppressed throwables, but not their messages.
+     * </p>
+     *
+     * @param throwable a throwable
+     * @return a 64-bit FNV-1a hash of the stack trace
+     */
+    public static long fingerprint(final Throwable throwable) {
+        return fingerprint(throwable, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    /**
+     * Computes the fingerprint of a stack trace using the provided set to track visited throwables.
+     * <p>
+     * Allows garbage-free callers to recycle the set, which is cleared before returning.
+     * </p>
+     *
+     * @param throwable a throwable
+     * @param visitedThrowables an empty set comparing its elements by identity
+     * @return a 64-bit FNV-1a hash of the stack trace
+     * @see #fingerprint(Throwable)
+     */
+    public static long fingerprint(final Throwable throwable, final Set<Throwable> visitedThrowables) {
+        requireNonNull(throwable, "throwable");
+        requireNonNull(visitedThrowables, "visitedThrowables");
+        try {
+            return fingerprint(FNV_OFFSET_BASIS, throwable, visitedThrowables);
+        } finally {
+            visitedThrowables.clear();
+        }
+    }
+
+    private static long fingerprint(long hash, final Throwable throwable, final Set<Throwable> visitedThrowables) {
+        if (!visitedThrowables.add(throwable)) {
+            return hash;
+        }
+        hash = hash(hash, throwable.getClass().getName());
+        for (final StackTraceElement element : throwable.getStackTrace()) {
+            hash = hash(hash, element.getClassName());
+            hash = hash(hash, element.getMethodName());
+            hash = hash(hash, element.getFileName());
+            hash = hash(hash, element.getLineNumber());
+        }
+        for (final Throwable suppressed : throwable.getSuppressed()) {
+            hash = hash(hash, 's');
+            hash = fingerprint(hash, suppressed, visitedThrowables);
+        }
+        final Throwable cause = throwable.getCause();
+        if (cause != null) {
+            hash = hash(hash, 'c');
+            hash = fingerprint(hash, cause, visitedThrowables);
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, final String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = hash(hash, value.charAt(i));
+            }
+        }
+        // Separator
+        return hash(hash, 0);
+    }
+
+    private static long hash(final long hash, final int value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    /**
+     * Appends the fingerprint of a stack trace rendered in full, e.g. {@code [fingerprint: 0123456789abcdef]}.
+     *
+     * @param buffer the destination
+     * @param fingerprint the fingerprint of the stack trace
+     */
+    public static void appendFingerprint(final StringBuilder buffer, final long fingerprint) {
+        buffer.append("[fingerprint: ");
+        appendHex(buffer, fingerprint);
+        buffer.append(']');
+    }
+
+    /**
+     * Appends the summary of a repeated stack trace, e.g.
+     * {@code java.lang.IllegalStateException: message [fingerprint: 0123456789abcdef, repetition: 2]}.
+     *
+     * @param buffer the destination
+     * @param throwable the throwable
+     * @param fingerprint the fingerprint of the stack trace
+     * @param repetition the number of occurrences of the stack trace in the current window
+     */
+    public static void appendSummary(
+            final StringBuilder buffer, final Throwable throwable, final long fingerprint, final long repetition) {
+        buffer.append(throwable.getClass().getName());
+        final String message = throwable.getLocalizedMessage();
+        if (message != null) {
+            buffer.append(": ");
+            buffer.append(message);
+        }
+        buffer.append(" [fingerprint: ");
+        appendHex(buffer, fingerprint);
+        buffer.append(", repetition: ");
+        buffer.append(repetition);
+        buffer.append(']');
+    }
+
+    private static void appendHex(final StringBuilder buffer, final long value) {
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            buffer.append(Character.forDigit((int) (value >>> shift) & 0xF, 16));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util.internal.instant;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ToLongFunction;
+import org.apache.logging.log4j.core.time.Instant;
+
+/**
+ * An {@link InstantFormatter} wrapper caching the last formatted output and trying to reuse it.
+ * <p>
+ * The cache is shared by all threads, hence it is effective even when thousands of (virtual) threads log, and it is
+ * garbage-free in steady state.
+ * The cache entry is validated using optimistic reads of a {@link StampedLock}, and it is only updated by the thread
+ * that manages to {@linkplain StampedLock#tryWriteLock() acquire the write lock without waiting}.
+ * That is, no thread ever blocks on the cache: on contention, the instant is formatted without the cache.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+final class InstantPatternCachedFormatter implements InstantPatternFormatter {
+
+    private final InstantPatternFormatter formatter;
+
+    private final ToLongFunction<Instant> epochInstantExtractor;
+
+    private final ChronoUnit precision;
+
+    private final StampedLock lock = new StampedLock();
+
+    // Guarded by `lock`
+    private long lastEpochInstant = -1L;
+
+    // Guarded by `lock`
+    private char[] lastFormattedInstant = new char[32];
+
+    // Guarded by `lock`
+    private int lastFormattedInstantLength;
+
+    private InstantPatternCachedFormatter(
+            final InstantPatternFormatter formatter,
+            final ToLongFunction<Instant> epochInstantExtractor,
+            final ChronoUnit precision) {
+        this.formatter = formatter;
+        this.epochInstantExtractor = epochInstantExtractor;
+        this.precision = precision;
+    }
+
+    static InstantPatternCachedFormatter ofMilliPrecision(final InstantPatternFormatter formatter) {
+        final ChronoUnit precision = effectivePrecision(formatter, ChronoUnit.MILLIS);
+        return new InstantPatternCachedFormatter(formatter, Instant::getEpochMillisecond, precision);
+    }
+
+    static InstantPatternCachedFormatter ofSecondPrecision(final InstantPatternFormatter formatter) {
+        final ChronoUnit precision = effectivePrecision(formatter, ChronoUnit.SECONDS);
+        return new InstantPatternCachedFormatter(formatter, Instant::getEpochSecond, precision);
+    }
+
+    private static ChronoUnit effectivePrecision(final InstantFormatter formatter, final ChronoUnit cachePrecision) {
+        final ChronoUnit formatterPrecision = formatter.getPrecision();
+        final int comparison = cachePrecision.compareTo(formatterPrecision);
+        if (comparison == 0) {
+            return formatterPrecision;
+        } else if (comparison > 0) {
+            final String message = String.format(
+                    "instant formatter `%s` is of `%s` precision, whereas the requested cache precision is `%s`",
+                    formatter, formatterPrecision, cachePrecision);
+            throw new IllegalArgumentException(message);
+        } else {
+            return cachePrecision;
+        }
+    }
+
+    @Override
+    public ChronoUnit getPrecision() {
+        return precision;
+    }
+
+    @Override
+    public void formatTo(final StringBuilder buffer, final Instant instant) {
+        requireNonNull(buffer, "buffer");
+        requireNonNull(instant, "instant");
+        final long epochInstant = epochInstantExtractor.applyAsLong(instant);
+        if (!appendCached(buffer, epochInstant)) {
+            formatAndCache(buffer, instant, epochInstant);
+        }
+    }
+
+    /**
+     * Appends the cached output, if it matches the given epoch instant.
+     *
+     * @return {@code true}, if the cached output is appended; {@code false}, otherwise
+     */
+    private boolean appendCached(final StringBuilder buffer, final long epochInstant) {
+        final long stamp = lock.tryOptimisticRead();
+        if (stamp == 0L || lastEpochInstant != epochInstant) {
+            return false;
+        }
+
+        // The cache entry might get updated while we are copying it.
+        // Hence, the length is bounded by the array read, and the copy gets reverted on failed validation.
+        final char[] formattedInstant = lastFormattedInstant;
+        final int formattedInstantLength = Math.min(lastFormattedInstantLength, formattedInstant.length);
+        final int bufferLength = buffer.length();
+        buffer.append(formattedInstant, 0, formattedInstantLength);
+        if (lock.validate(stamp)) {
+            return true;
+        }
+        buffer.setLength(bufferLength);
+        return false;
+    }
+
+    private void formatAndCache(final StringBuilder buffer, final Instant instant, final long epochInstant) {
+        final int bufferLength = buffer.length();
+        formatter.formatTo(buffer, instant);
+        final long stamp = lock.tryWriteLock();
+        if (stamp == 0L) {
+            // Another thread is updating the cache, don't wait for it
+            return;
+        }
+        try {
+            final int formattedInstantLength = buffer.length() - bufferLength;
+            if (lastFormattedInstant.length < formattedInstantLength) {
+                lastFormattedInstant = new char[formattedInstantLength];
+            }
+            buffer.getChars(bufferLength, buffer.length(), lastFormattedInstant, 0);
+            lastFormattedInstantLength = formattedInstantLength;
+            lastEpochInstant = epochInstant;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String getPattern() {
+        return formatter.getPattern();
+    }
+
+    @Override
+    public Locale getLocale() {
+        return formatter.getLocale();
+    }
+
+    @Override
+    public TimeZone getTimeZone() {
+        return formatter.getTimeZone();
+    }
+}
@@ -23,7 +23,6 @@ import java.time.temporal.ChronoUnit;
 import java.util.Locale;
 import java.util.TimeZone;
 import org.apache.logging.log4j.core.time.Instant;
-import org.apache.logging.log4j.util.Constants;
 
 /**
  * Contract for formatting {@link Instant}s using a date and time formatting pattern.
@@ -56,7 +55,7 @@ public interface InstantPatternFormatter extends InstantFormatter {
 
         private TimeZone timeZone = TimeZone.getDefault();
 
-        private boolean cachingEnabled = Constants.ENABLE_THREADLOCALS;
+        private boolean cachingEnabled = true;
 
         private Builder() {}
 
@@ -124,11 +123,11 @@ public interface InstantPatternFormatter extends InstantFormatter {
 
                     // Millisecond precision cache
                 case MILLIS:
-                    return InstantPatternThreadLocalCachedFormatter.ofMilliPrecision(formatter);
+                    return InstantPatternCachedFormatter.ofMilliPrecision(formatter);
 
                     // Cache everything else with second precision
                 default:
-                    return InstantPatternThreadLocalCachedFormatter.ofSecondPrecision(formatter);
+                    return InstantPatternCachedFormatter.ofSecondPrecision(formatter);
             }
         }
 
@@ -63,6 +63,12 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
         @PluginBuilderAttribute
         private int bufferSize;
 
+        @PluginBuilderAttribute
+        private long flushIntervalMillis;
+
+        @PluginBuilderAttribute
+        private int maxInFlightBatches;
+
         @PluginBuilderAttribute
         @Required(message = "No table name provided")
         private String tableName;
@@ -86,12 +92,21 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
                 LOGGER.error("Cannot create JdbcAppender without any columns.");
                 return null;
             }
-            final String managerName = "JdbcManager{name=" + getName() + ", bufferSize=" + bufferSize + ", tableName="
-                    + tableName + ", columnConfigs=" + Arrays.toString(columnConfigs) + ", columnMappings="
-                    + Arrays.toString(columnMappings) + '}';
+            if (maxInFlightBatches > 0 && bufferSize <= 0) {
+                LOGGER.warn(
+                        "maxInFlightBatches is set to {} but bufferSize is {}, events will be written synchronously.",
+                        maxInFlightBatches,
+                        bufferSize);
+            }
+            final String managerName = "JdbcManager{name=" + getName() + ", bufferSize=" + bufferSize
+                    + ", flushIntervalMillis=" + flushIntervalMillis + ", maxInFlightBatches=" + maxInFlightBatches
+                    + ", tableName=" + tableName + ", columnConfigs=" + Arrays.toString(columnConfigs)
+                    + ", columnMappings=" + Arrays.toString(columnMappings) + '}';
             final JdbcDatabaseManager manager = JdbcDatabaseManager.getManager(
                     managerName,
                     bufferSize,
+                    flushIntervalMillis,
+                    maxInFlightBatches,
                     getLayout(),
                     connectionSource,
                     tableName,
@@ -129,6 +144,35 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
             return asBuilder();
         }
 
+        /**
+         * If positive and a writer thread is used, the maximum time in milliseconds buffered log events wait before
+         * being written, even if the buffer is not full.
+         *
+         * @param flushIntervalMillis flush interval in milliseconds.
+         *
+         * @return this
+         * @since 3.0.0
+         */
+        public B setFlushIntervalMillis(final long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+            return asBuilder();
+        }
+
+        /**
+         * If an integer greater than 0 and buffering is enabled, full buffers are written to the database by a
+         * dedicated writer thread. Logging threads only wait for the database if this number of buffers is already
+         * waiting for or being written by the writer thread.
+         *
+         * @param maxInFlightBatches maximum number of buffers handed to the writer thread.
+         *
+         * @return this
+         * @since 3.0.0
+         */
+        public B setMaxInFlightBatches(final int maxInFlightBatches) {
+            this.maxInFlightBatches = maxInFlightBatches;
+            return asBuilder();
+        }
+
         /**
          * Information about the columns that log event data should be inserted into and how to insert that data.
          *
@@ -78,6 +78,8 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
         protected FactoryData(
                 final int bufferSize,
+                final long flushIntervalMillis,
+                final int maxInFlightBatches,
                 final Layout layout,
                 final ConnectionSource connectionSource,
                 final String tableName,
@@ -87,7 +89,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
                 final long reconnectIntervalMillis,
                 final boolean truncateStrings,
                 final Configuration configuration) {
-            super(configuration, bufferSize, layout);
+            super(configuration, bufferSize, layout, flushIntervalMillis, maxInFlightBatches);
             this.connectionSource = connectionSource;
             this.tableName = tableName;
             this.columnConfigs = columnConfigs;
@@ -452,10 +454,62 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             final long reconnectIntervalMillis,
             final boolean truncateStrings,
             final Configuration configuration) {
+        return getManager(
+                name,
+                bufferSize,
+                0,
+                0,
+                layout,
+                connectionSource,
+                tableName,
+                columnConfigs,
+                columnMappings,
+                immediateFail,
+                reconnectIntervalMillis,
+                truncateStrings,
+                configuration);
+    }
+
+    /**
+     * Creates a JDBC manager for use within the {@link JdbcAppender}, or returns a suitable one if it already exists.
+     *
+     * @param name The name of the manager, which should include connection details and hashed passwords where possible.
+     * @param bufferSize The size of the log event buffer.
+     * @param flushIntervalMillis The maximum time a buffered event waits before being handed to the writer thread.
+     * @param maxInFlightBatches The maximum number of buffers handed to the writer thread, or {@code 0} to write on
+     * the logging threads.
+     * @param layout The Appender-level layout
+     * @param connectionSource The source for connections to the database.
+     * @param tableName The name of the database table to insert log events into.
+     * @param columnConfigs Configuration information about the log table columns.
+     * @param columnMappings column mapping configuration (including type conversion).
+     * @param immediateFail Whether or not to fail immediately with a {@link AppenderLoggingException} when connecting
+     * to JDBC fails.
+     * @param reconnectIntervalMillis How often to reconnect to the database when a SQL exception is detected.
+     * @param truncateStrings Whether or not to truncate strings to match column metadata.
+     * @return a new or existing JDBC manager as applicable.
+     * @since 3.0.0
+     */
+    public static JdbcDatabaseManager getManager(
+            final String name,
+            final int bufferSize,
+            final long flushIntervalMillis,
+            final int maxInFlightBatches,
+            final Layout layout,
+            final ConnectionSource connectionSource,
+            final String tableName,
+            final ColumnConfig[] columnConfigs,
+            final ColumnMapping[] columnMappings,
+            final boolean immediateFail,
+            final long reconnectIntervalMillis,
+            final boolean truncateStrings,
+            final Configuration configuration) {
         return getManager(
                 name,
                 new FactoryData(
                         bufferSize,
+                        flushIntervalMillis,
+                        maxInFlightBatches,
                         layout,
                         connectionSource,
                         tableName,
@@ -483,7 +537,13 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             final String sqlStatement,
             final List<ColumnConfig> columnConfigs,
             final FactoryData factoryData) {
-        super(name, factoryData.getBufferSize(), factoryData.getLayout(), factoryData.getConfiguration());
+        super(
+                name,
+                factoryData.getBufferSize(),
+                factoryData.getFlushIntervalMillis(),
+                factoryData.getMaxInFlightBatches(),
+                factoryData.getLayout(),
+                factoryData.getConfiguration());
         this.sqlStatement = sqlStatement;
         this.columnConfigs = columnConfigs;
         this.factoryData = factoryData;
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.jdbc.appender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.test.RuleChainFactory;
+import org.apache.logging.log4j.core.test.junit.LoggerContextRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+/**
+ * Tests the JdbcAppender writing buffered events on a dedicated writer thread.
+ */
+public class JdbcAppenderWriterThreadTest {
+
+    private static final Set<String> CONNECTING_THREADS = ConcurrentHashMap.newKeySet();
+
+    public static Connection getConnection() throws SQLException {
+        CONNECTING_THREADS.add(Thread.currentThread().getName());
+        return JdbcH2TestHelper.getConnectionInMemory();
+    }
+
+    private final JdbcRule jdbcRule = new JdbcRule(
+            JdbcH2TestHelper.TEST_CONFIGURATION_SOURCE_MEM,
+            "CREATE TABLE wtLogEntry (id INTEGER GENERATED BY DEFAULT AS IDENTITY, "
+                    + "level VARCHAR(10), message VARCHAR(1024))",
+            "DROP TABLE IF EXISTS wtLogEntry");
+
+    private final LoggerContextRule loggerContextRule = new LoggerContextRule("JdbcAppenderWriterThreadTest.xml");
+
+    @Rule
+    public final RuleChain rules = RuleChainFactory.create(jdbcRule, loggerContextRule);
+
+    @Test
+    public void testEventsAreWrittenByWriterThread() throws Exception {
+        final int threadCount = 4;
+        final int messageCount = 23;
+        final Logger logger = LogManager.getLogger(getClass());
+        final Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < messageCount; i++) {
+                    logger.info("Thread {} message {}", thread, i);
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        try (final Connection connection = jdbcRule.getConnection()) {
+            // The last, incomplete buffer is handed off after the flush interval
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            int rowCount;
+            do {
+                rowCount = countRows(connection);
+            } while (rowCount < threadCount * messageCount && System.nanoTime() < deadline);
+            assertEquals(threadCount * messageCount, rowCount);
+
+            try (final Statement statement = connection.createStatement();
+                    final ResultSet resultSet = statement.executeQuery(
+                            "SELECT message FROM wtLogEntry WHERE message LIKE 'Thread 0 %' ORDER BY id")) {
+                for (int i = 0; i < messageCount; i++) {
+                    assertTrue(resultSet.next());
+                    assertEquals("Thread 0 message " + i, resultSet.getString("message"));
+                }
+                assertFalse(resultSet.next());
+            }
+        }
+
+        assertFalse(CONNECTING_THREADS.isEmpty());
+        for (final String threadName : CONNECTING_THREADS) {
+            assertTrue(
+                    threadName,
+                    threadName.contains("AbstractDatabaseManager-Writer-JdbcManager{name=databaseAppender"));
+        }
+    }
+
+    @Test
+    public void testWriterThreadFailuresAreReportedToLoggingThreads() throws Exception {
+        try (final Connection connection = jdbcRule.getConnection();
+                final Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE wtLogEntry");
+        }
+        final Logger logger = LogManager.getLogger(getClass());
+        final JdbcDatabaseManager manager = loggerContextRule
+                .getAppender("databaseAppender", JdbcAppender.class)
+                .getManager();
+
+        // A full buffer is handed to the writer thread, flush waits for it and reports the failure
+        for (int i = 0; i < 5; i++) {
+            logger.info("Message {}", i);
+        }
+        assertThrows(AppenderLoggingException.class, manager::flush);
+        // The failure is reported only once
+        manager.flush();
+
+        // The next log event reports the failure, which is thrown since ignoreExceptions is false
+        for (int i = 0; i < 5; i++) {
+            logger.info("Message {}", i);
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        AppenderLoggingException failure = null;
+        while (failure == null && System.nanoTime() < deadline) {
+            try {
+                logger.info("Probe");
+                Thread.sleep(10);
+            } catch (final AppenderLoggingException e) {
+                failure = e;
+            }
+        }
+        assertNotNull(failure);
+    }
+
+    private static int countRows(final Connection connection) throws SQLException {
+        try (final Statement statement = connection.createStatement();
+                final ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM wtLogEntry")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
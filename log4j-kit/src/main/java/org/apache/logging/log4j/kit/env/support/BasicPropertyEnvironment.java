@@ -16,13 +16,6 @@
  */
 package org.apache.logging.log4j.kit.env.support;
 
-import java.lang.reflect.AnnotatedElement;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Parameter;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.lang.reflect.TypeVariable;
-import java.lang.reflect.WildcardType;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
@@ -35,11 +28,11 @@ import java.time.Duration;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.util.IllformedLocaleException;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.TimeZone;
 import java.util.function.Function;
-import java.util.function.Supplier;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.kit.env.Log4jProperty;
@@ -69,7 +62,8 @@ public abstract class BasicPropertyEnvironment implements PropertyEnvironment {
             throw new IllegalArgumentException("Unsupported configuration properties class '" + propertyClass.getName()
                     + "': missing '@Log4jProperty' annotation.");
         }
-        return getRecordProperty(null, propertyClass);
+        final PropertyRecordBinder<T> binder = PropertyRecordBinder.forClass(propertyClass);
+        return getRecordProperty(binder.getName(), binder);
     }
 
     protected Class<?> getClassForName(final String className) throws ReflectiveOperationException {
@@ -193,141 +187,80 @@ public abstract class BasicPropertyEnvironment implements PropertyEnvironment {
         return null;
     }
 
-    private <T> T getRecordProperty(final @Nullable String parentPrefix, final Class<T> propertyClass) {
-        if (!propertyClass.isRecord()) {
-            throw new IllegalArgumentException("Unsupported configuration properties class '" + propertyClass.getName()
-                    + "': class is not a record.");
-        }
-        final String prefix =
-                parentPrefix != null ? parentPrefix : getPropertyName(propertyClass, propertyClass::getSimpleName);
-
-        @SuppressWarnings("unchecked")
-        final Constructor<T>[] constructors = (Constructor<T>[]) propertyClass.getDeclaredConstructors();
-        if (constructors.length == 0) {
-            throw new IllegalArgumentException("Unsupported configuration properties class '" + propertyClass.getName()
-                    + "': missing public constructor.");
-        } else if (constructors.length > 1) {
-            throw new IllegalArgumentException("Unsupported configuration properties class '" + propertyClass.getName()
-                    + "': more than one constructor found.");
-        }
-        final Constructor<T> constructor = constructors[0];
-
-        final Parameter[] parameters = constructor.getParameters();
-        final @Nullable Object[] initArgs = new Object[parameters.length];
+    private <T> T getRecordProperty(final String prefix, final PropertyRecordBinder<T> binder) {
+        final List<PropertyRecordBinder.Component> components = binder.getComponents();
+        final @Nullable Object[] initArgs = new Object[components.size()];
         for (int i = 0; i < initArgs.length; i++) {
-            final String name = prefix + "." + getPropertyName(parameters[i], parameters[i]::getName);
-            final String defaultValue = getPropertyDefaultAsString(parameters[i]);
-            initArgs[i] = getObjectProperty(name, parameters[i].getParameterizedType(), defaultValue);
-        }
-        try {
-            return constructor.newInstance(initArgs);
-        } catch (final ReflectiveOperationException e) {
-            throw new IllegalArgumentException(
-                    "Unable to parse configuration properties class " + propertyClass.getName() + ".", e);
+            final PropertyRecordBinder.Component component = components.get(i);
+            initArgs[i] = getObjectProperty(prefix + "." + component.name(), component);
         }
+        return binder.newInstance(initArgs);
     }
 
-    private @Nullable Object getObjectProperty(
-            final String name, final Type type, final @Nullable String defaultValue) {
-        if (type instanceof final ParameterizedType parameterizedType
-                && parameterizedType.getRawType().equals(Class.class)) {
-            final Type[] arguments = parameterizedType.getActualTypeArguments();
-            final Class<?> upperBound = arguments.length > 0 ? findUpperBound(arguments[0]) : Object.class;
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private @Nullable Object getObjectProperty(final String name, final PropertyRecordBinder.Component component) {
+        final Class<?> clazz = component.type();
+        final @Nullable String defaultValue = component.defaultValue();
+        if (Class.class.equals(clazz)) {
+            final Class<?> upperBound = component.upperBound();
             return getObjectPropertyWithStringDefault(name, defaultValue, className -> toClass(className, upperBound));
         }
-        if (type instanceof final Class<?> clazz) {
-            if (clazz.isRecord()) {
-                return getRecordProperty(name, clazz);
-            }
-            if (char[].class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toCharArray);
-            }
-            if (boolean.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(
-                        name, Objects.toString(defaultValue, "false"), this::toBoolean);
-            }
-            if (Boolean.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toBoolean);
-            }
-            if (Charset.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toCharset);
-            }
-            if (Duration.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toDuration);
-            }
-            if (Enum.class.isAssignableFrom(clazz)) {
-                return getObjectPropertyWithStringDefault(
-                        name, defaultValue, value -> toEnum(value, (Class<? extends Enum>) clazz));
-            }
-            if (int.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, Objects.toString(defaultValue, "0"), this::toInteger);
-            }
-            if (Integer.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toInteger);
-            }
-            if (Locale.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toLocale);
-            }
-            if (long.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, Objects.toString(defaultValue, "0"), this::toLong);
-            }
-            if (Long.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toLong);
-            }
-            if (Level.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toLevel);
-            }
-            if (Path.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toPath);
-            }
-            if (TimeZone.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toTimeZone);
-            }
-            if (URI.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toURI);
-            }
-            if (ZoneId.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, this::toZoneId);
-            }
-            if (String.class.equals(clazz)) {
-                return getObjectPropertyWithStringDefault(name, defaultValue, x -> x);
-            }
+        if (clazz.isRecord()) {
+            return getRecordProperty(name, PropertyRecordBinder.forClass(clazz));
         }
-        throw new IllegalArgumentException("Unsupported property of type '" + type.getTypeName() + "'");
-    }
-
-    private Class<?> findUpperBound(final Type type) {
-        final Type[] bounds;
-        if (type instanceof final TypeVariable<?> typeVariable) {
-            bounds = typeVariable.getBounds();
-        } else if (type instanceof final WildcardType wildcardType) {
-            bounds = wildcardType.getUpperBounds();
-        } else {
-            bounds = new Type[0];
-        }
-        return bounds.length > 0 && bounds[0] instanceof final Class<?> clazz ? clazz : Object.class;
-    }
-
-    private String getPropertyName(final AnnotatedElement element, final Supplier<String> fallback) {
-        if (element.isAnnotationPresent(Log4jProperty.class)) {
-            final String specifiedName =
-                    element.getAnnotation(Log4jProperty.class).name();
-            if (!specifiedName.isEmpty()) {
-                return specifiedName;
-            }
+        if (char[].class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toCharArray);
         }
-        return fallback.get();
-    }
-
-    private @Nullable String getPropertyDefaultAsString(final AnnotatedElement parameter) {
-        if (parameter.isAnnotationPresent(Log4jProperty.class)) {
-            final String defaultValue =
-                    parameter.getAnnotation(Log4jProperty.class).defaultValue();
-            if (!defaultValue.isEmpty()) {
-                return defaultValue;
-            }
+        if (boolean.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, Objects.toString(defaultValue, "false"), this::toBoolean);
         }
-        return null;
+        if (Boolean.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toBoolean);
+        }
+        if (Charset.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toCharset);
+        }
+        if (Duration.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toDuration);
+        }
+        if (Enum.class.isAssignableFrom(clazz)) {
+            return getObjectPropertyWithStringDefault(
+                    name, defaultValue, value -> toEnum(value, (Class<? extends Enum>) clazz));
+        }
+        if (int.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, Objects.toString(defaultValue, "0"), this::toInteger);
+        }
+        if (Integer.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toInteger);
+        }
+        if (Locale.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toLocale);
+        }
+        if (long.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, Objects.toString(defaultValue, "0"), this::toLong);
+        }
+        if (Long.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toLong);
+        }
+        if (Level.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toLevel);
+        }
+        if (Path.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toPath);
+        }
+        if (TimeZone.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toTimeZone);
+        }
+        if (URI.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toURI);
+        }
+        if (ZoneId.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, this::toZoneId);
+        }
+        if (String.class.equals(clazz)) {
+            return getObjectPropertyWithStringDefault(name, defaultValue, x -> x);
+        }
+        throw new IllegalArgumentException("Unsupported property of type '" + clazz.getTypeName() + "'");
     }
 
     private <T> @Nullable Object getObjectPropertyWithStringDefault(
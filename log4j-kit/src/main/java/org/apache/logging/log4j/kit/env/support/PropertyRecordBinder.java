@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.kit.env.support;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.kit.env.Log4jProperty;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Creates instances of a record that stores Log4j configuration properties.
+ * <p>
+ *     A binder describes the property name and type of each record component, so that the reflective inspection
+ *     of the record only happens once per class. Binders are generated at build time by the Log4j plugin annotation
+ *     processor for the records annotated with {@link Log4jProperty}; otherwise they are created using reflection.
+ * </p>
+ *
+ * @param <T> the type of the record
+ * @since 3.0.0
+ */
+public abstract class PropertyRecordBinder<T> {
+
+    private static final String CLASS_NAME_SUFFIX = "$$PropertyBinder";
+
+    private static final ClassValue<PropertyRecordBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected PropertyRecordBinder<?> computeValue(final Class<?> type) {
+            final PropertyRecordBinder<?> binder = loadGeneratedBinder(type);
+            return binder != null ? binder : new ReflectiveBinder<>(type);
+        }
+    };
+
+    /**
+     * A component of a properties record.
+     *
+     * @param name         the name of the property relative to the name of the record
+     * @param type         the type of the component
+     * @param upperBound   the upper bound of the class, if {@code type} is {@link Class}, otherwise {@code type}
+     * @param defaultValue the default value of the property if any
+     */
+    public record Component(String name, Class<?> type, Class<?> upperBound, @Nullable String defaultValue) {}
+
+    private final Class<T> recordClass;
+    private final String name;
+    private final List<Component> components;
+
+    /**
+     * @param recordClass the bound record
+     * @param name        the property name of the record, if used as root properties class
+     * @param components  the components of the canonical constructor in declaration order
+     */
+    protected PropertyRecordBinder(final Class<T> recordClass, final String name, final List<Component> components) {
+        this.recordClass = recordClass;
+        this.name = name;
+        this.components = List.copyOf(components);
+    }
+
+    public Class<T> getRecordClass() {
+        return recordClass;
+    }
+
+    /**
+     * Returns the property name of the record, if it is used as root properties class.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public List<Component> getComponents() {
+        return components;
+    }
+
+    /**
+     * Creates a new record instance.
+     *
+     * @param arguments the converted values of the {@linkplain #getComponents() components}
+     * @return a new record instance
+     * @throws IllegalArgumentException if the record cannot be created
+     */
+    public abstract T newInstance(final @Nullable Object[] arguments);
+
+    /**
+     * Returns the name of the generated binder class of a properties record.
+     *
+     * @param binaryName the {@linkplain Class#getName() binary name} of the record
+     * @return the binary name of the generated binder class
+     */
+    public static String getClassName(final String binaryName) {
+        return binaryName + CLASS_NAME_SUFFIX;
+    }
+
+    /**
+     * Returns the binder of a properties record.
+     *
+     * @param recordClass a record class
+     * @return a binder, which is cached per class
+     * @throws IllegalArgumentException if the class is not a supported record
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PropertyRecordBinder<T> forClass(final Class<T> recordClass) {
+        return (PropertyRecordBinder<T>) BINDERS.get(recordClass);
+    }
+
+    private static @Nullable PropertyRecordBinder<?> loadGeneratedBinder(final Class<?> type) {
+        if (!type.isRecord()) {
+            return null;
+        }
+        final Class<?> binderClass;
+        try {
+            binderClass = Class.forName(getClassName(type.getName()), false, type.getClassLoader());
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        try {
+            final Constructor<?> constructor = binderClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            final PropertyRecordBinder<?> binder = (PropertyRecordBinder<?>) constructor.newInstance();
+            return binder.getRecordClass() == type ? binder : null;
+        } catch (final ReflectiveOperationException | RuntimeException | LinkageError e) {
+            StatusLogger.getLogger()
+                    .debug("Unable to create generated property binder of {}; falling back to reflection", type, e);
+            return null;
+        }
+    }
+
+    private static final class ReflectiveBinder<T> extends PropertyRecordBinder<T> {
+
+        private final Constructor<T> constructor;
+
+        private ReflectiveBinder(final Class<T> recordClass) {
+            this(recordClass, getCanonicalConstructor(recordClass));
+        }
+
+        private ReflectiveBinder(final Class<T> recordClass, final Constructor<T> constructor) {
+            super(
+                    recordClass,
+                    getPropertyName(recordClass, recordClass.getSimpleName()),
+                    getComponents(constructor));
+            this.constructor = constructor;
+        }
+
+        @Override
+        public T newInstance(final @Nullable Object[] arguments) {
+            try {
+                return constructor.newInstance(arguments);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalArgumentException(
+                        "Unable to parse configuration properties class " + getRecordClass().getName() + ".", e);
+            }
+        }
+
+        private static <T> Constructor<T> getCanonicalConstructor(final Class<T> propertyClass) {
+            if (!propertyClass.isRecord()) {
+                throw new IllegalArgumentException("Unsupported configuration properties class '"
+                        + propertyClass.getName() + "': class is not a record.");
+            }
+            @SuppressWarnings("unchecked")
+            final Constructor<T>[] constructors = (Constructor<T>[]) propertyClass.getDeclaredConstructors();
+            if (constructors.length == 0) {
+                throw new IllegalArgumentException("Unsupported configuration properties class '"
+                        + propertyClass.getName() + "': missing public constructor.");
+            } else if (constructors.length > 1) {
+                throw new IllegalArgumentException("Unsupported configuration properties class '"
+                        + propertyClass.getName() + "': more than one constructor found.");
+            }
+            return constructors[0];
+        }
+
+        private static List<Component> getComponents(final Constructor<?> constructor) {
+            final Parameter[] parameters = constructor.getParameters();
+            final List<Component> components = new ArrayList<>(parameters.length);
+            for (final Parameter parameter : parameters) {
+                final Type type = parameter.getParameterizedType();
+                final Class<?> rawType;
+                final Class<?> upperBound;
+                if (type instanceof final ParameterizedType parameterizedType
+                        && parameterizedType.getRawType().equals(Class.class)) {
+                    final Type[] arguments = parameterizedType.getActualTypeArguments();
+                    rawType = Class.class;
+                    upperBound = arguments.length > 0 ? findUpperBound(arguments[0]) : Object.class;
+                } else if (type instanceof final Class<?> clazz) {
+                    rawType = clazz;
+                    upperBound = Class.class.equals(clazz) ? Object.class : clazz;
+                } else {
+                    throw new IllegalArgumentException("Unsupported property of type '" + type.getTypeName() + "'");
+                }
+                components.add(new Component(
+                        getPropertyName(parameter, parameter.getName()),
+                        rawType,
+                        upperBound,
+                        getPropertyDefaultAsString(parameter)));
+            }
+            return components;
+        }
+
+        private static Class<?> findUpperBound(final Type type) {
+            final Type[] bounds;
+            if (type instanceof final TypeVariable<?> typeVariable) {
+                bounds = typeVariable.getBounds();
+            } else if (type instanceof final WildcardType wildcardType) {
+                bounds = wildcardType.getUpperBounds();
+            } else {
+                bounds = new Type[0];
+            }
+            return bounds.length > 0 && bounds[0] instanceof final Class<?> clazz ? clazz : Object.class;
+        }
+
+        private static String getPropertyName(final AnnotatedElement element, final String fallback) {
+            if (element.isAnnotationPresent(Log4jProperty.class)) {
+                final String specifiedName =
+                        element.getAnnotation(Log4jProperty.class).name();
+                if (!specifiedName.isEmpty()) {
+                    return specifiedName;
+                }
+            }
+            return fallback;
+        }
+
+        private static @Nullable String getPropertyDefaultAsString(final AnnotatedElement parameter) {
+            if (parameter.isAnnotationPresent(Log4jProperty.class)) {
+                final String defaultValue =
+                        parameter.getAnnotation(Log4jProperty.class).defaultValue();
+                if (!defaultValue.isEmpty()) {
+                    return defaultValue;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.kit.env.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.kit.env.PropertyEnvironment;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An environment that binds each properties class only once.
+ * <p>
+ *     The bound properties records are immutable, so they are cached per class and shared by all callers until
+ *     {@link #reload()} is called. Single properties are always looked up in the underlying environment.
+ * </p>
+ */
+public class SnapshotPropertyEnvironment implements PropertyEnvironment {
+
+    private final PropertyEnvironment environment;
+    private volatile Map<Class<?>, Object> records = new ConcurrentHashMap<>();
+
+    public SnapshotPropertyEnvironment(final PropertyEnvironment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public @Nullable String getProperty(final String name) {
+        return environment.getProperty(name);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getProperty(final Class<T> propertyClass) {
+        final Map<Class<?>, Object> records = this.records;
+        final Object record = records.get(propertyClass);
+        if (record != null) {
+            return (T) record;
+        }
+        return (T) records.computeIfAbsent(propertyClass, environment::getProperty);
+    }
+
+    /**
+     * Discards the cached properties records, so that they are bound again on their next access.
+     */
+    public void reload() {
+        records = new ConcurrentHashMap<>();
+    }
+}
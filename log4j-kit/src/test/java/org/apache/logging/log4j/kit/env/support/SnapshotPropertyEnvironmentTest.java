@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.kit.env.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.logging.log4j.kit.env.Log4jProperty;
+import org.apache.logging.log4j.kit.env.TestPropertyEnvironment;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+class SnapshotPropertyEnvironmentTest {
+
+    @Log4jProperty(name = "Snapshot")
+    record SnapshotValues(@Nullable String value) {}
+
+    @Test
+    void binds_records_once_until_reload() {
+        final Map<String, String> props = new HashMap<>();
+        props.put("Snapshot.value", "first");
+        final SnapshotPropertyEnvironment environment =
+                new SnapshotPropertyEnvironment(new TestPropertyEnvironment(props));
+
+        final SnapshotValues first = environment.getProperty(SnapshotValues.class);
+        assertThat(first).isEqualTo(new SnapshotValues("first"));
+
+        props.put("Snapshot.value", "second");
+        assertThat(environment.getProperty("Snapshot.value")).isEqualTo("second");
+        assertThat(environment.getProperty(SnapshotValues.class)).isSameAs(first);
+
+        environment.reload();
+        assertThat(environment.getProperty(SnapshotValues.class)).isEqualTo(new SnapshotValues("second"));
+    }
+}
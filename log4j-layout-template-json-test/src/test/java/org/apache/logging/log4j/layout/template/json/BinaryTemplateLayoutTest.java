@@ -0,0 +1,501 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json;
+
+import static org.apache.logging.log4j.layout.template.json.TestHelpers.CONFIGURATION;
+import static org.apache.logging.log4j.layout.template.json.TestHelpers.writeJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.JdkMapAdapterStringMap;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.kit.json.JsonReader;
+import org.apache.logging.log4j.layout.template.json.util.BinaryJsonWriter;
+import org.apache.logging.log4j.layout.template.json.util.BinaryJsonWriter.Format;
+import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class BinaryTemplateLayoutTest {
+
+    private static final String[] JSON_TEXTS = {
+        "null",
+        "true",
+        "[]",
+        "{}",
+        "\"\"",
+        "[0, 1, -1, 23, 24, -24, -25, -32, -33, 127, 128, 255, 256, -128, -129, 65535, 65536, -32768, -32769]",
+        "[4294967295, 4294967296, -2147483648, -2147483649, 9223372036854775807, -9223372036854775808]",
+        "[0.5, -1.25, 0.0, 1e3, 1.5E-7, 3.141592653589793, 123456789012345678901234567890, 1e400]",
+        "{\"a\": {\"b\": [1, {\"c\": null}, []], \"d\": {}}, \"e\": \"f\"}",
+        "\"esc\\\"ap\\\\es\\b\\f\\n\\r\\t\\u00e9\\u20ac\\ud83d\\ude00\"",
+        "\"lone \\ud83d surrogate \\ude00\"",
+        "\"éèê € 中文 😀\""
+    };
+
+    private static final BiConsumer<StringBuilder, String> NUMBER_EMITTER = StringBuilder::append;
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void writer_should_preserve_the_json_value(final Format format) {
+        final BinaryJsonWriter writer = createWriter(format, 1_000);
+        final List<String> jsonTexts = new ArrayList<>(List.of(JSON_TEXTS));
+        jsonTexts.add(createLargeJson());
+        for (final String json : jsonTexts) {
+            final Object expected = normalize(JsonReader.read(json));
+
+            // Check `writeValue()`.
+            writer.writeValue(JsonReader.read(json));
+            assertThat(decode(format, writer.toByteArray()))
+                    .as("JSON: %s", json)
+                    .isEqualTo(expected);
+            writer.close();
+
+            // Check `writeRawString()`.
+            writer.writeRawString(json);
+            assertThat(decode(format, writer.toByteArray()))
+                    .as("JSON: %s", json)
+                    .isEqualTo(expected);
+            writer.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void writer_should_encode_numbers(final Format format) {
+        final BinaryJsonWriter writer = createWriter(format, 16);
+        writer.writeArrayStart();
+        writer.writeNumber(Double.NaN);
+        writer.writeSeparator();
+        writer.writeNumber(Double.POSITIVE_INFINITY);
+        writer.writeSeparator();
+        writer.writeNumber(Double.NEGATIVE_INFINITY);
+        writer.writeSeparator();
+        writer.writeNumber(0.1F);
+        writer.writeSeparator();
+        writer.writeNumber(1_700_000_000L, 123_000_000L);
+        writer.writeSeparator();
+        final String[] emittedNumbers = {"0", "-42", "1700000000.123", "-0.000001", "12345678901234567890", "1e-3"};
+        for (final String emittedNumber : emittedNumbers) {
+            writer.writeNumber(NUMBER_EMITTER, emittedNumber);
+            writer.writeSeparator();
+        }
+        writer.writeArrayEnd();
+        assertThat(decode(format, writer.toByteArray()))
+                .isEqualTo(List.of(
+                        Double.NaN,
+                        Double.POSITIVE_INFINITY,
+                        Double.NEGATIVE_INFINITY,
+                        0.1F,
+                        1_700_000_000.123D,
+                        0L,
+                        -42L,
+                        1_700_000_000.123D,
+                        -0.000001D,
+                        12345678901234567890D,
+                        0.001D));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void writer_should_truncate_strings(final Format format) {
+        final BinaryJsonWriter writer = createWriter(format, 3);
+        writer.writeArrayStart();
+        writer.writeString("abc");
+        writer.writeSeparator();
+        writer.writeString("abcdef");
+        writer.writeSeparator();
+        writer.writeString("ab😀");
+        writer.writeArrayEnd();
+        assertThat(decode(format, writer.toByteArray())).isEqualTo(List.of("abc", "abc…", "ab…"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void writer_should_replay_captured_fragments(final Format format) {
+        final BinaryJsonWriter writer = createWriter(format, 16);
+        final JsonWriter.Fragment keyFragment = writer.capture(() -> writer.writeObjectKey("key"));
+        final JsonWriter.Fragment valueFragment = writer.capture(() -> writer.writeString("value"));
+        final JsonWriter.Fragment arrayFragment = writer.capture(() -> writer.writeValue(List.of(1, 2)));
+        assertThat(writer.getLength()).isZero();
+        writer.writeObjectStart();
+        writer.writeFragment(keyFragment);
+        writer.writeFragment(valueFragment);
+        writer.writeSeparator();
+        writer.writeObjectKey("array");
+        writer.writeArrayStart();
+        writer.writeFragment(arrayFragment);
+        writer.writeSeparator();
+        writer.writeFragment(valueFragment);
+        writer.writeArrayEnd();
+        writer.writeObjectEnd();
+        final Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("key", "value");
+        expected.put("array", List.of(List.of(1L, 2L), "value"));
+        assertThat(decode(format, writer.toByteArray())).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void writer_should_roll_back_and_read_strings(final Format format) {
+        final BinaryJsonWriter writer = createWriter(format, 16);
+        writer.writeObjectStart();
+        writer.writeObjectKey("kept");
+        writer.writeNumber(1);
+        final int startIndex = writer.getLength();
+        writer.writeSeparator();
+        writer.writeObjectKey("discarded");
+        writer.writeArrayStart();
+        writer.writeString("x");
+        writer.writeArrayEnd();
+        writer.setLength(startIndex);
+        writer.writeSeparator();
+        writer.writeObjectKey("other");
+        final int valueStartIndex = writer.getLength();
+        writer.writeNumber(2);
+        assertThat(writer.readString(valueStartIndex)).isNull();
+        writer.setLength(valueStartIndex);
+        writer.writeString("é".repeat(40));
+        assertThat(writer.readString(valueStartIndex)).isEqualTo("é".repeat(16) + "…");
+        writer.setLength(valueStartIndex);
+        writer.writeBoolean(false);
+        writer.writeObjectEnd();
+        final Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("kept", 1L);
+        expected.put("other", false);
+        assertThat(decode(format, writer.toByteArray())).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void layout_should_match_json_template_layout(final Format format) {
+        final JsonTemplateLayout jsonTemplateLayout = JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setEventTemplateUri("classpath:EcsLayout.json")
+                .build();
+        assertLayoutMatches(format, jsonTemplateLayout);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void layout_should_match_json_template_layout_with_rollbacks_and_emitted_numbers(final Format format) {
+        final Map<String, Object> levelNameTemplate = Map.of("$resolver", "level", "field", "name");
+        final String eventTemplate = writeJson(Map.of(
+                "epochNanos", Map.of("$resolver", "timestamp", "epoch", Map.of("unit", "nanos")),
+                "epochSecs", Map.of("$resolver", "timestamp", "epoch", Map.of("unit", "secs")),
+                "severity", Map.of("$resolver", "level", "field", "severity", "severity", Map.of("field", "code")),
+                "level", Map.of("$resolver", "caseConverter", "case", "lower", "input", levelNameTemplate),
+                "mdc", Map.of("$resolver", "mdc", "flatten", true),
+                "constants", List.of(1, "two", Map.of("three", 3.5, "four", List.of())),
+                "message", Map.of("$resolver", "message", "stringified", true)));
+        final JsonTemplateLayout jsonTemplateLayout = JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setEventTemplate(eventTemplate)
+                .setMaxStringLength(8)
+                .build();
+        assertLayoutMatches(format, jsonTemplateLayout);
+    }
+
+    private static void assertLayoutMatches(final Format format, final JsonTemplateLayout jsonTemplateLayout) {
+        final BinaryTemplateLayout layout = BinaryTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setFormat(format)
+                .setJsonTemplateLayout(jsonTemplateLayout)
+                .build();
+        final JdkMapAdapterStringMap contextData = new JdkMapAdapterStringMap();
+        contextData.putValue("key", "value");
+        final LogEvent logEvent = Log4jLogEvent.newBuilder()
+                .setLoggerName("a.B")
+                .setLevel(Level.ERROR)
+                .setMessage(new SimpleMessage("Hello, \"World\"! 😀"))
+                .setContextData(contextData)
+                .setThrown(new IllegalStateException("failure"))
+                .setTimeMillis(1_700_000_000_123L)
+                .build();
+        final Object expected = normalize(JsonReader.read(jsonTemplateLayout.toSerializable(logEvent)));
+
+        // Check `toByteArray()`.
+        assertThat(decode(format, layout.toByteArray(logEvent))).isEqualTo(expected);
+
+        // Check `encode()`.
+        final CollectingByteBufferDestination destination = new CollectingByteBufferDestination();
+        layout.encode(logEvent, destination);
+        layout.encode(logEvent, destination);
+        final ByteBuffer encoded = ByteBuffer.wrap(destination.outputStream.toByteArray());
+        final Decoder decoder = new Decoder(format, encoded);
+        assertThat(decoder.read()).isEqualTo(expected);
+        assertThat(decoder.read()).isEqualTo(expected);
+        assertThat(encoded.hasRemaining()).isFalse();
+
+        assertThat(layout.getContentType())
+                .isEqualTo(format == Format.CBOR ? "application/cbor" : "application/msgpack");
+    }
+
+    private static String createLargeJson() {
+        final StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 70_000; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"k")
+                    .append(i)
+                    .append("\":[")
+                    .append(i)
+                    .append(",\"")
+                    .append("é".repeat(i % 300))
+                    .append("\"]");
+        }
+        return json.append('}').toString();
+    }
+
+    private static BinaryJsonWriter createWriter(final Format format, final int maxStringLength) {
+        return BinaryJsonWriter.newBinaryBuilder()
+                .setFormat(format)
+                .setMaxStringLength(maxStringLength)
+                .setTruncatedStringSuffix("…")
+                .setInitialBufferSize(1)
+                .setMaxRetainedBufferSize(64)
+                .build();
+    }
+
+    /**
+     * Normalizes the output of {@link JsonReader} to the types produced by {@link Decoder}.
+     */
+    private static Object normalize(final Object value) {
+        if (value instanceof Map) {
+            final Map<String, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, entryValue) -> map.put((String) normalize(key), normalize(entryValue)));
+            return map;
+        } else if (value instanceof List) {
+            final List<Object> list = new ArrayList<>();
+            ((List<?>) value).forEach(item -> list.add(normalize(item)));
+            return list;
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).doubleValue();
+        } else if (value instanceof Number) {
+            final BigDecimal number = new BigDecimal(value.toString());
+            try {
+                return number.longValueExact();
+            } catch (final ArithmeticException ignored) {
+                return number.doubleValue();
+            }
+        } else if (value instanceof String) {
+            // Unpaired surrogates are replaced with `?`, like the JDK encoder does.
+            return new String(((String) value).getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static Object decode(final Format format, final byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final Object value = new Decoder(format, buffer).read();
+        assertThat(buffer.hasRemaining()).isFalse();
+        return value;
+    }
+
+    /**
+     * A minimal CBOR and MessagePack decoder supporting the subset of types produced by {@link BinaryJsonWriter}.
+     */
+    private static final class Decoder {
+
+        private final Format format;
+
+        private final ByteBuffer buffer;
+
+        private Decoder(final Format format, final ByteBuffer buffer) {
+            this.format = format;
+            this.buffer = buffer;
+        }
+
+        private Object read() {
+            return format == Format.CBOR ? readCbor() : readMessagePack();
+        }
+
+        private Object readCbor() {
+            final int initialByte = buffer.get() & 0xFF;
+            final int majorType = initialByte >>> 5;
+            final int additionalInfo = initialByte & 0x1F;
+            if (majorType == 7) {
+                switch (additionalInfo) {
+                    case 20:
+                        return false;
+                    case 21:
+                        return true;
+                    case 22:
+                        return null;
+                    case 26:
+                        return buffer.getFloat();
+                    case 27:
+                        return buffer.getDouble();
+                    default:
+                        throw new IllegalStateException("unexpected simple value: " + additionalInfo);
+                }
+            }
+            final long argument;
+            if (additionalInfo < 24) {
+                argument = additionalInfo;
+            } else if (additionalInfo == 24) {
+                argument = buffer.get() & 0xFF;
+            } else if (additionalInfo == 25) {
+                argument = buffer.getShort() & 0xFFFF;
+            } else if (additionalInfo == 26) {
+                argument = buffer.getInt() & 0xFFFFFFFFL;
+            } else if (additionalInfo == 27) {
+                argument = buffer.getLong();
+            } else {
+                throw new IllegalStateException("unexpected additional info: " + additionalInfo);
+            }
+            switch (majorType) {
+                case 0:
+                    return argument;
+                case 1:
+                    return -1 - argument;
+                case 3:
+                    return readString((int) argument);
+                case 4:
+                    return readList((int) argument);
+                case 5:
+                    return readMap((int) argument);
+                default:
+                    throw new IllegalStateException("unexpected major type: " + majorType);
+            }
+        }
+
+        private Object readMessagePack() {
+            final int type = buffer.get() & 0xFF;
+            if (type < 0x80) {
+                return (long) type;
+            } else if (type < 0x90) {
+                return readMap(type & 0x0F);
+            } else if (type < 0xA0) {
+                return readList(type & 0x0F);
+            } else if (type < 0xC0) {
+                return readString(type & 0x1F);
+            } else if (type >= 0xE0) {
+                return (long) (byte) type;
+            }
+            switch (type) {
+                case 0xC0:
+                    return null;
+                case 0xC2:
+                    return false;
+                case 0xC3:
+                    return true;
+                case 0xCA:
+                    return buffer.getFloat();
+                case 0xCB:
+                    return buffer.getDouble();
+                case 0xCC:
+                    return (long) (buffer.get() & 0xFF);
+                case 0xCD:
+                    return (long) (buffer.getShort() & 0xFFFF);
+                case 0xCE:
+                    return buffer.getInt() & 0xFFFFFFFFL;
+                case 0xCF:
+                    return buffer.getLong();
+                case 0xD0:
+                    return (long) buffer.get();
+                case 0xD1:
+                    return (long) buffer.getShort();
+                case 0xD2:
+                    return (long) buffer.getInt();
+                case 0xD3:
+                    return buffer.getLong();
+                case 0xD9:
+                    return readString(buffer.get() & 0xFF);
+                case 0xDA:
+                    return readString(buffer.getShort() & 0xFFFF);
+                case 0xDB:
+                    return readString(buffer.getInt());
+                case 0xDC:
+                    return readList(buffer.getShort() & 0xFFFF);
+                case 0xDD:
+                    return readList(buffer.getInt());
+                case 0xDE:
+                    return readMap(buffer.getShort() & 0xFFFF);
+                case 0xDF:
+                    return readMap(buffer.getInt());
+                default:
+                    throw new IllegalStateException("unexpected type: " + type);
+            }
+        }
+
+        private String readString(final int byteCount) {
+            final byte[] bytes = new byte[byteCount];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private List<Object> readList(final int size) {
+            final List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(read());
+            }
+            return list;
+        }
+
+        private Map<String, Object> readMap(final int size) {
+            final Map<String, Object> map = new LinkedHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                final String key = (String) read();
+                map.put(key, read());
+            }
+            return map;
+        }
+    }
+
+    private static final class CollectingByteBufferDestination implements ByteBufferDestination {
+
+        private final ByteBuffer byteBuffer = ByteBuffer.allocate(0);
+
+        private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return byteBuffer;
+        }
+
+        @Override
+        public ByteBuffer drain(final ByteBuffer buf) {
+            return buf;
+        }
+
+        @Override
+        public void writeBytes(final ByteBuffer data) {
+            while (data.hasRemaining()) {
+                outputStream.write(data.get());
+            }
+        }
+
+        @Override
+        public void writeBytes(final byte[] data, final int offset, final int length) {
+            outputStream.write(data, offset, length);
+        }
+    }
+}
@@ -38,6 +38,7 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
@@ -1103,6 +1104,73 @@ class JsonTemplateLayoutTest {
         }
     }
 
+    @Test
+    void test_custom_resolver_using_StringBuilder() {
+
+        // Create the event template.
+        final String eventTemplate = writeJson(asMap("customField", asMap("$resolver", "customStringBuilder")));
+
+        // Create the layout using the UTF-8 charset, which custom resolvers must not prevent.
+        final JsonTemplateLayout layout = JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setEventTemplate(eventTemplate)
+                .setCharset(StandardCharsets.UTF_8)
+                .build();
+
+        // Create the log event.
+        final SimpleMessage message = new SimpleMessage("foo");
+        final LogEvent logEvent = Log4jLogEvent.newBuilder()
+                .setLoggerName(LOGGER_NAME)
+                .setMessage(message)
+                .build();
+
+        // Check the serialized log event.
+        usingSerializedLogEventAccessor(layout, logEvent, accessor -> assertThat(accessor.getString("customField"))
+                .isEqualTo("CustomValue-foo"));
+        assertThat(layout.toByteArray(logEvent))
+                .asString(StandardCharsets.UTF_8)
+                .isEqualTo(layout.toSerializable(logEvent));
+    }
+
+    private static final class CustomStringBuilderResolver implements EventResolver {
+
+        private CustomStringBuilderResolver() {}
+
+        @Override
+        public void resolve(final LogEvent logEvent, final JsonWriter jsonWriter) {
+            jsonWriter
+                    .getStringBuilder()
+                    .append("\"CustomValue-")
+                    .append(logEvent.getMessage().getFormattedMessage())
+                    .append('"');
+        }
+    }
+
+    @Namespace(TemplateResolverFactory.CATEGORY)
+    @Plugin("CustomStringBuilderResolverFactory")
+    public static final class CustomStringBuilderResolverFactory implements EventResolverFactory {
+
+        private static final CustomStringBuilderResolverFactory INSTANCE = new CustomStringBuilderResolverFactory();
+
+        private CustomStringBuilderResolverFactory() {}
+
+        @PluginFactory
+        public static CustomStringBuilderResolverFactory getInstance() {
+            return INSTANCE;
+        }
+
+        @Override
+        public String getName() {
+            return "customStringBuilder";
+        }
+
+        @Override
+        public TemplateResolver<LogEvent> create(
+                final EventResolverContext context, final TemplateResolverConfig config) {
+            return new CustomStringBuilderResolver();
+        }
+    }
+
     @Test
     void test_null_eventDelimiter() {
 
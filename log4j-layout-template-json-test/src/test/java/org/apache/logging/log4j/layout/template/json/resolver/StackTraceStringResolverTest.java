@@ -614,6 +614,58 @@ class StackTraceStringResolverTest {
                 .contains(NonAsciiUtf8MethodNameContainingException.NON_ASCII_UTF8_TEXT));
     }
 
+    @Test
+    void repeated_stack_traces_should_be_deduplicated() {
+
+        // Create the event template.
+        final String eventTemplate = writeJson(asMap(
+                "ex_stacktrace",
+                asMap(
+                        "$resolver",
+                        "exception",
+                        "field",
+                        "stackTrace",
+                        "stackTrace",
+                        asMap("stringified", true, "deduplication", asMap("windowSeconds", 10)))));
+
+        // Create the layout.
+        final JsonTemplateLayout layout = JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setStackTraceEnabled(true)
+                .setEventTemplate(eventTemplate)
+                .build();
+
+        // Check the first occurrence.
+        final Throwable exception = exception1();
+        final LogEvent firstLogEvent = Log4jLogEvent.newBuilder()
+                .setThrown(exception)
+                .setTimeMillis(1_000L)
+                .build();
+        final String fingerprintRegex = "[0-9a-f]{16}";
+        usingSerializedLogEventAccessor(layout, firstLogEvent, accessor -> assertThat(
+                        accessor.getString("ex_stacktrace"))
+                .matches(EXCEPTION_REGEX_FLAGS + exception1Regex(false) + "\\[fingerprint: " + fingerprintRegex + "]"));
+
+        // Check a repetition within the window.
+        final LogEvent secondLogEvent = Log4jLogEvent.newBuilder()
+                .setThrown(exception)
+                .setTimeMillis(2_000L)
+                .build();
+        usingSerializedLogEventAccessor(layout, secondLogEvent, accessor -> assertThat(
+                        accessor.getString("ex_stacktrace"))
+                .matches("java.lang.ArithmeticException: Division by zero \\[fingerprint: " + fingerprintRegex
+                        + ", repetition: 2]"));
+
+        // Check an occurrence after the window.
+        final LogEvent thirdLogEvent = Log4jLogEvent.newBuilder()
+                .setThrown(exception)
+                .setTimeMillis(12_000L)
+                .build();
+        usingSerializedLogEventAccessor(layout, thirdLogEvent, accessor -> assertThat(
+                        accessor.getString("ex_stacktrace"))
+                .matches(EXCEPTION_REGEX_FLAGS + exception1Regex(false) + "\\[fingerprint: " + fingerprintRegex + "]"));
+    }
+
     private static final class NonAsciiUtf8MethodNameContainingException extends RuntimeException {
 
         public static final long serialVersionUID = 0;
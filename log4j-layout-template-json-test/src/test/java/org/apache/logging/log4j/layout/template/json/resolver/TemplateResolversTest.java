@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.resolver;
+
+import static org.apache.logging.log4j.layout.template.json.TestHelpers.CONFIGURATION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.JdkMapAdapterStringMap;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout;
+import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout.EventTemplateAdditionalField;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+class TemplateResolversTest {
+
+    private static final String MIXED_TEMPLATE = "{"
+            + "\"version\": \"1.1\","
+            + "\"constants\": {\"a\": 1, \"b\": [true, null, \"x\\\"y\"], \"c\": {\"d\": 2.5}, \"e\": {}, \"f\": []},"
+            + "\"message\": {\"$resolver\": \"message\", \"stringified\": true},"
+            + "\"k1\": \"v1\","
+            + "\"k2\": false,"
+            + "\"mdc\": {\"$resolver\": \"mdc\", \"flatten\": true},"
+            + "\"k3\": [1, {\"$resolver\": \"level\", \"field\": \"name\"}],"
+            + "\"exception\": {\"$resolver\": \"exception\", \"field\": \"className\"},"
+            + "\"nested\": {\"k4\": \"v4\", \"logger\": {\"$resolver\": \"logger\", \"field\": \"name\"}, \"k5\": 5}"
+            + "}";
+
+    private static final EventTemplateAdditionalField[] ADDITIONAL_FIELDS = {
+        EventTemplateAdditionalField.newBuilder()
+                .setKey("service.name")
+                .setValue("test")
+                .build(),
+        EventTemplateAdditionalField.newBuilder()
+                .setKey("labels")
+                .setValue("{\"team\": \"logging\"}")
+                .setFormat(EventTemplateAdditionalField.Format.JSON)
+                .build()
+    };
+
+    @Test
+    void constant_folding_should_not_change_the_output() {
+        final JsonTemplateLayout foldingLayout = createLayout(MIXED_TEMPLATE, true);
+        final JsonTemplateLayout nonFoldingLayout = createLayout(MIXED_TEMPLATE, false);
+        for (final LogEvent logEvent : createLogEvents()) {
+            final String expectedJson = nonFoldingLayout.toSerializable(logEvent);
+            assertThat(foldingLayout.toSerializable(logEvent)).isEqualTo(expectedJson);
+        }
+    }
+
+    @Test
+    void constant_template_should_be_rendered_as_is() {
+        final String eventTemplate = "{\"a\": 1, \"b\": {\"c\": [true, null, \"x\"], \"d\": {}}, \"e\": \"\\u00e9\"}";
+        final JsonTemplateLayout layout = createLayout(eventTemplate, true);
+        final LogEvent logEvent = createLogEvents().get(0);
+        assertThat(layout.toSerializable(logEvent))
+                .isEqualTo("{\"a\":1,\"b\":{\"c\":[true,null,\"x\"]},\"e\":\"é\","
+                        + "\"service.name\":\"test\",\"labels\":{\"team\":\"logging\"}}");
+    }
+
+    private static JsonTemplateLayout createLayout(final String eventTemplate, final boolean constantFoldingEnabled) {
+        return JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setEventTemplate(eventTemplate)
+                .setEventTemplateAdditionalFields(ADDITIONAL_FIELDS)
+                .setEventDelimiter("")
+                .setConstantFoldingEnabled(constantFoldingEnabled)
+                .build();
+    }
+
+    private static List<LogEvent> createLogEvents() {
+        final LogEvent liteLogEvent = Log4jLogEvent.newBuilder()
+                .setLoggerName("a.B")
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("Hello, World!"))
+                .build();
+        final JdkMapAdapterStringMap contextData = new JdkMapAdapterStringMap();
+        contextData.putValue("key1", "value1");
+        contextData.putValue("key2", "value2");
+        final LogEvent fullLogEvent = Log4jLogEvent.newBuilder()
+                .setLoggerName("a.B")
+                .setLevel(Level.ERROR)
+                .setMessage(new SimpleMessage("Hello, \"World\"!"))
+                .setContextData(contextData)
+                .setThrown(new IllegalStateException("failure"))
+                .build();
+        return Arrays.asList(liteLogEvent, fullLogEvent);
+    }
+}
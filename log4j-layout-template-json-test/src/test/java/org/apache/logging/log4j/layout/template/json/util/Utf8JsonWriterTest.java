@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class Utf8JsonWriterTest {
+
+    private static final int MAX_STRING_LENGTH = 64;
+
+    private static JsonWriter.Builder newBuilder() {
+        return JsonWriter.newBuilder().setMaxStringLength(MAX_STRING_LENGTH).setTruncatedStringSuffix("…\"~");
+    }
+
+    static Stream<String> texts() {
+        final Random random = new Random(0);
+        final StringBuilder randomText = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            randomText.append((char) random.nextInt(Character.MAX_VALUE + 1));
+        }
+        final String emoji = new String(Character.toChars(0x1F600));
+        return Stream.of(
+                "",
+                "Hello, \"World\"!",
+                "\\ \b \f \n \r \t \u0000 \u001F \u007F /",
+                "éèê € 中文",
+                emoji + "emoji",
+                // Unpaired surrogates
+                "a\ud83dz",
+                "a\ude00z",
+                "trailing\ud83d",
+                // Truncated after and within a surrogate pair
+                "x".repeat(MAX_STRING_LENGTH - 2) + emoji + "y",
+                "x".repeat(MAX_STRING_LENGTH - 1) + emoji + "y",
+                "é".repeat(3 * MAX_STRING_LENGTH),
+                randomText.toString());
+    }
+
+    /**
+     * Verifies that the UTF-8 writer emits the UTF-8 encoding of the output of the {@link StringJsonWriter}.
+     */
+    private static void assertSameOutput(final Consumer<JsonWriter> writes) {
+        try (final JsonWriter stringWriter = newBuilder().build();
+                final Utf8JsonWriter utf8Writer = newBuilder().buildUtf8()) {
+            writes.accept(stringWriter);
+            writes.accept(utf8Writer);
+            final String expectedJson = stringWriter.getStringBuilder().toString();
+            assertThat(utf8Writer.toByteArray()).isEqualTo(expectedJson.getBytes(StandardCharsets.UTF_8));
+            assertThat(utf8Writer.toJsonString())
+                    .isEqualTo(new String(utf8Writer.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("texts")
+    void writeString_should_match_encoded_StringJsonWriter(final String text) {
+        assertSameOutput(writer -> writer.writeString(text));
+        assertSameOutput(writer -> writer.writeString(text.toCharArray()));
+        assertSameOutput(writer -> writer.writeString(new StringBuilder(text)));
+        assertSameOutput(writer -> writer.writeObjectKey(text));
+        assertSameOutput(writer -> writer.writeString((builder, state) -> builder.append(state), text));
+    }
+
+    @ParameterizedTest
+    @MethodSource("texts")
+    void writeRawString_should_match_encoded_StringJsonWriter(final String text) {
+        assertSameOutput(writer -> writer.writeRawString(text));
+        assertSameOutput(writer -> writer.writeRawString(text.toCharArray()));
+    }
+
+    @Test
+    void writeNumber_should_match_encoded_StringJsonWriter() {
+        for (final long number : new long[] {0, 1, -1, 9, 10, -10, 123_456_789, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertSameOutput(writer -> writer.writeNumber(number));
+            assertSameOutput(writer -> writer.writeNumber((int) number));
+            assertSameOutput(writer -> writer.writeNumber((short) number));
+            assertSameOutput(writer -> writer.writeNumber(number, Math.abs(number / 7)));
+            assertSameOutput(writer -> writer.writeNumber((builder, state) -> builder.append(state), number));
+        }
+        for (final double number : new double[] {0D, -0D, 0.1, -1.5e-300, 1e300, Double.NaN, Math.PI}) {
+            assertSameOutput(writer -> writer.writeNumber(number));
+            assertSameOutput(writer -> writer.writeNumber((float) number));
+        }
+        assertSameOutput(writer -> writer.writeNumber(new BigDecimal("-123.456e-7")));
+        assertSameOutput(writer -> writer.writeNumber(BigInteger.TEN.pow(30)));
+    }
+
+    @Test
+    void writeValue_should_match_encoded_StringJsonWriter() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("string", "é\n" + new String(Character.toChars(0x1F600)));
+        map.put("numbers", Arrays.asList(1, -2L, 3.5D, 4.5F, new BigDecimal("6.7")));
+        map.put("booleans", new boolean[] {true, false});
+        map.put("chars", new char[] {'a', '"', 'é'});
+        map.put("null", null);
+        map.put("nested", List.of(Map.of("key", "value"), new Object[] {null, "x".repeat(2 * MAX_STRING_LENGTH)}));
+        assertSameOutput(writer -> writer.writeValue(map));
+    }
+
+    @Test
+    void capture_should_encode_fragments_once() {
+        try (final Utf8JsonWriter writer = newBuilder().buildUtf8()) {
+            writer.writeArrayStart();
+            final JsonWriter.Fragment fragment = writer.capture(() -> {
+                writer.writeObjectKey("ключ");
+                writer.writeString("значение");
+            });
+            assertThat(writer.getLength()).isEqualTo(1);
+            assertThat(fragment.bytes).isEqualTo("\"ключ\":\"значение\"".getBytes(StandardCharsets.UTF_8));
+            assertThat(fragment).hasToString("\"ключ\":\"значение\"");
+            writer.writeFragment(fragment);
+            final Utf8JsonWriter clone = writer.clone();
+            clone.writeArrayEnd();
+            assertThat(clone.toJsonString()).isEqualTo("[\"ключ\":\"значение\"]");
+        }
+    }
+
+    @Test
+    void use_readString_and_setLength_should_work_on_bytes() {
+        try (final Utf8JsonWriter writer = newBuilder().buildUtf8()) {
+            writer.writeArrayStart();
+            assertThat(writer.use(() -> writer.writeString("é\t"))).isEqualTo("\"é\\t\"");
+            final int startIndex = writer.getLength();
+            writer.writeString("é\t");
+            assertThat(writer.readString(startIndex)).isEqualTo("é\t");
+            writer.setLength(startIndex);
+            writer.writeNumber(1);
+            assertThat(writer.readString(startIndex)).isNull();
+            assertThat(writer.describeOutput(0)).isEqualTo("[1");
+        }
+    }
+
+    @Test
+    void close_should_reset_the_output() {
+        try (final Utf8JsonWriter writer = newBuilder().buildUtf8()) {
+            writer.writeString("x".repeat(10 * MAX_STRING_LENGTH), 0, 10 * MAX_STRING_LENGTH);
+            writer.writeRawString("x".repeat(10 * MAX_STRING_LENGTH));
+            writer.close();
+            assertThat(writer.getLength()).isZero();
+            writer.writeNull();
+            assertThat(writer.toJsonString()).isEqualTo("null");
+        }
+    }
+}
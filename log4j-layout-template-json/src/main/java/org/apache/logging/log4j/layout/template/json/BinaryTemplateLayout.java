@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.kit.recycler.Recycler;
+import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolver;
+import org.apache.logging.log4j.layout.template.json.util.BinaryJsonWriter;
+import org.apache.logging.log4j.plugins.Configurable;
+import org.apache.logging.log4j.plugins.Factory;
+import org.apache.logging.log4j.plugins.Plugin;
+import org.apache.logging.log4j.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.plugins.PluginElement;
+
+/**
+ * A binary sibling of {@link JsonTemplateLayout} emitting CBOR or MessagePack.
+ * <p>
+ * The event template of the nested {@link JsonTemplateLayout} is compiled against a {@link BinaryJsonWriter}, hence
+ * all its templates, resolvers and attributes are available, and resolvers emit the binary format directly without an
+ * intermediate JSON rendering.
+ * </p>
+ */
+@Configurable(elementType = Layout.ELEMENT_TYPE)
+@Plugin
+public final class BinaryTemplateLayout implements Layout {
+
+    private static final Map<String, String> CONTENT_FORMAT = Collections.singletonMap("version", "1");
+
+    private final JsonTemplateLayout jsonTemplateLayout;
+
+    private final BinaryJsonWriter.Format format;
+
+    private final String contentType;
+
+    private final TemplateResolver<LogEvent> eventResolver;
+
+    private final Recycler<BinaryJsonWriter> jsonWriterRecycler;
+
+    private BinaryTemplateLayout(final Builder builder) {
+        this.jsonTemplateLayout = builder.jsonTemplateLayout;
+        this.format = builder.format;
+        this.contentType = format == BinaryJsonWriter.Format.CBOR ? "application/cbor" : "application/msgpack";
+        final BinaryJsonWriter jsonWriter = BinaryJsonWriter.newBinaryBuilder()
+                .setFormat(format)
+                .setMaxStringLength(jsonTemplateLayout.getMaxStringLength())
+                .setTruncatedStringSuffix(jsonTemplateLayout.getTruncatedStringSuffix())
+                .setInitialBufferSize(builder.initialBufferSize)
+                .setMaxRetainedBufferSize(builder.maxRetainedBufferSize)
+                .build();
+        this.eventResolver = jsonTemplateLayout.createEventResolver(jsonWriter);
+        this.jsonWriterRecycler =
+                builder.configuration.getRecyclerFactory().create(jsonWriter::clone, BinaryJsonWriter::close);
+    }
+
+    public BinaryJsonWriter.Format getFormat() {
+        return format;
+    }
+
+    @Override
+    public void encode(final LogEvent event, final ByteBufferDestination destination) {
+        final Recycler<BinaryJsonWriter> jsonWriterRecycler = this.jsonWriterRecycler;
+        final BinaryJsonWriter jsonWriter = jsonWriterRecycler.acquire();
+        try {
+            eventResolver.resolve(event, jsonWriter);
+            jsonWriter.writeTo(destination);
+        } finally {
+            jsonWriterRecycler.release(jsonWriter);
+        }
+    }
+
+    @Override
+    public byte[] toByteArray(final LogEvent event) {
+        final Recycler<BinaryJsonWriter> jsonWriterRecycler = this.jsonWriterRecycler;
+        final BinaryJsonWriter jsonWriter = jsonWriterRecycler.acquire();
+        try {
+            eventResolver.resolve(event, jsonWriter);
+            return jsonWriter.toByteArray();
+        } finally {
+            jsonWriterRecycler.release(jsonWriter);
+        }
+    }
+
+    /**
+     * Returns the JSON equivalent of the binary output, which is mostly useful for debugging purposes.
+     */
+    @Override
+    public String toSerializable(final LogEvent event) {
+        return jsonTemplateLayout.toSerializable(event);
+    }
+
+    @Override
+    public byte[] getFooter() {
+        return null;
+    }
+
+    @Override
+    public byte[] getHeader() {
+        return null;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public Map<String, String> getContentFormat() {
+        return CONTENT_FORMAT;
+    }
+
+    @Override
+    public boolean requiresLocation() {
+        return jsonTemplateLayout.requiresLocation();
+    }
+
+    @Factory
+    @SuppressWarnings("WeakerAccess")
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public static final class Builder implements org.apache.logging.log4j.plugins.util.Builder<BinaryTemplateLayout> {
+
+        @PluginConfiguration
+        private Configuration configuration;
+
+        @PluginBuilderAttribute
+        private BinaryJsonWriter.Format format = BinaryJsonWriter.Format.MESSAGE_PACK;
+
+        @PluginBuilderAttribute
+        private int initialBufferSize = 1024;
+
+        @PluginBuilderAttribute
+        private int maxRetainedBufferSize = 16 * 1024;
+
+        @PluginElement("JsonTemplateLayout")
+        private JsonTemplateLayout jsonTemplateLayout;
+
+        private Builder() {
+            // Do nothing.
+        }
+
+        public Configuration getConfiguration() {
+            return configuration;
+        }
+
+        public Builder setConfiguration(final Configuration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        public BinaryJsonWriter.Format getFormat() {
+            return format;
+        }
+
+        public Builder setFormat(final BinaryJsonWriter.Format format) {
+            this.format = format;
+            return this;
+        }
+
+        public int getInitialBufferSize() {
+            return initialBufferSize;
+        }
+
+        public Builder setInitialBufferSize(final int initialBufferSize) {
+            this.initialBufferSize = initialBufferSize;
+            return this;
+        }
+
+        public int getMaxRetainedBufferSize() {
+            return maxRetainedBufferSize;
+        }
+
+        public Builder setMaxRetainedBufferSize(final int maxRetainedBufferSize) {
+            this.maxRetainedBufferSize = maxRetainedBufferSize;
+            return this;
+        }
+
+        public JsonTemplateLayout getJsonTemplateLayout() {
+            return jsonTemplateLayout;
+        }
+
+        public Builder setJsonTemplateLayout(final JsonTemplateLayout jsonTemplateLayout) {
+            this.jsonTemplateLayout = jsonTemplateLayout;
+            return this;
+        }
+
+        @Override
+        public BinaryTemplateLayout build() {
+            applyDefaults();
+            validate();
+            return new BinaryTemplateLayout(this);
+        }
+
+        private void applyDefaults() {
+            Objects.requireNonNull(configuration, "configuration");
+            if (jsonTemplateLayout == null) {
+                jsonTemplateLayout = JsonTemplateLayout.newBuilder()
+                        .setConfiguration(configuration)
+                        .build();
+            }
+        }
+
+        private void validate() {
+            Objects.requireNonNull(format, "format");
+            if (initialBufferSize <= 0) {
+                throw new IllegalArgumentException(
+                        "was expecting a non-zero positive initialBufferSize: " + initialBufferSize);
+            }
+            if (maxRetainedBufferSize < initialBufferSize) {
+                throw new IllegalArgumentException(
+                        "was expecting maxRetainedBufferSize to be at least initialBufferSize: "
+                                + maxRetainedBufferSize);
+            }
+        }
+    }
+}
@@ -17,11 +17,13 @@
 package org.apache.logging.log4j.layout.template.json;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -39,9 +41,11 @@ import org.apache.logging.log4j.layout.template.json.resolver.EventResolverFacto
 import org.apache.logging.log4j.layout.template.json.resolver.EventResolverInterceptor;
 import org.apache.logging.log4j.layout.template.json.resolver.EventResolverStringSubstitutor;
 import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolver;
+import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolverConfig;
 import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolvers;
 import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
 import org.apache.logging.log4j.layout.template.json.util.Uris;
+import org.apache.logging.log4j.layout.template.json.util.Utf8JsonWriter;
 import org.apache.logging.log4j.plugins.Configurable;
 import org.apache.logging.log4j.plugins.Factory;
 import org.apache.logging.log4j.plugins.Namespace;
@@ -61,20 +65,40 @@ public class JsonTemplateLayout implements StringLayout {
 
     private final String contentType;
 
+    private final int maxStringLength;
+
+    private final String truncatedStringSuffix;
+
+    private final Function<JsonWriter, TemplateResolver<LogEvent>> eventResolverFactory;
+
     private final TemplateResolver<LogEvent> eventResolver;
 
     private final String eventDelimiter;
 
+    private final JsonWriter.Fragment eventDelimiterFragment;
+
+    private final boolean utf8JsonWriterUsed;
+
     private final Recycler<Context> contextRecycler;
 
     private static final class Context implements AutoCloseable {
 
         final JsonWriter jsonWriter;
 
+        // Set if the writer emits UTF-8 bytes, which need no encoder
+        final Utf8JsonWriter utf8JsonWriter;
+
         final Encoder<StringBuilder> encoder;
 
+        private Context(final Utf8JsonWriter utf8JsonWriter) {
+            this.jsonWriter = utf8JsonWriter;
+            this.utf8JsonWriter = utf8JsonWriter;
+            this.encoder = null;
+        }
+
         private Context(final JsonWriter jsonWriter, final Encoder<StringBuilder> encoder) {
             this.jsonWriter = jsonWriter;
+            this.utf8JsonWriter = null;
             this.encoder = encoder;
         }
 
@@ -89,20 +113,39 @@ public class JsonTemplateLayout implements StringLayout {
         this.contentType = "application/json; charset=" + charset;
         final String eventDelimiterSuffix = builder.getNullEventDelimiterEnabled() ? "\0" : "";
         this.eventDelimiter = builder.eventDelimiter + eventDelimiterSuffix;
+        this.maxStringLength = builder.maxStringLength;
+        this.truncatedStringSuffix = builder.truncatedStringSuffix;
         final Configuration configuration = builder.configuration;
-        final JsonWriter jsonWriter = JsonWriter.newBuilder()
-                .setMaxStringLength(builder.maxStringLength)
-                .setTruncatedStringSuffix(builder.truncatedStringSuffix)
-                .build();
-        this.eventResolver = createEventResolver(builder, configuration, charset, jsonWriter);
+        final JsonWriter.Builder jsonWriterBuilder = JsonWriter.newBuilder()
+                .setMaxStringLength(maxStringLength)
+                .setTruncatedStringSuffix(truncatedStringSuffix);
+        final AtomicBoolean customResolverUsed = new AtomicBoolean();
+        this.eventResolverFactory = createEventResolverFactory(builder, configuration, charset, customResolverUsed);
+        // Template keys and literals are captured as UTF-8 bytes too, hence UTF-8 output needs no encoding step.
+        // Custom resolvers might call `JsonWriter#getStringBuilder()`, which is not supported by the UTF-8 writer.
+        JsonWriter jsonWriter = null;
+        TemplateResolver<LogEvent> eventResolver = null;
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            jsonWriter = jsonWriterBuilder.buildUtf8();
+            eventResolver = eventResolverFactory.apply(jsonWriter);
+        }
+        if (jsonWriter == null || customResolverUsed.get()) {
+            jsonWriter = jsonWriterBuilder.build();
+            eventResolver = eventResolverFactory.apply(jsonWriter);
+        }
+        final JsonWriter eventDelimiterWriter = jsonWriter;
+        this.eventDelimiterFragment =
+                eventDelimiterWriter.capture(() -> eventDelimiterWriter.writeRawString(eventDelimiter));
+        this.eventResolver = eventResolver;
+        this.utf8JsonWriterUsed = jsonWriter instanceof Utf8JsonWriter;
         this.contextRecycler = createContextRecycler(builder, jsonWriter);
     }
 
-    private TemplateResolver<LogEvent> createEventResolver(
+    private static Function<JsonWriter, TemplateResolver<LogEvent>> createEventResolverFactory(
             final Builder builder,
             final Configuration configuration,
             final Charset charset,
-            final JsonWriter jsonWriter) {
+            final AtomicBoolean customResolverUsed) {
 
         // Inject resolver factory and interceptor plugins.
         final List<EventResolverFactory> resolverFactories =
@@ -118,6 +161,7 @@ public class JsonTemplateLayout implements StringLayout {
                             throw new IllegalArgumentException(message);
                         },
                         LinkedHashMap::new));
+        resolverFactoryByName.replaceAll((name, factory) -> trackCustomResolverFactory(factory, customResolverUsed));
         final List<EventResolverInterceptor> resolverInterceptors =
                 configuration.getComponent(new @Namespace(EventResolverInterceptor.CATEGORY) Key<>() {});
         final EventResolverStringSubstitutor substitutor =
@@ -138,25 +182,61 @@ public class JsonTemplateLayout implements StringLayout {
                         ? builder.eventTemplateAdditionalFields
                         : new EventTemplateAdditionalField[0];
 
-        // Create the resolver context.
-        final EventResolverContext resolverContext = EventResolverContext.newBuilder()
-                .setConfiguration(configuration)
-                .setResolverFactoryByName(resolverFactoryByName)
-                .setResolverInterceptors(resolverInterceptors)
-                .setSubstitutor(substitutor)
-                .setCharset(charset)
-                .setJsonWriter(jsonWriter)
-                .setMaxStringByteCount(maxStringByteCount)
-                .setTruncatedStringSuffix(builder.truncatedStringSuffix)
-                .setLocationInfoEnabled(builder.locationInfoEnabled)
-                .setStackTraceEnabled(builder.stackTraceEnabled)
-                .setStackTraceElementTemplate(stackTraceElementTemplate)
-                .setEventTemplateRootObjectKey(builder.eventTemplateRootObjectKey)
-                .setEventTemplateAdditionalFields(eventTemplateAdditionalFields)
-                .build();
-
-        // Compile the resolver template.
-        return TemplateResolvers.ofTemplate(resolverContext, eventTemplate);
+        // Capture the builder state, since the builder can be modified after building the layout.
+        final String truncatedStringSuffix = builder.truncatedStringSuffix;
+        final boolean locationInfoEnabled = builder.locationInfoEnabled;
+        final boolean stackTraceEnabled = builder.stackTraceEnabled;
+        final String eventTemplateRootObjectKey = builder.eventTemplateRootObjectKey;
+        final boolean constantFoldingEnabled = builder.constantFoldingEnabled;
+
+        return (final JsonWriter jsonWriter) -> {
+
+            // Create the resolver context.
+            final EventResolverContext resolverContext = EventResolverContext.newBuilder()
+                    .setConfiguration(configuration)
+                    .setResolverFactoryByName(resolverFactoryByName)
+                    .setResolverInterceptors(resolverInterceptors)
+                    .setSubstitutor(substitutor)
+                    .setCharset(charset)
+                    .setJsonWriter(jsonWriter)
+                    .setMaxStringByteCount(maxStringByteCount)
+                    .setTruncatedStringSuffix(truncatedStringSuffix)
+                    .setLocationInfoEnabled(locationInfoEnabled)
+                    .setStackTraceEnabled(stackTraceEnabled)
+                    .setStackTraceElementTemplate(stackTraceElementTemplate)
+                    .setEventTemplateRootObjectKey(eventTemplateRootObjectKey)
+                    .setEventTemplateAdditionalFields(eventTemplateAdditionalFields)
+                    .setConstantFoldingEnabled(constantFoldingEnabled)
+                    .build();
+
+            // Compile the resolver template.
+            return TemplateResolvers.ofTemplate(resolverContext, eventTemplate);
+        };
+    }
+
+    /**
+     * Wraps the given factory, unless it is a built-in one, to flag the creation of custom resolvers.
+     */
+    private static EventResolverFactory trackCustomResolverFactory(
+            final EventResolverFactory factory, final AtomicBoolean customResolverUsed) {
+        final String builtInPackageName = EventResolverFactory.class.getPackageName();
+        if (builtInPackageName.equals(factory.getClass().getPackageName())) {
+            return factory;
+        }
+        return new EventResolverFactory() {
+
+            @Override
+            public String getName() {
+                return factory.getName();
+            }
+
+            @Override
+            public TemplateResolver<LogEvent> create(
+                    final EventResolverContext context, final TemplateResolverConfig config) {
+                customResolverUsed.set(true);
+                return factory.create(context, config);
+            }
+        };
     }
 
     private static String readEventTemplate(final Builder builder) {
@@ -179,6 +259,9 @@ public class JsonTemplateLayout implements StringLayout {
     private static Supplier<Context> createContextSupplier(final Charset charset, final JsonWriter jsonWriter) {
         return () -> {
             final JsonWriter clonedJsonWriter = jsonWriter.clone();
+            if (clonedJsonWriter instanceof Utf8JsonWriter) {
+                return new Context((Utf8JsonWriter) clonedJsonWriter);
+            }
             final Encoder<StringBuilder> encoder = new StringBuilderEncoder(charset);
             return new Context(clonedJsonWriter, encoder);
         };
@@ -186,6 +269,21 @@ public class JsonTemplateLayout implements StringLayout {
 
     @Override
     public byte[] toByteArray(final LogEvent event) {
+
+        // Copy the UTF-8 output, if available.
+        if (utf8JsonWriterUsed) {
+            final Recycler<Context> contextRecycler = this.contextRecycler;
+            final Context context = contextRecycler.acquire();
+            final Utf8JsonWriter jsonWriter = context.utf8JsonWriter;
+            try {
+                eventResolver.resolve(event, jsonWriter);
+                jsonWriter.writeFragment(eventDelimiterFragment);
+                return jsonWriter.toByteArray();
+            } finally {
+                contextRecycler.release(context);
+            }
+        }
+
         final String eventJson = toSerializable(event);
         if (eventJson != null) {
             return eventJson.getBytes(charset != null ? charset : Charset.defaultCharset());
@@ -200,13 +298,14 @@ public class JsonTemplateLayout implements StringLayout {
         final Recycler<Context> contextRecycler = this.contextRecycler;
         final Context context = contextRecycler.acquire();
         final JsonWriter jsonWriter = context.jsonWriter;
-        final StringBuilder stringBuilder = jsonWriter.getStringBuilder();
 
         // Render the JSON.
         try {
             eventResolver.resolve(event, jsonWriter);
-            stringBuilder.append(eventDelimiter);
-            return stringBuilder.toString();
+            jsonWriter.writeFragment(eventDelimiterFragment);
+            return context.utf8JsonWriter != null
+                    ? context.utf8JsonWriter.toJsonString()
+                    : jsonWriter.getStringBuilder().toString();
         }
 
         // Release the context.
@@ -222,14 +321,16 @@ public class JsonTemplateLayout implements StringLayout {
         final Recycler<Context> contextRecycler = this.contextRecycler;
         final Context context = contextRecycler.acquire();
         final JsonWriter jsonWriter = context.jsonWriter;
-        final StringBuilder stringBuilder = jsonWriter.getStringBuilder();
-        final Encoder<StringBuilder> encoder = context.encoder;
 
         // Render & write the JSON.
         try {
             eventResolver.resolve(event, jsonWriter);
-            stringBuilder.append(eventDelimiter);
-            encoder.encode(stringBuilder, destination);
+            jsonWriter.writeFragment(eventDelimiterFragment);
+            if (context.utf8JsonWriter != null) {
+                context.utf8JsonWriter.writeTo(destination);
+            } else {
+                context.encoder.encode(jsonWriter.getStringBuilder(), destination);
+            }
         }
 
         // Release the context.
@@ -238,6 +339,25 @@ public class JsonTemplateLayout implements StringLayout {
         }
     }
 
+    /**
+     * Compiles the event template of this layout for the given writer.
+     * <p>
+     * Constant parts of the template are rendered using the given writer, hence the returned resolver can only be
+     * used with it and its clones.
+     * </p>
+     */
+    TemplateResolver<LogEvent> createEventResolver(final JsonWriter jsonWriter) {
+        return eventResolverFactory.apply(jsonWriter);
+    }
+
+    int getMaxStringLength() {
+        return maxStringLength;
+    }
+
+    String getTruncatedStringSuffix() {
+        return truncatedStringSuffix;
+    }
+
     @Override
     public byte[] getFooter() {
         return null;
@@ -314,6 +434,9 @@ public class JsonTemplateLayout implements StringLayout {
         @PluginBuilderAttribute
         private String truncatedStringSuffix;
 
+        @PluginBuilderAttribute
+        private Boolean constantFoldingEnabled;
+
         private Builder() {
             // Do nothing.
         }
@@ -445,6 +568,15 @@ public class JsonTemplateLayout implements StringLayout {
             return this;
         }
 
+        public Boolean getConstantFoldingEnabled() {
+            return constantFoldingEnabled;
+        }
+
+        public Builder setConstantFoldingEnabled(final Boolean constantFoldingEnabled) {
+            this.constantFoldingEnabled = constantFoldingEnabled;
+            return this;
+        }
+
         @Override
         public JsonTemplateLayout build() {
             applyDefaults();
@@ -492,6 +624,9 @@ public class JsonTemplateLayout implements StringLayout {
             if (truncatedStringSuffix == null) {
                 truncatedStringSuffix = props.truncatedStringSuffix();
             }
+            if (constantFoldingEnabled == null) {
+                constantFoldingEnabled = props.constantFoldingEnabled();
+            }
         }
 
         private void validate() {
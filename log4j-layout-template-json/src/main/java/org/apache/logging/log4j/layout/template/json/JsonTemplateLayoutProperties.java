@@ -43,7 +43,8 @@ public record JsonTemplateLayoutProperties(
         @Nullable String eventDelimiter,
         boolean nullEventDelimiterEnabled,
         @Log4jProperty(defaultValue = "16384") int maxStringLength,
-        @Log4jProperty(defaultValue = "…") String truncatedStringSuffix) {
+        @Log4jProperty(defaultValue = "…") String truncatedStringSuffix,
+        @Log4jProperty(defaultValue = "true") boolean constantFoldingEnabled) {
 
     private static final int DEFAULT_MAX_STRING_LENGTH = 16384;
 
@@ -19,7 +19,6 @@ package org.apache.logging.log4j.layout.template.json.resolver;
 import java.util.Locale;
 import java.util.function.Function;
 import org.apache.logging.log4j.core.LogEvent;
-import org.apache.logging.log4j.kit.json.JsonReader;
 import org.apache.logging.log4j.layout.template.json.JsonTemplateLayoutProperties;
 import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
 
@@ -236,14 +235,14 @@ public final class CaseConverterResolver implements EventResolver {
 
     @Override
     public void resolve(final LogEvent logEvent, final JsonWriter jsonWriter) {
-        final int startIndex = jsonWriter.getStringBuilder().length();
+        final int startIndex = jsonWriter.getLength();
         inputResolver.resolve(logEvent, jsonWriter);
         convertCase(logEvent, jsonWriter, startIndex);
     }
 
     @Override
     public void resolve(final LogEvent logEvent, final JsonWriter jsonWriter, final boolean succeedingEntry) {
-        final int startIndex = jsonWriter.getStringBuilder().length();
+        final int startIndex = jsonWriter.getLength();
         inputResolver.resolve(logEvent, jsonWriter, succeedingEntry);
         convertCase(logEvent, jsonWriter, startIndex);
     }
@@ -251,24 +250,19 @@ public final class CaseConverterResolver implements EventResolver {
     private void convertCase(final LogEvent logEvent, final JsonWriter jsonWriter, final int startIndex) {
 
         // If the last emitted JSON token was a string, convert it.
-        final StringBuilder jsonWriterStringBuilder = jsonWriter.getStringBuilder();
-        final int endIndex = jsonWriterStringBuilder.length();
-        final boolean stringTyped = (startIndex + 1) < endIndex
-                && jsonWriterStringBuilder.charAt(startIndex) == '"'
-                && jsonWriterStringBuilder.charAt(endIndex - 1) == '"';
-        if (stringTyped) {
-            final String json = jsonWriterStringBuilder.substring(startIndex, endIndex);
-            convertCase(logEvent, jsonWriter, startIndex, json);
+        final String string = jsonWriter.readString(startIndex);
+        if (string != null) {
+            convertCase(logEvent, jsonWriter, startIndex, string);
         }
 
         // Otherwise, see what we can do.
         else if (ErrorHandlingStrategy.FAIL.equals(errorHandlingStrategy)) {
-            final String json = jsonWriterStringBuilder.substring(startIndex, endIndex);
-            throw new RuntimeException("was expecting a string value, found: " + json);
+            final String output = jsonWriter.describeOutput(startIndex);
+            throw new RuntimeException("was expecting a string value, found: " + output);
         } else if (ErrorHandlingStrategy.PASS.equals(errorHandlingStrategy)) {
             // Do nothing.
         } else if (ErrorHandlingStrategy.REPLACE.equals(errorHandlingStrategy)) {
-            jsonWriterStringBuilder.setLength(startIndex);
+            jsonWriter.setLength(startIndex);
             replacementResolver.resolve(logEvent, jsonWriter);
         } else {
             throw new AssertionError("should not have reached here");
@@ -276,9 +270,7 @@ public final class CaseConverterResolver implements EventResolver {
     }
 
     private void convertCase(
-            final LogEvent logEvent, final JsonWriter jsonWriter, final int startIndex, final String json) {
-        final StringBuilder jsonWriterStringBuilder = jsonWriter.getStringBuilder();
-        final String string = (String) JsonReader.read(json);
+            final LogEvent logEvent, final JsonWriter jsonWriter, final int startIndex, final String string) {
         final String convertedString;
         try {
             convertedString = converter.apply(string);
@@ -288,13 +280,13 @@ public final class CaseConverterResolver implements EventResolver {
             } else if (ErrorHandlingStrategy.PASS.equals(errorHandlingStrategy)) {
                 return;
             } else if (ErrorHandlingStrategy.REPLACE.equals(errorHandlingStrategy)) {
-                jsonWriterStringBuilder.setLength(startIndex);
+                jsonWriter.setLength(startIndex);
                 replacementResolver.resolve(logEvent, jsonWriter);
                 return;
             }
             throw new AssertionError("should not have reached here");
         }
-        jsonWriterStringBuilder.setLength(startIndex);
+        jsonWriter.setLength(startIndex);
         jsonWriter.writeString(convertedString);
     }
 }
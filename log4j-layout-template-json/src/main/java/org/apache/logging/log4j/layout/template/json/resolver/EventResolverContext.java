@@ -61,6 +61,8 @@ public final class EventResolverContext implements TemplateResolverContext<LogEv
 
     private final EventTemplateAdditionalField[] eventTemplateAdditionalFields;
 
+    private final boolean constantFoldingEnabled;
+
     private EventResolverContext(final Builder builder) {
         this.configuration = builder.configuration;
         this.resolverFactoryByName = builder.resolverFactoryByName;
@@ -75,6 +77,7 @@ public final class EventResolverContext implements TemplateResolverContext<LogEv
         this.stackTraceElementTemplate = builder.stackTraceElementTemplate;
         this.eventTemplateRootObjectKey = builder.eventTemplateRootObjectKey;
         this.eventTemplateAdditionalFields = builder.eventTemplateAdditionalFields;
+        this.constantFoldingEnabled = builder.constantFoldingEnabled;
     }
 
     @Override
@@ -139,6 +142,11 @@ public final class EventResolverContext implements TemplateResolverContext<LogEv
         return eventTemplateRootObjectKey;
     }
 
+    @Override
+    public boolean isConstantFoldingEnabled() {
+        return constantFoldingEnabled;
+    }
+
     public EventTemplateAdditionalField[] getEventTemplateAdditionalFields() {
         return eventTemplateAdditionalFields;
     }
@@ -175,6 +183,8 @@ public final class EventResolverContext implements TemplateResolverContext<LogEv
 
         private EventTemplateAdditionalField[] eventTemplateAdditionalFields;
 
+        private boolean constantFoldingEnabled = true;
+
         private Builder() {
             // Do nothing.
         }
@@ -245,6 +255,11 @@ public final class EventResolverContext implements TemplateResolverContext<LogEv
             return this;
         }
 
+        public Builder setConstantFoldingEnabled(final boolean constantFoldingEnabled) {
+            this.constantFoldingEnabled = constantFoldingEnabled;
+            return this;
+        }
+
         public EventResolverContext build() {
             validate();
             return new EventResolverContext(this);
@@ -17,12 +17,16 @@
 package org.apache.logging.log4j.layout.template.json.resolver;
 
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.util.ThrowableDeduplicator;
+import org.apache.logging.log4j.kit.recycler.Recycler;
 import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout;
 import org.apache.logging.log4j.layout.template.json.JsonTemplateLayoutProperties;
 import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
@@ -45,6 +49,7 @@ import org.apache.logging.log4j.status.StatusLogger;
  * stackTrace          = "stackTrace" -> (
  *                         [ stringified ]
  *                       , [ elementTemplate ]
+ *                       , [ deduplication ]
  *                       )
  *
  * stringified         = "stringified" -> ( boolean | truncation )
@@ -58,6 +63,9 @@ import org.apache.logging.log4j.status.StatusLogger;
  * pointMatcherRegexes = "pointMatcherRegexes" -> string[]
  *
  * elementTemplate     = "elementTemplate" -> object
+ *
+ * deduplication       = "deduplication" -> ( boolean | window )
+ * window              = "windowSeconds" -> number
  * </pre>
  *
  * <tt>stringified</tt> is set to <tt>false</tt> by default.
@@ -99,6 +107,16 @@ import org.apache.logging.log4j.status.StatusLogger;
  * <p>
  * See {@link StackTraceElementResolver}
  * for the list of available resolvers in a stack trace element template.
+ * <p>
+ * <tt>deduplication</tt> renders a stringified stack trace in full only the
+ * first time it occurs within a window of <tt>windowSeconds</tt> seconds
+ * (60 by default) and appends its fingerprint, e.g.,
+ * <tt>[fingerprint: 0123456789abcdef]</tt>. Repeated stack traces within the
+ * window are replaced with the exception class name, message, fingerprint and
+ * repetition count, e.g., <tt>java.lang.IllegalStateException: message
+ * [fingerprint: 0123456789abcdef, repetition: 2]</tt>. The fingerprint covers
+ * the stack trace elements of the causal chain, but not the messages.
+ * Deduplication requires <tt>stringified</tt> stack traces.
  *
  * <h3>Examples</h3>
  *
@@ -150,6 +168,22 @@ import org.apache.logging.log4j.status.StatusLogger;
  * }
  * </pre>
  *
+ * Resolve the stack trace into a string field, rendering repeated stack traces
+ * only once every 5 minutes:
+ *
+ * <pre>
+ *  {
+ *   "$resolver": "exception",
+ *   "field": "stackTrace",
+ *   "stackTrace": {
+ *     "stringified": true,
+ *     "deduplication": {
+ *       "windowSeconds": 300
+ *     }
+ *   }
+ * }
+ * </pre>
+ *
  * Resolve the stack trace into an object described by the provided stack trace
  * element template:
  *
@@ -195,6 +229,8 @@ public class ExceptionResolver implements EventResolver {
 
     private static final EventResolver NULL_RESOLVER = (ignored, jsonGenerator) -> jsonGenerator.writeNull();
 
+    private static final int DEFAULT_DEDUPLICATION_WINDOW_SECONDS = 60;
+
     private final boolean stackTraceEnabled;
 
     private final EventResolver internalResolver;
@@ -246,6 +282,10 @@ public class ExceptionResolver implements EventResolver {
             return NULL_RESOLVER;
         }
         final boolean stringified = isStackTraceStringified(config);
+        if (!stringified && readDeduplicationWindowSeconds(config) > 0) {
+            throw new IllegalArgumentException(
+                    "stack trace deduplication requires stringified stack traces: " + config);
+        }
         return stringified
                 ? createStackTraceStringResolver(context, config)
                 : createStackTraceObjectResolver(context, config);
@@ -276,10 +316,40 @@ public class ExceptionResolver implements EventResolver {
         final List<String> truncationPointMatcherStrings = readTruncationPointMatcherStrings(config);
         final List<String> truncationPointMatcherRegexes = readTruncationPointMatcherRegexes(config);
 
+        final int deduplicationWindowSeconds = readDeduplicationWindowSeconds(config);
+
         // Create the resolver.
         final StackTraceStringResolver resolver = new StackTraceStringResolver(
                 context, truncationSuffix, truncationPointMatcherStrings, truncationPointMatcherRegexes);
 
+        // Create the deduplicating resolver, if requested.
+        if (deduplicationWindowSeconds > 0) {
+            final ThrowableDeduplicator deduplicator = new ThrowableDeduplicator(deduplicationWindowSeconds * 1000L);
+            final Recycler<Set<Throwable>> visitedThrowablesRecycler = context.getConfiguration()
+                    .getRecyclerFactory()
+                    .create(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
+            return (final LogEvent logEvent, final JsonWriter jsonWriter) -> {
+                final Throwable exception = extractThrowable(logEvent);
+                if (exception == null) {
+                    jsonWriter.writeNull();
+                    return;
+                }
+                final Set<Throwable> visitedThrowables = visitedThrowablesRecycler.acquire();
+                final long fingerprint;
+                try {
+                    fingerprint = ThrowableDeduplicator.fingerprint(exception, visitedThrowables);
+                } finally {
+                    visitedThrowablesRecycler.release(visitedThrowables);
+                }
+                final long repetition = deduplicator.register(fingerprint, logEvent.getTimeMillis());
+                if (repetition == 1) {
+                    resolver.resolve(exception, fingerprint, jsonWriter);
+                } else {
+                    resolver.resolveSummary(exception, fingerprint, repetition, jsonWriter);
+                }
+            };
+        }
+
         // Create the null-protected resolver.
         return (final LogEvent logEvent, final JsonWriter jsonWriter) -> {
             final Throwable exception = extractThrowable(logEvent);
@@ -291,6 +361,25 @@ public class ExceptionResolver implements EventResolver {
         };
     }
 
+    private static int readDeduplicationWindowSeconds(final TemplateResolverConfig config) {
+        final Object deduplication = config.getObject(new String[] {"stackTrace", "deduplication"});
+        if (deduplication == null || Boolean.FALSE.equals(deduplication)) {
+            return 0;
+        }
+        if (Boolean.TRUE.equals(deduplication)) {
+            return DEFAULT_DEDUPLICATION_WINDOW_SECONDS;
+        }
+        final Integer windowSeconds = config.getInteger(new String[] {"stackTrace", "deduplication", "windowSeconds"});
+        if (windowSeconds == null) {
+            return DEFAULT_DEDUPLICATION_WINDOW_SECONDS;
+        }
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException(
+                    "was expecting a positive deduplication window, found: " + windowSeconds);
+        }
+        return windowSeconds;
+    }
+
     private static String readTruncationSuffix(
             final EventResolverContext context, final TemplateResolverConfig config) {
         final String suffix = config.getString(new String[] {"stackTrace", "stringified", "truncation", "suffix"});
@@ -376,8 +465,13 @@ public class ExceptionResolver implements EventResolver {
         // First, check the template configured in the resolver configuration.
         final Object stackTraceElementTemplateObject = config.getObject(new String[] {"stackTrace", "elementTemplate"});
         if (stackTraceElementTemplateObject != null) {
-            final JsonWriter jsonWriter = context.getJsonWriter();
-            return jsonWriter.use(() -> jsonWriter.writeValue(stackTraceElementTemplateObject));
+            final JsonWriter contextJsonWriter = context.getJsonWriter();
+            try (final JsonWriter jsonWriter = JsonWriter.newBuilder()
+                    .setMaxStringLength(contextJsonWriter.getMaxStringLength())
+                    .setTruncatedStringSuffix(contextJsonWriter.getTruncatedStringSuffix())
+                    .build()) {
+                return jsonWriter.use(() -> jsonWriter.writeValue(stackTraceElementTemplateObject));
+            }
         }
 
         // Otherwise, use the template provided in the context.
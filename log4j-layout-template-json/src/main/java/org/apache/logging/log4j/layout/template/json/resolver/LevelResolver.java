@@ -73,33 +73,33 @@ import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
  */
 public final class LevelResolver implements EventResolver {
 
-    private static final String[] SEVERITY_CODE_RESOLUTION_BY_STANDARD_LEVEL_ORDINAL;
+    private static final int[] SEVERITY_CODE_BY_STANDARD_LEVEL_ORDINAL;
 
     static {
         final int levelCount = Level.values().length;
-        final String[] severityCodeResolutionByStandardLevelOrdinal = new String[levelCount + 1];
+        final int[] severityCodeByStandardLevelOrdinal = new int[levelCount + 1];
+        Arrays.fill(severityCodeByStandardLevelOrdinal, -1);
         for (final Level level : Level.values()) {
             final int standardLevelOrdinal = level.getStandardLevel().ordinal();
             final int severityCode = Severity.getSeverity(level).getCode();
-            severityCodeResolutionByStandardLevelOrdinal[standardLevelOrdinal] = String.valueOf(severityCode);
+            severityCodeByStandardLevelOrdinal[standardLevelOrdinal] = severityCode;
         }
-        SEVERITY_CODE_RESOLUTION_BY_STANDARD_LEVEL_ORDINAL = severityCodeResolutionByStandardLevelOrdinal;
+        SEVERITY_CODE_BY_STANDARD_LEVEL_ORDINAL = severityCodeByStandardLevelOrdinal;
     }
 
     private static final EventResolver SEVERITY_CODE_RESOLVER =
             (final LogEvent logEvent, final JsonWriter jsonWriter) -> {
                 final Level level = logEvent.getLevel();
                 final int standardLevelOrdinal = level.getStandardLevel().ordinal();
-                final String severityCodeResolution =
-                        SEVERITY_CODE_RESOLUTION_BY_STANDARD_LEVEL_ORDINAL[standardLevelOrdinal];
-                if (severityCodeResolution != null) {
-                    jsonWriter.writeRawString(severityCodeResolution);
+                final int severityCode = SEVERITY_CODE_BY_STANDARD_LEVEL_ORDINAL[standardLevelOrdinal];
+                if (severityCode >= 0) {
+                    jsonWriter.writeNumber(severityCode);
                 }
                 // `Level.values()` can change at runtime and cause a lookup miss.
                 // When that happens, fallback to the slow path:
                 else {
-                    final int severityCode = Severity.getSeverity(level).getCode();
-                    jsonWriter.writeNumber(severityCode);
+                    final int slowSeverityCode = Severity.getSeverity(level).getCode();
+                    jsonWriter.writeNumber(slowSeverityCode);
                 }
             };
 
@@ -128,18 +128,18 @@ public final class LevelResolver implements EventResolver {
     }
 
     private static EventResolver createNameResolver(final JsonWriter contextJsonWriter) {
-        final Map<Level, String> resolutionByLevel = Arrays.stream(Level.values())
+        final Map<Level, JsonWriter.Fragment> resolutionByLevel = Arrays.stream(Level.values())
                 .collect(Collectors.toMap(
                         Function.identity(),
-                        (final Level level) -> contextJsonWriter.use(() -> {
+                        (final Level level) -> contextJsonWriter.capture(() -> {
                             final String name = level.name();
                             contextJsonWriter.writeString(name);
                         })));
         return (final LogEvent logEvent, final JsonWriter jsonWriter) -> {
             final Level level = logEvent.getLevel();
-            final String resolution = resolutionByLevel.get(level);
+            final JsonWriter.Fragment resolution = resolutionByLevel.get(level);
             if (resolution != null) {
-                jsonWriter.writeRawString(resolution);
+                jsonWriter.writeFragment(resolution);
             }
             // `Level.values()` can change at runtime and cause a lookup miss.
             // When that happens, fallback to the slow path:
@@ -151,19 +151,19 @@ public final class LevelResolver implements EventResolver {
     }
 
     private static EventResolver createSeverityKeywordResolver(final JsonWriter contextJsonWriter) {
-        final Map<Level, String> resolutionByLevel = Arrays.stream(Level.values())
+        final Map<Level, JsonWriter.Fragment> resolutionByLevel = Arrays.stream(Level.values())
                 .collect(Collectors.toMap(
                         Function.identity(),
-                        (final Level level) -> contextJsonWriter.use(() -> {
+                        (final Level level) -> contextJsonWriter.capture(() -> {
                             final String severityKeyword =
                                     Severity.getSeverity(level).name();
                             contextJsonWriter.writeString(severityKeyword);
                         })));
         return (final LogEvent logEvent, final JsonWriter jsonWriter) -> {
             final Level level = logEvent.getLevel();
-            String resolution = resolutionByLevel.get(level);
+            final JsonWriter.Fragment resolution = resolutionByLevel.get(level);
             if (resolution != null) {
-                jsonWriter.writeRawString(resolution);
+                jsonWriter.writeFragment(resolution);
             }
             // `Level.values()` can change at runtime and cause a lookup miss.
             // When that happens, fallback to the slow path:
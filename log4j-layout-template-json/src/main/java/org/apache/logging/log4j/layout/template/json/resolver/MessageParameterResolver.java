@@ -157,14 +157,13 @@ public final class MessageParameterResolver implements EventResolver {
             if (arrayNeeded) {
                 jsonWriter.writeArrayStart();
             }
-            final StringBuilder buf = jsonWriter.getStringBuilder();
-            final int startIndex = buf.length();
+            final int startIndex = jsonWriter.getLength();
             parameterConsumerState.resolver = this;
             parameterConsumerState.jsonWriter = jsonWriter;
             parameterVisitable.forEachParameter(PARAMETER_CONSUMER, parameterConsumerState);
             if (arrayNeeded) {
                 jsonWriter.writeArrayEnd();
-            } else if (startIndex == buf.length()) {
+            } else if (startIndex == jsonWriter.getLength()) {
                 // Handle the case in which index was not present in the event.
                 jsonWriter.writeNull();
             }
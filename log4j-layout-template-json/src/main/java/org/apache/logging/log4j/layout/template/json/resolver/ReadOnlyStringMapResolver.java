@@ -306,8 +306,7 @@ class ReadOnlyStringMapResolver implements EventResolver {
                 }
                 final LoopContext loopContext = loopContextRecycler.acquire();
                 loopContext.jsonWriter = jsonWriter;
-                loopContext.initJsonWriterStringBuilderLength =
-                        jsonWriter.getStringBuilder().length();
+                loopContext.initJsonWriterLength = jsonWriter.getLength();
                 loopContext.succeedingEntry = flatten && succeedingEntry;
                 try {
                     map.forEach(LoopMethod.INSTANCE, loopContext);
@@ -335,7 +334,7 @@ class ReadOnlyStringMapResolver implements EventResolver {
 
         private JsonWriter jsonWriter;
 
-        private int initJsonWriterStringBuilderLength;
+        private int initJsonWriterLength;
 
         private boolean succeedingEntry;
     }
@@ -352,8 +351,7 @@ class ReadOnlyStringMapResolver implements EventResolver {
                         ? matcher.replaceAll(loopContext.replacement)
                         : key;
                 final boolean succeedingEntry = loopContext.succeedingEntry
-                        || loopContext.initJsonWriterStringBuilderLength
-                                < loopContext.jsonWriter.getStringBuilder().length();
+                        || loopContext.initJsonWriterLength < loopContext.jsonWriter.getLength();
                 if (succeedingEntry) {
                     loopContext.jsonWriter.writeSeparator();
                 }
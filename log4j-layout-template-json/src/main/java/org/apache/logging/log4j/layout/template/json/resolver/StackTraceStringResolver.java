@@ -24,6 +24,7 @@ import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import org.apache.logging.log4j.core.util.ThrowableDeduplicator;
 import org.apache.logging.log4j.kit.recycler.Recycler;
 import org.apache.logging.log4j.kit.recycler.RecyclerFactory;
 import org.apache.logging.log4j.layout.template.json.util.CharSequencePointer;
@@ -41,6 +42,8 @@ final class StackTraceStringResolver implements StackTraceResolver {
 
     private final Recycler<CharSequencePointer> sequencePointerRecycler;
 
+    private final Recycler<StringBuilder> stringBuilderRecycler;
+
     private final boolean truncationEnabled;
 
     private final String truncationSuffix;
@@ -60,6 +63,10 @@ final class StackTraceStringResolver implements StackTraceResolver {
         this.srcWriterRecycler = recyclerFactory.create(writerSupplier, TruncatingBufferedPrintWriter::close);
         this.dstWriterRecycler = recyclerFactory.create(writerSupplier, TruncatingBufferedPrintWriter::close);
         this.sequencePointerRecycler = recyclerFactory.create(CharSequencePointer::new);
+        this.stringBuilderRecycler = recyclerFactory.create(StringBuilder::new, stringBuilder -> {
+            final int maxLength = context.getJsonWriter().getMaxStringLength();
+            trimStringBuilder(stringBuilder, maxLength);
+        });
         this.truncationEnabled = !truncationPointMatcherStrings.isEmpty() || !truncationPointMatcherRegexes.isEmpty();
         this.truncationSuffix = truncationSuffix;
         this.truncationPointMatcherStrings = truncationPointMatcherStrings;
@@ -77,6 +84,14 @@ final class StackTraceStringResolver implements StackTraceResolver {
                 .collect(Collectors.toList());
     }
 
+    private static void trimStringBuilder(final StringBuilder stringBuilder, final int maxLength) {
+        if (stringBuilder.length() > maxLength) {
+            stringBuilder.setLength(maxLength);
+            stringBuilder.trimToSize();
+        }
+        stringBuilder.setLength(0);
+    }
+
     @Override
     public void resolve(final Throwable throwable, final JsonWriter jsonWriter) {
         final TruncatingBufferedPrintWriter srcWriter = srcWriterRecycler.acquire();
@@ -88,6 +103,43 @@ final class StackTraceStringResolver implements StackTraceResolver {
         }
     }
 
+    /**
+     * Resolves the stack trace followed by its fingerprint.
+     *
+     * @see ThrowableDeduplicator#appendFingerprint(StringBuilder, long)
+     */
+    void resolve(final Throwable throwable, final long fingerprint, final JsonWriter jsonWriter) {
+        final TruncatingBufferedPrintWriter srcWriter = srcWriterRecycler.acquire();
+        final StringBuilder fingerprintBuffer = stringBuilderRecycler.acquire();
+        try {
+            ThrowableDeduplicator.appendFingerprint(fingerprintBuffer, fingerprint);
+            throwable.printStackTrace(srcWriter);
+            truncate(srcWriter, effectiveWriter -> {
+                effectiveWriter.append(fingerprintBuffer);
+                jsonWriter.writeString(effectiveWriter);
+            });
+        } finally {
+            stringBuilderRecycler.release(fingerprintBuffer);
+            srcWriterRecycler.release(srcWriter);
+        }
+    }
+
+    /**
+     * Resolves the summary of a repeated stack trace.
+     *
+     * @see ThrowableDeduplicator#appendSummary(StringBuilder, Throwable, long, long)
+     */
+    void resolveSummary(
+            final Throwable throwable, final long fingerprint, final long repetition, final JsonWriter jsonWriter) {
+        final StringBuilder summary = stringBuilderRecycler.acquire();
+        try {
+            ThrowableDeduplicator.appendSummary(summary, throwable, fingerprint, repetition);
+            jsonWriter.writeString(summary);
+        } finally {
+            stringBuilderRecycler.release(summary);
+        }
+    }
+
     private void truncate(
             final TruncatingBufferedPrintWriter srcWriter,
             final Consumer<TruncatingBufferedPrintWriter> effectiveWriterConsumer) {
@@ -45,6 +45,14 @@ public interface TemplateResolverContext<V, C extends TemplateResolverContext<V,
 
     JsonTemplateLayoutProperties getDefaults();
 
+    /**
+     * Indicates if the constant parts of the template, e.g., literal keys and values, or nested objects without any
+     * resolvers, should be pre-rendered at compile time.
+     */
+    default boolean isConstantFoldingEnabled() {
+        return true;
+    }
+
     /**
      * Process the read template before compiler (i.e.,
      * {@link TemplateResolvers#ofTemplate(TemplateResolverContext, String)}
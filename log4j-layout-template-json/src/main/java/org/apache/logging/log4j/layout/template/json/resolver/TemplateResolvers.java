@@ -126,10 +126,10 @@ public final class TemplateResolvers {
             return ofString(context, string);
         } else if (object instanceof Number) {
             final Number number = (Number) object;
-            return ofNumber(number);
+            return ofNumber(context, number);
         } else if (object instanceof Boolean) {
             final boolean value = (boolean) object;
-            return ofBoolean(value);
+            return ofBoolean(context, value);
         } else {
             final String message = String.format(
                     "invalid JSON node type (class=%s)", object.getClass().getName());
@@ -159,31 +159,48 @@ public final class TemplateResolvers {
         }
 
         // Create a parent resolver collecting each child resolver execution.
-        return new ArrayResolver<>(itemResolvers);
+        final ArrayResolver<V> arrayResolver = new ArrayResolver<>(itemResolvers);
+
+        // Fold the array, if all its items are constant.
+        if (context.isConstantFoldingEnabled() && itemResolvers.stream().allMatch(TemplateResolvers::isConstant)) {
+            final JsonWriter jsonWriter = context.getJsonWriter();
+            return new ConstantResolver<>(jsonWriter.capture(() -> arrayResolver.resolve(null, jsonWriter)));
+        }
+        return arrayResolver;
     }
 
     private static final class ArrayResolver<V> implements TemplateResolver<V> {
 
-        private final List<TemplateResolver<V>> itemResolvers;
+        private final TemplateResolver<V>[] itemResolvers;
 
+        @SuppressWarnings("unchecked")
         private ArrayResolver(final List<TemplateResolver<V>> itemResolvers) {
-            this.itemResolvers = itemResolvers;
+            this.itemResolvers = (TemplateResolver<V>[]) itemResolvers.toArray(new TemplateResolver<?>[0]);
         }
 
         @Override
         public void resolve(final V value, final JsonWriter jsonWriter) {
             jsonWriter.writeArrayStart();
-            for (int itemResolverIndex = 0; itemResolverIndex < itemResolvers.size(); itemResolverIndex++) {
+            for (int itemResolverIndex = 0; itemResolverIndex < itemResolvers.length; itemResolverIndex++) {
                 if (itemResolverIndex > 0) {
                     jsonWriter.writeSeparator();
                 }
-                final TemplateResolver<V> itemResolver = itemResolvers.get(itemResolverIndex);
-                itemResolver.resolve(value, jsonWriter);
+                itemResolvers[itemResolverIndex].resolve(value, jsonWriter);
             }
             jsonWriter.writeArrayEnd();
         }
     }
 
+    /**
+     * Checks if the output of the given resolver does not depend on the resolved value.
+     */
+    private static boolean isConstant(final TemplateResolver<?> resolver) {
+        return resolver instanceof ConstantResolver
+                || resolver == NULL_RESOLVER
+                || resolver == EMPTY_ARRAY_RESOLVER
+                || resolver == EMPTY_OBJECT_RESOLVER;
+    }
+
     private static <V, C extends TemplateResolverContext<V, C>> TemplateResolver<V> ofMap(
             final C context, final Map<String, Object> map) {
 
@@ -203,6 +220,21 @@ public final class TemplateResolvers {
             return emptyObjectResolver;
         }
 
+        // Fold the object, if all its fields are constant.
+        if (fieldResolverContexts.size() == 1) {
+            final FieldResolverMethod<V> fieldResolverMethod = fieldResolverContexts.get(0).resolverMethod;
+            if (fieldResolverMethod instanceof ConstantFieldResolverMethod) {
+                final JsonWriter.Fragment fieldsFragment =
+                        ((ConstantFieldResolverMethod<V>) fieldResolverMethod).fieldsFragment;
+                final JsonWriter jsonWriter = context.getJsonWriter();
+                return new ConstantResolver<>(jsonWriter.capture(() -> {
+                    jsonWriter.writeObjectStart();
+                    jsonWriter.writeFragment(fieldsFragment);
+                    jsonWriter.writeObjectEnd();
+                }));
+            }
+        }
+
         // Create the resolver.
         return new MapResolver<>(fieldResolverContexts);
     }
@@ -223,32 +255,65 @@ public final class TemplateResolvers {
         });
 
         // Prepare field names to avoid escape and truncation costs at runtime.
-        final List<String> fieldPrefixes = fieldNames.stream()
-                .map(fieldName -> {
-                    try (final JsonWriter jsonWriter = context.getJsonWriter()) {
-                        jsonWriter.writeString(fieldName);
-                        jsonWriter.getStringBuilder().append(':');
-                        return jsonWriter.getStringBuilder().toString();
-                    }
-                })
+        final JsonWriter jsonWriter = context.getJsonWriter();
+        final List<JsonWriter.Fragment> fieldPrefixes = fieldNames.stream()
+                .map(fieldName -> jsonWriter.capture(() -> jsonWriter.writeObjectKey(fieldName)))
                 .collect(Collectors.toList());
 
         // Collect field resolver contexts.
         final int fieldCount = fieldNames.size();
-        return IntStream.range(0, fieldCount)
+        final List<FieldResolverContext<V>> fieldResolverContexts = IntStream.range(0, fieldCount)
                 .mapToObj(fieldIndex -> {
                     final TemplateResolver<V> fieldResolver = fieldResolvers.get(fieldIndex);
                     final FieldResolverMethod<V> fieldResolverMethod;
                     final boolean flattening = fieldResolver.isFlattening();
+                    final JsonWriter.Fragment fieldPrefix = fieldPrefixes.get(fieldIndex);
                     if (flattening) {
                         fieldResolverMethod = new FlatteningFieldResolverMethod<>(fieldResolver);
+                    } else if (context.isConstantFoldingEnabled() && isConstant(fieldResolver)) {
+                        final JsonWriter.Fragment fieldFragment = jsonWriter.capture(() -> {
+                            jsonWriter.writeFragment(fieldPrefix);
+                            fieldResolver.resolve(null, jsonWriter);
+                        });
+                        fieldResolverMethod = new ConstantFieldResolverMethod<>(fieldFragment);
                     } else {
-                        final String fieldPrefix = fieldPrefixes.get(fieldIndex);
                         fieldResolverMethod = new PrefixedFieldResolverMethod<>(fieldPrefix, fieldResolver);
                     }
                     return new FieldResolverContext<>(fieldResolver, fieldResolverMethod);
                 })
                 .collect(Collectors.toList());
+        return foldConstantFields(jsonWriter, fieldResolverContexts);
+    }
+
+    /**
+     * Merges the consecutive constant fields into a single field rendering them all at once.
+     */
+    private static <V> List<FieldResolverContext<V>> foldConstantFields(
+            final JsonWriter jsonWriter, final List<FieldResolverContext<V>> fieldResolverContexts) {
+        final List<FieldResolverContext<V>> foldedFieldResolverContexts = new ArrayList<>();
+        for (final FieldResolverContext<V> fieldResolverContext : fieldResolverContexts) {
+            final int lastIndex = foldedFieldResolverContexts.size() - 1;
+            final FieldResolverMethod<V> lastResolverMethod =
+                    lastIndex >= 0 ? foldedFieldResolverContexts.get(lastIndex).resolverMethod : null;
+            if (lastResolverMethod instanceof ConstantFieldResolverMethod
+                    && fieldResolverContext.resolverMethod instanceof ConstantFieldResolverMethod) {
+                final JsonWriter.Fragment lastFieldsFragment =
+                        ((ConstantFieldResolverMethod<V>) lastResolverMethod).fieldsFragment;
+                final JsonWriter.Fragment fieldsFragment =
+                        ((ConstantFieldResolverMethod<V>) fieldResolverContext.resolverMethod).fieldsFragment;
+                final ConstantFieldResolverMethod<V> foldedResolverMethod =
+                        new ConstantFieldResolverMethod<>(jsonWriter.capture(() -> {
+                            jsonWriter.writeFragment(lastFieldsFragment);
+                            jsonWriter.writeSeparator();
+                            jsonWriter.writeFragment(fieldsFragment);
+                        }));
+                foldedFieldResolverContexts.set(
+                        lastIndex, new FieldResolverContext<>(fieldResolverContext.resolver, foldedResolverMethod));
+            } else {
+                foldedFieldResolverContexts.add(fieldResolverContext);
+            }
+        }
+        return foldedFieldResolverContexts;
     }
 
     private static final class FieldResolverContext<V> {
@@ -283,20 +348,20 @@ public final class TemplateResolvers {
             if (!resolvable) {
                 return false;
             }
-            final StringBuilder jsonWriterStringBuilder = jsonWriter.getStringBuilder();
-            final int initLength = jsonWriterStringBuilder.length();
+            final int initLength = jsonWriter.getLength();
             fieldResolver.resolve(value, jsonWriter, succeedingEntry);
-            return jsonWriterStringBuilder.length() > initLength;
+            return jsonWriter.getLength() > initLength;
         }
     }
 
     private static final class PrefixedFieldResolverMethod<V> implements FieldResolverMethod<V> {
 
-        private final String fieldPrefix;
+        private final JsonWriter.Fragment fieldPrefix;
 
         private final TemplateResolver<V> fieldResolver;
 
-        private PrefixedFieldResolverMethod(final String fieldPrefix, final TemplateResolver<V> fieldResolver) {
+        private PrefixedFieldResolverMethod(
+                final JsonWriter.Fragment fieldPrefix, final TemplateResolver<V> fieldResolver) {
             this.fieldPrefix = fieldPrefix;
             this.fieldResolver = fieldResolver;
         }
@@ -310,18 +375,41 @@ public final class TemplateResolvers {
             if (succeedingEntry) {
                 jsonWriter.writeSeparator();
             }
-            jsonWriter.writeRawString(fieldPrefix);
+            jsonWriter.writeFragment(fieldPrefix);
             fieldResolver.resolve(value, jsonWriter, succeedingEntry);
             return true;
         }
     }
 
+    /**
+     * Writes one or more pre-rendered constant fields.
+     */
+    private static final class ConstantFieldResolverMethod<V> implements FieldResolverMethod<V> {
+
+        private final JsonWriter.Fragment fieldsFragment;
+
+        private ConstantFieldResolverMethod(final JsonWriter.Fragment fieldsFragment) {
+            this.fieldsFragment = fieldsFragment;
+        }
+
+        @Override
+        public boolean resolve(final V value, final JsonWriter jsonWriter, final boolean succeedingEntry) {
+            if (succeedingEntry) {
+                jsonWriter.writeSeparator();
+            }
+            jsonWriter.writeFragment(fieldsFragment);
+            return true;
+        }
+    }
+
     private static final class MapResolver<V> implements TemplateResolver<V> {
 
-        private final List<FieldResolverContext<V>> fieldResolverContexts;
+        private final FieldResolverContext<V>[] fieldResolverContexts;
 
+        @SuppressWarnings("unchecked")
         private MapResolver(final List<FieldResolverContext<V>> fieldResolverContexts) {
-            this.fieldResolverContexts = fieldResolverContexts;
+            this.fieldResolverContexts =
+                    (FieldResolverContext<V>[]) fieldResolverContexts.toArray(new FieldResolverContext<?>[0]);
         }
 
         @Override
@@ -340,10 +428,10 @@ public final class TemplateResolvers {
          */
         @Override
         public boolean isResolvable(final V value) {
-            final int fieldCount = fieldResolverContexts.size();
+            final int fieldCount = fieldResolverContexts.length;
             // noinspection ForLoopReplaceableByForEach (avoid iterator instantiation)
             for (int fieldIndex = 0; fieldIndex < fieldCount; fieldIndex++) {
-                final TemplateResolver<V> fieldResolver = fieldResolverContexts.get(fieldIndex).resolver;
+                final TemplateResolver<V> fieldResolver = fieldResolverContexts[fieldIndex].resolver;
                 final boolean resolvable = fieldResolver.isResolvable(value);
                 if (resolvable) {
                     return true;
@@ -358,9 +446,9 @@ public final class TemplateResolvers {
         @Override
         public void resolve(final V value, final JsonWriter jsonWriter) {
             jsonWriter.writeObjectStart();
-            final int fieldCount = fieldResolverContexts.size();
+            final int fieldCount = fieldResolverContexts.length;
             for (int resolvedFieldCount = 0, fieldIndex = 0; fieldIndex < fieldCount; fieldIndex++) {
-                final FieldResolverContext<V> fieldResolverContext = fieldResolverContexts.get(fieldIndex);
+                final FieldResolverContext<V> fieldResolverContext = fieldResolverContexts[fieldIndex];
                 final boolean resolvable = fieldResolverContext.resolver.isResolvable(value);
                 if (!resolvable) {
                     continue;
@@ -419,10 +507,10 @@ public final class TemplateResolvers {
                     return resolver;
                 } else {
                     // Prepare the escaped replacement first.
-                    final String escapedReplacedText =
-                            contextJsonWriter.use(() -> contextJsonWriter.writeString(replacedText));
+                    final JsonWriter.Fragment escapedReplacedText =
+                            contextJsonWriter.capture(() -> contextJsonWriter.writeString(replacedText));
                     // Create a resolver dedicated to the escaped replacement.
-                    return new RawStringResolver<>(escapedReplacedText);
+                    return new ConstantResolver<>(escapedReplacedText);
                 }
             }
 
@@ -436,8 +524,9 @@ public final class TemplateResolvers {
 
         // Write the field value as is.
         else {
-            final String escapedFieldValue = contextJsonWriter.use(() -> contextJsonWriter.writeString(fieldValue));
-            return new RawStringResolver<>(escapedFieldValue);
+            final JsonWriter.Fragment escapedFieldValue =
+                    contextJsonWriter.capture(() -> contextJsonWriter.writeString(fieldValue));
+            return new ConstantResolver<>(escapedFieldValue);
         }
     }
 
@@ -460,53 +549,32 @@ public final class TemplateResolvers {
         }
     }
 
-    private static final class RawStringResolver<V> implements TemplateResolver<V> {
-
-        private final String rawString;
-
-        private RawStringResolver(final String rawString) {
-            this.rawString = rawString;
-        }
-
-        @Override
-        public void resolve(final V ignored, final JsonWriter jsonWriter) {
-            jsonWriter.writeRawString(rawString);
-        }
-    }
-
-    private static <V> TemplateResolver<V> ofNumber(final Number number) {
-        return new NumberResolver<>(number);
-    }
-
-    private static final class NumberResolver<V> implements TemplateResolver<V> {
+    /**
+     * Writes a pre-rendered constant value.
+     */
+    private static final class ConstantResolver<V> implements TemplateResolver<V> {
 
-        private final String numberString;
+        private final JsonWriter.Fragment fragment;
 
-        private NumberResolver(final Number number) {
-            this.numberString = String.valueOf(number);
+        private ConstantResolver(final JsonWriter.Fragment fragment) {
+            this.fragment = fragment;
         }
 
         @Override
         public void resolve(final V ignored, final JsonWriter jsonWriter) {
-            jsonWriter.writeRawString(numberString);
+            jsonWriter.writeFragment(fragment);
         }
     }
 
-    private static <V> TemplateResolver<V> ofBoolean(final boolean value) {
-        return new BooleanResolver<>(value);
+    private static <V, C extends TemplateResolverContext<V, C>> TemplateResolver<V> ofNumber(
+            final C context, final Number number) {
+        final JsonWriter jsonWriter = context.getJsonWriter();
+        return new ConstantResolver<>(jsonWriter.capture(() -> jsonWriter.writeValue(number)));
     }
 
-    private static final class BooleanResolver<V> implements TemplateResolver<V> {
-
-        private final boolean value;
-
-        private BooleanResolver(final boolean value) {
-            this.value = value;
-        }
-
-        @Override
-        public void resolve(final V ignored, final JsonWriter jsonWriter) {
-            jsonWriter.writeBoolean(value);
-        }
+    private static <V, C extends TemplateResolverContext<V, C>> TemplateResolver<V> ofBoolean(
+            final C context, final boolean value) {
+        final JsonWriter jsonWriter = context.getJsonWriter();
+        return new ConstantResolver<>(jsonWriter.capture(() -> jsonWriter.writeBoolean(value)));
     }
 }
@@ -18,6 +18,7 @@ package org.apache.logging.log4j.layout.template.json.resolver;
 
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.function.BiConsumer;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.time.Instant;
 import org.apache.logging.log4j.core.util.internal.instant.InstantFormatter;
@@ -273,47 +274,37 @@ public final class TimestampResolver implements EventResolver {
         throw new IllegalArgumentException("invalid epoch configuration: " + config);
     }
 
-    private static final EventResolver EPOCH_NANOS_RESOLVER = (logEvent, jsonWriter) -> {
-        final StringBuilder buffer = jsonWriter.getStringBuilder();
-        final Instant instant = logEvent.getInstant();
-        InstantNumberFormatter.EPOCH_NANOS.formatTo(buffer, instant);
-    };
+    private static final class EpochResolver implements EventResolver {
 
-    private static final EventResolver EPOCH_MILLIS_RESOLVER = (logEvent, jsonWriter) -> {
-        final StringBuilder buffer = jsonWriter.getStringBuilder();
-        final Instant instant = logEvent.getInstant();
-        InstantNumberFormatter.EPOCH_MILLIS.formatTo(buffer, instant);
-    };
+        private final BiConsumer<StringBuilder, Instant> formatter;
 
-    private static final EventResolver EPOCH_MILLIS_ROUNDED_RESOLVER = (logEvent, jsonWriter) -> {
-        final StringBuilder buffer = jsonWriter.getStringBuilder();
-        final Instant instant = logEvent.getInstant();
-        InstantNumberFormatter.EPOCH_MILLIS_ROUNDED.formatTo(buffer, instant);
-    };
+        private EpochResolver(final InstantNumberFormatter formatter) {
+            this.formatter = formatter::formatTo;
+        }
+
+        @Override
+        public void resolve(final LogEvent logEvent, final JsonWriter jsonWriter) {
+            jsonWriter.writeNumber(formatter, logEvent.getInstant());
+        }
+    }
+
+    private static final EventResolver EPOCH_NANOS_RESOLVER = new EpochResolver(InstantNumberFormatter.EPOCH_NANOS);
+
+    private static final EventResolver EPOCH_MILLIS_RESOLVER = new EpochResolver(InstantNumberFormatter.EPOCH_MILLIS);
+
+    private static final EventResolver EPOCH_MILLIS_ROUNDED_RESOLVER =
+            new EpochResolver(InstantNumberFormatter.EPOCH_MILLIS_ROUNDED);
 
-    private static final EventResolver EPOCH_MILLIS_NANOS_RESOLVER = (logEvent, jsonWriter) -> {
-        final StringBuilder buffer = jsonWriter.getStringBuilder();
-        final Instant instant = logEvent.getInstant();
-        InstantNumberFormatter.EPOCH_MILLIS_NANOS.formatTo(buffer, instant);
-    };
+    private static final EventResolver EPOCH_MILLIS_NANOS_RESOLVER =
+            new EpochResolver(InstantNumberFormatter.EPOCH_MILLIS_NANOS);
 
-    private static final EventResolver EPOCH_SECS_RESOLVER = (logEvent, jsonWriter) -> {
-        final StringBuilder buffer = jsonWriter.getStringBuilder();
-        final Instant instant = logEvent.getInstant();
-        InstantNumberFormatter.EPOCH_SECONDS.formatTo(buffer, instant);
-    };
+    private static final EventResolver EPOCH_SECS_RESOLVER = new EpochResolver(InstantNumberFormatter.EPOCH_SECONDS);
 
-    private static final EventResolver EPOCH_SECS_ROUNDED_RESOLVER = (logEvent, jsonWriter) -> {
-        final StringBuilder buffer = jsonWriter.getStringBuilder();
-        final Instant instant = logEvent.getInstant();
-        InstantNumberFormatter.EPOCH_SECONDS_ROUNDED.formatTo(buffer, instant);
-    };
+    private static final EventResolver EPOCH_SECS_ROUNDED_RESOLVER =
+            new EpochResolver(InstantNumberFormatter.EPOCH_SECONDS_ROUNDED);
 
-    private static final EventResolver EPOCH_SECS_NANOS_RESOLVER = (logEvent, jsonWriter) -> {
-        final StringBuilder buffer = jsonWriter.getStringBuilder();
-        final Instant instant = logEvent.getInstant();
-        InstantNumberFormatter.EPOCH_SECONDS_NANOS.formatTo(buffer, instant);
-    };
+    private static final EventResolver EPOCH_SECS_NANOS_RESOLVER =
+            new EpochResolver(InstantNumberFormatter.EPOCH_SECONDS_NANOS);
 
     static String getName() {
         return "timestamp";
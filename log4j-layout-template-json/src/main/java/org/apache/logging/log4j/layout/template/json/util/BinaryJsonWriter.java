@@ -0,0 +1,738 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.kit.json.JsonReader;
+
+/**
+ * A {@link JsonWriter} emitting the JSON data model in a binary format, i.e., CBOR or MessagePack.
+ * <p>
+ * Both formats require the size of arrays and objects to precede their content.
+ * Hence, a byte is reserved for the header of every array and object, and the content is shifted in the rare case
+ * the size does not fit into a single byte header.
+ * Object keys and separators need no special treatment: the size of an object is the half of the number of keys and
+ * values written in it.
+ * </p>
+ * <p>
+ * Writing JSON text using {@link #writeRawString(CharSequence)} requires parsing it; {@link #use(Runnable)} and
+ * {@link #getStringBuilder()} are not supported.
+ * </p>
+ * <p>
+ * <b>Instances are not thread-safe!</b>
+ * Users are expected to recycle instances, e.g., using a {@link org.apache.logging.log4j.kit.recycler.Recycler}.
+ * </p>
+ */
+public abstract class BinaryJsonWriter extends JsonWriter {
+
+    /**
+     * Supported binary formats.
+     */
+    public enum Format {
+
+        /**
+         * <a href="https://www.rfc-editor.org/rfc/rfc8949.html">Concise Binary Object Representation (CBOR)</a>
+         */
+        CBOR,
+
+        /**
+         * <a href="https://github.com/msgpack/msgpack/blob/master/spec.md">MessagePack</a>
+         */
+        MESSAGE_PACK
+    }
+
+    private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+
+    // Powers of ten exactly representable as doubles
+    private static final double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19,
+        1e20, 1e21, 1e22
+    };
+
+    // The maximum value of a mantissa exactly representable as a double
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private static final int MAX_FRACTION_DIGIT_COUNT = 18;
+
+    private final int initialBufferSize;
+
+    private final int maxRetainedBufferSize;
+
+    private final byte[] truncatedStringSuffixBytes;
+
+    byte[] buffer;
+
+    int position;
+
+    // The nesting level of the array or object being written, zero for the top level
+    private int depth;
+
+    // The positions of the headers of the arrays and objects being written, indexed by depth
+    private int[] containerStarts = new int[16];
+
+    // The number of keys and values written in the arrays and objects being written, indexed by depth
+    private int[] itemCounts = new int[16];
+
+    BinaryJsonWriter(final Builder builder) {
+        super(builder.maxStringLength, builder.truncatedStringSuffix);
+        this.initialBufferSize = builder.initialBufferSize;
+        this.maxRetainedBufferSize = builder.maxRetainedBufferSize;
+        this.truncatedStringSuffixBytes = builder.truncatedStringSuffix.getBytes(StandardCharsets.UTF_8);
+        this.buffer = new byte[initialBufferSize];
+    }
+
+    public abstract Format getFormat();
+
+    /**
+     * Writes the output to the given destination.
+     */
+    public void writeTo(final ByteBufferDestination destination) {
+        destination.writeBytes(buffer, 0, position);
+    }
+
+    /**
+     * Returns a copy of the output.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    @Override
+    public String use(final Runnable runnable) {
+        throw new UnsupportedOperationException("binary writers do not emit JSON text");
+    }
+
+    @Override
+    public Fragment capture(final Runnable runnable) {
+        Objects.requireNonNull(runnable, "runnable");
+        final int startDepth = depth;
+        final int startPosition = position;
+        final int startItemCount = itemCounts[depth];
+        try {
+            runnable.run();
+            if (depth != startDepth) {
+                throw new IllegalStateException(
+                        "was expecting the captured writes to end the arrays and objects" + " they start");
+            }
+            final byte[] bytes = Arrays.copyOfRange(buffer, startPosition, position);
+            return new Fragment(bytes, itemCounts[depth] - startItemCount);
+        } finally {
+            depth = startDepth;
+            position = startPosition;
+            itemCounts[depth] = startItemCount;
+        }
+    }
+
+    @Override
+    public void writeFragment(final Fragment fragment) {
+        final byte[] bytes = fragment.bytes;
+        if (bytes == null) {
+            throw new IllegalArgumentException("was expecting a fragment captured by a binary writer: " + fragment);
+        }
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        itemCounts[depth] += fragment.itemCount;
+    }
+
+    @Override
+    public StringBuilder getStringBuilder() {
+        throw new UnsupportedOperationException("binary writers do not emit JSON text");
+    }
+
+    @Override
+    public int getLength() {
+        return position;
+    }
+
+    @Override
+    public void setLength(final int length) {
+        final int contentStart = depth > 0 ? containerStarts[depth] + 1 : 0;
+        if (length < contentStart || length > position) {
+            throw new IllegalArgumentException("invalid length: " + length);
+        }
+        int removedItemCount = 0;
+        for (int index = length; index < position; index = skipItem(index)) {
+            removedItemCount++;
+        }
+        itemCounts[depth] -= removedItemCount;
+        position = length;
+    }
+
+    @Override
+    public String readString(final int startIndex) {
+        if (startIndex >= position) {
+            return null;
+        }
+        final int headerLength = stringHeaderLength(startIndex);
+        if (headerLength < 0 || skipItem(startIndex) != position) {
+            return null;
+        }
+        final int offset = startIndex + headerLength;
+        return new String(buffer, offset, position - offset, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String describeOutput(final int startIndex) {
+        return toHexString(buffer, startIndex, position - startIndex);
+    }
+
+    static String toHexString(final byte[] bytes, final int offset, final int length) {
+        final StringBuilder stringBuilder = new StringBuilder(2 + 2 * length).append("0x");
+        for (int index = offset; index < offset + length; index++) {
+            final int value = bytes[index] & 0xFF;
+            stringBuilder.append(HEX_CHARS[value >> 4]).append(HEX_CHARS[value & 0xF]);
+        }
+        return stringBuilder.toString();
+    }
+
+    @Override
+    public void writeObjectStart() {
+        startContainer();
+    }
+
+    @Override
+    public void writeObjectEnd() {
+        endContainer(true);
+    }
+
+    @Override
+    public void writeObjectKey(final CharSequence key) {
+        writeString(key);
+    }
+
+    @Override
+    public void writeArrayStart() {
+        startContainer();
+    }
+
+    @Override
+    public void writeArrayEnd() {
+        endContainer(false);
+    }
+
+    @Override
+    public void writeSeparator() {
+        // Binary formats have no separators.
+    }
+
+    private void startContainer() {
+        startItem(1);
+        if (++depth == itemCounts.length) {
+            containerStarts = Arrays.copyOf(containerStarts, 2 * depth);
+            itemCounts = Arrays.copyOf(itemCounts, 2 * depth);
+        }
+        containerStarts[depth] = position;
+        itemCounts[depth] = 0;
+        // Reserve a byte for the header, which is written once the size is known
+        position++;
+    }
+
+    private void endContainer(final boolean object) {
+        if (depth == 0) {
+            throw new IllegalStateException("was expecting an array or object to end");
+        }
+        final int start = containerStarts[depth];
+        final int itemCount = itemCounts[depth--];
+        final int size = object ? itemCount / 2 : itemCount;
+        final int headerLength = containerHeaderLength(size);
+        if (headerLength > 1) {
+            ensureCapacity(headerLength - 1);
+            System.arraycopy(buffer, start + 1, buffer, start + headerLength, position - start - 1);
+            position += headerLength - 1;
+        }
+        putContainerHeader(start, size, object);
+    }
+
+    @Override
+    void writeUncheckedString(final CharSequence seq, final int offset, final int length) {
+        final boolean truncated = length > maxStringLength;
+        int limit = offset + (truncated ? maxStringLength : length);
+        if (limit > offset && Character.isHighSurrogate(seq.charAt(limit - 1))) {
+            limit--;
+        }
+        final int suffixLength = truncated ? truncatedStringSuffixBytes.length : 0;
+        final int byteCount = utf8Length(seq, offset, limit) + suffixLength;
+        startItem(9 + byteCount);
+        putStringHeader(byteCount);
+        for (int index = offset; index < limit; index++) {
+            final char c = seq.charAt(index);
+            if (Character.isHighSurrogate(c) && index + 1 < limit && Character.isLowSurrogate(seq.charAt(index + 1))) {
+                putUtf8(Character.toCodePoint(c, seq.charAt(++index)));
+            } else {
+                putUtf8(c);
+            }
+        }
+        System.arraycopy(truncatedStringSuffixBytes, 0, buffer, position, suffixLength);
+        position += suffixLength;
+    }
+
+    private static int utf8Length(final CharSequence seq, final int offset, final int limit) {
+        int byteCount = 0;
+        for (int index = offset; index < limit; index++) {
+            final char c = seq.charAt(index);
+            if (Character.isHighSurrogate(c) && index + 1 < limit && Character.isLowSurrogate(seq.charAt(index + 1))) {
+                byteCount += 4;
+                index++;
+            } else {
+                byteCount += utf8Length(c);
+            }
+        }
+        return byteCount;
+    }
+
+    @Override
+    void writeUncheckedString(final char[] chars, final int offset, final int length) {
+        final boolean truncated = length > maxStringLength;
+        int limit = offset + (truncated ? maxStringLength : length);
+        if (limit > offset && Character.isHighSurrogate(chars[limit - 1])) {
+            limit--;
+        }
+        final int suffixLength = truncated ? truncatedStringSuffixBytes.length : 0;
+        final int byteCount = utf8Length(chars, offset, limit) + suffixLength;
+        startItem(9 + byteCount);
+        putStringHeader(byteCount);
+        for (int index = offset; index < limit; index++) {
+            final char c = chars[index];
+            if (Character.isHighSurrogate(c) && index + 1 < limit && Character.isLowSurrogate(chars[index + 1])) {
+                putUtf8(Character.toCodePoint(c, chars[++index]));
+            } else {
+                putUtf8(c);
+            }
+        }
+        System.arraycopy(truncatedStringSuffixBytes, 0, buffer, position, suffixLength);
+        position += suffixLength;
+    }
+
+    private static int utf8Length(final char[] chars, final int offset, final int limit) {
+        int byteCount = 0;
+        for (int index = offset; index < limit; index++) {
+            final char c = chars[index];
+            if (Character.isHighSurrogate(c) && index + 1 < limit && Character.isLowSurrogate(chars[index + 1])) {
+                byteCount += 4;
+                index++;
+            } else {
+                byteCount += utf8Length(c);
+            }
+        }
+        return byteCount;
+    }
+
+    /**
+     * Returns the UTF-8 length of a character not part of a surrogate pair.
+     */
+    private static int utf8Length(final char c) {
+        if (c < 0x80 || Character.isSurrogate(c)) {
+            return 1;
+        } else if (c < 0x800) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Writes the UTF-8 representation of the given code point, replacing unpaired surrogates with {@code ?}, like the
+     * JDK encoder does.
+     */
+    private void putUtf8(final int codePoint) {
+        final byte[] bytes = buffer;
+        int index = position;
+        if (codePoint < 0x80) {
+            bytes[index++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            bytes[index++] = (byte) (0xC0 | (codePoint >> 6));
+            bytes[index++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000 && Character.isSurrogate((char) codePoint)) {
+            bytes[index++] = '?';
+        } else if (codePoint < 0x10000) {
+            bytes[index++] = (byte) (0xE0 | (codePoint >> 12));
+            bytes[index++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            bytes[index++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            bytes[index++] = (byte) (0xF0 | (codePoint >> 18));
+            bytes[index++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            bytes[index++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            bytes[index++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+        position = index;
+    }
+
+    @Override
+    public void writeNumber(final BigDecimal number) {
+        if (number == null) {
+            writeNull();
+        } else if (number.scale() == 0 && number.unscaledValue().bitLength() < 64) {
+            writeNumber(number.longValue());
+        } else {
+            writeNumber(number.doubleValue());
+        }
+    }
+
+    @Override
+    public void writeNumber(final BigInteger number) {
+        if (number == null) {
+            writeNull();
+        } else if (number.bitLength() < 64) {
+            writeNumber(number.longValue());
+        } else {
+            writeNumber(number.doubleValue());
+        }
+    }
+
+    @Override
+    public void writeNumber(final float number) {
+        startItem(5);
+        putFloat(number);
+    }
+
+    @Override
+    public void writeNumber(final double number) {
+        startItem(9);
+        putDouble(number);
+    }
+
+    @Override
+    public void writeNumber(final long number) {
+        startItem(9);
+        putLong(number);
+    }
+
+    @Override
+    void writeUncheckedNumber(final long integralPart, final long fractionalPart) {
+        if (fractionalPart == 0) {
+            writeNumber(integralPart);
+        } else {
+            int fractionDigitCount = 1;
+            for (long remainder = fractionalPart / 10; remainder > 0; remainder /= 10) {
+                fractionDigitCount++;
+            }
+            final boolean negative = integralPart < 0;
+            writeNumber(toDouble(negative, Math.abs(integralPart), fractionalPart, fractionDigitCount));
+        }
+    }
+
+    /**
+     * Writes the number emitted by the given emitter without allocating, as long as it is a plain decimal number,
+     * e.g., {@code -123.456}.
+     * <p>
+     * Decimal numbers are written as doubles, which are correctly rounded if their digits fit into the mantissa, and
+     * might be off by an ulp otherwise.
+     * </p>
+     */
+    @Override
+    public <S> void writeNumber(final BiConsumer<StringBuilder, S> emitter, final S state) {
+        Objects.requireNonNull(emitter, "emitter");
+        try {
+            emitter.accept(formattableBuffer, state);
+            writeNumber(formattableBuffer);
+        } finally {
+            trimStringBuilder(formattableBuffer, 0);
+        }
+    }
+
+    private void writeNumber(final CharSequence json) {
+        final int length = json.length();
+        final boolean negative = length > 0 && json.charAt(0) == '-';
+        int index = negative ? 1 : 0;
+
+        // Read the integral part.
+        final int integralStart = index;
+        long integralPart = 0;
+        for (; index < length && isDigit(json.charAt(index)); index++) {
+            final int digit = json.charAt(index) - '0';
+            if (integralPart > (Long.MAX_VALUE - digit) / 10) {
+                break;
+            }
+            integralPart = 10 * integralPart + digit;
+        }
+        final boolean integralPartValid = index > integralStart;
+
+        // Read the fractional part.
+        long fractionalPart = 0;
+        int fractionDigitCount = 0;
+        boolean fractionalPartValid = true;
+        if (index < length && json.charAt(index) == '.') {
+            index++;
+            for (; index < length && isDigit(json.charAt(index)); index++) {
+                if (++fractionDigitCount > MAX_FRACTION_DIGIT_COUNT) {
+                    break;
+                }
+                fractionalPart = 10 * fractionalPart + json.charAt(index) - '0';
+            }
+            fractionalPartValid = fractionDigitCount > 0;
+        }
+
+        // Write the number.
+        if (index != length || !integralPartValid || !fractionalPartValid) {
+            // Exponents, non-finite and overflowing numbers take the slow path.
+            writeNumber(Double.parseDouble(json.toString()));
+        } else if (fractionDigitCount == 0) {
+            writeNumber(negative ? -integralPart : integralPart);
+        } else {
+            writeNumber(toDouble(negative, integralPart, fractionalPart, fractionDigitCount));
+        }
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Converts the decimal number with the given parts to a double.
+     *
+     * @param integralMagnitude the magnitude of the integral part, which is negative for {@link Long#MIN_VALUE}
+     */
+    private static double toDouble(
+            final boolean negative,
+            final long integralMagnitude,
+            final long fractionalPart,
+            final int fractionDigitCount) {
+        final double magnitude;
+        final double scale = fractionDigitCount < EXACT_POWERS_OF_TEN.length
+                ? EXACT_POWERS_OF_TEN[fractionDigitCount]
+                : Math.pow(10, fractionDigitCount);
+        final long maxIntegralMagnitude = fractionDigitCount <= MAX_FRACTION_DIGIT_COUNT
+                ? (MAX_EXACT_MANTISSA - fractionalPart) / (long) scale
+                : -1;
+        if (integralMagnitude >= 0 && integralMagnitude <= maxIntegralMagnitude) {
+            // Both operands are exactly representable, hence the quotient is correctly rounded
+            final long mantissa = integralMagnitude * (long) scale + fractionalPart;
+            magnitude = mantissa / scale;
+        } else {
+            magnitude = Math.abs((double) integralMagnitude) + fractionalPart / scale;
+        }
+        return negative ? -magnitude : magnitude;
+    }
+
+    @Override
+    public void writeBoolean(final boolean value) {
+        startItem(1);
+        putBoolean(value);
+    }
+
+    @Override
+    public void writeNull() {
+        startItem(1);
+        putNull();
+    }
+
+    @Override
+    void writeUncheckedRawString(final CharSequence seq, final int offset, final int length) {
+        final String json = seq.subSequence(offset, offset + length).toString();
+        writeValue(JsonReader.read(json));
+    }
+
+    @Override
+    void writeUncheckedRawString(final char[] chars, final int offset, final int length) {
+        final String json = new String(chars, offset, length);
+        writeValue(JsonReader.read(json));
+    }
+
+    /**
+     * Counts a key or value in the enclosing array or object, and makes room for its representation.
+     */
+    private void startItem(final int maxByteCount) {
+        itemCounts[depth]++;
+        ensureCapacity(maxByteCount);
+    }
+
+    private void ensureCapacity(final int byteCount) {
+        final int requiredLength = position + byteCount;
+        if (requiredLength > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(requiredLength, 2 * buffer.length));
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Format-specific encoding, the capacity is ensured by the callers
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    abstract void putNull();
+
+    abstract void putBoolean(final boolean value);
+
+    abstract void putLong(final long value);
+
+    abstract void putFloat(final float value);
+
+    abstract void putDouble(final double value);
+
+    abstract void putStringHeader(final int byteCount);
+
+    abstract int containerHeaderLength(final int size);
+
+    /**
+     * Writes the header of an array or object at the given index, where {@link #containerHeaderLength(int)} bytes are
+     * available.
+     */
+    abstract void putContainerHeader(final int index, final int size, final boolean object);
+
+    /**
+     * Returns the index following the key or value starting at the given index.
+     */
+    abstract int skipItem(final int index);
+
+    /**
+     * Returns the header length of the string starting at the given index, or -1, if there is no string.
+     */
+    abstract int stringHeaderLength(final int index);
+
+    final void putByte(final int value) {
+        buffer[position++] = (byte) value;
+    }
+
+    final void putBigEndian(final long value, final int byteCount) {
+        putBigEndian(position, value, byteCount);
+        position += byteCount;
+    }
+
+    final void putBigEndian(final int index, final long value, final int byteCount) {
+        for (int shift = 8 * (byteCount - 1), i = index; shift >= 0; shift -= 8) {
+            buffer[i++] = (byte) (value >>> shift);
+        }
+    }
+
+    final long getBigEndian(final int index, final int byteCount) {
+        long value = 0;
+        for (int i = index; i < index + byteCount; i++) {
+            value = (value << 8) | (buffer[i] & 0xFF);
+        }
+        return value;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        position = 0;
+        depth = 0;
+        itemCounts[0] = 0;
+        if (buffer.length > maxRetainedBufferSize) {
+            buffer = new byte[initialBufferSize];
+        }
+    }
+
+    @Override
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    public BinaryJsonWriter clone() {
+        final BinaryJsonWriter jsonWriter = newBinaryBuilder()
+                .setFormat(getFormat())
+                .setMaxStringLength(maxStringLength)
+                .setTruncatedStringSuffix(truncatedStringSuffix)
+                .setInitialBufferSize(initialBufferSize)
+                .setMaxRetainedBufferSize(maxRetainedBufferSize)
+                .build();
+        jsonWriter.ensureCapacity(position);
+        System.arraycopy(buffer, 0, jsonWriter.buffer, 0, position);
+        jsonWriter.position = position;
+        jsonWriter.depth = depth;
+        jsonWriter.containerStarts = containerStarts.clone();
+        jsonWriter.itemCounts = itemCounts.clone();
+        return jsonWriter;
+    }
+
+    public static Builder newBinaryBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private Format format;
+
+        private int maxStringLength;
+
+        private String truncatedStringSuffix;
+
+        private int initialBufferSize = 1024;
+
+        private int maxRetainedBufferSize = 16 * 1024;
+
+        private Builder() {}
+
+        public Format getFormat() {
+            return format;
+        }
+
+        public Builder setFormat(final Format format) {
+            this.format = format;
+            return this;
+        }
+
+        public int getMaxStringLength() {
+            return maxStringLength;
+        }
+
+        public Builder setMaxStringLength(final int maxStringLength) {
+            this.maxStringLength = maxStringLength;
+            return this;
+        }
+
+        public String getTruncatedStringSuffix() {
+            return truncatedStringSuffix;
+        }
+
+        public Builder setTruncatedStringSuffix(final String truncatedStringSuffix) {
+            this.truncatedStringSuffix = truncatedStringSuffix;
+            return this;
+        }
+
+        public int getInitialBufferSize() {
+            return initialBufferSize;
+        }
+
+        public Builder setInitialBufferSize(final int initialBufferSize) {
+            this.initialBufferSize = initialBufferSize;
+            return this;
+        }
+
+        public int getMaxRetainedBufferSize() {
+            return maxRetainedBufferSize;
+        }
+
+        public Builder setMaxRetainedBufferSize(final int maxRetainedBufferSize) {
+            this.maxRetainedBufferSize = maxRetainedBufferSize;
+            return this;
+        }
+
+        public BinaryJsonWriter build() {
+            validate();
+            return format == Format.CBOR ? new CborJsonWriter(this) : new MessagePackJsonWriter(this);
+        }
+
+        private void validate() {
+            Objects.requireNonNull(format, "format");
+            if (maxStringLength <= 0) {
+                throw new IllegalArgumentException("was expecting maxStringLength > 0: " + maxStringLength);
+            }
+            Objects.requireNonNull(truncatedStringSuffix, "truncatedStringSuffix");
+            if (initialBufferSize <= 0) {
+                throw new IllegalArgumentException(
+                        "was expecting a non-zero positive initialBufferSize: " + initialBufferSize);
+            }
+            if (maxRetainedBufferSize < initialBufferSize) {
+                throw new IllegalArgumentException(
+                        "was expecting maxRetainedBufferSize to be at least initialBufferSize: "
+                                + maxRetainedBufferSize);
+            }
+        }
+    }
+}
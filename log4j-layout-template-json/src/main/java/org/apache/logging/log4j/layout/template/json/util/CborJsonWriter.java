@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.util;
+
+/**
+ * A {@link BinaryJsonWriter} emitting <a href="https://www.rfc-editor.org/rfc/rfc8949.html">CBOR</a>.
+ */
+final class CborJsonWriter extends BinaryJsonWriter {
+
+    private static final int UNSIGNED_INTEGER = 0;
+
+    private static final int NEGATIVE_INTEGER = 1;
+
+    private static final int TEXT_STRING = 3;
+
+    private static final int ARRAY = 4;
+
+    private static final int MAP = 5;
+
+    private static final int TAG = 6;
+
+    private static final int SIMPLE_VALUE = 7;
+
+    CborJsonWriter(final Builder builder) {
+        super(builder);
+    }
+
+    @Override
+    public Format getFormat() {
+        return Format.CBOR;
+    }
+
+    @Override
+    void putNull() {
+        putByte(0xF6);
+    }
+
+    @Override
+    void putBoolean(final boolean value) {
+        putByte(value ? 0xF5 : 0xF4);
+    }
+
+    @Override
+    void putLong(final long value) {
+        if (value >= 0) {
+            putHeader(UNSIGNED_INTEGER, value);
+        } else {
+            putHeader(NEGATIVE_INTEGER, -1 - value);
+        }
+    }
+
+    @Override
+    void putFloat(final float value) {
+        putByte(0xFA);
+        putBigEndian(Float.floatToIntBits(value), 4);
+    }
+
+    @Override
+    void putDouble(final double value) {
+        putByte(0xFB);
+        putBigEndian(Double.doubleToLongBits(value), 8);
+    }
+
+    @Override
+    void putStringHeader(final int byteCount) {
+        putHeader(TEXT_STRING, byteCount);
+    }
+
+    private void putHeader(final int majorType, final long argument) {
+        final int type = majorType << 5;
+        if (argument < 24) {
+            putByte(type | (int) argument);
+        } else if (argument < 0x100) {
+            putByte(type | 24);
+            putByte((int) argument);
+        } else if (argument < 0x10000) {
+            putByte(type | 25);
+            putBigEndian(argument, 2);
+        } else if (argument < 0x100000000L) {
+            putByte(type | 26);
+            putBigEndian(argument, 4);
+        } else {
+            putByte(type | 27);
+            putBigEndian(argument, 8);
+        }
+    }
+
+    @Override
+    int containerHeaderLength(final int size) {
+        return 1 + argumentLength(size);
+    }
+
+    private static int argumentLength(final int size) {
+        if (size < 24) {
+            return 0;
+        } else if (size < 0x100) {
+            return 1;
+        } else if (size < 0x10000) {
+            return 2;
+        }
+        return 4;
+    }
+
+    @Override
+    void putContainerHeader(final int index, final int size, final boolean object) {
+        final int type = (object ? MAP : ARRAY) << 5;
+        final int argumentLength = argumentLength(size);
+        if (argumentLength == 0) {
+            buffer[index] = (byte) (type | size);
+        } else {
+            // Additional information 24, 25 and 26 denote 1, 2 and 4 bytes long arguments, respectively
+            buffer[index] = (byte) (type | (24 + Integer.numberOfTrailingZeros(argumentLength)));
+            putBigEndian(index + 1, size, argumentLength);
+        }
+    }
+
+    @Override
+    int skipItem(final int index) {
+        final int initialByte = buffer[index] & 0xFF;
+        final int majorType = initialByte >>> 5;
+        final int additionalInfo = initialByte & 0x1F;
+        final int argumentLength = additionalInfo < 24 ? 0 : 1 << (additionalInfo - 24);
+        final long argument = additionalInfo < 24 ? additionalInfo : getBigEndian(index + 1, argumentLength);
+        final int next = index + 1 + argumentLength;
+        switch (majorType) {
+            case UNSIGNED_INTEGER:
+            case NEGATIVE_INTEGER:
+            case SIMPLE_VALUE:
+                return next;
+            case TEXT_STRING:
+                return next + (int) argument;
+            case ARRAY:
+                return skipItems(next, argument);
+            case MAP:
+                return skipItems(next, 2 * argument);
+            case TAG:
+                return skipItem(next);
+            default:
+                throw new IllegalStateException("unexpected CBOR major type: " + majorType);
+        }
+    }
+
+    private int skipItems(final int index, final long itemCount) {
+        int next = index;
+        for (long itemIndex = 0; itemIndex < itemCount; itemIndex++) {
+            next = skipItem(next);
+        }
+        return next;
+    }
+
+    @Override
+    int stringHeaderLength(final int index) {
+        final int initialByte = buffer[index] & 0xFF;
+        if (initialByte >>> 5 != TEXT_STRING) {
+            return -1;
+        }
+        final int additionalInfo = initialByte & 0x1F;
+        return additionalInfo < 24 ? 1 : 1 + (1 << (additionalInfo - 24));
+    }
+}
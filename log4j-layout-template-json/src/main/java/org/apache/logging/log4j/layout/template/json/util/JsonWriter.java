@@ -46,93 +46,82 @@ import org.apache.logging.log4j.util.StringMap;
  *     <li>{@link CharSequence} and <tt>char[]</tt> with necessary escaping
  * </ul>
  * <p>
- * JSON standard quoting routines are borrowed from
- * <a href="https://github.com/FasterXML/jackson-core">Jackson</a>.
+ * Writers built by {@link #newBuilder()} emit JSON text into a {@link StringBuilder}, or as UTF-8 bytes, see
+ * {@link Utf8JsonWriter}.
+ * {@link BinaryJsonWriter} emits the same data model in a binary format instead.
+ * Resolvers should only rely on the methods of this class, e.g., {@link #capture(Runnable)} instead of
+ * {@link #use(Runnable)}, to support both.
  * <p>
  * Note that this class provides no protection against recursive collections,
  * e.g., an array where one or more elements reference to the array itself.
  */
-public final class JsonWriter implements AutoCloseable, Cloneable {
+public abstract class JsonWriter implements AutoCloseable, Cloneable {
 
-    private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+    final StringBuilder formattableBuffer;
 
-    /**
-     * Lookup table used for determining which output characters in 7-bit ASCII
-     * range (i.e., first 128 Unicode code points, single-byte UTF-8 characters)
-     * need to be quoted.
-     * <p>
-     * Value of 0 means "no escaping"; other positive values, that value is
-     * character to use after backslash; and negative values, that generic
-     * (backslash - u) escaping is to be used.
-     */
-    private static final int[] ESC_CODES;
+    final int maxStringLength;
 
-    static {
-        final int[] table = new int[128];
-        // Control chars need generic escape sequence
-        for (int i = 0; i < 32; ++i) {
-            // 04-Mar-2011, tatu: Used to use "-(i + 1)", replaced with constant
-            table[i] = -1;
-        }
-        // Others (and some within that range too) have explicit shorter sequences
-        table['"'] = '"';
-        table['\\'] = '\\';
-        // Escaping of slash is optional, so let's not add it
-        table[0x08] = 'b';
-        table[0x09] = 't';
-        table[0x0C] = 'f';
-        table[0x0A] = 'n';
-        table[0x0D] = 'r';
-        ESC_CODES = table;
-    }
-
-    private final char[] quoteBuffer;
+    final String truncatedStringSuffix;
 
-    private final StringBuilder stringBuilder;
+    JsonWriter(final int maxStringLength, final String truncatedStringSuffix) {
+        this.formattableBuffer = new StringBuilder(maxStringLength);
+        this.maxStringLength = maxStringLength;
+        this.truncatedStringSuffix = truncatedStringSuffix;
+    }
 
-    private final StringBuilder formattableBuffer;
+    /**
+     * Runs the given writes and returns the JSON text they produced, which is then removed from the output.
+     *
+     * @throws UnsupportedOperationException if the writer does not emit JSON text
+     */
+    public abstract String use(final Runnable runnable);
 
-    private final int maxStringLength;
+    /**
+     * Runs the given writes and returns their output, which is then removed from the output.
+     * <p>
+     * The returned fragment can be written using {@link #writeFragment(Fragment)} by this writer and its clones,
+     * which allows rendering constant parts of the output once.
+     * </p>
+     */
+    public abstract Fragment capture(final Runnable runnable);
 
-    private final String truncatedStringSuffix;
+    /**
+     * Writes a fragment captured by this writer or one of its clones.
+     */
+    public abstract void writeFragment(final Fragment fragment);
 
-    private final String quotedTruncatedStringSuffix;
+    /**
+     * Returns the buffer containing the JSON text written so far.
+     *
+     * @throws UnsupportedOperationException if the writer does not emit JSON text into a {@link StringBuilder}
+     */
+    public abstract StringBuilder getStringBuilder();
 
-    private JsonWriter(final Builder builder) {
-        this.quoteBuffer = new char[] {'\\', '-', '0', '0', '-', '-'};
-        this.stringBuilder = new StringBuilder(builder.maxStringLength);
-        this.formattableBuffer = new StringBuilder(builder.maxStringLength);
-        this.maxStringLength = builder.maxStringLength;
-        this.truncatedStringSuffix = builder.truncatedStringSuffix;
-        this.quotedTruncatedStringSuffix = quoteString(builder.truncatedStringSuffix);
-    }
+    /**
+     * Returns the size of the output, in units specific to the writer, e.g., characters or bytes.
+     */
+    public abstract int getLength();
 
-    private String quoteString(final String string) {
-        final int startIndex = stringBuilder.length();
-        quoteString(string, 0, string.length());
-        final StringBuilder quotedStringBuilder = new StringBuilder();
-        quotedStringBuilder.append(stringBuilder, startIndex, stringBuilder.length());
-        final String quotedString = quotedStringBuilder.toString();
-        stringBuilder.setLength(startIndex);
-        return quotedString;
-    }
+    /**
+     * Discards the output written after the given length, as returned by {@link #getLength()}.
+     * <p>
+     * The length must have been obtained in the innermost array or object being written.
+     * </p>
+     */
+    public abstract void setLength(final int length);
 
-    public String use(final Runnable runnable) {
-        Objects.requireNonNull(runnable, "runnable");
-        final int startIndex = stringBuilder.length();
-        try {
-            runnable.run();
-            final StringBuilder sliceStringBuilder = new StringBuilder();
-            sliceStringBuilder.append(stringBuilder, startIndex, stringBuilder.length());
-            return sliceStringBuilder.toString();
-        } finally {
-            trimStringBuilder(stringBuilder, startIndex);
-        }
-    }
+    /**
+     * Returns the string value written after the given length, as returned by {@link #getLength()}.
+     *
+     * @return the string value, or {@code null}, if the output written after the given length is not a single string
+     */
+    public abstract String readString(final int startIndex);
 
-    public StringBuilder getStringBuilder() {
-        return stringBuilder;
-    }
+    /**
+     * Returns a human-readable representation of the output written after the given length, e.g., for error
+     * messages.
+     */
+    public abstract String describeOutput(final int startIndex);
 
     public int getMaxStringLength() {
         return maxStringLength;
@@ -289,18 +278,11 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
         }
     }
 
-    public void writeObjectStart() {
-        stringBuilder.append('{');
-    }
+    public abstract void writeObjectStart();
 
-    public void writeObjectEnd() {
-        stringBuilder.append('}');
-    }
+    public abstract void writeObjectEnd();
 
-    public void writeObjectKey(final CharSequence key) {
-        writeString(key);
-        stringBuilder.append(':');
-    }
+    public abstract void writeObjectKey(final CharSequence key);
 
     public void writeArray(final List<Object> items) {
         if (items == null) {
@@ -345,9 +327,7 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
                 if (itemIndex > 0) {
                     writeSeparator();
                 }
-                stringBuilder.append('"');
-                quoteString(items, itemIndex, 1);
-                stringBuilder.append('"');
+                writeString(items, itemIndex, 1);
             }
             writeArrayEnd();
         }
@@ -481,34 +461,17 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
         }
     }
 
-    public void writeArrayStart() {
-        stringBuilder.append('[');
-    }
+    public abstract void writeArrayStart();
 
-    public void writeArrayEnd() {
-        stringBuilder.append(']');
-    }
+    public abstract void writeArrayEnd();
 
-    public void writeSeparator() {
-        stringBuilder.append(',');
-    }
+    public abstract void writeSeparator();
 
     public <S> void writeString(final BiConsumer<StringBuilder, S> emitter, final S state) {
         Objects.requireNonNull(emitter, "emitter");
-        stringBuilder.append('"');
         try {
             emitter.accept(formattableBuffer, state);
-            final int length = formattableBuffer.length();
-            // Handle max. string length complying input.
-            if (length <= maxStringLength) {
-                quoteString(formattableBuffer, 0, length);
-            }
-            // Handle max. string length violating input.
-            else {
-                quoteString(formattableBuffer, 0, maxStringLength);
-                stringBuilder.append(quotedTruncatedStringSuffix);
-            }
-            stringBuilder.append('"');
+            writeUncheckedString(formattableBuffer, 0, formattableBuffer.length());
         } finally {
             trimStringBuilder(formattableBuffer, 0);
         }
@@ -518,20 +481,9 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
         if (formattable == null) {
             writeNull();
         } else {
-            stringBuilder.append('"');
             try {
                 formattable.formatTo(formattableBuffer);
-                final int length = formattableBuffer.length();
-                // Handle max. string length complying input.
-                if (length <= maxStringLength) {
-                    quoteString(formattableBuffer, 0, length);
-                }
-                // Handle max. string length violating input.
-                else {
-                    quoteString(formattableBuffer, 0, maxStringLength);
-                    stringBuilder.append(quotedTruncatedStringSuffix);
-                }
-                stringBuilder.append('"');
+                writeUncheckedString(formattableBuffer, 0, formattableBuffer.length());
             } finally {
                 trimStringBuilder(formattableBuffer, 0);
             }
@@ -562,45 +514,16 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
             throw new IllegalArgumentException("was expecting a positive length: " + length);
         }
 
-        stringBuilder.append('"');
-        // Handle max. string length complying input.
-        if (length <= maxStringLength) {
-            quoteString(seq, offset, length);
-        }
-        // Handle max. string length violating input.
-        else {
-            quoteString(seq, offset, maxStringLength);
-            stringBuilder.append(quotedTruncatedStringSuffix);
-        }
-        stringBuilder.append('"');
+        writeUncheckedString(seq, offset, length);
     }
 
     /**
-     * Quote text contents using JSON standard quoting.
+     * Writes the given string, truncating it to {@link #getMaxStringLength()} characters, if necessary.
+     * <p>
+     * A trailing high surrogate, which would otherwise be left unpaired, is dropped.
+     * </p>
      */
-    private void quoteString(final CharSequence seq, final int offset, final int length) {
-        final int surrogateCorrection =
-                length > 0 && Character.isHighSurrogate(seq.charAt(offset + length - 1)) ? -1 : 0;
-        final int limit = offset + length + surrogateCorrection;
-        int i = offset;
-        outer:
-        while (i < limit) {
-            while (true) {
-                final char c = seq.charAt(i);
-                if (c < ESC_CODES.length && ESC_CODES[c] != 0) {
-                    break;
-                }
-                stringBuilder.append(c);
-                if (++i >= limit) {
-                    break outer;
-                }
-            }
-            final char d = seq.charAt(i++);
-            final int escCode = ESC_CODES[d];
-            final int quoteBufferLength = escCode < 0 ? quoteNumeric(d) : quoteNamed(escCode);
-            stringBuilder.append(quoteBuffer, 0, quoteBufferLength);
-        }
-    }
+    abstract void writeUncheckedString(final CharSequence seq, final int offset, final int length);
 
     public void writeString(final char[] buffer) {
         if (buffer == null) {
@@ -626,57 +549,13 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
             throw new IllegalArgumentException("was expecting a positive length: " + length);
         }
 
-        stringBuilder.append('"');
-        // Handle max. string length complying input.
-        if (length <= maxStringLength) {
-            quoteString(buffer, offset, length);
-        }
-        // Handle max. string length violating input.
-        else {
-            quoteString(buffer, offset, maxStringLength);
-            stringBuilder.append(quotedTruncatedStringSuffix);
-        }
-        stringBuilder.append('"');
+        writeUncheckedString(buffer, offset, length);
     }
 
     /**
-     * Quote text contents using JSON standard quoting.
+     * The {@code char[]} counterpart of {@link #writeUncheckedString(CharSequence, int, int)}.
      */
-    private void quoteString(final char[] buffer, final int offset, final int length) {
-        final int surrogateCorrection = length > 0 && Character.isHighSurrogate(buffer[offset + length - 1]) ? -1 : 0;
-        final int limit = offset + length + surrogateCorrection;
-        int i = offset;
-        outer:
-        while (i < limit) {
-            while (true) {
-                final char c = buffer[i];
-                if (c < ESC_CODES.length && ESC_CODES[c] != 0) {
-                    break;
-                }
-                stringBuilder.append(c);
-                if (++i >= limit) {
-                    break outer;
-                }
-            }
-            final char d = buffer[i++];
-            final int escCode = ESC_CODES[d];
-            final int quoteBufferLength = escCode < 0 ? quoteNumeric(d) : quoteNamed(escCode);
-            stringBuilder.append(quoteBuffer, 0, quoteBufferLength);
-        }
-    }
-
-    private int quoteNumeric(final int value) {
-        quoteBuffer[1] = 'u';
-        // We know it's a control char, so only the last 2 chars are non-0
-        quoteBuffer[4] = HEX_CHARS[value >> 4];
-        quoteBuffer[5] = HEX_CHARS[value & 0xF];
-        return 6;
-    }
-
-    private int quoteNamed(final int esc) {
-        quoteBuffer[1] = (char) esc;
-        return 2;
-    }
+    abstract void writeUncheckedString(final char[] buffer, final int offset, final int length);
 
     private void writeNumber(final Number number) {
         if (number instanceof BigDecimal) {
@@ -708,66 +587,54 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
         }
     }
 
-    public void writeNumber(final BigDecimal number) {
-        if (number == null) {
-            writeNull();
-        } else {
-            stringBuilder.append(number);
-        }
-    }
+    public abstract void writeNumber(final BigDecimal number);
 
-    public void writeNumber(final BigInteger number) {
-        if (number == null) {
-            writeNull();
-        } else {
-            stringBuilder.append(number);
-        }
-    }
+    public abstract void writeNumber(final BigInteger number);
 
-    public void writeNumber(final float number) {
-        stringBuilder.append(number);
-    }
+    public abstract void writeNumber(final float number);
 
-    public void writeNumber(final double number) {
-        stringBuilder.append(number);
-    }
+    public abstract void writeNumber(final double number);
 
     public void writeNumber(final short number) {
-        stringBuilder.append(number);
+        writeNumber((long) number);
     }
 
     public void writeNumber(final int number) {
-        stringBuilder.append(number);
+        writeNumber((long) number);
     }
 
-    public void writeNumber(final long number) {
-        stringBuilder.append(number);
-    }
+    public abstract void writeNumber(final long number);
 
     public void writeNumber(final long integralPart, final long fractionalPart) {
         if (fractionalPart < 0) {
             throw new IllegalArgumentException("was expecting a positive fraction: " + fractionalPart);
         }
-        stringBuilder.append(integralPart);
-        if (fractionalPart != 0) {
-            stringBuilder.append('.');
-            stringBuilder.append(fractionalPart);
-        }
+        writeUncheckedNumber(integralPart, fractionalPart);
     }
 
-    public void writeBoolean(final boolean value) {
-        writeRawString(value ? "true" : "false");
-    }
+    abstract void writeUncheckedNumber(final long integralPart, final long fractionalPart);
 
-    public void writeNull() {
-        writeRawString("null");
-    }
+    /**
+     * Writes the number emitted in its JSON representation by the given emitter, e.g., a formatter.
+     */
+    public abstract <S> void writeNumber(final BiConsumer<StringBuilder, S> emitter, final S state);
+
+    public abstract void writeBoolean(final boolean value);
+
+    public abstract void writeNull();
 
     public void writeRawString(final CharSequence seq) {
         Objects.requireNonNull(seq, "seq");
         writeRawString(seq, 0, seq.length());
     }
 
+    /**
+     * Writes the given JSON text.
+     * <p>
+     * Writers not emitting JSON text need to parse it, hence {@link #writeFragment(Fragment)} should be preferred
+     * for constant content.
+     * </p>
+     */
     public void writeRawString(final CharSequence seq, final int offset, final int length) {
 
         // Check arguments.
@@ -779,11 +646,11 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
             throw new IllegalArgumentException("was expecting a positive length: " + length);
         }
 
-        // Write characters.
-        final int limit = offset + length;
-        stringBuilder.append(seq, offset, limit);
+        writeUncheckedRawString(seq, offset, length);
     }
 
+    abstract void writeUncheckedRawString(final CharSequence seq, final int offset, final int length);
+
     public void writeRawString(final char[] buffer) {
         Objects.requireNonNull(buffer, "buffer");
         writeRawString(buffer, 0, buffer.length);
@@ -800,16 +667,17 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
             throw new IllegalArgumentException("was expecting a positive length: " + length);
         }
 
-        // Write characters.
-        stringBuilder.append(buffer, offset, length);
+        writeUncheckedRawString(buffer, offset, length);
     }
 
+    abstract void writeUncheckedRawString(final char[] buffer, final int offset, final int length);
+
     @Override
     public void close() {
-        trimStringBuilder(stringBuilder, 0);
+        trimStringBuilder(formattableBuffer, 0);
     }
 
-    private void trimStringBuilder(final StringBuilder stringBuilder, final int length) {
+    void trimStringBuilder(final StringBuilder stringBuilder, final int length) {
         final int trimLength = Math.max(maxStringLength, length);
         if (stringBuilder.capacity() > trimLength) {
             stringBuilder.setLength(trimLength);
@@ -819,20 +687,48 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
     }
 
     @Override
-    @SuppressWarnings("MethodDoesntCallSuperMethod")
-    public JsonWriter clone() {
-        final JsonWriter jsonWriter = newBuilder()
-                .setMaxStringLength(maxStringLength)
-                .setTruncatedStringSuffix(truncatedStringSuffix)
-                .build();
-        jsonWriter.stringBuilder.append(stringBuilder);
-        return jsonWriter;
-    }
+    public abstract JsonWriter clone();
 
     public static Builder newBuilder() {
         return new Builder();
     }
 
+    /**
+     * Output captured by {@link JsonWriter#capture(Runnable)}.
+     */
+    public static final class Fragment {
+
+        final String text;
+
+        final byte[] bytes;
+
+        // The number of values and object keys in the fragment
+        final int itemCount;
+
+        Fragment(final String text) {
+            this.text = text;
+            this.bytes = null;
+            this.itemCount = 0;
+        }
+
+        Fragment(final String text, final byte[] bytes) {
+            this.text = text;
+            this.bytes = bytes;
+            this.itemCount = 0;
+        }
+
+        Fragment(final byte[] bytes, final int itemCount) {
+            this.text = null;
+            this.bytes = bytes;
+            this.itemCount = itemCount;
+        }
+
+        @Override
+        public String toString() {
+            return text != null ? text : BinaryJsonWriter.toHexString(bytes, 0, bytes.length);
+        }
+    }
+
     public static final class Builder {
 
         private int maxStringLength;
@@ -859,7 +755,15 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
 
         public JsonWriter build() {
             validate();
-            return new JsonWriter(this);
+            return new StringJsonWriter(maxStringLength, truncatedStringSuffix);
+        }
+
+        /**
+         * Builds a writer emitting UTF-8 encoded JSON text into a byte array.
+         */
+        public Utf8JsonWriter buildUtf8() {
+            validate();
+            return new Utf8JsonWriter(maxStringLength, truncatedStringSuffix);
         }
 
         private void validate() {
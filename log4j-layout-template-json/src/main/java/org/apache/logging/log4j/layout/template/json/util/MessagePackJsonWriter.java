@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.util;
+
+/**
+ * A {@link BinaryJsonWriter} emitting <a href="https://github.com/msgpack/msgpack/blob/master/spec.md">MessagePack</a>.
+ */
+final class MessagePackJsonWriter extends BinaryJsonWriter {
+
+    MessagePackJsonWriter(final Builder builder) {
+        super(builder);
+    }
+
+    @Override
+    public Format getFormat() {
+        return Format.MESSAGE_PACK;
+    }
+
+    @Override
+    void putNull() {
+        putByte(0xC0);
+    }
+
+    @Override
+    void putBoolean(final boolean value) {
+        putByte(value ? 0xC3 : 0xC2);
+    }
+
+    @Override
+    void putLong(final long value) {
+        if (value >= 0) {
+            if (value < 0x80) {
+                putByte((int) value);
+            } else if (value < 0x100) {
+                putByte(0xCC);
+                putByte((int) value);
+            } else if (value < 0x10000) {
+                putByte(0xCD);
+                putBigEndian(value, 2);
+            } else if (value < 0x100000000L) {
+                putByte(0xCE);
+                putBigEndian(value, 4);
+            } else {
+                putByte(0xCF);
+                putBigEndian(value, 8);
+            }
+        } else if (value >= -32) {
+            putByte((int) value);
+        } else if (value >= Byte.MIN_VALUE) {
+            putByte(0xD0);
+            putByte((int) value);
+        } else if (value >= Short.MIN_VALUE) {
+            putByte(0xD1);
+            putBigEndian(value, 2);
+        } else if (value >= Integer.MIN_VALUE) {
+            putByte(0xD2);
+            putBigEndian(value, 4);
+        } else {
+            putByte(0xD3);
+            putBigEndian(value, 8);
+        }
+    }
+
+    @Override
+    void putFloat(final float value) {
+        putByte(0xCA);
+        putBigEndian(Float.floatToIntBits(value), 4);
+    }
+
+    @Override
+    void putDouble(final double value) {
+        putByte(0xCB);
+        putBigEndian(Double.doubleToLongBits(value), 8);
+    }
+
+    @Override
+    void putStringHeader(final int byteCount) {
+        if (byteCount < 32) {
+            putByte(0xA0 | byteCount);
+        } else if (byteCount < 0x100) {
+            putByte(0xD9);
+            putByte(byteCount);
+        } else if (byteCount < 0x10000) {
+            putByte(0xDA);
+            putBigEndian(byteCount, 2);
+        } else {
+            putByte(0xDB);
+            putBigEndian(byteCount, 4);
+        }
+    }
+
+    @Override
+    int containerHeaderLength(final int size) {
+        if (size < 16) {
+            return 1;
+        } else if (size < 0x10000) {
+            return 3;
+        }
+        return 5;
+    }
+
+    @Override
+    void putContainerHeader(final int index, final int size, final boolean object) {
+        if (size < 16) {
+            buffer[index] = (byte) ((object ? 0x80 : 0x90) | size);
+        } else if (size < 0x10000) {
+            buffer[index] = (byte) (object ? 0xDE : 0xDC);
+            putBigEndian(index + 1, size, 2);
+        } else {
+            buffer[index] = (byte) (object ? 0xDF : 0xDD);
+            putBigEndian(index + 1, size, 4);
+        }
+    }
+
+    @Override
+    int skipItem(final int index) {
+        final int type = buffer[index] & 0xFF;
+        if (type < 0x80 || type >= 0xE0) {
+            return index + 1;
+        } else if (type < 0x90) {
+            return skipItems(index + 1, 2L * (type & 0x0F));
+        } else if (type < 0xA0) {
+            return skipItems(index + 1, type & 0x0F);
+        } else if (type < 0xC0) {
+            return index + 1 + (type & 0x1F);
+        }
+        switch (type) {
+            case 0xC0:
+            case 0xC2:
+            case 0xC3:
+                return index + 1;
+            case 0xCC:
+            case 0xD0:
+                return index + 2;
+            case 0xCD:
+            case 0xD1:
+                return index + 3;
+            case 0xCA:
+            case 0xCE:
+            case 0xD2:
+                return index + 5;
+            case 0xCB:
+            case 0xCF:
+            case 0xD3:
+                return index + 9;
+            case 0xD9:
+            case 0xDA:
+            case 0xDB:
+                final int headerLength = stringHeaderLength(index);
+                return index + headerLength + (int) getBigEndian(index + 1, headerLength - 1);
+            case 0xDC:
+                return skipItems(index + 3, getBigEndian(index + 1, 2));
+            case 0xDD:
+                return skipItems(index + 5, getBigEndian(index + 1, 4));
+            case 0xDE:
+                return skipItems(index + 3, 2 * getBigEndian(index + 1, 2));
+            case 0xDF:
+                return skipItems(index + 5, 2 * getBigEndian(index + 1, 4));
+            default:
+                throw new IllegalStateException("unexpected MessagePack type: " + type);
+        }
+    }
+
+    private int skipItems(final int index, final long itemCount) {
+        int next = index;
+        for (long itemIndex = 0; itemIndex < itemCount; itemIndex++) {
+            next = skipItem(next);
+        }
+        return next;
+    }
+
+    @Override
+    int stringHeaderLength(final int index) {
+        final int type = buffer[index] & 0xFF;
+        if (type >= 0xA0 && type < 0xC0) {
+            return 1;
+        }
+        switch (type) {
+            case 0xD9:
+                return 2;
+            case 0xDA:
+                return 3;
+            case 0xDB:
+                return 5;
+            default:
+                return -1;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import org.apache.logging.log4j.kit.json.JsonReader;
+
+/**
+ * A {@link JsonWriter} emitting JSON text into a {@link StringBuilder}.
+ * <p>
+ * JSON standard quoting routines are borrowed from
+ * <a href="https://github.com/FasterXML/jackson-core">Jackson</a>.
+ * </p>
+ */
+final class StringJsonWriter extends JsonWriter {
+
+    private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Lookup table used for determining which output characters in 7-bit ASCII
+     * range (i.e., first 128 Unicode code points, single-byte UTF-8 characters)
+     * need to be quoted.
+     * <p>
+     * Value of 0 means "no escaping"; other positive values, that value is
+     * character to use after backslash; and negative values, that generic
+     * (backslash - u) escaping is to be used.
+     */
+    private static final int[] ESC_CODES;
+
+    static {
+        final int[] table = new int[128];
+        // Control chars need generic escape sequence
+        for (int i = 0; i < 32; ++i) {
+            // 04-Mar-2011, tatu: Used to use "-(i + 1)", replaced with constant
+            table[i] = -1;
+        }
+        // Others (and some within that range too) have explicit shorter sequences
+        table['"'] = '"';
+        table['\\'] = '\\';
+        // Escaping of slash is optional, so let's not add it
+        table[0x08] = 'b';
+        table[0x09] = 't';
+        table[0x0C] = 'f';
+        table[0x0A] = 'n';
+        table[0x0D] = 'r';
+        ESC_CODES = table;
+    }
+
+    private final char[] quoteBuffer;
+
+    private final StringBuilder stringBuilder;
+
+    private final String quotedTruncatedStringSuffix;
+
+    StringJsonWriter(final int maxStringLength, final String truncatedStringSuffix) {
+        super(maxStringLength, truncatedStringSuffix);
+        this.quoteBuffer = new char[] {'\\', '-', '0', '0', '-', '-'};
+        this.stringBuilder = new StringBuilder(maxStringLength);
+        this.quotedTruncatedStringSuffix = quoteString(truncatedStringSuffix);
+    }
+
+    private String quoteString(final String string) {
+        final int startIndex = stringBuilder.length();
+        quoteString(string, 0, string.length());
+        final StringBuilder quotedStringBuilder = new StringBuilder();
+        quotedStringBuilder.append(stringBuilder, startIndex, stringBuilder.length());
+        final String quotedString = quotedStringBuilder.toString();
+        stringBuilder.setLength(startIndex);
+        return quotedString;
+    }
+
+    @Override
+    public String use(final Runnable runnable) {
+        Objects.requireNonNull(runnable, "runnable");
+        final int startIndex = stringBuilder.length();
+        try {
+            runnable.run();
+            final StringBuilder sliceStringBuilder = new StringBuilder();
+            sliceStringBuilder.append(stringBuilder, startIndex, stringBuilder.length());
+            return sliceStringBuilder.toString();
+        } finally {
+            trimStringBuilder(stringBuilder, startIndex);
+        }
+    }
+
+    @Override
+    public Fragment capture(final Runnable runnable) {
+        return new Fragment(use(runnable));
+    }
+
+    @Override
+    public void writeFragment(final Fragment fragment) {
+        stringBuilder.append(fragment.text);
+    }
+
+    @Override
+    public StringBuilder getStringBuilder() {
+        return stringBuilder;
+    }
+
+    @Override
+    public int getLength() {
+        return stringBuilder.length();
+    }
+
+    @Override
+    public void setLength(final int length) {
+        stringBuilder.setLength(length);
+    }
+
+    @Override
+    public String readString(final int startIndex) {
+        final int endIndex = stringBuilder.length();
+        final boolean stringTyped = (startIndex + 1) < endIndex
+                && stringBuilder.charAt(startIndex) == '"'
+                && stringBuilder.charAt(endIndex - 1) == '"';
+        if (!stringTyped) {
+            return null;
+        }
+        final String json = stringBuilder.substring(startIndex, endIndex);
+        return (String) JsonReader.read(json);
+    }
+
+    @Override
+    public String describeOutput(final int startIndex) {
+        return stringBuilder.substring(startIndex);
+    }
+
+    @Override
+    public void writeObjectStart() {
+        stringBuilder.append('{');
+    }
+
+    @Override
+    public void writeObjectEnd() {
+        stringBuilder.append('}');
+    }
+
+    @Override
+    public void writeObjectKey(final CharSequence key) {
+        writeString(key);
+        stringBuilder.append(':');
+    }
+
+    @Override
+    public void writeArrayStart() {
+        stringBuilder.append('[');
+    }
+
+    @Override
+    public void writeArrayEnd() {
+        stringBuilder.append(']');
+    }
+
+    @Override
+    public void writeSeparator() {
+        stringBuilder.append(',');
+    }
+
+    @Override
+    void writeUncheckedString(final CharSequence seq, final int offset, final int length) {
+        stringBuilder.append('"');
+        // Handle max. string length complying input.
+        if (length <= maxStringLength) {
+            quoteString(seq, offset, length);
+        }
+        // Handle max. string length violating input.
+        else {
+            quoteString(seq, offset, maxStringLength);
+            stringBuilder.append(quotedTruncatedStringSuffix);
+        }
+        stringBuilder.append('"');
+    }
+
+    /**
+     * Quote text contents using JSON standard quoting.
+     */
+    private void quoteString(final CharSequence seq, final int offset, final int length) {
+        final int surrogateCorrection =
+                length > 0 && Character.isHighSurrogate(seq.charAt(offset + length - 1)) ? -1 : 0;
+        final int limit = offset + length + surrogateCorrection;
+        int i = offset;
+        outer:
+        while (i < limit) {
+            while (true) {
+                final char c = seq.charAt(i);
+                if (c < ESC_CODES.length && ESC_CODES[c] != 0) {
+                    break;
+                }
+                stringBuilder.append(c);
+                if (++i >= limit) {
+                    break outer;
+                }
+            }
+            final char d = seq.charAt(i++);
+            final int escCode = ESC_CODES[d];
+            final int quoteBufferLength = escCode < 0 ? quoteNumeric(d) : quoteNamed(escCode);
+            stringBuilder.append(quoteBuffer, 0, quoteBufferLength);
+        }
+    }
+
+    @Override
+    void writeUncheckedString(final char[] buffer, final int offset, final int length) {
+        stringBuilder.append('"');
+        // Handle max. string length complying input.
+        if (length <= maxStringLength) {
+            quoteString(buffer, offset, length);
+        }
+        // Handle max. string length violating input.
+        else {
+            quoteString(buffer, offset, maxStringLength);
+            stringBuilder.append(quotedTruncatedStringSuffix);
+        }
+        stringBuilder.append('"');
+    }
+
+    /**
+     * Quote text contents using JSON standard quoting.
+     */
+    private void quoteString(final char[] buffer, final int offset, final int length) {
+        final int surrogateCorrection = length > 0 && Character.isHighSurrogate(buffer[offset + length - 1]) ? -1 : 0;
+        final int limit = offset + length + surrogateCorrection;
+        int i = offset;
+        outer:
+        while (i < limit) {
+            while (true) {
+                final char c = buffer[i];
+                if (c < ESC_CODES.length && ESC_CODES[c] != 0) {
+                    break;
+                }
+                stringBuilder.append(c);
+                if (++i >= limit) {
+                    break outer;
+                }
+            }
+            final char d = buffer[i++];
+            final int escCode = ESC_CODES[d];
+            final int quoteBufferLength = escCode < 0 ? quoteNumeric(d) : quoteNamed(escCode);
+            stringBuilder.append(quoteBuffer, 0, quoteBufferLength);
+        }
+    }
+
+    private int quoteNumeric(final int value) {
+        quoteBuffer[1] = 'u';
+        // We know it's a control char, so only the last 2 chars are non-0
+        quoteBuffer[4] = HEX_CHARS[value >> 4];
+        quoteBuffer[5] = HEX_CHARS[value & 0xF];
+        return 6;
+    }
+
+    private int quoteNamed(final int esc) {
+        quoteBuffer[1] = (char) esc;
+        return 2;
+    }
+
+    @Override
+    public void writeNumber(final BigDecimal number) {
+        if (number == null) {
+            writeNull();
+        } else {
+            stringBuilder.append(number);
+        }
+    }
+
+    @Override
+    public void writeNumber(final BigInteger number) {
+        if (number == null) {
+            writeNull();
+        } else {
+            stringBuilder.append(number);
+        }
+    }
+
+    @Override
+    public void writeNumber(final float number) {
+        stringBuilder.append(number);
+    }
+
+    @Override
+    public void writeNumber(final double number) {
+        stringBuilder.append(number);
+    }
+
+    @Override
+    public void writeNumber(final short number) {
+        stringBuilder.append(number);
+    }
+
+    @Override
+    public void writeNumber(final int number) {
+        stringBuilder.append(number);
+    }
+
+    @Override
+    public void writeNumber(final long number) {
+        stringBuilder.append(number);
+    }
+
+    @Override
+    void writeUncheckedNumber(final long integralPart, final long fractionalPart) {
+        stringBuilder.append(integralPart);
+        if (fractionalPart != 0) {
+            stringBuilder.append('.');
+            stringBuilder.append(fractionalPart);
+        }
+    }
+
+    @Override
+    public <S> void writeNumber(final BiConsumer<StringBuilder, S> emitter, final S state) {
+        Objects.requireNonNull(emitter, "emitter");
+        emitter.accept(stringBuilder, state);
+    }
+
+    @Override
+    public void writeBoolean(final boolean value) {
+        writeRawString(value ? "true" : "false");
+    }
+
+    @Override
+    public void writeNull() {
+        writeRawString("null");
+    }
+
+    @Override
+    void writeUncheckedRawString(final CharSequence seq, final int offset, final int length) {
+        final int limit = offset + length;
+        stringBuilder.append(seq, offset, limit);
+    }
+
+    @Override
+    void writeUncheckedRawString(final char[] buffer, final int offset, final int length) {
+        stringBuilder.append(buffer, offset, length);
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        trimStringBuilder(stringBuilder, 0);
+    }
+
+    @Override
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    public JsonWriter clone() {
+        final StringJsonWriter jsonWriter = new StringJsonWriter(maxStringLength, truncatedStringSuffix);
+        jsonWriter.stringBuilder.append(stringBuilder);
+        return jsonWriter;
+    }
+}
@@ -0,0 +1,499 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.kit.json.JsonReader;
+
+/**
+ * A {@link JsonWriter} emitting UTF-8 encoded JSON text into a byte array.
+ * <p>
+ * Strings are escaped and encoded in a single pass, and fragments, e.g., template keys and literals, are captured
+ * already encoded. The output is identical to the one of {@link JsonWriter#newBuilder()} writers encoded by the JDK
+ * UTF-8 encoder, including the {@code ?} replacing unpaired surrogates.
+ * </p>
+ * <p>
+ * {@link #getStringBuilder()} is not supported, hence {@code JsonTemplateLayout} only uses this writer if the event
+ * template contains no custom resolvers.
+ * </p>
+ * <p>
+ * <b>Instances are not thread-safe!</b>
+ * Users are expected to recycle instances, e.g., using a {@link org.apache.logging.log4j.kit.recycler.Recycler}.
+ * </p>
+ */
+public final class Utf8JsonWriter extends JsonWriter {
+
+    private static final byte[] HEX_BYTES = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Lookup table used for determining which characters in 7-bit ASCII range need to be quoted, as in
+     * {@link StringJsonWriter}.
+     * <p>
+     * Value of 0 means "no escaping"; other positive values, that value is character to use after backslash; and
+     * negative values, that generic (backslash - u) escaping is to be used.
+     */
+    private static final int[] ESC_CODES;
+
+    static {
+        final int[] table = new int[128];
+        for (int i = 0; i < 32; ++i) {
+            table[i] = -1;
+        }
+        table['"'] = '"';
+        table['\\'] = '\\';
+        table[0x08] = 'b';
+        table[0x09] = 't';
+        table[0x0C] = 'f';
+        table[0x0A] = 'n';
+        table[0x0D] = 'r';
+        ESC_CODES = table;
+    }
+
+    // The longest escape sequence, i.e., "\u001F"
+    private static final int MAX_ESCAPE_LENGTH = 6;
+
+    private static final byte[] TRUE_BYTES = {'t', 'r', 'u', 'e'};
+
+    private static final byte[] FALSE_BYTES = {'f', 'a', 'l', 's', 'e'};
+
+    private static final byte[] NULL_BYTES = {'n', 'u', 'l', 'l'};
+
+    private static final byte[] MIN_LONG_BYTES = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] quotedTruncatedStringSuffix;
+
+    private byte[] buffer;
+
+    private int position;
+
+    Utf8JsonWriter(final int maxStringLength, final String truncatedStringSuffix) {
+        super(maxStringLength, truncatedStringSuffix);
+        this.buffer = new byte[maxStringLength];
+        putChars(truncatedStringSuffix, 0, truncatedStringSuffix.length(), true);
+        this.quotedTruncatedStringSuffix = Arrays.copyOf(buffer, position);
+        this.position = 0;
+    }
+
+    /**
+     * Writes the output to the given destination.
+     */
+    public void writeTo(final ByteBufferDestination destination) {
+        destination.writeBytes(buffer, 0, position);
+    }
+
+    /**
+     * Returns a copy of the output.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * Returns the output as a string.
+     */
+    public String toJsonString() {
+        return new String(buffer, 0, position, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String use(final Runnable runnable) {
+        Objects.requireNonNull(runnable, "runnable");
+        final int startPosition = position;
+        try {
+            runnable.run();
+            return new String(buffer, startPosition, position - startPosition, StandardCharsets.UTF_8);
+        } finally {
+            position = startPosition;
+        }
+    }
+
+    @Override
+    public Fragment capture(final Runnable runnable) {
+        Objects.requireNonNull(runnable, "runnable");
+        final int startPosition = position;
+        try {
+            runnable.run();
+            final byte[] bytes = Arrays.copyOfRange(buffer, startPosition, position);
+            return new Fragment(new String(bytes, StandardCharsets.UTF_8), bytes);
+        } finally {
+            position = startPosition;
+        }
+    }
+
+    @Override
+    public void writeFragment(final Fragment fragment) {
+        final byte[] bytes = fragment.bytes;
+        if (bytes == null) {
+            throw new IllegalArgumentException("was expecting a fragment captured by a UTF-8 writer: " + fragment);
+        }
+        putBytes(bytes);
+    }
+
+    @Override
+    public StringBuilder getStringBuilder() {
+        throw new UnsupportedOperationException("UTF-8 writers do not emit into a StringBuilder");
+    }
+
+    @Override
+    public int getLength() {
+        return position;
+    }
+
+    @Override
+    public void setLength(final int length) {
+        if (length < 0 || length > position) {
+            throw new IllegalArgumentException("invalid length: " + length);
+        }
+        position = length;
+    }
+
+    @Override
+    public String readString(final int startIndex) {
+        final boolean stringTyped =
+                (startIndex + 1) < position && buffer[startIndex] == '"' && buffer[position - 1] == '"';
+        if (!stringTyped) {
+            return null;
+        }
+        final String json = new String(buffer, startIndex, position - startIndex, StandardCharsets.UTF_8);
+        return (String) JsonReader.read(json);
+    }
+
+    @Override
+    public String describeOutput(final int startIndex) {
+        return new String(buffer, startIndex, position - startIndex, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void writeObjectStart() {
+        putByte('{');
+    }
+
+    @Override
+    public void writeObjectEnd() {
+        putByte('}');
+    }
+
+    @Override
+    public void writeObjectKey(final CharSequence key) {
+        writeString(key);
+        putByte(':');
+    }
+
+    @Override
+    public void writeArrayStart() {
+        putByte('[');
+    }
+
+    @Override
+    public void writeArrayEnd() {
+        putByte(']');
+    }
+
+    @Override
+    public void writeSeparator() {
+        putByte(',');
+    }
+
+    @Override
+    void writeUncheckedString(final CharSequence seq, final int offset, final int length) {
+        putByte('"');
+        final int quotedLength = Math.min(length, maxStringLength);
+        final int surrogateCorrection =
+                quotedLength > 0 && Character.isHighSurrogate(seq.charAt(offset + quotedLength - 1)) ? -1 : 0;
+        putChars(seq, offset, offset + quotedLength + surrogateCorrection, true);
+        if (length > maxStringLength) {
+            putBytes(quotedTruncatedStringSuffix);
+        }
+        putByte('"');
+    }
+
+    @Override
+    void writeUncheckedString(final char[] chars, final int offset, final int length) {
+        putByte('"');
+        final int quotedLength = Math.min(length, maxStringLength);
+        final int surrogateCorrection =
+                quotedLength > 0 && Character.isHighSurrogate(chars[offset + quotedLength - 1]) ? -1 : 0;
+        putChars(chars, offset, offset + quotedLength + surrogateCorrection, true);
+        if (length > maxStringLength) {
+            putBytes(quotedTruncatedStringSuffix);
+        }
+        putByte('"');
+    }
+
+    /**
+     * Writes the UTF-8 representation of the given characters, replacing unpaired surrogates with {@code ?}, like the
+     * JDK encoder does.
+     *
+     * @param quoted if the characters are to be quoted using JSON standard quoting
+     */
+    private void putChars(final CharSequence seq, final int offset, final int limit, final boolean quoted) {
+        // Three bytes per character at most, except for escape sequences, which ensure their own capacity
+        ensureCapacity(3 * (limit - offset));
+        byte[] bytes = buffer;
+        int index = position;
+        for (int i = offset; i < limit; i++) {
+            final char c = seq.charAt(i);
+            if (c < 0x80) {
+                final int escCode = quoted ? ESC_CODES[c] : 0;
+                if (escCode == 0) {
+                    bytes[index++] = (byte) c;
+                } else {
+                    position = index;
+                    ensureCapacity(MAX_ESCAPE_LENGTH + 3 * (limit - i - 1));
+                    bytes = buffer;
+                    index = putEscaped(c, escCode);
+                }
+            } else if (c < 0x800) {
+                bytes[index++] = (byte) (0xC0 | (c >> 6));
+                bytes[index++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                bytes[index++] = (byte) (0xE0 | (c >> 12));
+                bytes[index++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[index++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < limit && Character.isLowSurrogate(seq.charAt(i + 1))) {
+                index = putSupplementary(bytes, index, Character.toCodePoint(c, seq.charAt(++i)));
+            } else {
+                bytes[index++] = '?';
+            }
+        }
+        position = index;
+    }
+
+    /**
+     * The {@code char[]} counterpart of {@link #putChars(CharSequence, int, int, boolean)}.
+     */
+    private void putChars(final char[] chars, final int offset, final int limit, final boolean quoted) {
+        ensureCapacity(3 * (limit - offset));
+        byte[] bytes = buffer;
+        int index = position;
+        for (int i = offset; i < limit; i++) {
+            final char c = chars[i];
+            if (c < 0x80) {
+                final int escCode = quoted ? ESC_CODES[c] : 0;
+                if (escCode == 0) {
+                    bytes[index++] = (byte) c;
+                } else {
+                    position = index;
+                    ensureCapacity(MAX_ESCAPE_LENGTH + 3 * (limit - i - 1));
+                    bytes = buffer;
+                    index = putEscaped(c, escCode);
+                }
+            } else if (c < 0x800) {
+                bytes[index++] = (byte) (0xC0 | (c >> 6));
+                bytes[index++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                bytes[index++] = (byte) (0xE0 | (c >> 12));
+                bytes[index++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[index++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < limit && Character.isLowSurrogate(chars[i + 1])) {
+                index = putSupplementary(bytes, index, Character.toCodePoint(c, chars[++i]));
+            } else {
+                bytes[index++] = '?';
+            }
+        }
+        position = index;
+    }
+
+    /**
+     * Writes the escape sequence of the given character at the current position, where the capacity is ensured by the
+     * caller, and returns the next position.
+     */
+    private int putEscaped(final char c, final int escCode) {
+        final byte[] bytes = buffer;
+        int index = position;
+        bytes[index++] = '\\';
+        if (escCode < 0) {
+            // We know it's a control char, so only the last 2 chars are non-0
+            bytes[index++] = 'u';
+            bytes[index++] = '0';
+            bytes[index++] = '0';
+            bytes[index++] = HEX_BYTES[c >> 4];
+            bytes[index++] = HEX_BYTES[c & 0xF];
+        } else {
+            bytes[index++] = (byte) escCode;
+        }
+        return index;
+    }
+
+    private static int putSupplementary(final byte[] bytes, final int startIndex, final int codePoint) {
+        int index = startIndex;
+        bytes[index++] = (byte) (0xF0 | (codePoint >> 18));
+        bytes[index++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        bytes[index++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        bytes[index++] = (byte) (0x80 | (codePoint & 0x3F));
+        return index;
+    }
+
+    @Override
+    public void writeNumber(final BigDecimal number) {
+        if (number == null) {
+            writeNull();
+        } else {
+            final String string = number.toString();
+            putChars(string, 0, string.length(), false);
+        }
+    }
+
+    @Override
+    public void writeNumber(final BigInteger number) {
+        if (number == null) {
+            writeNull();
+        } else {
+            final String string = number.toString();
+            putChars(string, 0, string.length(), false);
+        }
+    }
+
+    @Override
+    public void writeNumber(final float number) {
+        try {
+            formattableBuffer.append(number);
+            putChars(formattableBuffer, 0, formattableBuffer.length(), false);
+        } finally {
+            formattableBuffer.setLength(0);
+        }
+    }
+
+    @Override
+    public void writeNumber(final double number) {
+        try {
+            formattableBuffer.append(number);
+            putChars(formattableBuffer, 0, formattableBuffer.length(), false);
+        } finally {
+            formattableBuffer.setLength(0);
+        }
+    }
+
+    @Override
+    public void writeNumber(final long number) {
+        if (number == Long.MIN_VALUE) {
+            putBytes(MIN_LONG_BYTES);
+            return;
+        }
+        // 19 digits and the sign at most
+        ensureCapacity(20);
+        long magnitude = number;
+        if (number < 0) {
+            buffer[position++] = '-';
+            magnitude = -number;
+        }
+        putDigits(magnitude);
+    }
+
+    /**
+     * Writes the digits of the given non-negative number, where the capacity is ensured by the caller.
+     */
+    private void putDigits(final long number) {
+        int digitCount = 1;
+        for (long remainder = number / 10; remainder > 0; remainder /= 10) {
+            digitCount++;
+        }
+        position += digitCount;
+        int index = position;
+        long remainder = number;
+        do {
+            buffer[--index] = (byte) ('0' + remainder % 10);
+            remainder /= 10;
+        } while (remainder > 0);
+    }
+
+    @Override
+    void writeUncheckedNumber(final long integralPart, final long fractionalPart) {
+        writeNumber(integralPart);
+        if (fractionalPart != 0) {
+            // The decimal point and 19 digits at most
+            ensureCapacity(20);
+            buffer[position++] = '.';
+            putDigits(fractionalPart);
+        }
+    }
+
+    @Override
+    public <S> void writeNumber(final BiConsumer<StringBuilder, S> emitter, final S state) {
+        Objects.requireNonNull(emitter, "emitter");
+        try {
+            emitter.accept(formattableBuffer, state);
+            putChars(formattableBuffer, 0, formattableBuffer.length(), false);
+        } finally {
+            trimStringBuilder(formattableBuffer, 0);
+        }
+    }
+
+    @Override
+    public void writeBoolean(final boolean value) {
+        putBytes(value ? TRUE_BYTES : FALSE_BYTES);
+    }
+
+    @Override
+    public void writeNull() {
+        putBytes(NULL_BYTES);
+    }
+
+    @Override
+    void writeUncheckedRawString(final CharSequence seq, final int offset, final int length) {
+        putChars(seq, offset, offset + length, false);
+    }
+
+    @Override
+    void writeUncheckedRawString(final char[] chars, final int offset, final int length) {
+        putChars(chars, offset, offset + length, false);
+    }
+
+    private void putByte(final char c) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void putBytes(final byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureCapacity(final int byteCount) {
+        final int requiredLength = position + byteCount;
+        if (requiredLength > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(requiredLength, 2 * buffer.length));
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        position = 0;
+        // Retain as much memory as the StringBuilder of other writers
+        if (buffer.length > maxStringLength) {
+            buffer = new byte[maxStringLength];
+        }
+    }
+
+    @Override
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    public Utf8JsonWriter clone() {
+        final Utf8JsonWriter jsonWriter = new Utf8JsonWriter(maxStringLength, truncatedStringSuffix);
+        jsonWriter.ensureCapacity(position);
+        System.arraycopy(buffer, 0, jsonWriter.buffer, 0, position);
+        jsonWriter.position = position;
+        return jsonWriter;
+    }
+}
@@ -53,6 +53,36 @@ public class JsonTemplateLayoutBenchmark {
         return benchmark(state, state.getJtl4EcsLayout(), state.getLiteLogEvents());
     }
 
+    @Benchmark
+    public static int fullJtl4EcsLayoutWithoutConstantFolding(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getJtl4EcsLayoutWithoutConstantFolding(), state.getFullLogEvents());
+    }
+
+    @Benchmark
+    public static int liteJtl4EcsLayoutWithoutConstantFolding(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getJtl4EcsLayoutWithoutConstantFolding(), state.getLiteLogEvents());
+    }
+
+    @Benchmark
+    public static int fullJtl4GelfLayout(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getJtl4GelfLayout(), state.getFullLogEvents());
+    }
+
+    @Benchmark
+    public static int liteJtl4GelfLayout(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getJtl4GelfLayout(), state.getLiteLogEvents());
+    }
+
+    @Benchmark
+    public static int fullJtl4GelfLayoutWithoutConstantFolding(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getJtl4GelfLayoutWithoutConstantFolding(), state.getFullLogEvents());
+    }
+
+    @Benchmark
+    public static int liteJtl4GelfLayoutWithoutConstantFolding(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getJtl4GelfLayoutWithoutConstantFolding(), state.getLiteLogEvents());
+    }
+
     private static int benchmark(
             final JsonTemplateLayoutBenchmarkState state, final Layout layout, final List<LogEvent> logEvents) {
         final int logEventIndex = state.nextLogEventIndex();
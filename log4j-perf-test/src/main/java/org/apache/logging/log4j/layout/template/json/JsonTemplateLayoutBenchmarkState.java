@@ -41,6 +41,12 @@ public class JsonTemplateLayoutBenchmarkState {
 
     private final Layout jtl4EcsLayout;
 
+    private final Layout jtl4EcsLayoutWithoutConstantFolding;
+
+    private final Layout jtl4GelfLayout;
+
+    private final Layout jtl4GelfLayoutWithoutConstantFolding;
+
     private final List<LogEvent> fullLogEvents;
 
     private final List<LogEvent> liteLogEvents;
@@ -49,12 +55,15 @@ public class JsonTemplateLayoutBenchmarkState {
 
     public JsonTemplateLayoutBenchmarkState() {
         this.byteBufferDestination = new BlackHoleByteBufferDestination(1024 * 512);
-        this.jtl4EcsLayout = createJtl4EcsLayout();
+        this.jtl4EcsLayout = createJtl4EcsLayout(true);
+        this.jtl4EcsLayoutWithoutConstantFolding = createJtl4EcsLayout(false);
+        this.jtl4GelfLayout = createJtl4GelfLayout(true);
+        this.jtl4GelfLayoutWithoutConstantFolding = createJtl4GelfLayout(false);
         this.fullLogEvents = LogEventFixture.createFullLogEvents(LOG_EVENT_COUNT);
         this.liteLogEvents = LogEventFixture.createLiteLogEvents(LOG_EVENT_COUNT);
     }
 
-    private static JsonTemplateLayout createJtl4EcsLayout() {
+    private static JsonTemplateLayout createJtl4EcsLayout(final boolean constantFoldingEnabled) {
         final EventTemplateAdditionalField[] additionalFields = new EventTemplateAdditionalField[] {
             EventTemplateAdditionalField.newBuilder()
                     .setKey("service.name")
@@ -66,6 +75,27 @@ public class JsonTemplateLayoutBenchmarkState {
                 .setCharset(CHARSET)
                 .setEventTemplateUri("classpath:EcsLayout.json")
                 .setEventTemplateAdditionalFields(additionalFields)
+                .setConstantFoldingEnabled(constantFoldingEnabled)
+                .build();
+    }
+
+    private static JsonTemplateLayout createJtl4GelfLayout(final boolean constantFoldingEnabled) {
+        final EventTemplateAdditionalField[] additionalFields = new EventTemplateAdditionalField[] {
+            EventTemplateAdditionalField.newBuilder()
+                    .setKey("host")
+                    .setValue("localhost")
+                    .build(),
+            EventTemplateAdditionalField.newBuilder()
+                    .setKey("_service")
+                    .setValue("benchmark")
+                    .build()
+        };
+        return JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setCharset(CHARSET)
+                .setEventTemplateUri("classpath:GelfLayout.json")
+                .setEventTemplateAdditionalFields(additionalFields)
+                .setConstantFoldingEnabled(constantFoldingEnabled)
                 .build();
     }
 
@@ -77,6 +107,18 @@ public class JsonTemplateLayoutBenchmarkState {
         return jtl4EcsLayout;
     }
 
+    Layout getJtl4EcsLayoutWithoutConstantFolding() {
+        return jtl4EcsLayoutWithoutConstantFolding;
+    }
+
+    Layout getJtl4GelfLayout() {
+        return jtl4GelfLayout;
+    }
+
+    Layout getJtl4GelfLayoutWithoutConstantFolding() {
+        return jtl4GelfLayoutWithoutConstantFolding;
+    }
+
     List<LogEvent> getFullLogEvents() {
         return fullLogEvents;
     }
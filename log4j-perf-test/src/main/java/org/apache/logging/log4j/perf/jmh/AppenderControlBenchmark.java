@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the recursion guard of {@link AppenderControl} on platform and virtual threads.
+ * <p>
+ * Each invocation logs a batch of events through the given number of appenders. On virtual threads, each batch runs
+ * on a new thread, so the cost of creating per-thread state is included in the measurements.
+ * Virtual threads require Java 21 or later.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*AppenderControlBenchmark.*" -f 1 -i 5 -wi 5 -prof gc
+// Multi-threading test:
+// java -jar target/benchmarks.jar ".*AppenderControlBenchmark.*" -f 1 -i 5 -wi 5 -t 4
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AppenderControlBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"ThreadLocal", "ThreadTable"})
+    private String recursionGuard;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1", "3", "10"})
+    private int appenderCount;
+
+    private final LogEvent event = Log4jLogEvent.newBuilder()
+            .setLoggerName("a.b.c")
+            .setLoggerFqcn("a.b.c")
+            .setLevel(Level.INFO)
+            .setMessage(new SimpleMessage("abc"))
+            .build();
+
+    private AppenderControl[] controls;
+
+    private ExecutorService executor;
+
+    private static final class NoOpAppender extends AbstractAppender {
+
+        private NoOpAppender(final String name) {
+            super(name, null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(final LogEvent event) {
+            // do nothing
+        }
+    }
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        // Read by the constructor of `AppenderControl`
+        System.setProperty("log4j.appender.recursionGuard", recursionGuard);
+        controls = new AppenderControl[appenderCount];
+        for (int i = 0; i < appenderCount; i++) {
+            final NoOpAppender appender = new NoOpAppender("appender" + i);
+            appender.start();
+            controls[i] = new AppenderControl(appender, Level.ALL, null);
+        }
+        if ("virtual".equals(threads)) {
+            // Requires Java 21 or later
+            executor = (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        System.clearProperty("log4j.appender.recursionGuard");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void log() throws Exception {
+        if (executor != null) {
+            executor.submit(this::logBatch).get();
+        } else {
+            logBatch();
+        }
+    }
+
+    private void logBatch() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            for (final AppenderControl control : controls) {
+                control.callAppender(event);
+            }
+        }
+    }
+}
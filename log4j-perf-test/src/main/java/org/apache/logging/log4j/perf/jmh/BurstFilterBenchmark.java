@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.filter.BurstFilter;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks {@link BurstFilter} under contention, e.g., during an error storm.
+ * <p>
+ * A low {@code rate} exercises the rejection path, which only reads the rate limit state, while a high {@code rate}
+ * exercises the acceptance path, which updates it with a compare-and-set.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*BurstFilterBenchmark.*" -f 1 -i 5 -wi 5 -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BurstFilterBenchmark {
+
+    private static final int THREAD_COUNT = 8;
+
+    @Param({"GLOBAL", "LOGGER"})
+    private BurstFilter.Scope scope;
+
+    @Param({"100", "1000000000"})
+    private float rate;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    private BurstFilter filter;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private LogEvent event;
+
+        @Setup
+        public void setUp(final BurstFilterBenchmark benchmark) {
+            final int threadIndex = benchmark.threadCounter.getAndIncrement();
+            event = Log4jLogEvent.newBuilder()
+                    .setLoggerName("org.example.Service" + threadIndex)
+                    .setLevel(Level.ERROR)
+                    .setMessage(new SimpleMessage("Connection refused"))
+                    .build();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        filter = BurstFilter.newBuilder()
+                .setLevel(Level.FATAL)
+                .setRate(rate)
+                .setMaxBurst(1000)
+                .setScope(scope)
+                .build();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Filter.Result singleThread(final ThreadState state) {
+        return filter.filter(state.event);
+    }
+
+    @Benchmark
+    @Threads(THREAD_COUNT)
+    public Filter.Result multipleThreads(final ThreadState state) {
+        return filter.filter(state.event);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.filter.CompositeFilter;
+import org.apache.logging.log4j.core.filter.MarkerFilter;
+import org.apache.logging.log4j.core.filter.RegexFilter;
+import org.apache.logging.log4j.core.filter.ThresholdFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks a {@link CompositeFilter} whose expensive filters precede a {@link ThresholdFilter}.
+ * <p>
+ * For disabled levels, the outcome of the chain is decided by the level only and the chain is not evaluated.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*CompositeFilterBenchmark.*" -f 1 -i 5 -wi 5
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompositeFilterBenchmark {
+
+    private static final Marker MARKER = MarkerManager.getMarker("AUDIT");
+
+    private CompositeFilter filter;
+
+    @Setup
+    public void setUp() throws Exception {
+        filter = CompositeFilter.createFilters(new Filter[] {
+            RegexFilter.createFilter(".*password.*", null, false, Filter.Result.DENY, Filter.Result.NEUTRAL),
+            MarkerFilter.createFilter("AUDIT", Filter.Result.DENY, Filter.Result.NEUTRAL),
+            ThresholdFilter.createFilter(Level.WARN, Filter.Result.NEUTRAL, Filter.Result.DENY)
+        });
+    }
+
+    @Benchmark
+    public Filter.Result disabledLevel() {
+        return filter.filter(null, Level.DEBUG, MARKER, "User {} logged in", "alice");
+    }
+
+    @Benchmark
+    public Filter.Result enabledLevel() {
+        return filter.filter(null, Level.ERROR, MARKER, "User {} logged in", "alice");
+    }
+}
@@ -390,4 +390,17 @@ public class FileAppenderThrowableBenchmark {
     public void complexThrowable() {
         loggingConfiguration.log("Caught an exception", COMPLEX_THROWABLE);
     }
+
+    /**
+     * Simulates an error storm: a new exception with the same stack trace is logged on each call.
+     * <p>
+     * With {@code %xEx}, the resource information of the classes in the stack trace is only resolved once.
+     * </p>
+     */
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Benchmark
+    public void repeatedThrowable() {
+        loggingConfiguration.log("Caught an exception", new IllegalStateException("Test Throwable"));
+    }
 }
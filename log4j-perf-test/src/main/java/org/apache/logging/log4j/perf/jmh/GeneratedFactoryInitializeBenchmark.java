@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import org.apache.logging.log4j.plugins.di.spi.GeneratedFactory;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the time it takes to initialize the first {@link org.apache.logging.log4j.core.LoggerContext} of a JVM,
+ * with and without using the {@linkplain GeneratedFactory plugin factories generated at build time}.
+ * <p>
+ * Every fork measures a single cold start, since the JVM caches reflection data afterwards.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*GeneratedFactoryInitializeBenchmark.*" -f 20
+@State(Scope.Thread)
+@Fork(20)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class GeneratedFactoryInitializeBenchmark extends ConfiguratorInitializeBenchmark {
+
+    @Param({"true", "false"})
+    private boolean useGeneratedFactories;
+
+    @Setup
+    public void setUpGeneratedFactories() {
+        System.setProperty("log4j.instanceFactory.useGeneratedFactories", String.valueOf(useGeneratedFactories));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.RollingFileAppender;
+import org.apache.logging.log4j.core.appender.RollingRandomAccessFileAppender;
+import org.apache.logging.log4j.core.appender.rolling.RollingFileManager;
+import org.apache.logging.log4j.core.appender.rolling.SizeBasedTriggeringPolicy;
+import org.apache.logging.log4j.core.appender.rolling.TriggeringPolicy;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of contended RollingFile and RollingRandomAccessFile appenders, whose triggering policy
+ * either supports the lock-free rollover check or forces the rollover check to be performed under lock.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf-test/target/benchmarks.jar ".*RollingFileAppenderContentionBenchmark.*"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(4)
+public class RollingFileAppenderContentionBenchmark {
+
+    public enum AppenderType {
+        ROLLING_FILE,
+        ROLLING_RANDOM_ACCESS_FILE
+    }
+
+    public enum RolloverCheck {
+        /** Uses {@link TriggeringPolicy#mayTrigger(LogEvent)} to skip the lock. */
+        LOCK_FREE,
+        /** Always acquires the lock of the manager, like before the lock-free check was introduced. */
+        LOCKING
+    }
+
+    private static final String FILE_NAME = "target/testRollingContention.log";
+
+    private static final String FILE_PATTERN = "target/testRollingContention-%i.log";
+
+    // Large enough for the rollover itself to not be measured
+    private static final String MAX_FILE_SIZE = "100 GB";
+
+    @Param
+    public AppenderType appenderType;
+
+    @Param
+    public RolloverCheck rolloverCheck;
+
+    private Appender appender;
+
+    private final LogEvent event = Log4jLogEvent.newBuilder()
+            .setLoggerName(RollingFileAppenderContentionBenchmark.class.getName())
+            .setLevel(Level.INFO)
+            .setMessage(new SimpleMessage("Short message"))
+            .setThreadName("THREAD")
+            .setTimeMillis(System.currentTimeMillis())
+            .build();
+
+    @Setup
+    public void setUp() {
+        deleteLogFiles();
+        final Configuration configuration = new DefaultConfiguration();
+        final PatternLayout layout = PatternLayout.newBuilder()
+                .setConfiguration(configuration)
+                .setPattern("%d %p [%t] %c - %m%n")
+                .build();
+        final TriggeringPolicy policy = createPolicy();
+        switch (appenderType) {
+            case ROLLING_FILE:
+                appender = RollingFileAppender.newBuilder()
+                        .setName("RollingFile")
+                        .setConfiguration(configuration)
+                        .setLayout(layout)
+                        .setFileName(FILE_NAME)
+                        .setFilePattern(FILE_PATTERN)
+                        .setPolicy(policy)
+                        .setBufferedIo(true)
+                        .setImmediateFlush(false)
+                        .build();
+                break;
+            case ROLLING_RANDOM_ACCESS_FILE:
+                appender = RollingRandomAccessFileAppender.newBuilder()
+                        .setName("RollingRandomAccessFile")
+                        .setConfiguration(configuration)
+                        .setLayout(layout)
+                        .setFileName(FILE_NAME)
+                        .setFilePattern(FILE_PATTERN)
+                        .setPolicy(policy)
+                        .setImmediateFlush(false)
+                        .build();
+                break;
+            default:
+                throw new IllegalStateException("Unknown appender type: " + appenderType);
+        }
+        appender.start();
+    }
+
+    private TriggeringPolicy createPolicy() {
+        final SizeBasedTriggeringPolicy policy = SizeBasedTriggeringPolicy.createPolicy(MAX_FILE_SIZE);
+        return rolloverCheck == RolloverCheck.LOCK_FREE ? policy : new LockingTriggeringPolicy(policy);
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        deleteLogFiles();
+    }
+
+    private static void deleteLogFiles() {
+        final File[] files = new File("target").listFiles((dir, name) -> name.startsWith("testRollingContention"));
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    @Benchmark
+    public void append() {
+        appender.append(event);
+    }
+
+    /**
+     * Delegates to a policy, but keeps the default {@link TriggeringPolicy#mayTrigger(LogEvent)}, hence the rollover
+     * check is always performed under lock.
+     */
+    private static final class LockingTriggeringPolicy implements TriggeringPolicy {
+
+        private final TriggeringPolicy delegate;
+
+        private LockingTriggeringPolicy(final TriggeringPolicy delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void initialize(final RollingFileManager manager) {
+            delegate.initialize(manager);
+        }
+
+        @Override
+        public boolean isTriggeringEvent(final LogEvent logEvent) {
+            return delegate.isTriggeringEvent(logEvent);
+        }
+    }
+}
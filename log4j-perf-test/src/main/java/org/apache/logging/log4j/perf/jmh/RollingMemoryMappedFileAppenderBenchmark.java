@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.RollingMemoryMappedFileAppender;
+import org.apache.logging.log4j.core.appender.RollingRandomAccessFileAppender;
+import org.apache.logging.log4j.core.appender.rolling.DefaultRolloverStrategy;
+import org.apache.logging.log4j.core.appender.rolling.SizeBasedTriggeringPolicy;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the RollingMemoryMappedFile and RollingRandomAccessFile appenders, with a file size
+ * that either causes frequent rollovers or no rollover at all.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf-test/target/benchmarks.jar ".*RollingMemoryMappedFileAppenderBenchmark.*"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class RollingMemoryMappedFileAppenderBenchmark {
+
+    public enum AppenderType {
+        ROLLING_RANDOM_ACCESS_FILE,
+        ROLLING_MEMORY_MAPPED_FILE
+    }
+
+    private static final String FILE_NAME = "target/testRollingMemoryMapped.log";
+
+    private static final String FILE_PATTERN = "target/testRollingMemoryMapped-%i.log";
+
+    @Param
+    public AppenderType appenderType;
+
+    @Param({"10 MB", "100 GB"})
+    public String maxFileSize;
+
+    private Appender appender;
+
+    private final LogEvent event = Log4jLogEvent.newBuilder()
+            .setLoggerName(RollingMemoryMappedFileAppenderBenchmark.class.getName())
+            .setLevel(Level.INFO)
+            .setMessage(new SimpleMessage("Short message"))
+            .setThreadName("THREAD")
+            .setTimeMillis(System.currentTimeMillis())
+            .build();
+
+    @Setup
+    public void setUp() {
+        deleteLogFiles();
+        final Configuration configuration = new DefaultConfiguration();
+        final PatternLayout layout = PatternLayout.newBuilder()
+                .setConfiguration(configuration)
+                .setPattern("%d %p [%t] %c - %m%n")
+                .build();
+        final SizeBasedTriggeringPolicy policy = SizeBasedTriggeringPolicy.createPolicy(maxFileSize);
+        // Keep a bounded number of archived files
+        final DefaultRolloverStrategy strategy = DefaultRolloverStrategy.newBuilder()
+                .setConfig(configuration)
+                .setMax("3")
+                .build();
+        switch (appenderType) {
+            case ROLLING_RANDOM_ACCESS_FILE:
+                appender = RollingRandomAccessFileAppender.newBuilder()
+                        .setName("RollingRandomAccessFile")
+                        .setConfiguration(configuration)
+                        .setLayout(layout)
+                        .setFileName(FILE_NAME)
+                        .setFilePattern(FILE_PATTERN)
+                        .setPolicy(policy)
+                        .setStrategy(strategy)
+                        .setImmediateFlush(false)
+                        .build();
+                break;
+            case ROLLING_MEMORY_MAPPED_FILE:
+                appender = RollingMemoryMappedFileAppender.newBuilder()
+                        .setName("RollingMemoryMappedFile")
+                        .setConfiguration(configuration)
+                        .setLayout(layout)
+                        .setFileName(FILE_NAME)
+                        .setFilePattern(FILE_PATTERN)
+                        .setPolicy(policy)
+                        .setStrategy(strategy)
+                        .setImmediateFlush(false)
+                        .build();
+                break;
+            default:
+                throw new IllegalStateException("Unknown appender type: " + appenderType);
+        }
+        appender.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        deleteLogFiles();
+    }
+
+    private static void deleteLogFiles() {
+        final File[] files = new File("target").listFiles((dir, name) -> name.startsWith("testRollingMemoryMapped"));
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    @Benchmark
+    public void append() {
+        appender.append(event);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh.instant;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.core.util.internal.instant.InstantPatternFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the caching of {@link InstantPatternFormatter} on platform and virtual threads.
+ * <p>
+ * Each invocation formats a batch of instants, where consecutive instants share the same millisecond in groups.
+ * On virtual threads, each batch runs on a new thread, which renders per-thread caches ineffective.
+ * The {@code threadLocal} cache replicates the per-thread cache employed by earlier versions as a baseline.
+ * Virtual threads require Java 21 or later.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*InstantPatternCachedFormatterBenchmark.*" -f 1 -i 5 -wi 5 -prof gc
+// Multi-threading test:
+// java -jar target/benchmarks.jar ".*InstantPatternCachedFormatterBenchmark.*" -f 1 -i 5 -wi 5 -t 4
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InstantPatternCachedFormatterBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final int EVENTS_PER_MILLISECOND = 10;
+
+    private static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS";
+
+    private static final MutableInstant[] INSTANTS = createInstants();
+
+    private static MutableInstant[] createInstants() {
+        final Instant initInstant = Instant.parse("2020-05-14T10:44:23.901Z");
+        final MutableInstant[] instants = new MutableInstant[1_000];
+        for (int index = 0; index < instants.length; index++) {
+            final Instant instant = initInstant.plusMillis(index / EVENTS_PER_MILLISECOND);
+            instants[index] = new MutableInstant();
+            instants[index].initFromEpochSecond(instant.getEpochSecond(), instant.getNano());
+        }
+        InstantPatternFormatterBenchmark.validateInstants(instants);
+        return instants;
+    }
+
+    @Param({"none", "threadLocal", "shared"})
+    private String cache;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private final AtomicInteger instantIndex = new AtomicInteger();
+
+    private InstantPatternFormatter formatter;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        final InstantPatternFormatter.Builder builder = InstantPatternFormatter.newBuilder()
+                .setPattern(PATTERN)
+                .setLocale(InstantPatternFormatterBenchmark.LOCALE)
+                .setTimeZone(InstantPatternFormatterBenchmark.TIME_ZONE);
+        switch (cache) {
+            case "none":
+                formatter = builder.setCachingEnabled(false).build();
+                break;
+            case "threadLocal":
+                formatter = new ThreadLocalCachedFormatter(builder.setCachingEnabled(false).build());
+                break;
+            case "shared":
+                formatter = builder.setCachingEnabled(true).build();
+                break;
+            default:
+                throw new IllegalArgumentException("unknown cache: " + cache);
+        }
+        if ("virtual".equals(threads)) {
+            // Requires Java 21 or later
+            executor = (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int format() throws Exception {
+        return executor != null ? executor.submit(this::formatBatch).get() : formatBatch();
+    }
+
+    private int formatBatch() {
+        final StringBuilder buffer = new StringBuilder();
+        int length = 0;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final int index = instantIndex.getAndIncrement() & Integer.MAX_VALUE;
+            buffer.setLength(0);
+            formatter.formatTo(buffer, INSTANTS[index % INSTANTS.length]);
+            length += buffer.length();
+        }
+        return length;
+    }
+
+    /**
+     * Caches the last formatted output of each thread.
+     */
+    private static final class ThreadLocalCachedFormatter implements InstantPatternFormatter {
+
+        private final InstantPatternFormatter formatter;
+
+        private final ThreadLocal<Object[]> epochMillisAndBufferRef =
+                ThreadLocal.withInitial(() -> new Object[] {-1L, new StringBuilder()});
+
+        private ThreadLocalCachedFormatter(final InstantPatternFormatter formatter) {
+            this.formatter = formatter;
+        }
+
+        @Override
+        public void formatTo(final StringBuilder buffer, final org.apache.logging.log4j.core.time.Instant instant) {
+            final Object[] epochMillisAndBuffer = epochMillisAndBufferRef.get();
+            final StringBuilder cachedBuffer = (StringBuilder) epochMillisAndBuffer[1];
+            final long epochMillis = instant.getEpochMillisecond();
+            if ((long) epochMillisAndBuffer[0] != epochMillis) {
+                cachedBuffer.setLength(0);
+                formatter.formatTo(cachedBuffer, instant);
+                epochMillisAndBuffer[0] = epochMillis;
+            }
+            buffer.append(cachedBuffer);
+        }
+
+        @Override
+        public ChronoUnit getPrecision() {
+            return ChronoUnit.MILLIS;
+        }
+
+        @Override
+        public String getPattern() {
+            return formatter.getPattern();
+        }
+
+        @Override
+        public Locale getLocale() {
+            return formatter.getLocale();
+        }
+
+        @Override
+        public TimeZone getTimeZone() {
+            return formatter.getTimeZone();
+        }
+    }
+}
@@ -0,0 +1,715 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.plugin.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+import org.apache.logging.log4j.LoggingException;
+import org.apache.logging.log4j.plugins.FactoryType;
+import org.apache.logging.log4j.plugins.Inject;
+import org.apache.logging.log4j.plugins.QualifierType;
+import org.apache.logging.log4j.plugins.di.spi.GeneratedFactory;
+import org.apache.logging.log4j.plugins.di.spi.InjectionPoint;
+import org.apache.logging.log4j.plugins.validation.Constraint;
+
+/**
+ * Generates a {@link GeneratedFactory} for a plugin class.
+ * <p>
+ * The injectable factory and members are discovered using the same rules as {@code BeanUtils} does at runtime.
+ * The generated code calls the factory and the inject methods directly and assigns the injectable fields either
+ * directly or, if they are private, using their setters. The types, names and runtime annotations of the injection
+ * points are captured as constants, so that no reflection on the plugin class is needed at runtime.
+ * Whenever these rules cannot be replicated unambiguously or the generated code would not be able to access the
+ * involved types and members, no factory is generated and the plugin is created using reflection instead.
+ * </p>
+ */
+final class GeneratedFactoryWriter {
+
+    private static final String INJECT = Inject.class.getName();
+
+    private static final String FACTORY_TYPE = FactoryType.class.getName();
+
+    private static final String QUALIFIER_TYPE = QualifierType.class.getName();
+
+    private static final String CONSTRAINT = Constraint.class.getName();
+
+    private final ProcessingEnvironment processingEnv;
+
+    private final Elements elements;
+
+    private final Types types;
+
+    GeneratedFactoryWriter(final ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    /**
+     * Writes the generated factory of the given plugin class if possible.
+     *
+     * @param type a plugin class
+     * @return {@code true} if a factory was generated
+     */
+    boolean write(final TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        final PackageElement pkg = elements.getPackageOf(type);
+        if (!isAccessible(type, pkg)) {
+            return false;
+        }
+        final ExecutableElement factory = findFactory(type);
+        if (factory == null || factory.getModifiers().contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        for (final VariableElement parameter : factory.getParameters()) {
+            if (!isAccessible(parameter.asType(), pkg)) {
+                return false;
+            }
+        }
+        final TypeMirror instanceTypeMirror =
+                factory.getKind() == ElementKind.CONSTRUCTOR ? type.asType() : types.erasure(factory.getReturnType());
+        if (instanceTypeMirror.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        final TypeElement instanceType = (TypeElement) ((DeclaredType) instanceTypeMirror).asElement();
+        final List<VariableElement> fields = new ArrayList<>();
+        final List<ExecutableElement> methods = new ArrayList<>();
+        for (TypeElement current = instanceType; current != null; current = getSuperclass(current)) {
+            if (!isAccessible(current, pkg)) {
+                return false;
+            }
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (isInjectableField(field)) {
+                    fields.add(field);
+                }
+            }
+            for (final ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (isInjectableMethod(method)) {
+                    methods.add(method);
+                }
+            }
+        }
+        final StringBuilder constants = new StringBuilder();
+        final List<String> factoryInjectionPoints = new ArrayList<>();
+        final List<? extends VariableElement> parameters = factory.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            final String constant = "FACTORY_" + i;
+            if (!appendInjectionPoint(
+                    constants, constant, parameters.get(i), describe(parameters.get(i), factory), pkg)) {
+                return false;
+            }
+            factoryInjectionPoints.add(constant);
+        }
+        // fields are injected first, then methods with parameters and finally methods without parameters
+        final StringBuilder injections = new StringBuilder();
+        final StringBuilder noArgInjections = new StringBuilder();
+        if (!fields.isEmpty()) {
+            injections.append("    Object value;\n");
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            if (!appendFieldInjection(injections, constants, "FIELD_" + i, fields.get(i), pkg)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < methods.size(); i++) {
+            final ExecutableElement method = methods.get(i);
+            final StringBuilder code = method.getParameters().isEmpty() ? noArgInjections : injections;
+            if (!appendMethodInjection(code, constants, "METHOD_" + i, method, pkg)) {
+                return false;
+            }
+        }
+        injections.append(noArgInjections);
+        writeSourceFile(type, pkg, factory, instanceType, constants, factoryInjectionPoints, injections);
+        return true;
+    }
+
+    private void writeSourceFile(
+            final TypeElement type,
+            final PackageElement pkg,
+            final ExecutableElement factory,
+            final TypeElement instanceType,
+            final CharSequence constants,
+            final List<String> factoryInjectionPoints,
+            final CharSequence injections) {
+        final String fqcn =
+                GeneratedFactory.getClassName(elements.getBinaryName(type).toString());
+        final String simpleName = fqcn.substring(fqcn.lastIndexOf('.') + 1);
+        final String typeName = type.getQualifiedName().toString();
+        try (final PrintWriter writer = createSourceFile(fqcn, type)) {
+            if (!pkg.isUnnamed()) {
+                writer.println("package " + pkg.getQualifiedName() + ";");
+                writer.println("");
+            }
+            writer.println("/**");
+            writer.println(" * Generated factory of {@link " + typeName + "}.");
+            writer.println(" */");
+            // The factory calls the deprecated setters and factories of the plugin like a configuration would
+            writer.println("@SuppressWarnings({\"deprecation\", \"removal\"})");
+            writer.println("public final class " + simpleName + " extends " + GeneratedFactory.class.getName() + " {");
+            writer.println("");
+            writer.print(constants);
+            writer.println("");
+            writer.println("  public " + simpleName + "() {");
+            writer.println("    super(" + typeName + ".class, " + instanceType.getQualifiedName() + ".class, "
+                    + "java.util.List.of(" + String.join(", ", factoryInjectionPoints) + "));");
+            writer.println("  }");
+            writer.println("");
+            writer.println("  @Override");
+            writer.println("  @SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+            writer.println("  public Object newInstance(final Object[] arguments) throws Exception {");
+            final String invocation = factory.getKind() == ElementKind.CONSTRUCTOR
+                    ? "new " + typeName
+                    : typeName + "." + factory.getSimpleName();
+            writer.println("    return " + invocation + "(" + castArguments(factory) + ");");
+            writer.println("  }");
+            writer.println("");
+            writer.println("  @Override");
+            writer.println("  @SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+            writer.println("  public void injectMembers(final Object instance, final MemberInjector injector)"
+                    + " throws Exception {");
+            writer.print(injections);
+            writer.println("  }");
+            writer.println("}");
+        }
+    }
+
+    private PrintWriter createSourceFile(final String fqcn, final TypeElement type) {
+        try {
+            final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(fqcn, type);
+            return new PrintWriter(sourceFile.openWriter());
+        } catch (final IOException e) {
+            throw new LoggingException("Unable to create generated factory class " + fqcn, e);
+        }
+    }
+
+    /**
+     * Appends the injection and, if constrained, the validation of a field, which is either assigned directly or
+     * using its setter if it is not accessible.
+     */
+    private boolean appendFieldInjection(
+            final StringBuilder code,
+            final StringBuilder constants,
+            final String constant,
+            final VariableElement field,
+            final PackageElement pkg) {
+        final Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) {
+            return false;
+        }
+        final TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+        final String description = declaringType.getQualifiedName() + "." + field.getSimpleName();
+        if (!appendInjectionPoint(constants, constant, field, description, pkg)) {
+            return false;
+        }
+        final String target = "((" + declaringType.getQualifiedName() + ") instance)";
+        final boolean constrained = isMetaAnnotationPresent(field, CONSTRAINT, new HashSet<>());
+        final String assignment;
+        final String currentValue;
+        if (isMemberAccessible(field, pkg)) {
+            assignment = target + "." + field.getSimpleName() + " = " + cast(field.asType()) + "value";
+            currentValue = target + "." + field.getSimpleName();
+        } else {
+            final String propertyName = capitalize(field.getSimpleName().toString());
+            final ExecutableElement setter = findAccessor(declaringType, field, pkg, "set" + propertyName);
+            final ExecutableElement getter = constrained
+                    ? findAccessor(declaringType, field, pkg, "get" + propertyName, "is" + propertyName)
+                    : null;
+            if (setter == null || (constrained && getter == null)) {
+                return false;
+            }
+            assignment = target + "." + setter.getSimpleName() + "("
+                    + cast(setter.getParameters().get(0).asType()) + "value)";
+            currentValue = getter != null ? target + "." + getter.getSimpleName() + "()" : null;
+        }
+        code.append("    value = injector.getFieldValue(").append(constant).append(");\n");
+        code.append("    if (value != null) {\n");
+        code.append("      ").append(assignment).append(";\n");
+        code.append("    }\n");
+        if (constrained) {
+            code.append("    injector.validate(")
+                    .append(constant)
+                    .append(", ")
+                    .append(currentValue)
+                    .append(");\n");
+        }
+        return true;
+    }
+
+    /**
+     * Appends the invocation of an inject method.
+     */
+    private boolean appendMethodInjection(
+            final StringBuilder code,
+            final StringBuilder constants,
+            final String constantPrefix,
+            final ExecutableElement method,
+            final PackageElement pkg) {
+        if (!isMemberAccessible(method, pkg)) {
+            return false;
+        }
+        final TypeElement declaringType = (TypeElement) method.getEnclosingElement();
+        final List<? extends VariableElement> parameters = method.getParameters();
+        final List<String> arguments = new ArrayList<>(parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            final VariableElement parameter = parameters.get(i);
+            final String constant = constantPrefix + "_" + i;
+            if (!appendInjectionPoint(constants, constant, parameter, describe(parameter, method), pkg)) {
+                return false;
+            }
+            arguments.add(cast(parameter.asType()) + "injector.getArgument(" + constant + ")");
+        }
+        final String target = method.getModifiers().contains(Modifier.STATIC)
+                ? declaringType.getQualifiedName().toString()
+                : "((" + declaringType.getQualifiedName() + ") instance)";
+        code.append("    ")
+                .append(target)
+                .append('.')
+                .append(method.getSimpleName())
+                .append('(')
+                .append(String.join(", ", arguments))
+                .append(");\n");
+        return true;
+    }
+
+    /**
+     * Appends the constant holding the injection point of a field or parameter, which captures its generic type,
+     * name and runtime annotations.
+     */
+    private boolean appendInjectionPoint(
+            final StringBuilder constants,
+            final String constant,
+            final VariableElement element,
+            final String description,
+            final PackageElement pkg) {
+        final String type = getTypeExpression(element.asType(), pkg);
+        if (type == null) {
+            return false;
+        }
+        final StringBuilder expression = new StringBuilder("injectionPoint(")
+                .append(type)
+                .append(", ")
+                .append(elements.getConstantExpression(element.getSimpleName().toString()))
+                .append(", ")
+                .append(elements.getConstantExpression(description));
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!isRuntimeRetained(getAnnotationType(mirror))) {
+                continue;
+            }
+            final String annotation = getAnnotationExpression(mirror, pkg);
+            if (annotation == null) {
+                return false;
+            }
+            expression.append(",\n      ").append(annotation);
+        }
+        expression.append(')');
+        constants
+                .append("  private static final ")
+                .append(InjectionPoint.class.getName())
+                .append("<?> ")
+                .append(constant)
+                .append(" = ")
+                .append(expression)
+                .append(";\n");
+        return true;
+    }
+
+    private static String describe(final VariableElement parameter, final ExecutableElement executable) {
+        final TypeElement declaringType = (TypeElement) executable.getEnclosingElement();
+        final String executableName = executable.getKind() == ElementKind.CONSTRUCTOR
+                ? declaringType.getSimpleName().toString()
+                : executable.getSimpleName().toString();
+        return "parameter " + parameter.getSimpleName() + " of " + declaringType.getQualifiedName() + "."
+                + executableName + "()";
+    }
+
+    /**
+     * Returns an expression creating the given type as reflection would return it, or {@code null} if the type
+     * involves type variables or inaccessible types.
+     */
+    private String getTypeExpression(final TypeMirror type, final PackageElement pkg) {
+        if (type.getKind().isPrimitive()) {
+            return getTypeName(type) + ".class";
+        }
+        switch (type.getKind()) {
+            case ARRAY -> {
+                final TypeMirror componentType = ((ArrayType) type).getComponentType();
+                if (isGeneric(componentType)) {
+                    final String component = getTypeExpression(componentType, pkg);
+                    return component != null ? "genericArrayType(" + component + ")" : null;
+                }
+                return isAccessible(type, pkg) ? getTypeName(type) + ".class" : null;
+            }
+            case DECLARED -> {
+                final DeclaredType declaredType = (DeclaredType) type;
+                final TypeElement element = (TypeElement) declaredType.asElement();
+                if (!isAccessible(element, pkg) || isGeneric(declaredType.getEnclosingType())) {
+                    return null;
+                }
+                final String rawType = element.getQualifiedName() + ".class";
+                if (declaredType.getTypeArguments().isEmpty()) {
+                    return rawType;
+                }
+                final StringBuilder expression = new StringBuilder("parameterizedType(").append(rawType);
+                for (final TypeMirror typeArgument : declaredType.getTypeArguments()) {
+                    final String argument = getTypeExpression(typeArgument, pkg);
+                    if (argument == null) {
+                        return null;
+                    }
+                    expression.append(", ").append(argument);
+                }
+                return expression.append(')').toString();
+            }
+            case WILDCARD -> {
+                final WildcardType wildcardType = (WildcardType) type;
+                final TypeMirror extendsBound = wildcardType.getExtendsBound();
+                final TypeMirror superBound = wildcardType.getSuperBound();
+                final String upperBound =
+                        extendsBound != null ? getTypeExpression(extendsBound, pkg) : "java.lang.Object.class";
+                final String lowerBound = superBound != null ? getTypeExpression(superBound, pkg) : "null";
+                return upperBound != null && lowerBound != null
+                        ? "wildcardType(" + upperBound + ", " + lowerBound + ")"
+                        : null;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static boolean isGeneric(final TypeMirror type) {
+        return switch (type.getKind()) {
+            case ARRAY -> isGeneric(((ArrayType) type).getComponentType());
+            case DECLARED -> !((DeclaredType) type).getTypeArguments().isEmpty()
+                    || isGeneric(((DeclaredType) type).getEnclosingType());
+            case TYPEVAR, WILDCARD -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Returns an expression creating the given annotation or {@code null} if one of its values is not accessible.
+     */
+    private String getAnnotationExpression(final AnnotationMirror mirror, final PackageElement pkg) {
+        final TypeElement annotationType = getAnnotationType(mirror);
+        if (!isAccessible(annotationType, pkg)) {
+            return null;
+        }
+        final StringBuilder expression = new StringBuilder("annotation(")
+                .append(annotationType.getQualifiedName())
+                .append(".class");
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            final String value = getAnnotationValueExpression(entry.getKey().getReturnType(), entry.getValue(), pkg);
+            if (value == null) {
+                return null;
+            }
+            expression
+                    .append(", ")
+                    .append(elements.getConstantExpression(
+                            entry.getKey().getSimpleName().toString()))
+                    .append(", ")
+                    .append(value);
+        }
+        return expression.append(')').toString();
+    }
+
+    private String getAnnotationValueExpression(
+            final TypeMirror type, final AnnotationValue annotationValue, final PackageElement pkg) {
+        final Object value = annotationValue.getValue();
+        if (value instanceof String
+                || value instanceof Boolean
+                || value instanceof Number
+                || value instanceof Character) {
+            return elements.getConstantExpression(value);
+        }
+        if (value instanceof final TypeMirror typeMirror) {
+            if (typeMirror.getKind() == TypeKind.VOID) {
+                return "void.class";
+            }
+            return isAccessible(typeMirror, pkg) ? getTypeName(typeMirror) + ".class" : null;
+        }
+        if (value instanceof final VariableElement constant) {
+            final TypeElement enumType = (TypeElement) constant.getEnclosingElement();
+            return isAccessible(enumType, pkg) ? enumType.getQualifiedName() + "." + constant.getSimpleName() : null;
+        }
+        if (value instanceof final AnnotationMirror mirror) {
+            return getAnnotationExpression(mirror, pkg);
+        }
+        if (value instanceof final List<?> values && type.getKind() == TypeKind.ARRAY) {
+            final TypeMirror componentType = ((ArrayType) type).getComponentType();
+            if (!isAccessible(componentType, pkg)) {
+                return null;
+            }
+            final List<String> expressions = new ArrayList<>(values.size());
+            for (final Object element : values) {
+                final String expression = getAnnotationValueExpression(componentType, (AnnotationValue) element, pkg);
+                if (expression == null) {
+                    return null;
+                }
+                expressions.add(expression);
+            }
+            return "new " + getTypeName(componentType) + "[] {" + String.join(", ", expressions) + "}";
+        }
+        return null;
+    }
+
+    private static boolean isRuntimeRetained(final TypeElement annotationType) {
+        final Retention retention = annotationType.getAnnotation(Retention.class);
+        return retention != null && retention.value() == RetentionPolicy.RUNTIME;
+    }
+
+    /**
+     * Finds an accessible setter or getter of a field by name.
+     */
+    private ExecutableElement findAccessor(
+            final TypeElement declaringType,
+            final VariableElement field,
+            final PackageElement pkg,
+            final String... names) {
+        final TypeMirror fieldType = types.erasure(field.asType());
+        for (final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(declaringType))) {
+            if (method.getModifiers().contains(Modifier.STATIC)
+                    || !isMemberAccessible(method, pkg)
+                    || !List.of(names).contains(method.getSimpleName().toString())) {
+                continue;
+            }
+            final List<? extends VariableElement> parameters = method.getParameters();
+            final TypeMirror accessorType;
+            if (method.getSimpleName().toString().startsWith("set")) {
+                accessorType = parameters.size() == 1 ? parameters.get(0).asType() : null;
+            } else {
+                accessorType = parameters.isEmpty() ? method.getReturnType() : null;
+            }
+            if (accessorType != null && types.isSameType(types.erasure(accessorType), fieldType)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private String cast(final TypeMirror type) {
+        return "(" + getCastTypeName(type) + ") ";
+    }
+
+    private String getCastTypeName(final TypeMirror type) {
+        return type.getKind().isPrimitive()
+                ? types.boxedClass((PrimitiveType) type).getQualifiedName().toString()
+                : getTypeName(type);
+    }
+
+    private String castArguments(final ExecutableElement executable) {
+        final List<? extends VariableElement> parameters = executable.getParameters();
+        final List<String> arguments = new ArrayList<>(parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            arguments.add(cast(parameters.get(i).asType()) + "arguments[" + i + "]");
+        }
+        return String.join(", ", arguments);
+    }
+
+    /**
+     * Returns the source name of the erasure of the given type.
+     */
+    private String getTypeName(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        return switch (type.getKind()) {
+            case ARRAY -> getTypeName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED -> ((TypeElement) ((DeclaredType) type).asElement())
+                    .getQualifiedName()
+                    .toString();
+            case TYPEVAR -> getTypeName(types.erasure(type));
+            default -> throw new IllegalArgumentException("Unsupported type: " + type);
+        };
+    }
+
+    /**
+     * Finds the static factory method or constructor, as {@code BeanUtils.getInjectableFactory()} would do.
+     *
+     * @return the factory or {@code null} if none could be determined unambiguously
+     */
+    private static ExecutableElement findFactory(final TypeElement type) {
+        ExecutableElement factoryMethod = null;
+        boolean ambiguous = false;
+        for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.STATIC)
+                    && isMetaAnnotationPresent(method, FACTORY_TYPE, new HashSet<>())) {
+                if (factoryMethod == null
+                        || method.getParameters().size()
+                                < factoryMethod.getParameters().size()) {
+                    factoryMethod = method;
+                    ambiguous = false;
+                } else if (method.getParameters().size()
+                        == factoryMethod.getParameters().size()) {
+                    ambiguous = true;
+                }
+            }
+        }
+        if (factoryMethod != null) {
+            return ambiguous ? null : factoryMethod;
+        }
+        final List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        final List<ExecutableElement> injectConstructors = constructors.stream()
+                .filter(constructor -> isAnnotationPresent(constructor, INJECT))
+                .toList();
+        if (!injectConstructors.isEmpty()) {
+            return injectConstructors.size() == 1 ? injectConstructors.get(0) : null;
+        }
+        return constructors.stream()
+                .filter(constructor -> constructor.getParameters().isEmpty())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean isInjectableField(final VariableElement field) {
+        return isAnnotationPresent(field, INJECT) || isMetaAnnotationPresent(field, QUALIFIER_TYPE, new HashSet<>());
+    }
+
+    private static boolean isInjectableMethod(final ExecutableElement method) {
+        if (isAnnotationPresent(method, INJECT)) {
+            return true;
+        }
+        if (!isMetaAnnotationPresent(method, FACTORY_TYPE, new HashSet<>())) {
+            for (final VariableElement parameter : method.getParameters()) {
+                if (isMetaAnnotationPresent(parameter, QUALIFIER_TYPE, new HashSet<>())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAnnotationPresent(final Element element, final String annotation) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (getAnnotationType(mirror).getQualifiedName().contentEquals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMetaAnnotationPresent(
+            final Element element, final String metaAnnotation, final Set<String> visitedAnnotations) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            final TypeElement annotationType = getAnnotationType(mirror);
+            final String name = annotationType.getQualifiedName().toString();
+            if (name.startsWith("java.lang.") || name.startsWith("org.jspecify.annotations.")) {
+                continue;
+            }
+            if (visitedAnnotations.add(name)
+                    && (isAnnotationPresent(annotationType, metaAnnotation)
+                            || isMetaAnnotationPresent(annotationType, metaAnnotation, visitedAnnotations))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TypeElement getAnnotationType(final AnnotationMirror mirror) {
+        return (TypeElement) mirror.getAnnotationType().asElement();
+    }
+
+    private static TypeElement getSuperclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        final TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    /**
+     * Checks if the given field or method of an accessible type can be referenced from the given package.
+     */
+    private boolean isMemberAccessible(final Element member, final PackageElement pkg) {
+        final Set<Modifier> modifiers = member.getModifiers();
+        return !modifiers.contains(Modifier.PRIVATE)
+                && (modifiers.contains(Modifier.PUBLIC) || pkg.equals(elements.getPackageOf(member)));
+    }
+
+    private boolean isAccessible(final TypeMirror type, final PackageElement pkg) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        return switch (type.getKind()) {
+            case ARRAY -> isAccessible(((ArrayType) type).getComponentType(), pkg);
+            case DECLARED -> isAccessible((TypeElement) ((DeclaredType) type).asElement(), pkg);
+            case TYPEVAR -> isAccessible(types.erasure(type), pkg);
+            default -> false;
+        };
+    }
+
+    /**
+     * Checks if the given type can be referenced from the given package.
+     */
+    private boolean isAccessible(final TypeElement type, final PackageElement pkg) {
+        for (Element element = type;
+                element.getKind().isClass() || element.getKind().isInterface();
+                element = element.getEnclosingElement()) {
+            final TypeElement current = (TypeElement) element;
+            if (current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            final Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !pkg.equals(elements.getPackageOf(current))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -64,6 +64,10 @@ import org.apache.logging.log4j.util.Strings;
  * discovered from plugin annotations. By default, this will use the most specific package name it can derive
  * from where the annotated plugins are located in a subpackage {@code plugins}. The output base package name
  * can be overridden via the {@code pluginPackage} annotation processor option.
+ * <p>
+ * Additionally, a {@link org.apache.logging.log4j.plugins.di.spi.GeneratedFactory} is generated next to each plugin
+ * class, which allows plugins to be created without scanning their class hierarchy using reflection.
+ * </p>
  */
 @SupportedAnnotationTypes({"org.apache.logging.log4j.plugins.*", "org.apache.logging.log4j.core.config.plugins.*"})
 @ServiceProvider(value = Processor.class, resolution = Resolution.OPTIONAL)
@@ -100,6 +104,7 @@ public class PluginProcessor extends AbstractProcessor {
             Collections.sort(list);
             writeClassFile(packageName, list);
             writeServiceFile(packageName);
+            writeGeneratedFactories(elements);
             messager.printMessage(Kind.NOTE, "Annotations processed");
         } catch (final Exception ex) {
             var writer = new StringWriter();
@@ -162,6 +167,17 @@ public class PluginProcessor extends AbstractProcessor {
         }
     }
 
+    private void writeGeneratedFactories(final Iterable<? extends Element> elements) {
+        final GeneratedFactoryWriter factoryWriter = new GeneratedFactoryWriter(processingEnv);
+        int count = 0;
+        for (final Element element : elements) {
+            if (element instanceof TypeElement && factoryWriter.write((TypeElement) element)) {
+                count++;
+            }
+        }
+        processingEnv.getMessager().printMessage(Kind.NOTE, "Generated " + count + " plugin factories");
+    }
+
     private void writeClassFile(final String pkg, final List<PluginEntry> list) {
         final String fqcn = createFqcn(pkg);
         try (final PrintWriter writer = createSourceFile(fqcn)) {
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.plugin.processor;
+
+import aQute.bnd.annotation.Resolution;
+import aQute.bnd.annotation.spi.ServiceProvider;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+import org.apache.logging.log4j.LoggingException;
+import org.apache.logging.log4j.kit.env.Log4jProperty;
+import org.apache.logging.log4j.kit.env.support.PropertyRecordBinder;
+
+/**
+ * Annotation processor that generates a {@link PropertyRecordBinder} for each record annotated with
+ * {@link Log4jProperty} and the records nested in its components, which allows the record to be bound without
+ * reflection.
+ * <p>
+ * Whenever a record cannot be bound unambiguously or the generated code would not be able to access the involved
+ * types, no binder is generated and the record is bound using reflection instead.
+ * </p>
+ */
+@SupportedAnnotationTypes("org.apache.logging.log4j.kit.env.Log4jProperty")
+@ServiceProvider(value = Processor.class, resolution = Resolution.OPTIONAL)
+public class PropertyBinderProcessor extends AbstractProcessor {
+
+    private final Set<String> processedRecords = new HashSet<>();
+
+    public PropertyBinderProcessor() {}
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latest();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        try {
+            int count = 0;
+            for (final Element element : roundEnv.getElementsAnnotatedWith(Log4jProperty.class)) {
+                if (element.getKind() == ElementKind.RECORD) {
+                    count += write((TypeElement) element, getOutermostType(element));
+                }
+            }
+            if (count > 0) {
+                processingEnv.getMessager().printMessage(Kind.NOTE, "Generated " + count + " property binders");
+            }
+        } catch (final Exception ex) {
+            final StringWriter writer = new StringWriter();
+            ex.printStackTrace(new PrintWriter(writer));
+            processingEnv.getMessager().printMessage(Kind.ERROR, writer.toString());
+        }
+        return false;
+    }
+
+    /**
+     * Writes the binder of the given record and the records of its components declared in the same source file.
+     *
+     * @return the number of generated binders
+     */
+    private int write(final TypeElement type, final Element outermostType) {
+        if (!processedRecords.add(type.getQualifiedName().toString())) {
+            return 0;
+        }
+        final Elements elements = processingEnv.getElementUtils();
+        final Types types = processingEnv.getTypeUtils();
+        final PackageElement pkg = elements.getPackageOf(type);
+        final List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        if (constructors.size() != 1 || !isAccessible(type, pkg)) {
+            return 0;
+        }
+        int count = 0;
+        final List<String> components = new ArrayList<>();
+        final List<String> arguments = new ArrayList<>();
+        for (final VariableElement parameter : constructors.get(0).getParameters()) {
+            final TypeMirror parameterType = parameter.asType();
+            final String typeName = getClassLiteralName(parameterType, pkg);
+            if (typeName == null) {
+                return count;
+            }
+            final String upperBound;
+            if (isClass(parameterType)) {
+                upperBound = getUpperBound((DeclaredType) parameterType, pkg);
+                if (upperBound == null) {
+                    return count;
+                }
+            } else {
+                upperBound = typeName;
+            }
+            if (parameterType.getKind() == TypeKind.DECLARED) {
+                final TypeElement parameterElement = (TypeElement) types.asElement(parameterType);
+                if (parameterElement.getKind() == ElementKind.RECORD
+                        && getOutermostType(parameterElement).equals(outermostType)) {
+                    count += write(parameterElement, outermostType);
+                }
+            }
+            final Log4jProperty annotation = parameter.getAnnotation(Log4jProperty.class);
+            final String name = annotation != null && !annotation.name().isEmpty()
+                    ? annotation.name()
+                    : parameter.getSimpleName().toString();
+            final String defaultValue = annotation != null && !annotation.defaultValue().isEmpty()
+                    ? quote(annotation.defaultValue())
+                    : "null";
+            components.add("new " + PropertyRecordBinder.Component.class.getCanonicalName() + "(" + quote(name)
+                    + ", " + typeName + ".class, " + upperBound + ".class, " + defaultValue + ")");
+            final String castType = parameterType.getKind().isPrimitive()
+                    ? types.boxedClass((PrimitiveType) parameterType)
+                            .getQualifiedName()
+                            .toString()
+                    : typeName;
+            arguments.add("(" + castType + ") arguments[" + arguments.size() + "]");
+        }
+        final Log4jProperty annotation = type.getAnnotation(Log4jProperty.class);
+        final String recordName = annotation != null && !annotation.name().isEmpty()
+                ? annotation.name()
+                : type.getSimpleName().toString();
+        writeSourceFile(type, pkg, recordName, components, arguments);
+        return count + 1;
+    }
+
+    private void writeSourceFile(
+            final TypeElement type,
+            final PackageElement pkg,
+            final String recordName,
+            final List<String> components,
+            final List<String> arguments) {
+        final String fqcn = PropertyRecordBinder.getClassName(
+                processingEnv.getElementUtils().getBinaryName(type).toString());
+        final String simpleName = fqcn.substring(fqcn.lastIndexOf('.') + 1);
+        final String typeName = type.getQualifiedName().toString();
+        try (final PrintWriter writer = createSourceFile(fqcn, type)) {
+            if (!pkg.isUnnamed()) {
+                writer.println("package " + pkg.getQualifiedName() + ";");
+                writer.println("");
+            }
+            writer.println("/**");
+            writer.println(" * Generated property binder of {@link " + typeName + "}.");
+            writer.println(" */");
+            writer.println("@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+            writer.println("public final class " + simpleName + " extends "
+                    + PropertyRecordBinder.class.getName() + "<" + typeName + "> {");
+            writer.println("");
+            writer.println("  public " + simpleName + "() {");
+            writer.println("    super(");
+            writer.println("      " + typeName + ".class,");
+            writer.println("      " + quote(recordName) + ",");
+            writer.print("      java.util.List.of(");
+            for (int i = 0; i < components.size(); i++) {
+                writer.println(i > 0 ? "," : "");
+                writer.print("        " + components.get(i));
+            }
+            writer.println("));");
+            writer.println("  }");
+            writer.println("");
+            writer.println("  @Override");
+            writer.println("  public " + typeName + " newInstance(final Object[] arguments) {");
+            writer.println("    try {");
+            writer.println("      return new " + typeName + "(" + String.join(", ", arguments) + ");");
+            writer.println("    } catch (final RuntimeException e) {");
+            writer.println("      throw new IllegalArgumentException(");
+            writer.println("        \"Unable to parse configuration properties class \" + getRecordClass().getName() + \".\", e);");
+            writer.println("    }");
+            writer.println("  }");
+            writer.println("}");
+        }
+    }
+
+    private PrintWriter createSourceFile(final String fqcn, final TypeElement type) {
+        try {
+            final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(fqcn, type);
+            return new PrintWriter(sourceFile.openWriter());
+        } catch (final IOException e) {
+            throw new LoggingException("Unable to create property binder class " + fqcn, e);
+        }
+    }
+
+    /**
+     * Returns the source name of the class literal of the given component type.
+     *
+     * @return the source name or {@code null} if the type is not supported or not accessible
+     */
+    private String getClassLiteralName(final TypeMirror type, final PackageElement pkg) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            final String componentName = getClassLiteralName(((ArrayType) type).getComponentType(), pkg);
+            return componentName != null ? componentName + "[]" : null;
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            final DeclaredType declaredType = (DeclaredType) type;
+            final TypeElement element = (TypeElement) declaredType.asElement();
+            // Only `Class` may be parameterized
+            if (!declaredType.getTypeArguments().isEmpty() && !isClass(type)) {
+                return null;
+            }
+            return isAccessible(element, pkg) ? element.getQualifiedName().toString() : null;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the upper bound of a {@code Class} component as determined by reflection.
+     */
+    private String getUpperBound(final DeclaredType classType, final PackageElement pkg) {
+        final List<? extends TypeMirror> typeArguments = classType.getTypeArguments();
+        if (typeArguments.isEmpty()) {
+            return Object.class.getName();
+        }
+        final TypeMirror argument = typeArguments.get(0);
+        final TypeMirror bound;
+        if (argument.getKind() == TypeKind.WILDCARD) {
+            bound = ((WildcardType) argument).getExtendsBound();
+        } else if (argument.getKind() == TypeKind.TYPEVAR) {
+            bound = ((TypeVariable) argument).getUpperBound();
+        } else {
+            bound = null;
+        }
+        if (bound != null && bound.getKind() == TypeKind.INTERSECTION) {
+            // the order of the bounds is not available
+            return null;
+        }
+        if (bound == null
+                || bound.getKind() != TypeKind.DECLARED
+                || !((DeclaredType) bound).getTypeArguments().isEmpty()) {
+            return Object.class.getName();
+        }
+        return getClassLiteralName(bound, pkg);
+    }
+
+    private static boolean isClass(final TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement())
+                        .getQualifiedName()
+                        .contentEquals(Class.class.getName());
+    }
+
+    private static String quote(final String value) {
+        final StringBuilder sb = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            switch (c) {
+                case '"', '\\' -> sb.append('\\').append(c);
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < ' ') {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static Element getOutermostType(final Element element) {
+        Element current = element;
+        while (current.getEnclosingElement() != null
+                && current.getEnclosingElement().getKind() != ElementKind.PACKAGE
+                && current.getEnclosingElement().getKind() != ElementKind.MODULE) {
+            current = current.getEnclosingElement();
+        }
+        return current;
+    }
+
+    /**
+     * Checks if the given type can be referenced from the given package.
+     */
+    private boolean isAccessible(final TypeElement type, final PackageElement pkg) {
+        final Elements elements = processingEnv.getElementUtils();
+        for (Element element = type;
+                element.getKind().isClass() || element.getKind().isInterface();
+                element = element.getEnclosingElement()) {
+            final TypeElement current = (TypeElement) element;
+            if (current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            final Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !pkg.equals(elements.getPackageOf(current))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -21,15 +21,24 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.logging.log4j.plugins.Configurable;
 import org.apache.logging.log4j.plugins.Plugin;
 import org.apache.logging.log4j.plugins.PluginAliases;
 import org.apache.logging.log4j.plugins.di.Keys;
+import org.apache.logging.log4j.plugins.di.spi.GeneratedFactory;
+import org.apache.logging.log4j.plugins.di.spi.InjectionPoint;
 import org.apache.logging.log4j.plugins.model.PluginService;
 import org.apache.logging.log4j.plugins.model.PluginType;
+import org.apache.logging.log4j.plugins.test.validation.AbstractPluginWithGenericBuilder;
 import org.apache.logging.log4j.plugins.test.validation.FakePlugin;
+import org.apache.logging.log4j.plugins.test.validation.PluginWithGenericSubclassFoo1Builder;
 import org.apache.logging.log4j.plugins.test.validation.plugins.Log4jPlugins;
+import org.apache.logging.log4j.plugins.validation.constraints.Required;
+import org.apache.logging.log4j.util.Cast;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -107,4 +116,53 @@ public class PluginProcessorTest {
     public void testReproducibleOutputOrder() {
         assertThat(pluginService.getEntries()).isSorted();
     }
+
+    @Test
+    public void testGeneratedFactoryOfConstructedPlugin() throws Exception {
+        final GeneratedFactory factory = GeneratedFactory.forClass(FakePlugin.class);
+        assertNotNull(factory);
+        assertEquals(FakePlugin.class, factory.getType());
+        assertEquals(FakePlugin.class, factory.getInstanceType());
+        assertThat(factory.getFactoryInjectionPoints()).isEmpty();
+        assertThat(factory.newInstance(new Object[0])).isInstanceOf(FakePlugin.class);
+    }
+
+    @Test
+    public void testGeneratedFactoryOfPluginBuilder() throws Exception {
+        final GeneratedFactory factory = GeneratedFactory.forClass(PluginWithGenericSubclassFoo1Builder.class);
+        assertNotNull(factory);
+        assertEquals(PluginWithGenericSubclassFoo1Builder.class, factory.getType());
+        assertEquals(PluginWithGenericSubclassFoo1Builder.Builder.class, factory.getInstanceType());
+        assertThat(factory.getFactoryInjectionPoints()).isEmpty();
+        final Object instance = factory.newInstance(new Object[0]);
+        assertThat(instance).isInstanceOf(PluginWithGenericSubclassFoo1Builder.Builder.class);
+        final List<String> validatedNames = new ArrayList<>();
+        factory.injectMembers(instance, new GeneratedFactory.MemberInjector() {
+            @Override
+            public <T> T getFieldValue(final InjectionPoint<T> injectionPoint) {
+                return Cast.cast(injectionPoint.key().getName() + "Value");
+            }
+
+            @Override
+            public <T> T getArgument(final InjectionPoint<T> injectionPoint) {
+                throw new AssertionError("Unexpected inject method argument " + injectionPoint);
+            }
+
+            @Override
+            public void validate(final InjectionPoint<?> injectionPoint, final Object value) {
+                assertNotNull(injectionPoint.element().getAnnotation(Required.class));
+                validatedNames.add(injectionPoint.key().getName() + "=" + value);
+            }
+        });
+        final PluginWithGenericSubclassFoo1Builder.Builder<?> builder =
+                (PluginWithGenericSubclassFoo1Builder.Builder<?>) instance;
+        assertEquals("foo1Value", builder.getFoo1());
+        assertEquals("thingValue", builder.getThing());
+        assertEquals(List.of("foo1=foo1Value", "thing=thingValue"), validatedNames);
+    }
+
+    @Test
+    public void testNoGeneratedFactoryForNonPlugin() {
+        assertNull(GeneratedFactory.forClass(AbstractPluginWithGenericBuilder.class));
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.plugin.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.apache.logging.log4j.kit.env.Log4jProperty;
+import org.apache.logging.log4j.kit.env.support.BasicPropertyEnvironment;
+import org.apache.logging.log4j.kit.env.support.PropertyRecordBinder;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.junit.jupiter.api.Test;
+
+class PropertyBinderProcessorTest {
+
+    @Log4jProperty(name = "test")
+    record TestProperties(
+            @Log4jProperty(defaultValue = "42") int size,
+            Class<? extends Number> type,
+            @Log4jProperty(name = "sub") SubProperties subProperties) {}
+
+    record SubProperties(boolean enabled) {}
+
+    @Test
+    void generates_binders_of_annotated_and_nested_records() {
+        assertThat(PropertyRecordBinder.forClass(TestProperties.class).getClass())
+                .hasToString("class " + PropertyRecordBinder.getClassName(TestProperties.class.getName()));
+        assertThat(PropertyRecordBinder.forClass(SubProperties.class).getClass())
+                .hasToString("class " + PropertyRecordBinder.getClassName(SubProperties.class.getName()));
+        final PropertyRecordBinder<TestProperties> binder = PropertyRecordBinder.forClass(TestProperties.class);
+        assertThat(binder.getName()).isEqualTo("test");
+        assertThat(binder.getComponents())
+                .containsExactly(
+                        new PropertyRecordBinder.Component("size", int.class, int.class, "42"),
+                        new PropertyRecordBinder.Component("type", Class.class, Number.class, null),
+                        new PropertyRecordBinder.Component("sub", SubProperties.class, SubProperties.class, null));
+    }
+
+    @Test
+    void binds_using_generated_binder() {
+        final Map<String, String> props = Map.of("test.type", "java.lang.Integer", "test.sub.enabled", "true");
+        final BasicPropertyEnvironment environment = new BasicPropertyEnvironment(StatusLogger.getLogger()) {
+            @Override
+            public String getProperty(final String name) {
+                return props.get(name);
+            }
+        };
+        assertThat(environment.getProperty(TestProperties.class))
+                .isEqualTo(new TestProperties(42, Integer.class, new SubProperties(true)));
+    }
+}
@@ -42,9 +42,11 @@ import org.apache.logging.log4j.plugins.condition.ConditionContext;
 import org.apache.logging.log4j.plugins.condition.Conditional;
 import org.apache.logging.log4j.plugins.di.spi.DependencyChain;
 import org.apache.logging.log4j.plugins.di.spi.FactoryResolver;
+import org.apache.logging.log4j.plugins.di.spi.GeneratedFactory;
 import org.apache.logging.log4j.plugins.di.spi.InjectionPoint;
 import org.apache.logging.log4j.plugins.di.spi.InstancePostProcessor;
 import org.apache.logging.log4j.plugins.di.spi.ReflectionAgent;
+import org.apache.logging.log4j.plugins.di.spi.ReflectionException;
 import org.apache.logging.log4j.plugins.di.spi.ResolvableKey;
 import org.apache.logging.log4j.plugins.di.spi.Scope;
 import org.apache.logging.log4j.plugins.internal.util.AnnotationUtil;
@@ -70,6 +72,8 @@ public class DefaultInstanceFactory implements ConfigurableInstanceFactory {
     private final SortedSet<InstancePostProcessor> instancePostProcessors = new ConcurrentSkipListSet<>(
             Comparator.comparing(InstancePostProcessor::getClass, OrderedComparator.INSTANCE));
     private ReflectionAgent agent = object -> object.setAccessible(true);
+    private final Supplier<PropertyEnvironment> environment;
+    private volatile @Nullable Boolean useGeneratedFactories;
 
     protected DefaultInstanceFactory() {
         this(
@@ -106,6 +110,7 @@ public class DefaultInstanceFactory implements ConfigurableInstanceFactory {
         this.scopes = scopes;
         this.factoryResolvers = factoryResolvers;
         this.instancePostProcessors.addAll(instancePostProcessors);
+        this.environment = environment;
         this.bindings.put(InjectionPoint.CURRENT_INJECTION_POINT, currentInjectionPoint::get);
         this.bindings.put(Key.forClass(ConfigurableInstanceFactory.class), () -> this);
         this.bindings.put(Key.forClass(InstanceFactory.class), () -> this);
@@ -141,7 +146,7 @@ public class DefaultInstanceFactory implements ConfigurableInstanceFactory {
             // TODO(ms): would be useful to provide some logs about possible matches
             throw new NoQualifiedBindingException(resolvableKey);
         }
-        if (!BeanUtils.isInjectable(key.getRawType())) {
+        if (getGeneratedFactory(key.getRawType()) == null && !BeanUtils.isInjectable(key.getRawType())) {
             throw new NotInjectableException(resolvableKey);
         }
         return () -> {
@@ -165,8 +170,15 @@ public class DefaultInstanceFactory implements ConfigurableInstanceFactory {
         final Key<T> key = resolvableKey.key();
         final Class<T> rawType = key.getRawType();
         validate(rawType, key.getName(), rawType);
-        final Executable factory = BeanUtils.getInjectableFactory(resolvableKey);
+        final GeneratedFactory generatedFactory = getGeneratedFactory(rawType);
         final DependencyChain updatedChain = resolvableKey.dependencyChain().withDependency(key);
+        if (generatedFactory != null) {
+            final Object[] arguments = generatedFactory.getFactoryInjectionPoints().stream()
+                    .map(point -> getArgumentFactory(point, updatedChain).get())
+                    .toArray();
+            return invokeGeneratedFactory(generatedFactory, arguments);
+        }
+        final Executable factory = BeanUtils.getInjectableFactory(resolvableKey);
         final Object[] arguments = InjectionPoint.fromExecutable(factory).stream()
                 .map(point -> getArgumentFactory(point, updatedChain).get())
                 .toArray();
@@ -199,6 +211,43 @@ public class DefaultInstanceFactory implements ConfigurableInstanceFactory {
         }
     }
 
+    protected <T> @Nullable T invokeGeneratedFactory(final GeneratedFactory factory, final Object... arguments) {
+        try {
+            return Cast.cast(factory.newInstance(arguments));
+        } catch (final Exception e) {
+            throw new ReflectionException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the {@linkplain GeneratedFactory build-time generated factory} of the given type if present and enabled.
+     */
+    protected @Nullable GeneratedFactory getGeneratedFactory(final Class<?> type) {
+        Boolean enabled = useGeneratedFactories;
+        if (enabled == null) {
+            enabled = environment
+                    .get()
+                    .getProperty(InstanceFactoryProperties.class)
+                    .useGeneratedFactories();
+            useGeneratedFactories = enabled;
+        }
+        return enabled ? GeneratedFactory.forClass(type) : null;
+    }
+
+    private @Nullable GeneratedFactory getGeneratedFactory(final Class<?> keyType, final Class<?> instanceType) {
+        final GeneratedFactory keyFactory = getGeneratedFactory(keyType);
+        if (keyFactory != null && keyFactory.getInstanceType() == instanceType) {
+            return keyFactory;
+        }
+        if (keyType != instanceType) {
+            final GeneratedFactory instanceFactory = getGeneratedFactory(instanceType);
+            if (instanceFactory != null && instanceFactory.getInstanceType() == instanceType) {
+                return instanceFactory;
+            }
+        }
+        return null;
+    }
+
     protected List<Supplier<?>> getArgumentFactories(
             final Key<?> key,
             final List<InjectionPoint<?>> argumentInjectionPoints,
@@ -372,6 +421,12 @@ public class DefaultInstanceFactory implements ConfigurableInstanceFactory {
 
     protected void injectMembers(final Key<?> key, final Object instance, final DependencyChain dependencyChain) {
         final Class<?> rawType = instance.getClass();
+        final DependencyChain updatedChain = dependencyChain.withDependency(key);
+        final GeneratedFactory generatedFactory = getGeneratedFactory(key.getRawType(), rawType);
+        if (generatedFactory != null) {
+            injectGeneratedMembers(generatedFactory, instance, updatedChain);
+            return;
+        }
         // first, inject fields and validate them
         for (final Field field : BeanUtils.getInjectableFields(rawType)) {
             injectField(field, instance);
@@ -379,7 +434,6 @@ public class DefaultInstanceFactory implements ConfigurableInstanceFactory {
         // track the no-arg inject methods to execute later
         final List<Method> injectMethodsWithNoArgs = new ArrayList<>();
         // next, inject methods with args
-        final DependencyChain updatedChain = dependencyChain.withDependency(key);
         for (final Method method : BeanUtils.getInjectableMethods(rawType)) {
             if (method.getParameterCount() == 0) {
                 injectMethodsWithNoArgs.add(method);
@@ -396,6 +450,39 @@ public class DefaultInstanceFactory implements ConfigurableInstanceFactory {
         injectMethodsWithNoArgs.forEach(method -> agent.invokeMethod(method, instance));
     }
 
+    private void injectGeneratedMembers(
+            final GeneratedFactory factory, final Object instance, final DependencyChain dependencyChain) {
+        final GeneratedFactory.MemberInjector injector = new GeneratedFactory.MemberInjector() {
+            @Override
+            public <T> @Nullable T getFieldValue(final InjectionPoint<T> injectionPoint) {
+                currentInjectionPoint.set(injectionPoint);
+                try {
+                    return getInstance(ResolvableKey.of(injectionPoint.key(), injectionPoint.aliases()));
+                } finally {
+                    currentInjectionPoint.remove();
+                }
+            }
+
+            @Override
+            public <T> @Nullable T getArgument(final InjectionPoint<T> injectionPoint) {
+                return getArgumentFactory(injectionPoint, dependencyChain).get();
+            }
+
+            @Override
+            public void validate(final InjectionPoint<?> injectionPoint, final @Nullable Object value) {
+                DefaultInstanceFactory.this.validate(
+                        injectionPoint.element(), injectionPoint.key().getName(), value);
+            }
+        };
+        try {
+            factory.injectMembers(instance, injector);
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new ReflectionException(e.getMessage(), e);
+        }
+    }
+
     protected <T> void injectField(final Field field, final Object instance) {
         final InjectionPoint<T> point = InjectionPoint.forField(field);
         currentInjectionPoint.set(point);
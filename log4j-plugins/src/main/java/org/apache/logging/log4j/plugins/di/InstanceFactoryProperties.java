@@ -0,0 +1,30 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.plugins.di;
+
+import org.apache.logging.log4j.kit.env.Log4jProperty;
+import org.apache.logging.log4j.plugins.di.spi.GeneratedFactory;
+
+/**
+ * Configuration options of {@link DefaultInstanceFactory}.
+ *
+ * @param useGeneratedFactories If {@code true}, plugins are created using their {@link GeneratedFactory} if present.
+ *                              Disabled by default until its impact on startup time has been measured.
+ * @since 3.0.0
+ */
+@Log4jProperty(name = "instanceFactory")
+public record InstanceFactoryProperties(@Log4jProperty(defaultValue = "false") boolean useGeneratedFactories) {}
@@ -345,6 +345,23 @@ public class Key<T> implements StringBuilderFormattable, Comparable<Key<T>> {
                 .get();
     }
 
+    /**
+     * Creates a Key for an annotated element of the given type such as a field or parameter.
+     *
+     * @param type        the generic type of the element
+     * @param element     the annotations of the element
+     * @param elementName the name of the element to use when the annotations do not specify one
+     * @since 3.0.0
+     */
+    public static <T> Key<T> forAnnotatedElement(
+            final Type type, final AnnotatedElement element, final String elementName) {
+        return Key.<T>builder(type)
+                .setQualifierType(getQualifierType(element))
+                .setName(Keys.getName(element, elementName))
+                .setNamespace(Keys.getNamespace(element))
+                .get();
+    }
+
     /**
      * Creates a new key builder for the given generic type.
      */
@@ -65,6 +65,21 @@ public final class Keys {
         return AnnotationUtil.isMetaAnnotationPresent(element, NameProvider.class);
     }
 
+    /**
+     * Gets the name of an annotated element using the corresponding {@link AnnotatedElementNameProvider}
+     * strategy for the named annotation on the element. If no named annotations are present, then an empty string
+     * is returned. If no {@linkplain AnnotatedElementNameProvider#getSpecifiedName(Annotation) specified name} is given
+     * by the name provider, the provided default name is returned.
+     *
+     * @param element     annotated element to find name for
+     * @param defaultName name of the element to use when none is specified, such as its field or parameter name
+     * @return annotated name of element
+     * @since 3.0.0
+     */
+    public static String getName(final AnnotatedElement element, final String defaultName) {
+        return hasName(element) ? getSpecifiedName(element).orElse(defaultName) : Strings.EMPTY;
+    }
+
     /**
      * Gets the name of the annotated field using the corresponding {@link AnnotatedElementNameProvider}
      * strategy for the named annotation on the field. If no named annotations are present, then an empty string
@@ -0,0 +1,527 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.plugins.di.spi;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.IncompleteAnnotationException;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.plugins.Plugin;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Build-time generated factory of a {@linkplain Plugin plugin} class.
+ * <p>
+ * A generated factory creates instances of the plugin class and injects their members by calling the factory,
+ * fields and methods directly rather than reflectively. The injection points of the factory parameters and of the
+ * injectable members are computed once from metadata captured at build time, so that neither the class hierarchy
+ * nor the annotations of the plugin class need to be scanned at runtime. Subclasses are generated by the Log4j
+ * plugin annotation processor in the package of the plugin class and named using {@link #getClassName(String)}.
+ * </p>
+ *
+ * @since 3.0.0
+ */
+public abstract class GeneratedFactory {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final String CLASS_NAME_SUFFIX = "$$GeneratedFactory";
+
+    private static final ClassValue<Optional<GeneratedFactory>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected Optional<GeneratedFactory> computeValue(final Class<?> type) {
+            return Optional.ofNullable(loadFactory(type));
+        }
+    };
+
+    private final Class<?> type;
+    private final Class<?> instanceType;
+    private final List<InjectionPoint<?>> factoryInjectionPoints;
+
+    /**
+     * Constructs a generated factory.
+     *
+     * @param type                   the plugin class
+     * @param instanceType           the type of the instances created by the factory
+     * @param factoryInjectionPoints the injection points of the factory parameters
+     */
+    protected GeneratedFactory(
+            final Class<?> type, final Class<?> instanceType, final List<InjectionPoint<?>> factoryInjectionPoints) {
+        this.type = type;
+        this.instanceType = instanceType;
+        this.factoryInjectionPoints = List.copyOf(factoryInjectionPoints);
+    }
+
+    /**
+     * Returns the plugin class whose static factory method or constructor is called by {@link #newInstance(Object[])}.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the type of the instances created by this factory, which may be a {@link java.util.function.Supplier}
+     * of the plugin, such as a plugin builder.
+     */
+    public Class<?> getInstanceType() {
+        return instanceType;
+    }
+
+    /**
+     * Returns the injection points of the parameters of the static factory method or constructor.
+     */
+    public List<InjectionPoint<?>> getFactoryInjectionPoints() {
+        return factoryInjectionPoints;
+    }
+
+    /**
+     * Invokes the factory directly.
+     *
+     * @param arguments the resolved arguments of the {@linkplain #getFactoryInjectionPoints() factory parameters}
+     * @return the created instance
+     * @throws Exception if the factory throws an exception
+     */
+    public abstract @Nullable Object newInstance(final Object[] arguments) throws Exception;
+
+    /**
+     * Injects the members of an instance of {@linkplain #getInstanceType() the instance type} directly. Fields are
+     * injected and validated first, followed by the inject methods with parameters and finally by the inject methods
+     * without parameters.
+     *
+     * @param instance the instance to inject
+     * @param injector resolves the values of the injection points
+     * @throws Exception if an inject method throws an exception
+     */
+    public abstract void injectMembers(final Object instance, final MemberInjector injector) throws Exception;
+
+    /**
+     * Resolves the values injected by {@link #injectMembers(Object, MemberInjector)}.
+     */
+    public interface MemberInjector {
+
+        /**
+         * Resolves the value of an injectable field.
+         */
+        <T> @Nullable T getFieldValue(final InjectionPoint<T> injectionPoint);
+
+        /**
+         * Resolves and validates an argument of an inject method.
+         */
+        <T> @Nullable T getArgument(final InjectionPoint<T> injectionPoint);
+
+        /**
+         * Validates the value of an injectable field after it has been injected.
+         */
+        void validate(final InjectionPoint<?> injectionPoint, final @Nullable Object value);
+    }
+
+    /**
+     * Creates the injection point of a field or parameter from its build-time metadata.
+     *
+     * @param type        the generic type of the field or parameter
+     * @param name        the name of the field or parameter
+     * @param description the description of the field or parameter used in error messages
+     * @param annotations the runtime annotations of the field or parameter
+     * @return the injection point
+     */
+    protected static <T> InjectionPoint<T> injectionPoint(
+            final Type type, final String name, final String description, final Annotation... annotations) {
+        return InjectionPoint.forAnnotatedElement(type, new GeneratedAnnotatedElement(description, annotations), name);
+    }
+
+    /**
+     * Creates an annotation from its build-time values.
+     *
+     * @param type           the annotation type
+     * @param namesAndValues alternating names and values of all the annotation members, including defaults
+     * @return an annotation that follows the contract of {@link Annotation}
+     */
+    protected static <A extends Annotation> A annotation(final Class<A> type, final Object... namesAndValues) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            values.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        final Object proxy = Proxy.newProxyInstance(
+                type.getClassLoader(), new Class<?>[] {type}, new GeneratedAnnotation(type, values));
+        return type.cast(proxy);
+    }
+
+    /**
+     * Creates a parameterized type equal to the one returned by reflection for the same declaration.
+     *
+     * @param rawType       the generic class or interface, which may be nested in a non-generic class
+     * @param typeArguments the type arguments
+     * @return the parameterized type
+     */
+    protected static ParameterizedType parameterizedType(final Class<?> rawType, final Type... typeArguments) {
+        return new GeneratedParameterizedType(rawType, typeArguments);
+    }
+
+    /**
+     * Creates a wildcard type equal to the one returned by reflection for the same declaration.
+     *
+     * @param upperBound the upper bound, which is {@code Object} for unbounded wildcards and lower bounded ones
+     * @param lowerBound the lower bound or {@code null} if there is none
+     * @return the wildcard type
+     */
+    protected static WildcardType wildcardType(final Type upperBound, final @Nullable Type lowerBound) {
+        return new GeneratedWildcardType(upperBound, lowerBound);
+    }
+
+    /**
+     * Creates a generic array type equal to the one returned by reflection for the same declaration.
+     *
+     * @param componentType the parameterized or generic array type of the components
+     * @return the generic array type
+     */
+    protected static GenericArrayType genericArrayType(final Type componentType) {
+        return new GeneratedGenericArrayType(componentType);
+    }
+
+    /**
+     * Returns the name of the generated factory class of a plugin class.
+     *
+     * @param binaryName the {@linkplain Class#getName() binary name} of the plugin class
+     * @return the binary name of the generated factory class
+     */
+    public static String getClassName(final String binaryName) {
+        return binaryName + CLASS_NAME_SUFFIX;
+    }
+
+    /**
+     * Looks up the generated factory of a plugin class.
+     *
+     * @param type the plugin class
+     * @return the generated factory or {@code null} if the class is not a plugin or has no usable generated factory
+     */
+    public static @Nullable GeneratedFactory forClass(final Class<?> type) {
+        return FACTORIES.get(type).orElse(null);
+    }
+
+    private static @Nullable GeneratedFactory loadFactory(final Class<?> type) {
+        if (!type.isAnnotationPresent(Plugin.class)) {
+            return null;
+        }
+        final Class<?> factoryClass;
+        try {
+            factoryClass = Class.forName(getClassName(type.getName()), false, type.getClassLoader());
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        if (!GeneratedFactory.class.isAssignableFrom(factoryClass)) {
+            LOGGER.warn("Ignoring generated factory {} as it does not extend {}", factoryClass, GeneratedFactory.class);
+            return null;
+        }
+        try {
+            final Constructor<?> constructor = factoryClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            final GeneratedFactory factory = (GeneratedFactory) constructor.newInstance();
+            if (factory.getType() != type) {
+                LOGGER.warn("Ignoring generated factory of {} as it creates instances of another class", type);
+                return null;
+            }
+            return factory;
+        } catch (final ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // most likely the plugin class changed after the factory was generated
+            LOGGER.debug("Unable to create generated factory of {}; falling back to reflection", type, e);
+            return null;
+        }
+    }
+
+    private static final class GeneratedParameterizedType implements ParameterizedType {
+
+        private final Class<?> rawType;
+        private final Type[] typeArguments;
+
+        private GeneratedParameterizedType(final Class<?> rawType, final Type[] typeArguments) {
+            this.rawType = rawType;
+            this.typeArguments = typeArguments.clone();
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return typeArguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public @Nullable Type getOwnerType() {
+            return rawType.getDeclaringClass();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof final ParameterizedType other
+                    && rawType.equals(other.getRawType())
+                    && Objects.equals(getOwnerType(), other.getOwnerType())
+                    && Arrays.equals(typeArguments, other.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(typeArguments) ^ Objects.hashCode(getOwnerType()) ^ rawType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(typeArguments)
+                    .map(Type::getTypeName)
+                    .collect(Collectors.joining(", ", rawType.getName() + '<', ">"));
+        }
+    }
+
+    private static final class GeneratedWildcardType implements WildcardType {
+
+        private static final Type[] NO_BOUNDS = new Type[0];
+
+        private final Type[] upperBounds;
+        private final Type[] lowerBounds;
+
+        private GeneratedWildcardType(final Type upperBound, final @Nullable Type lowerBound) {
+            this.upperBounds = new Type[] {upperBound};
+            this.lowerBounds = lowerBound != null ? new Type[] {lowerBound} : NO_BOUNDS;
+        }
+
+        @Override
+        public Type[] getUpperBounds() {
+            return upperBounds.clone();
+        }
+
+        @Override
+        public Type[] getLowerBounds() {
+            return lowerBounds.clone();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof final WildcardType other
+                    && Arrays.equals(lowerBounds, other.getLowerBounds())
+                    && Arrays.equals(upperBounds, other.getUpperBounds());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(lowerBounds) ^ Arrays.hashCode(upperBounds);
+        }
+
+        @Override
+        public String toString() {
+            if (lowerBounds.length > 0) {
+                return "? super " + lowerBounds[0].getTypeName();
+            }
+            return upperBounds[0] == Object.class ? "?" : "? extends " + upperBounds[0].getTypeName();
+        }
+    }
+
+    private static final class GeneratedGenericArrayType implements GenericArrayType {
+
+        private final Type componentType;
+
+        private GeneratedGenericArrayType(final Type componentType) {
+            this.componentType = componentType;
+        }
+
+        @Override
+        public Type getGenericComponentType() {
+            return componentType;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof final GenericArrayType other && componentType.equals(other.getGenericComponentType());
+        }
+
+        @Override
+        public int hashCode() {
+            return componentType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return componentType.getTypeName() + "[]";
+        }
+    }
+
+    /**
+     * Annotated element of a field or parameter whose annotations were captured at build time.
+     */
+    private static final class GeneratedAnnotatedElement implements AnnotatedElement {
+
+        private final String description;
+        private final Annotation[] annotations;
+
+        private GeneratedAnnotatedElement(final String description, final Annotation[] annotations) {
+            this.description = description;
+            this.annotations = annotations.clone();
+        }
+
+        @Override
+        public <A extends Annotation> @Nullable A getAnnotation(final Class<A> annotationClass) {
+            for (final Annotation annotation : annotations) {
+                if (annotation.annotationType() == annotationClass) {
+                    return annotationClass.cast(annotation);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Annotation[] getAnnotations() {
+            return annotations.clone();
+        }
+
+        @Override
+        public Annotation[] getDeclaredAnnotations() {
+            return annotations.clone();
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * Implementation of an annotation whose member values were captured at build time.
+     */
+    private static final class GeneratedAnnotation implements InvocationHandler {
+
+        private final Class<? extends Annotation> type;
+        private final Map<String, Object> values;
+        private final int hashCode;
+
+        private GeneratedAnnotation(final Class<? extends Annotation> type, final Map<String, Object> values) {
+            this.type = type;
+            this.values = values;
+            int hash = 0;
+            for (final Map.Entry<String, Object> entry : values.entrySet()) {
+                hash += (127 * entry.getKey().hashCode()) ^ valueHashCode(entry.getValue());
+            }
+            this.hashCode = hash;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if (method.getParameterCount() == 1 && name.equals("equals")) {
+                return proxy == args[0] || isEqualTo(args[0]);
+            }
+            return switch (name) {
+                case "hashCode" -> hashCode;
+                case "toString" -> toString();
+                case "annotationType" -> type;
+                default -> getValue(name);
+            };
+        }
+
+        private Object getValue(final String name) {
+            final Object value = values.get(name);
+            if (value == null) {
+                throw new IncompleteAnnotationException(type, name);
+            }
+            return cloneArray(value);
+        }
+
+        private boolean isEqualTo(final @Nullable Object other) throws ReflectiveOperationException {
+            if (!type.isInstance(other)) {
+                return false;
+            }
+            if (Proxy.isProxyClass(other.getClass())
+                    && Proxy.getInvocationHandler(other) instanceof final GeneratedAnnotation annotation) {
+                return annotation.values.keySet().equals(values.keySet())
+                        && values.entrySet().stream()
+                                .allMatch(entry ->
+                                        Objects.deepEquals(entry.getValue(), annotation.values.get(entry.getKey())));
+            }
+            for (final Map.Entry<String, Object> entry : values.entrySet()) {
+                final Object otherValue = type.getMethod(entry.getKey()).invoke(other);
+                if (!Objects.deepEquals(entry.getValue(), otherValue)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return values.entrySet().stream()
+                    .map(entry -> entry.getKey() + '=' + valueToString(entry.getValue()))
+                    .collect(Collectors.joining(", ", "@" + type.getName() + '(', ")"));
+        }
+
+        private static Object cloneArray(final Object value) {
+            if (value instanceof final Object[] array) {
+                return array.clone();
+            }
+            if (value instanceof final int[] array) {
+                return array.clone();
+            }
+            if (value instanceof final long[] array) {
+                return array.clone();
+            }
+            if (value instanceof final boolean[] array) {
+                return array.clone();
+            }
+            if (value instanceof final byte[] array) {
+                return array.clone();
+            }
+            if (value instanceof final char[] array) {
+                return array.clone();
+            }
+            if (value instanceof final short[] array) {
+                return array.clone();
+            }
+            if (value instanceof final float[] array) {
+                return array.clone();
+            }
+            if (value instanceof final double[] array) {
+                return array.clone();
+            }
+            return value;
+        }
+
+        private static int valueHashCode(final Object value) {
+            // the hash code of a singleton array is 31 plus the hash code of its element
+            return value.getClass().isArray() ? Arrays.deepHashCode(new Object[] {value}) - 31 : value.hashCode();
+        }
+
+        private static String valueToString(final Object value) {
+            final String string = Arrays.deepToString(new Object[] {value});
+            return value.getClass().isArray() ? string.substring(1, string.length() - 1) : value.toString();
+        }
+    }
+}
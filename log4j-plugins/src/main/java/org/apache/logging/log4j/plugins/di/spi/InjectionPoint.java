@@ -20,6 +20,7 @@ import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -43,6 +44,22 @@ public record InjectionPoint<T>(Key<T> key, Collection<String> aliases, Annotate
         return new InjectionPoint<>(key, aliases, parameter);
     }
 
+    /**
+     * Creates an injection point for an annotated element that is described without reflection, such as by a
+     * {@linkplain GeneratedFactory generated factory}.
+     *
+     * @param type        the generic type of the element
+     * @param element     the annotations of the element
+     * @param elementName the name of the field or parameter
+     * @since 3.0.0
+     */
+    public static <T> InjectionPoint<T> forAnnotatedElement(
+            final Type type, final AnnotatedElement element, final String elementName) {
+        final Key<T> key = Key.forAnnotatedElement(type, element, elementName);
+        final Collection<String> aliases = Keys.getAliases(element);
+        return new InjectionPoint<>(key, aliases, element);
+    }
+
     public static List<InjectionPoint<?>> fromExecutable(final Executable executable) {
         return Stream.of(executable.getParameters())
                 .map(InjectionPoint::forParameter)